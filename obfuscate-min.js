@@ -23,6 +23,8 @@ const config = {
         'src/main/resources/public/js/admin/questions.js',
         'src/main/resources/public/js/admin/users.js',
         'src/main/resources/public/js/admin/feedback.js',
+        'src/main/resources/public/js/admin/anticheat-analytics.js',
+        'src/main/resources/public/js/admin/import-export-jobs.js',
         'src/main/resources/public/js/theme-switcher.js',
         'src/main/resources/public/js/mode-select.js',
         'src/main/resources/public/js/radio-buttons-init.js',
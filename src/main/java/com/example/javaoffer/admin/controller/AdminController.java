@@ -1,11 +1,14 @@
 package com.example.javaoffer.admin.controller;
 
+import com.example.javaoffer.exam.dto.SimilarityClusterDTO;
 import com.example.javaoffer.exam.dto.TaskDTO;
 import com.example.javaoffer.exam.dto.UserScoreHistoryDTO;
 import com.example.javaoffer.exam.service.TaskService;
+import com.example.javaoffer.exam.service.TaskSimilarityService;
 import com.example.javaoffer.exam.service.UserScoreHistoryService;
 import com.example.javaoffer.feedback.dto.FeedBackResponseDTO;
 import com.example.javaoffer.feedback.service.FeedBackService;
+import com.example.javaoffer.security.service.PrincipalCache;
 import com.example.javaoffer.user.dto.UserDTO;
 import com.example.javaoffer.user.entity.User;
 import com.example.javaoffer.user.repository.UserRepository;
@@ -25,6 +28,8 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -54,10 +59,12 @@ import static com.example.javaoffer.common.constants.ViewConstant.*;
 @Slf4j
 public class AdminController {
 	private final TaskService taskService;
+	private final TaskSimilarityService taskSimilarityService;
 	private final UserService userService;
 	private final UserScoreHistoryService userScoreHistoryService;
 	private final UserRepository userRepository;
 	private final FeedBackService feedBackService;
+	private final PrincipalCache principalCache;
 
 	/**
 	 * Обрабатывает запрос к корневому пути административной панели.
@@ -85,7 +92,7 @@ public class AdminController {
 	public String questions(HttpServletRequest request, Model model) {
 		log.debug("Отображение страницы управления вопросами");
 		model.addAttribute("request", request);
-		model.addAttribute("tasks", taskService.getAllTasks());
+		// Строки таблицы подгружаются порциями через QuestionFilterController
 		model.addAttribute("newTask", new TaskDTO());
 		model.addAttribute("task", new TaskDTO());
 		return VIEW_TEMPLATE_ADMIN_QUESTIONS;
@@ -245,6 +252,35 @@ public class AdminController {
 		return taskService.getTaskById(id);
 	}
 
+	/**
+	 * Возвращает кластеры почти одинаковых вопросов.
+	 * <p>
+	 * Кандидаты выбираются по LSH-корзинам, пары проверяются по оценке сходства
+	 * MinHash-сигнатур вопроса и ответов.
+	 *
+	 * @param threshold минимальная оценка сходства от 0.0 до 1.0
+	 * @return список кластеров похожих вопросов
+	 */
+	@GetMapping(URL_ADMIN_API_QUESTION_SIMILARITY_CLUSTERS)
+	@ResponseBody
+	public List<SimilarityClusterDTO> getSimilarityClusters(@RequestParam(defaultValue = "0.8") double threshold) {
+		double effectiveThreshold = Math.clamp(threshold, 0.0, 1.0);
+		log.debug("Запрос кластеров похожих вопросов с порогом {}", effectiveThreshold);
+		return taskSimilarityService.findClusters(effectiveThreshold);
+	}
+
+	/**
+	 * Перестраивает индекс почти одинаковых вопросов для всех заданий.
+	 *
+	 * @return количество проиндексированных заданий
+	 */
+	@PostMapping(URL_ADMIN_API_QUESTION_SIMILARITY_REBUILD)
+	@ResponseBody
+	public Map<String, Integer> rebuildSimilarityIndex() {
+		log.info("Запрос на перестройку индекса похожих вопросов");
+		return Map.of("indexed", taskSimilarityService.rebuildAll());
+	}
+
 	/**
 	 * Получение списка пользователей с фильтрами и пагинацией.
 	 *
@@ -361,6 +397,8 @@ public class AdminController {
 			return ResponseEntity.notFound().build();
 		}
 		User user = userOpt.get();
+		// Запись под прежним именем удаляется сразу: save() сбросит только кеш нового имени
+		principalCache.invalidate(user.getUsername());
 		user.setEmail(userDTO.getEmail());
 		user.setUsername(userDTO.getUsername());
 		user.setRole(com.example.javaoffer.user.enums.UserRole.valueOf(userDTO.getRole()));
@@ -1,25 +1,33 @@
 package com.example.javaoffer.admin.controller;
 
 import com.example.javaoffer.admin.dto.ImportExportHistoryDTO;
+import com.example.javaoffer.admin.dto.ImportExportJobProgressDTO;
 import com.example.javaoffer.admin.entity.ImportExportHistory;
+import com.example.javaoffer.admin.enums.QuestionFileFormat;
 import com.example.javaoffer.admin.service.ImportExportHistoryService;
 import com.example.javaoffer.admin.service.QuestionExportService;
 import com.example.javaoffer.admin.service.QuestionImportService;
+import com.example.javaoffer.admin.service.job.ImportExportJobScheduler;
 import com.example.javaoffer.user.entity.User;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import static com.example.javaoffer.common.constants.UrlConstant.*;
@@ -31,10 +39,13 @@ import static com.example.javaoffer.common.constants.ViewConstant.VIEW_TEMPLATE_
  * Предоставляет функционал для:
  * <ul>
  *   <li>Просмотра истории импорта/экспорта вопросов</li>
- *   <li>Экспорта вопросов в Excel-файл</li>
- *   <li>Импорта вопросов из Excel-файла</li>
+ *   <li>Экспорта вопросов в файл XLSX, CSV или NDJSON, в том числе со сжатием gzip</li>
+ *   <li>Импорта вопросов из файла XLSX, CSV или NDJSON (сжатого или нет)</li>
+ *   <li>Опроса прогресса и отмены заданий импорта/экспорта</li>
  *   <li>Очистки истории импорта/экспорта</li>
  * </ul>
+ * Импорт и экспорт выполняются заданиями очереди {@link ImportExportJobScheduler}:
+ * запрос только ставит задание в очередь и перенаправляет на страницу истории.
  *
  * @author Garbuzov Oleg
  */
@@ -45,6 +56,7 @@ public class ImportExportHistoryController {
 	private final ImportExportHistoryService historyService;
 	private final QuestionExportService questionExportService;
 	private final QuestionImportService questionImportService;
+	private final ImportExportJobScheduler jobScheduler;
 
 	/**
 	 * Отображает страницу с историей импорта и экспорта вопросов.
@@ -65,61 +77,156 @@ public class ImportExportHistoryController {
 	}
 
 	/**
-	 * Экспортирует вопросы в Excel-файл.
+	 * Ставит в очередь экспорт вопросов в файл выбранного формата.
+	 * <p>
+	 * При сжатии gzip к имени файла добавляется суффикс .gz. Готовый файл
+	 * скачивается со страницы истории.
 	 *
-	 * @param response HTTP-ответ для записи Excel-файла
-	 * @param user     текущий аутентифицированный пользователь
-	 * @throws IOException если произошла ошибка при записи в поток ответа
+	 * @param format формат файла (XLSX, CSV или NDJSON; по умолчанию XLSX)
+	 * @param gzip   сжать файл gzip
+	 * @param user   текущий аутентифицированный пользователь
+	 * @return строка перенаправления на страницу истории импорта/экспорта
 	 */
-	@GetMapping(URL_ADMIN_ROOT + URL_ADMIN_QUESTIONS_EXPORT_EXCEL)
-	@ResponseBody
-	public void exportQuestionsToExcel(HttpServletResponse response, @AuthenticationPrincipal User user) throws IOException {
-		log.info("Начат экспорт вопросов в Excel пользователем: {}", user.getUsername());
+	@PostMapping(URL_ADMIN_ROOT + URL_ADMIN_QUESTIONS_EXPORT)
+	public String exportQuestions(@RequestParam(value = "format", required = false) String format,
+								  @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+								  @AuthenticationPrincipal User user) {
+		QuestionFileFormat fileFormat = QuestionFileFormat.fromName(format);
+		log.info("Запрошен экспорт вопросов в {} пользователем: {}", fileFormat, user.getUsername());
 
-		String fileName = "questions_export.xlsx";
+		String fileName = "questions_export." + fileFormat.getExtension() + (gzip ? ".gz" : "");
 		ImportExportHistory history = historyService.createExportHistory(user, fileName);
 		log.debug("Создана запись истории экспорта с id: {}", history.getId());
 
-		response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
-		response.setHeader("Content-Disposition", "attachment; filename=" + fileName);
-
 		try {
-			questionExportService.exportQuestionsToExcel(response.getOutputStream(), history);
-			log.info("Экспорт вопросов в Excel успешно завершен пользователем: {}", user.getUsername());
+			jobScheduler.submit(history, questionExportService.createExportJob(fileFormat, gzip));
 		} catch (Exception e) {
-			log.error("Ошибка при экспорте вопросов в Excel: {}", e.getMessage(), e);
-			throw e;
+			log.error("Ошибка при постановке экспорта вопросов в очередь: {}", e.getMessage(), e);
+			historyService.markAsError(history, "Ошибка при запуске экспорта: " + e.getMessage());
+		}
+
+		return "redirect:" + URL_ADMIN_ROOT + URL_ADMIN_IMPORT_EXPORT_HISTORY;
+	}
+
+	/**
+	 * Отдает файл успешно завершенного экспорта.
+	 *
+	 * @param id идентификатор записи истории экспорта
+	 * @return файл экспорта или 404, если экспорт не завершен или файл уже удален
+	 */
+	@GetMapping(URL_ADMIN_ROOT + URL_ADMIN_QUESTIONS_EXPORT_DOWNLOAD)
+	@ResponseBody
+	public ResponseEntity<Resource> downloadExport(@PathVariable Long id) {
+		ImportExportHistory history = historyService.findById(id)
+				.filter(h -> ImportExportHistory.OPERATION_TYPE_EXPORT.equals(h.getOperationType()))
+				.filter(h -> ImportExportHistory.STATUS_SUCCESS.equals(h.getStatus()))
+				.orElse(null);
+		if (history == null) {
+			log.warn("Запрошен файл незавершенного или несуществующего экспорта с id: {}", id);
+			return ResponseEntity.notFound().build();
 		}
+		Path file = questionExportService.getExportFile(history);
+		if (!Files.isRegularFile(file)) {
+			log.warn("Файл экспорта с id {} не найден: {} (создан на узле {})", id, file, history.getNodeId());
+			return ResponseEntity.notFound().build();
+		}
+
+		String fileName = history.getFileName();
+		MediaType contentType = fileName.endsWith(".gz")
+				? MediaType.parseMediaType("application/gzip")
+				: MediaType.parseMediaType(QuestionFileFormat.fromFileName(fileName).getContentType());
+		return ResponseEntity.ok()
+				.contentType(contentType)
+				.header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+						.filename(fileName, StandardCharsets.UTF_8)
+						.build()
+						.toString())
+				.body(new FileSystemResource(file));
 	}
 
 	/**
-	 * Импортирует вопросы из Excel-файла.
+	 * Ставит в очередь импорт вопросов из файла.
+	 * <p>
+	 * Формат берется из параметра запроса, а если он не указан - определяется
+	 * по расширению файла (с учетом суффикса .gz). Сжатие gzip распознается
+	 * по содержимому файла.
+	 * <p>
+	 * Загруженный файл сохраняется во временный файл до постановки задания в очередь:
+	 * после завершения запроса контейнер может удалить ресурсы multipart-запроса.
+	 * Временный файл удаляет задание импорта.
 	 *
-	 * @param file загруженный Excel-файл
-	 * @param user текущий аутентифицированный пользователь
+	 * @param file   загруженный файл
+	 * @param format формат файла (может быть не указан)
+	 * @param user   текущий аутентифицированный пользователь
 	 * @return строка перенаправления на страницу истории импорта/экспорта
 	 */
-	@PostMapping(URL_ADMIN_ROOT + URL_ADMIN_QUESTIONS_IMPORT_EXCEL)
-	public String importQuestionsFromExcel(@RequestParam("file") MultipartFile file, @AuthenticationPrincipal User user) {
-		log.info("Начат импорт вопросов из Excel-файла '{}' пользователем: {}",
+	@PostMapping(URL_ADMIN_ROOT + URL_ADMIN_QUESTIONS_IMPORT)
+	public String importQuestions(@RequestParam("file") MultipartFile file,
+								  @RequestParam(value = "format", required = false) String format,
+								  @AuthenticationPrincipal User user) {
+		log.info("Запрошен импорт вопросов из файла '{}' пользователем: {}",
 				file.getOriginalFilename(), user.getUsername());
 
 		ImportExportHistory history = historyService.createImportHistory(user, file.getOriginalFilename());
 		log.debug("Создана запись истории импорта с id: {}", history.getId());
 
+		Path tempFile = null;
 		try {
-			questionImportService.importQuestionsAsync(file, history);
-			log.debug("Запущен асинхронный процесс импорта вопросов из файла '{}'", file.getOriginalFilename());
+			QuestionFileFormat fileFormat = format == null || format.isBlank()
+					? QuestionFileFormat.fromFileName(file.getOriginalFilename())
+					: QuestionFileFormat.fromName(format);
+			tempFile = Files.createTempFile("questions-import-", "." + fileFormat.getExtension());
+			file.transferTo(tempFile);
+			jobScheduler.submit(history, questionImportService.createImportJob(tempFile, fileFormat));
+			log.debug("Импорт вопросов из файла '{}' в формате {} поставлен в очередь",
+					file.getOriginalFilename(), fileFormat);
 		} catch (Exception e) {
-			log.error("Ошибка при запуске импорта вопросов из Excel-файла: {}", e.getMessage(), e);
+			log.error("Ошибка при постановке импорта вопросов в очередь: {}", e.getMessage(), e);
 			historyService.markAsError(history, "Ошибка при запуске импорта: " + e.getMessage());
+			deleteQuietly(tempFile);
 		}
 
 		return "redirect:" + URL_ADMIN_ROOT + URL_ADMIN_IMPORT_EXPORT_HISTORY;
 	}
 
+	/**
+	 * Отменяет задание импорта/экспорта.
+	 * <p>
+	 * Задание из очереди снимается сразу, выполняющееся задание останавливается
+	 * в ближайшей контрольной точке.
+	 *
+	 * @param id идентификатор записи истории задания
+	 * @return строка перенаправления на страницу истории импорта/экспорта
+	 */
+	@PostMapping(URL_ADMIN_ROOT + URL_ADMIN_IMPORT_EXPORT_JOB_CANCEL)
+	public String cancelJob(@PathVariable Long id) {
+		if (jobScheduler.cancel(id)) {
+			log.info("Запрошена отмена задания импорта/экспорта с id: {}", id);
+		} else {
+			log.debug("Задание импорта/экспорта с id {} уже завершено", id);
+		}
+		return "redirect:" + URL_ADMIN_ROOT + URL_ADMIN_IMPORT_EXPORT_HISTORY;
+	}
+
+	/**
+	 * Возвращает прогресс активных заданий импорта/экспорта.
+	 * <p>
+	 * Данные берутся из памяти очереди без обращения к базе данных,
+	 * поэтому страница истории может опрашивать этот адрес каждые несколько секунд.
+	 *
+	 * @return прогресс заданий в очереди и выполняющихся заданий
+	 */
+	@GetMapping(URL_ADMIN_ROOT + URL_ADMIN_API_IMPORT_EXPORT_JOBS)
+	@ResponseBody
+	public List<ImportExportJobProgressDTO> getActiveJobs() {
+		return jobScheduler.getActiveJobs();
+	}
+
 	/**
 	 * Очищает историю импорта и экспорта вопросов.
+	 * <p>
+	 * Удаляются только завершенные записи вместе с файлами экспорта;
+	 * активные задания остаются в истории.
 	 *
 	 * @return строка перенаправления на страницу истории импорта/экспорта
 	 */
@@ -128,7 +235,7 @@ public class ImportExportHistoryController {
 		log.info("Запрос на очистку истории импорта/экспорта вопросов");
 
 		try {
-			historyService.deleteAll();
+			historyService.deleteFinished().forEach(questionExportService::deleteExportFile);
 			log.info("История импорта/экспорта вопросов успешно очищена");
 		} catch (Exception e) {
 			log.error("Ошибка при очистке истории импорта/экспорта вопросов: {}", e.getMessage(), e);
@@ -136,4 +243,20 @@ public class ImportExportHistoryController {
 
 		return "redirect:" + URL_ADMIN_ROOT + URL_ADMIN_IMPORT_EXPORT_HISTORY;
 	}
-} 
\ No newline at end of file
+
+	/**
+	 * Удаляет временный файл, если он был создан.
+	 *
+	 * @param file путь к файлу (может быть null)
+	 */
+	private void deleteQuietly(Path file) {
+		if (file == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			log.warn("Не удалось удалить временный файл импорта {}: {}", file, e.getMessage());
+		}
+	}
+}
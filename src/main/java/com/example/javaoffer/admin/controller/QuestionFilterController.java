@@ -1,6 +1,6 @@
 package com.example.javaoffer.admin.controller;
 
-import com.example.javaoffer.exam.dto.TaskDTO;
+import com.example.javaoffer.exam.dto.TaskFilterResultDTO;
 import com.example.javaoffer.exam.service.TaskService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,8 +10,6 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
-import java.util.List;
-
 import static com.example.javaoffer.common.constants.UrlConstant.URL_ADMIN_FILTER_QUESTIONS;
 import static com.example.javaoffer.common.constants.UrlConstant.URL_ADMIN_FILTER_ROOT;
 import static com.example.javaoffer.common.constants.ViewConstant.VIEW_TEMPLATE_ADMIN_QUESTIONS_TBODY;
@@ -31,19 +29,28 @@ import static com.example.javaoffer.common.constants.ViewConstant.VIEW_TEMPLATE_
 @Slf4j
 public class QuestionFilterController {
 
+	/**
+	 * Максимальный размер порции вопросов за один запрос
+	 */
+	private static final int MAX_PAGE_SIZE = 200;
+
 	private final TaskService taskService;
 
 	/**
 	 * Обрабатывает AJAX-запросы для фильтрации вопросов.
 	 * <p>
-	 * Возвращает HTML-фрагмент с отфильтрованными вопросами для динамического обновления таблицы.
+	 * Возвращает HTML-фрагмент с порцией отфильтрованных вопросов для динамического обновления таблицы.
 	 * Поддерживает фильтрацию по теме, сложности, оценке, текстовому поиску и показ дублей.
+	 * Порции загружаются по мере прокрутки: следующая порция запрашивается с параметром afterId,
+	 * который фрагмент передает в строке-маркере.
 	 *
 	 * @param topic          тема для фильтрации (опционально)
 	 * @param difficulty     уровень сложности для фильтрации (опционально)
 	 * @param grade          оценка для фильтрации (опционально)
 	 * @param search         строка поиска по тексту вопроса (опционально)
 	 * @param showDuplicates показывать только вопросы с дублирующимся текстом как строка (опционально)
+	 * @param afterId        идентификатор последнего загруженного вопроса (опционально)
+	 * @param size           размер порции
 	 * @param model          модель для передачи данных в представление
 	 * @return имя фрагмента с отфильтрованными строками таблицы вопросов
 	 */
@@ -54,18 +61,24 @@ public class QuestionFilterController {
 			@RequestParam(required = false) String grade,
 			@RequestParam(required = false) String search,
 			@RequestParam(required = false, defaultValue = "false") String showDuplicates,
+			@RequestParam(required = false) Long afterId,
+			@RequestParam(defaultValue = "50") int size,
 			Model model) {
 
 		Boolean showDuplicatesBool = "true".equalsIgnoreCase(showDuplicates);
+		int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
 
-		log.debug("Запрос на фильтрацию вопросов с параметрами: topic={}, difficulty={}, grade={}, search={}, showDuplicates={}",
-				topic, difficulty, grade, search, showDuplicatesBool);
+		log.debug("Запрос на фильтрацию вопросов с параметрами: topic={}, difficulty={}, grade={}, search={}, showDuplicates={}, afterId={}, size={}",
+				topic, difficulty, grade, search, showDuplicatesBool, afterId, pageSize);
 
-		List<TaskDTO> filtered = taskService.filterTasks(topic, difficulty, grade, search, showDuplicatesBool);
+		TaskFilterResultDTO filtered = taskService.filterTasks(
+				topic, difficulty, grade, search, showDuplicatesBool, afterId, pageSize);
 
-		log.trace("Отфильтровано {} вопросов", filtered.size());
+		log.trace("Отфильтровано {} вопросов", filtered.getTasks().size());
 
-		model.addAttribute("tasks", filtered);
+		model.addAttribute("tasks", filtered.getTasks());
+		model.addAttribute("nextAfterId", filtered.getNextAfterId());
+		model.addAttribute("totalCount", filtered.getTotalCount());
 		return VIEW_TEMPLATE_ADMIN_QUESTIONS_TBODY;
 	}
-} 
\ No newline at end of file
+}
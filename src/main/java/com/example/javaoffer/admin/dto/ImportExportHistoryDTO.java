@@ -43,7 +43,7 @@ public class ImportExportHistoryDTO {
     private final String fileName;
     
     /**
-     * Статус операции (IN_PROGRESS, COMPLETED, FAILED)
+     * Статус операции (QUEUED, IN_PROGRESS, SUCCESS, ERROR, CANCELLED)
      */
     private final String status;
     
@@ -63,4 +63,24 @@ public class ImportExportHistoryDTO {
      * Результат операции (сообщение об успехе или ошибке)
      */
     private final String result;
-} 
\ No newline at end of file
+
+    /**
+     * Количество обработанных строк (вопросов)
+     */
+    private final long processedRows;
+
+    /**
+     * Общее количество строк, если известно
+     */
+    private final Long totalRows;
+
+    /**
+     * Средняя скорость обработки, строк в секунду
+     */
+    private final Double rowsPerSecond;
+
+    /**
+     * Оценка оставшегося времени в секундах
+     */
+    private final Long etaSeconds;
+}
@@ -0,0 +1,60 @@
+package com.example.javaoffer.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * DTO с текущим прогрессом активного задания импорта/экспорта.
+ * <p>
+ * Формируется из состояния задания в памяти без обращения к базе данных,
+ * поэтому страница истории может часто опрашивать прогресс.
+ *
+ * @author Garbuzov Oleg
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+@ToString
+public class ImportExportJobProgressDTO {
+    /**
+     * Идентификатор записи истории (задания)
+     */
+    private final Long id;
+
+    /**
+     * Статус задания (QUEUED или IN_PROGRESS)
+     */
+    private final String status;
+
+    /**
+     * Позиция в очереди своего типа, начиная с 1; 0 для выполняющегося задания
+     */
+    private final int queuePosition;
+
+    /**
+     * Количество обработанных строк (вопросов)
+     */
+    private final long processedRows;
+
+    /**
+     * Общее количество строк, если известно
+     */
+    private final Long totalRows;
+
+    /**
+     * Средняя скорость обработки, строк в секунду
+     */
+    private final double rowsPerSecond;
+
+    /**
+     * Оценка оставшегося времени в секундах, если известна
+     */
+    private final Long etaSeconds;
+
+    /**
+     * Запрошена ли отмена задания
+     */
+    private final boolean cancelRequested;
+}
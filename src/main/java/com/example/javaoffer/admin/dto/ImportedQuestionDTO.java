@@ -0,0 +1,28 @@
+package com.example.javaoffer.admin.dto;
+
+import com.example.javaoffer.exam.dto.TaskDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Вопрос с ответами, прочитанный из файла импорта.
+ * <p>
+ * Не зависит от формата файла: парсер формирует задание с ответами, а сохранение
+ * выполняется порциями. Идентификатор задания берется из файла и используется
+ * только для поиска существующего вопроса.
+ *
+ * @author Garbuzov Oleg
+ */
+@Getter
+@AllArgsConstructor
+public class ImportedQuestionDTO {
+	/**
+	 * Номер строки файла, с которой начинается вопрос (для сообщений об ошибках)
+	 */
+	private final long sourceLine;
+
+	/**
+	 * Данные вопроса и его ответов
+	 */
+	private final TaskDTO task;
+}
@@ -12,6 +12,10 @@ import java.time.LocalDateTime;
  * Хранит информацию о проведенных операциях импорта/экспорта вопросов,
  * включая пользователя, выполнившего операцию, тип операции, статус выполнения,
  * время начала и завершения, а также результат операции.
+ * <p>
+ * Запись одновременно является заданием очереди импорта/экспорта: пока операция
+ * в очереди или выполняется, в ней периодически сохраняется прогресс
+ * (обработанные строки, скорость и оценка оставшегося времени).
  *
  * @author Garbuzov Oleg
  */
@@ -33,6 +37,11 @@ public class ImportExportHistory {
 	 */
 	public static final String OPERATION_TYPE_EXPORT = "EXPORT";
 
+	/**
+	 * Статус операции: В очереди
+	 */
+	public static final String STATUS_QUEUED = "QUEUED";
+
 	/**
 	 * Статус операции: В процессе
 	 */
@@ -48,6 +57,11 @@ public class ImportExportHistory {
 	 */
 	public static final String STATUS_ERROR = "ERROR";
 
+	/**
+	 * Статус операции: Отменена администратором
+	 */
+	public static final String STATUS_CANCELLED = "CANCELLED";
+
 	/**
 	 * Уникальный идентификатор записи истории
 	 */
@@ -79,11 +93,13 @@ public class ImportExportHistory {
 	private String fileName;
 
 	/**
-	 * Статус операции (IN_PROGRESS, SUCCESS, ERROR)
+	 * Статус операции (QUEUED, IN_PROGRESS, SUCCESS, ERROR, CANCELLED)
 	 *
+	 * @see #STATUS_QUEUED
 	 * @see #STATUS_IN_PROGRESS
 	 * @see #STATUS_SUCCESS
 	 * @see #STATUS_ERROR
+	 * @see #STATUS_CANCELLED
 	 */
 	@Column(name = "status", nullable = false)
 	private String status;
@@ -105,4 +121,34 @@ public class ImportExportHistory {
 	 */
 	@Column(name = "result")
 	private String result;
-} 
\ No newline at end of file
+
+	/**
+	 * Количество обработанных строк (вопросов) на момент последней контрольной точки
+	 */
+	@Column(name = "processed_rows", nullable = false)
+	private long processedRows;
+
+	/**
+	 * Общее количество строк, если оно известно заранее (экспорт)
+	 */
+	@Column(name = "total_rows")
+	private Long totalRows;
+
+	/**
+	 * Средняя скорость обработки, строк в секунду
+	 */
+	@Column(name = "rows_per_second")
+	private Double rowsPerSecond;
+
+	/**
+	 * Оценка оставшегося времени в секундах; известна только при известном общем количестве строк
+	 */
+	@Column(name = "eta_seconds")
+	private Long etaSeconds;
+
+	/**
+	 * Идентификатор узла, в очереди которого выполняется задание
+	 */
+	@Column(name = "node_id")
+	private String nodeId;
+}
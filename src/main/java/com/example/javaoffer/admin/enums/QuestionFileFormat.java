@@ -0,0 +1,83 @@
+package com.example.javaoffer.admin.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Locale;
+
+/**
+ * Формат файла массового импорта и экспорта вопросов.
+ * <p>
+ * Все форматы переносят одни и те же данные: вопрос, его тему, сложность, грейд
+ * и ответы. Табличные форматы (XLSX и CSV) используют одинаковый набор столбцов
+ * и строку на каждый ответ, NDJSON - один JSON-объект вопроса с массивом ответов на строку.
+ *
+ * @author Garbuzov Oleg
+ */
+@Getter
+@RequiredArgsConstructor
+public enum QuestionFileFormat {
+	/**
+	 * Книга Excel. Самый медленный формат, удобен для ручного редактирования.
+	 */
+	XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+
+	/**
+	 * JSON Lines: один вопрос с ответами на строку. Предназначен для программной генерации вопросов.
+	 */
+	NDJSON("ndjson", "application/x-ndjson"),
+
+	/**
+	 * CSV со столбцами файла Excel и строкой на каждый ответ.
+	 */
+	CSV("csv", "text/csv");
+
+	/**
+	 * Расширение файла без точки
+	 */
+	private final String extension;
+
+	/**
+	 * MIME-тип содержимого файла
+	 */
+	private final String contentType;
+
+	/**
+	 * Определяет формат по названию без учета регистра.
+	 *
+	 * @param value название формата (может быть null)
+	 * @return формат или XLSX, если название не указано
+	 * @throws IllegalArgumentException если формат неизвестен
+	 */
+	public static QuestionFileFormat fromName(String value) {
+		if (value == null || value.isBlank()) {
+			return XLSX;
+		}
+		return valueOf(value.trim().toUpperCase(Locale.ROOT));
+	}
+
+	/**
+	 * Определяет формат по имени файла с учетом суффикса .gz.
+	 *
+	 * @param fileName имя файла (может быть null)
+	 * @return формат или XLSX, если расширение не распознано
+	 */
+	public static QuestionFileFormat fromFileName(String fileName) {
+		if (fileName == null) {
+			return XLSX;
+		}
+		String name = fileName.toLowerCase(Locale.ROOT);
+		if (name.endsWith(".gz")) {
+			name = name.substring(0, name.length() - 3);
+		}
+		for (QuestionFileFormat format : values()) {
+			if (name.endsWith("." + format.extension)) {
+				return format;
+			}
+		}
+		if (name.endsWith(".jsonl")) {
+			return NDJSON;
+		}
+		return XLSX;
+	}
+}
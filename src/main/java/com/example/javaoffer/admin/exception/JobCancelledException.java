@@ -0,0 +1,27 @@
+package com.example.javaoffer.admin.exception;
+
+import java.io.Serial;
+
+/**
+ * Исключение, которым задание импорта/экспорта прерывается после запроса отмены.
+ * <p>
+ * Выбрасывается в контрольной точке задания, поэтому задание останавливается
+ * между порциями работы, а не посреди записи в базу данных.
+ *
+ * @author Garbuzov Oleg
+ */
+public class JobCancelledException extends RuntimeException {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Конструктор с сообщением об ошибке
+	 *
+	 * @param message сообщение, описывающее причину исключения
+	 */
+	public JobCancelledException(String message) {
+		super(message);
+	}
+
+}
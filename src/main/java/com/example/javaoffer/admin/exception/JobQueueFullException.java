@@ -0,0 +1,25 @@
+package com.example.javaoffer.admin.exception;
+
+import java.io.Serial;
+
+/**
+ * Исключение, выбрасываемое при попытке поставить задание импорта/экспорта
+ * в заполненную очередь.
+ *
+ * @author Garbuzov Oleg
+ */
+public class JobQueueFullException extends RuntimeException {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Конструктор с сообщением об ошибке
+	 *
+	 * @param message сообщение, описывающее причину исключения
+	 */
+	public JobQueueFullException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,26 @@
+package com.example.javaoffer.admin.property;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Конфигурационные свойства импорта вопросов.
+ * <p>
+ * Загружаются из файла настроек приложения с префиксом "app.import".
+ *
+ * @author Garbuzov Oleg
+ */
+@Component
+@Data
+@ConfigurationProperties("app.import")
+public class ImportProperties {
+	/**
+	 * Количество вопросов в одной порции импорта.
+	 * <p>
+	 * Каждая порция сохраняется в отдельной транзакции: существующие вопросы
+	 * порции ищутся двумя запросами IN, ответы удаляются и вставляются батчем.
+	 * После каждой порции обновляется прогресс в истории импорта.
+	 */
+	private int chunkSize = 500;
+}
@@ -0,0 +1,81 @@
+package com.example.javaoffer.admin.property;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+
+/**
+ * Конфигурационные свойства очереди заданий импорта и экспорта вопросов.
+ * <p>
+ * Загружаются из файла настроек приложения с префиксом "app.jobs".
+ *
+ * @author Garbuzov Oleg
+ */
+@Component
+@Data
+@ConfigurationProperties("app.jobs")
+public class JobProperties {
+	/**
+	 * Количество потоков, выполняющих задания (общий лимит одновременных заданий)
+	 */
+	private int workers = 2;
+
+	/**
+	 * Максимальное количество заданий, ожидающих в очереди.
+	 * <p>
+	 * При заполненной очереди новое задание отклоняется, а не копится в памяти.
+	 */
+	private int queueCapacity = 20;
+
+	/**
+	 * Максимальное количество одновременно выполняемых импортов.
+	 * <p>
+	 * По умолчанию 1: параллельные импорты конкурируют за одни и те же вопросы.
+	 */
+	private int importConcurrency = 1;
+
+	/**
+	 * Максимальное количество одновременно выполняемых экспортов
+	 */
+	private int exportConcurrency = 1;
+
+	/**
+	 * Минимальный интервал между сохранениями прогресса задания в базу данных
+	 */
+	private Duration checkpointInterval = Duration.ofSeconds(2);
+
+	/**
+	 * Каталог для файлов экспорта; файл доступен для скачивания со страницы истории.
+	 * <p>
+	 * Файл скачивается тем узлом, на который балансировщик направил запрос, поэтому
+	 * при нескольких узлах каталог должен находиться в общем для них хранилище
+	 * (сетевой том). Локальный каталог по умолчанию подходит только для одного узла.
+	 */
+	private String exportDirectory = System.getProperty("java.io.tmpdir") + "/javaoffer-export";
+
+	/**
+	 * Идентификатор узла, которому принадлежат поставленные на нем задания.
+	 * <p>
+	 * Очередь заданий находится в памяти узла, поэтому при запуске в статус ошибки
+	 * переводятся только незавершенные задания этого узла. Идентификатор должен быть
+	 * уникальным среди узлов и не меняться при перезапуске узла; по умолчанию
+	 * используется имя хоста.
+	 */
+	private String nodeId = defaultNodeId();
+
+	private static String defaultNodeId() {
+		String hostName = System.getenv("HOSTNAME");
+		if (hostName != null && !hostName.isBlank()) {
+			return hostName;
+		}
+		try {
+			return InetAddress.getLocalHost().getHostName();
+		} catch (UnknownHostException e) {
+			return "local";
+		}
+	}
+}
@@ -2,8 +2,14 @@ package com.example.javaoffer.admin.repository;
 
 import com.example.javaoffer.admin.entity.ImportExportHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Репозиторий для работы с сущностью {@link ImportExportHistory}.
  * <p>
@@ -15,4 +21,33 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface ImportExportHistoryRepository extends JpaRepository<ImportExportHistory, Long> {
-}
\ No newline at end of file
+
+	/**
+	 * Находит записи, статус которых не входит в указанный набор.
+	 *
+	 * @param statuses исключаемые статусы
+	 * @return список записей
+	 */
+	List<ImportExportHistory> findByStatusNotIn(Collection<String> statuses);
+
+	/**
+	 * Переводит записи узла с указанными статусами в статус ошибки.
+	 * <p>
+	 * Используется при запуске приложения: задания, которые были в очереди или
+	 * выполнялись на этом узле до его остановки, уже не будут продолжены. Задания
+	 * других узлов не затрагиваются. Записи без узла созданы до появления колонки
+	 * и тоже считаются прерванными.
+	 *
+	 * @param nodeId      идентификатор узла
+	 * @param statuses    статусы незавершенных заданий
+	 * @param errorStatus статус ошибки
+	 * @param result      текст результата
+	 * @param finishedAt  время завершения
+	 * @return количество обновленных записей
+	 */
+	@Modifying
+	@Query("UPDATE ImportExportHistory h SET h.status = :errorStatus, h.result = :result, h.finishedAt = :finishedAt, "
+			+ "h.etaSeconds = null WHERE h.status IN :statuses AND (h.nodeId = :nodeId OR h.nodeId IS NULL)")
+	int failByNodeIdAndStatusIn(String nodeId, Collection<String> statuses, String errorStatus, String result,
+								LocalDateTime finishedAt);
+}
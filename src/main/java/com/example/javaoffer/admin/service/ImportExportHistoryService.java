@@ -2,16 +2,20 @@ package com.example.javaoffer.admin.service;
 
 import com.example.javaoffer.admin.dto.ImportExportHistoryDTO;
 import com.example.javaoffer.admin.entity.ImportExportHistory;
+import com.example.javaoffer.admin.property.JobProperties;
 import com.example.javaoffer.admin.repository.ImportExportHistoryRepository;
 import com.example.javaoffer.user.entity.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Сервис для работы с историей импорта и экспорта вопросов.
@@ -21,7 +25,8 @@ import java.util.List;
  *   <li>Получения списка всех записей истории</li>
  *   <li>Сохранения новых записей</li>
  *   <li>Поиска записей по идентификатору</li>
- *   <li>Удаления всех записей</li>
+ *   <li>Обновления статуса и прогресса заданий импорта/экспорта</li>
+ *   <li>Удаления завершенных записей</li>
  *   <li>Фильтрации записей по различным критериям</li>
  * </ul>
  *
@@ -31,7 +36,15 @@ import java.util.List;
 @RequiredArgsConstructor
 @Slf4j
 public class ImportExportHistoryService {
+
+	/**
+	 * Статусы незавершенных заданий
+	 */
+	private static final Set<String> ACTIVE_STATUSES =
+			Set.of(ImportExportHistory.STATUS_QUEUED, ImportExportHistory.STATUS_IN_PROGRESS);
+
 	private final ImportExportHistoryRepository repository;
+	private final JobProperties jobProperties;
 
 	/**
 	 * Получает список всех записей истории импорта/экспорта.
@@ -55,6 +68,17 @@ public class ImportExportHistoryService {
 		return result;
 	}
 
+	/**
+	 * Находит запись истории по идентификатору.
+	 *
+	 * @param id идентификатор записи
+	 * @return запись истории, если найдена
+	 */
+	@Transactional(readOnly = true)
+	public Optional<ImportExportHistory> findById(Long id) {
+		return repository.findById(id);
+	}
+
 	/**
 	 * Сохраняет запись истории импорта/экспорта.
 	 *
@@ -71,7 +95,7 @@ public class ImportExportHistoryService {
 	}
 
 	/**
-	 * Создает новую запись истории импорта.
+	 * Создает новую запись истории импорта в статусе "в очереди".
 	 *
 	 * @param user     пользователь, выполняющий операцию
 	 * @param fileName имя файла
@@ -85,14 +109,15 @@ public class ImportExportHistoryService {
 				.user(user)
 				.operationType(ImportExportHistory.OPERATION_TYPE_IMPORT)
 				.fileName(fileName)
-				.status(ImportExportHistory.STATUS_IN_PROGRESS)
+				.status(ImportExportHistory.STATUS_QUEUED)
 				.startedAt(LocalDateTime.now())
+				.nodeId(jobProperties.getNodeId())
 				.build();
 		return save(history);
 	}
 
 	/**
-	 * Создает новую запись истории экспорта.
+	 * Создает новую запись истории экспорта в статусе "в очереди".
 	 *
 	 * @param user     пользователь, выполняющий операцию
 	 * @param fileName имя файла
@@ -106,8 +131,9 @@ public class ImportExportHistoryService {
 				.user(user)
 				.operationType(ImportExportHistory.OPERATION_TYPE_EXPORT)
 				.fileName(fileName)
-				.status(ImportExportHistory.STATUS_IN_PROGRESS)
+				.status(ImportExportHistory.STATUS_QUEUED)
 				.startedAt(LocalDateTime.now())
+				.nodeId(jobProperties.getNodeId())
 				.build();
 		return save(history);
 	}
@@ -123,10 +149,64 @@ public class ImportExportHistoryService {
 		log.debug("Обновление статуса записи истории с id={} на SUCCESS", history.getId());
 		history.setStatus(ImportExportHistory.STATUS_SUCCESS);
 		history.setFinishedAt(LocalDateTime.now());
+		history.setEtaSeconds(null);
 		history.setResult(result);
 		save(history);
 	}
 
+	/**
+	 * Переводит задание из очереди в статус выполнения.
+	 *
+	 * @param history запись истории
+	 */
+	@Transactional
+	public void markAsRunning(ImportExportHistory history) {
+		log.debug("Обновление статуса записи истории с id={} на IN_PROGRESS", history.getId());
+		history.setStatus(ImportExportHistory.STATUS_IN_PROGRESS);
+		save(history);
+	}
+
+	/**
+	 * Обновляет статус записи истории на отмену администратором.
+	 *
+	 * @param history запись истории
+	 * @param result  описание состояния на момент отмены
+	 */
+	@Transactional
+	public void markAsCancelled(ImportExportHistory history, String result) {
+		log.debug("Обновление статуса записи истории с id={} на CANCELLED", history.getId());
+		history.setStatus(ImportExportHistory.STATUS_CANCELLED);
+		history.setFinishedAt(LocalDateTime.now());
+		history.setEtaSeconds(null);
+		history.setResult(result);
+		save(history);
+	}
+
+	/**
+	 * Записывает контрольную точку прогресса выполняющегося задания.
+	 * <p>
+	 * Статус записи не меняется. Контрольная точка сохраняется в отдельной транзакции:
+	 * экспорт вызывает ее внутри транзакции только для чтения, изменения в которой
+	 * не сбрасываются в базу данных.
+	 *
+	 * @param history       запись истории
+	 * @param processedRows количество обработанных строк
+	 * @param totalRows     общее количество строк (null, если неизвестно)
+	 * @param rowsPerSecond средняя скорость обработки
+	 * @param etaSeconds    оценка оставшегося времени (null, если неизвестна)
+	 */
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public void updateProgress(ImportExportHistory history, long processedRows, Long totalRows,
+							   double rowsPerSecond, Long etaSeconds) {
+		log.trace("Обновление прогресса записи истории с id={}: {} строк, {} строк/с",
+				history.getId(), processedRows, rowsPerSecond);
+		history.setProcessedRows(processedRows);
+		history.setTotalRows(totalRows);
+		history.setRowsPerSecond(rowsPerSecond);
+		history.setEtaSeconds(etaSeconds);
+		save(history);
+	}
+
 	/**
 	 * Обновляет статус записи истории на завершение с ошибкой.
 	 *
@@ -138,6 +218,7 @@ public class ImportExportHistoryService {
 		log.debug("Обновление статуса записи истории с id={} на ERROR", history.getId());
 		history.setStatus(ImportExportHistory.STATUS_ERROR);
 		history.setFinishedAt(LocalDateTime.now());
+		history.setEtaSeconds(null);
 
 		// Ограничиваем длину сообщения об ошибке
 		if (error != null && error.length() > 500) {
@@ -149,14 +230,40 @@ public class ImportExportHistoryService {
 	}
 
 	/**
-	 * Удаляет все записи истории импорта/экспорта.
+	 * Удаляет завершенные записи истории импорта/экспорта.
+	 * <p>
+	 * Задания в очереди и выполняющиеся задания не удаляются: их записи
+	 * еще обновляются потоками очереди.
+	 *
+	 * @return удаленные записи
 	 */
 	@Transactional
-	public void deleteAll() {
-		log.info("Удаление всех записей истории импорта/экспорта");
-		long count = repository.count();
-		repository.deleteAll();
-		log.info("Удалено {} записей истории импорта/экспорта", count);
+	public List<ImportExportHistory> deleteFinished() {
+		log.info("Удаление завершенных записей истории импорта/экспорта");
+		List<ImportExportHistory> finished = repository.findByStatusNotIn(ACTIVE_STATUSES);
+		repository.deleteAll(finished);
+		log.info("Удалено {} записей истории импорта/экспорта", finished.size());
+		return finished;
+	}
+
+	/**
+	 * Переводит задания этого узла, не завершенные до его остановки, в статус ошибки.
+	 * <p>
+	 * Очередь заданий находится в памяти узла, поэтому задания других узлов
+	 * не затрагиваются: они могут еще выполняться.
+	 *
+	 * @return количество обновленных записей
+	 * @see JobProperties#getNodeId()
+	 */
+	@Transactional
+	public int failInterruptedJobs() {
+		int updated = repository.failByNodeIdAndStatusIn(jobProperties.getNodeId(), ACTIVE_STATUSES,
+				ImportExportHistory.STATUS_ERROR, "Ошибка: задание прервано остановкой приложения", LocalDateTime.now());
+		if (updated > 0) {
+			log.warn("Задания импорта/экспорта узла {}, прерванные остановкой приложения: {}",
+					jobProperties.getNodeId(), updated);
+		}
+		return updated;
 	}
 
 	/**
@@ -175,6 +282,10 @@ public class ImportExportHistoryService {
 				.startedAt(history.getStartedAt())
 				.finishedAt(history.getFinishedAt())
 				.result(history.getResult())
+				.processedRows(history.getProcessedRows())
+				.totalRows(history.getTotalRows())
+				.rowsPerSecond(history.getRowsPerSecond())
+				.etaSeconds(history.getEtaSeconds())
 				.build();
 	}
 } 
\ No newline at end of file
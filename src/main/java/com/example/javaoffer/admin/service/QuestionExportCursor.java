@@ -0,0 +1,80 @@
+package com.example.javaoffer.admin.service;
+
+import com.example.javaoffer.exam.entity.Task;
+import com.example.javaoffer.exam.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Однонаправленный обход всех заданий с ответами для экспорта.
+ * <p>
+ * Задания читаются одним запросом с соединением ответов через курсор JDBC
+ * (строки подгружаются порциями по размеру выборки), поэтому экспорт не выполняет
+ * отдельный запрос ответов на каждое задание. После передачи обработчику задание
+ * отсоединяется от контекста персистентности, и потребление памяти не зависит
+ * от количества заданий.
+ *
+ * @author Garbuzov Oleg
+ * @see TaskRepository#streamAllWithAnswers()
+ */
+@Service
+@RequiredArgsConstructor
+public class QuestionExportCursor {
+	private final TaskRepository taskRepository;
+	private final EntityManager entityManager;
+
+	/**
+	 * Обработчик очередного задания.
+	 */
+	@FunctionalInterface
+	public interface TaskHandler {
+		/**
+		 * Обрабатывает задание с загруженными ответами.
+		 *
+		 * @param task задание
+		 * @throws IOException при ошибке записи
+		 */
+		void handle(Task task) throws IOException;
+	}
+
+	/**
+	 * Возвращает количество заданий, которые обойдет {@link #forEachTask(TaskHandler)}.
+	 *
+	 * @return количество заданий
+	 */
+	@Transactional(readOnly = true)
+	public long countTasks() {
+		return taskRepository.count();
+	}
+
+	/**
+	 * Передает обработчику все задания по возрастанию идентификатора.
+	 * <p>
+	 * Курсор PostgreSQL работает только внутри транзакции, поэтому обход
+	 * выполняется в транзакции только для чтения.
+	 *
+	 * @param handler обработчик заданий
+	 * @return количество обработанных заданий
+	 * @throws IOException если обработчик не смог записать данные
+	 */
+	@Transactional(readOnly = true)
+	public long forEachTask(TaskHandler handler) throws IOException {
+		long count = 0;
+		try (Stream<Task> tasks = taskRepository.streamAllWithAnswers()) {
+			Iterator<Task> iterator = tasks.iterator();
+			while (iterator.hasNext()) {
+				Task task = iterator.next();
+				handler.handle(task);
+				entityManager.detach(task);
+				count++;
+			}
+		}
+		return count;
+	}
+}
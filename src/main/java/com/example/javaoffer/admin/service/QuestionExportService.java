@@ -1,23 +1,31 @@
 package com.example.javaoffer.admin.service;
 
 import com.example.javaoffer.admin.entity.ImportExportHistory;
-import com.example.javaoffer.exam.entity.Answer;
-import com.example.javaoffer.exam.entity.Task;
-import com.example.javaoffer.exam.repository.TaskRepository;
-import jakarta.transaction.Transactional;
+import com.example.javaoffer.admin.enums.QuestionFileFormat;
+import com.example.javaoffer.admin.property.JobProperties;
+import com.example.javaoffer.admin.service.format.QuestionFormats;
+import com.example.javaoffer.admin.service.format.QuestionWriter;
+import com.example.javaoffer.admin.service.job.ImportExportJob;
+import com.example.javaoffer.admin.service.job.ImportExportJobScheduler;
+import com.example.javaoffer.admin.service.job.JobContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
-import java.util.List;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
 
 /**
- * Сервис для экспорта вопросов в формате Excel.
+ * Сервис для экспорта вопросов в файлы XLSX, CSV и NDJSON.
  * <p>
- * Предоставляет функционал для экспорта вопросов в Excel-файл.
+ * Экспорт выполняется заданием очереди {@link ImportExportJobScheduler} и пишет файл
+ * в каталог {@link JobProperties#getExportDirectory()}; после завершения задания файл
+ * скачивается со страницы истории. Экспорт потоковый: задания с ответами читаются
+ * курсором {@link QuestionExportCursor} и по одному передаются писателю выбранного формата.
  *
  * @author Garbuzov Oleg
  */
@@ -25,102 +33,87 @@ import java.util.List;
 @RequiredArgsConstructor
 @Slf4j
 public class QuestionExportService {
-	private final TaskRepository taskRepository;
-	private final ImportExportHistoryService historyService;
 
 	/**
-	 * Экспортирует вопросы в Excel-файл.
-	 * <p>
-	 * Метод извлекает все вопросы и ответы из базы данных и записывает их
-	 * в Excel-файл. Для каждого вопроса создается отдельная строка с его данными
-	 * и первым ответом. Дополнительные ответы добавляются в отдельные строки.
-	 *
-	 * <p>
-	 * Метод обновляет запись истории экспорта по завершении операции.
-	 *
-	 * @param outputStream выходной поток для записи Excel-файла
-	 * @param history      запись истории экспорта для отслеживания результата
+	 * Размер буфера записи файла
 	 */
-	@Transactional
-	public void exportQuestionsToExcel(OutputStream outputStream, ImportExportHistory history) {
-		try (Workbook workbook = new XSSFWorkbook()) {
-			Sheet sheet = workbook.createSheet("Вопросы");
-
-			// Создаем стили для заголовка
-			CellStyle headerStyle = workbook.createCellStyle();
-			Font headerFont = workbook.createFont();
-			headerFont.setBold(true);
-			headerStyle.setFont(headerFont);
-
-			// Создаем заголовок
-			Row headerRow = sheet.createRow(0);
-			String[] headers = {"question_id", "question_text", "topic", "difficulty", "grade", "answer_id", "answer_text", "is_correct", "explanation"};
-			for (int i = 0; i < headers.length; i++) {
-				Cell cell = headerRow.createCell(i);
-				cell.setCellValue(headers[i]);
-				cell.setCellStyle(headerStyle);
-			}
-
-			// Заполняем данными
-			List<Task> tasks = taskRepository.findAll();
-			int rowNum = 1;
-			for (Task task : tasks) {
-				List<Answer> answers = task.getAnswers();
-				if (answers == null || answers.isEmpty()) {
-					// Если у вопроса нет ответов, все равно добавляем строку с вопросом
-					Row row = sheet.createRow(rowNum++);
+	private static final int BUFFER_SIZE = 64 * 1024;
 
-					row.createCell(0).setCellValue(task.getId() != null ? task.getId() : 0);
-					row.createCell(1).setCellValue(task.getQuestion() != null ? task.getQuestion() : "");
-					row.createCell(2).setCellValue(task.getTopic() != null ? task.getTopic().name() : "");
-					row.createCell(3).setCellValue(task.getDifficulty() != null ? task.getDifficulty().name() : "");
-					row.createCell(4).setCellValue(task.getGrade() != null ? task.getGrade().name() : "");
-					// Оставляем ячейки ответа пустыми
-				} else {
-					boolean isFirstAnswer = true;
-					for (var answer : answers) {
-						Row row = sheet.createRow(rowNum++);
+	private final QuestionExportCursor exportCursor;
+	private final QuestionFormats questionFormats;
+	private final JobProperties jobProperties;
 
-						// ID вопроса всегда указываем
-						row.createCell(0).setCellValue(task.getId() != null ? task.getId() : 0);
+	/**
+	 * Создает задание экспорта вопросов в файл.
+	 *
+	 * @param format формат файла
+	 * @param gzip   сжать файл gzip
+	 * @return задание для очереди
+	 */
+	public ImportExportJob createExportJob(QuestionFileFormat format, boolean gzip) {
+		return context -> exportQuestions(format, gzip, context);
+	}
 
-						if (isFirstAnswer) {
-							// Для первого ответа указываем все данные вопроса
-							row.createCell(1).setCellValue(task.getQuestion() != null ? task.getQuestion() : "");
-							row.createCell(2).setCellValue(task.getTopic() != null ? task.getTopic().name() : "");
-							row.createCell(3).setCellValue(task.getDifficulty() != null ? task.getDifficulty().name() : "");
-							row.createCell(4).setCellValue(task.getGrade() != null ? task.getGrade().name() : "");
-							isFirstAnswer = false;
-						} else {
-							// Для остальных ответов оставляем поля вопроса пустыми
-							row.createCell(1).setCellValue("");
-							row.createCell(2).setCellValue("");
-							row.createCell(3).setCellValue("");
-							row.createCell(4).setCellValue("");
-						}
+	/**
+	 * Возвращает путь к файлу экспорта записи истории.
+	 *
+	 * @param history запись истории экспорта
+	 * @return путь к файлу (файл может отсутствовать)
+	 */
+	public Path getExportFile(ImportExportHistory history) {
+		return Path.of(jobProperties.getExportDirectory()).resolve(history.getId() + "-" + history.getFileName());
+	}
 
-						// Данные ответа
-						row.createCell(5).setCellValue(answer.getId() != null ? answer.getId() : 0);
-						row.createCell(6).setCellValue(answer.getContent() != null ? answer.getContent() : "");
-						row.createCell(7).setCellValue(answer.isCorrect());
-						row.createCell(8).setCellValue(answer.getExplanation() != null ? answer.getExplanation() : "");
-					}
-				}
-			}
+	/**
+	 * Удаляет файл экспорта записи истории, если он есть.
+	 *
+	 * @param history запись истории
+	 */
+	public void deleteExportFile(ImportExportHistory history) {
+		if (!ImportExportHistory.OPERATION_TYPE_EXPORT.equals(history.getOperationType())) {
+			return;
+		}
+		Path file = getExportFile(history);
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			log.warn("Не удалось удалить файл экспорта {}: {}", file, e.getMessage());
+		}
+	}
 
-			// Автоматически регулируем ширину столбцов
-			for (int i = 0; i < headers.length; i++) {
-				sheet.autoSizeColumn(i);
-			}
+	/**
+	 * Экспортирует вопросы в файл в потоке задания.
+	 * <p>
+	 * Метод обходит все вопросы с ответами и передает их писателю формата,
+	 * проходя контрольную точку задания на каждом вопросе. При ошибке или отмене
+	 * недописанный файл удаляется.
+	 *
+	 * @param format  формат файла
+	 * @param gzip    сжать файл gzip
+	 * @param context контекст задания
+	 * @return отчет об экспорте
+	 * @throws IOException при ошибке записи файла
+	 */
+	private String exportQuestions(QuestionFileFormat format, boolean gzip, JobContext context) throws IOException {
+		context.setTotalRows(exportCursor.countTasks());
+		Path target = getExportFile(context.getHistory());
+		Files.createDirectories(target.getParent());
 
-			// Записываем в выходной поток
-			workbook.write(outputStream);
-			outputStream.flush();
+		try (OutputStream fileStream = new BufferedOutputStream(Files.newOutputStream(target), BUFFER_SIZE);
+			 OutputStream outputStream = gzip ? new GZIPOutputStream(fileStream, BUFFER_SIZE) : fileStream;
+			 QuestionWriter writer = questionFormats.writer(format, outputStream)) {
+			long[] exported = {0};
+			exportCursor.forEachTask(task -> {
+				writer.write(task);
+				context.checkpoint(++exported[0]);
+			});
+			writer.finish();
 
-			historyService.markAsSuccess(history, "Экспортировано вопросов: " + tasks.size());
-		} catch (Exception e) {
-			log.error("Ошибка экспорта вопросов в Excel", e);
-			historyService.markAsError(history, e.getMessage());
+			log.info("Экспорт вопросов в {} завершен, файл {}", format, target);
+			return "Экспортировано вопросов: " + exported[0];
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(target);
+			throw e;
 		}
 	}
-} 
\ No newline at end of file
+}
@@ -0,0 +1,171 @@
+package com.example.javaoffer.admin.service;
+
+import com.example.javaoffer.admin.dto.ImportedQuestionDTO;
+import com.example.javaoffer.common.utils.ContentHashUtils;
+import com.example.javaoffer.exam.dto.AnswerDTO;
+import com.example.javaoffer.exam.dto.TaskDTO;
+import com.example.javaoffer.exam.entity.Answer;
+import com.example.javaoffer.exam.entity.Task;
+import com.example.javaoffer.exam.repository.AnswerBatchRepository;
+import com.example.javaoffer.exam.repository.TaskRepository;
+import com.example.javaoffer.exam.service.TaskSimilarityService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.example.javaoffer.common.constants.JpaCacheName.CACHE_NAME_ALL_TASK_BY_DIFFICULTY;
+
+/**
+ * Сервис сохранения одной порции импортируемых вопросов.
+ * <p>
+ * Каждая порция сохраняется в собственной транзакции с фиксированным числом
+ * обращений к базе данных независимо от количества вопросов в ней:
+ * <ol>
+ *   <li>Существующие вопросы ищутся одним запросом IN по идентификаторам из файла
+ *   и одним запросом IN по хешам текста вопросов</li>
+ *   <li>Вопросы создаются и обновляются через JPA</li>
+ *   <li>Ответы затронутых вопросов удаляются одним запросом и вставляются JDBC-батчем</li>
+ *   <li>Пересчитывается индекс похожих вопросов для заданий порции</li>
+ * </ol>
+ * Ошибка в порции откатывает только эту порцию; уже сохраненные порции остаются в базе.
+ *
+ * @author Garbuzov Oleg
+ * @see QuestionImportService
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QuestionImportChunkService {
+	private final TaskRepository taskRepository;
+	private final AnswerBatchRepository answerBatchRepository;
+	private final TaskSimilarityService taskSimilarityService;
+
+	/**
+	 * Сохраняет порцию вопросов с ответами.
+	 * <p>
+	 * <b>Алгоритм поиска существующего вопроса:</b>
+	 * <ol>
+	 *   <li>Если указан идентификатор вопроса - ищем по нему</li>
+	 *   <li>Если по идентификатору не найден или он не указан - ищем по хешу текста вопроса
+	 *   (без учета различий в пробелах), в том числе среди вопросов, созданных ранее в этой порции</li>
+	 *   <li>Если нигде не найден - создаем новый вопрос</li>
+	 * </ol>
+	 * Ответы найденного вопроса полностью заменяются ответами из файла.
+	 *
+	 * @param questions вопросы порции в порядке следования в файле
+	 * @return результат сохранения порции
+	 */
+	@CacheEvict(value = CACHE_NAME_ALL_TASK_BY_DIFFICULTY, allEntries = true)
+	@Transactional
+	public ChunkResult saveChunk(List<ImportedQuestionDTO> questions) {
+		List<String> messages = new ArrayList<>();
+
+		// Поиск существующих вопросов: один запрос по идентификаторам, один по хешам
+		Set<Long> requestedIds = questions.stream()
+				.map(question -> question.getTask().getId())
+				.filter(id -> id != null && id > 0)
+				.collect(Collectors.toSet());
+		Map<Long, Task> tasksById = taskRepository.findAllById(requestedIds).stream()
+				.collect(Collectors.toMap(Task::getId, Function.identity()));
+
+		Set<String> hashes = questions.stream()
+				.filter(question -> !tasksById.containsKey(question.getTask().getId()))
+				.map(question -> ContentHashUtils.sha256Hex(question.getTask().getQuestion()))
+				.collect(Collectors.toSet());
+		Map<String, Task> tasksByHash = new HashMap<>();
+		if (!hashes.isEmpty()) {
+			for (Task task : taskRepository.findByContentHashInOrderByIdAsc(hashes)) {
+				tasksByHash.putIfAbsent(task.getContentHash(), task);
+			}
+		}
+
+		// Задание -> ответы из файла; повторное появление задания заменяет его ответы, как и раньше
+		Map<Task, List<AnswerDTO>> answersByTask = new IdentityHashMap<>();
+		List<Task> tasks = new ArrayList<>();
+		Set<Long> existingTaskIds = new HashSet<>();
+		int createdQuestions = 0;
+		int updatedQuestions = 0;
+
+		for (ImportedQuestionDTO question : questions) {
+			TaskDTO dto = question.getTask();
+			Task task = tasksById.get(dto.getId());
+			if (task == null && dto.getId() != null && dto.getId() > 0) {
+				messages.add("Строка " + question.getSourceLine() + ": Вопрос с ID " + dto.getId()
+						+ " не найден, поиск по тексту");
+			}
+			String hash = ContentHashUtils.sha256Hex(dto.getQuestion());
+			if (task == null) {
+				task = tasksByHash.get(hash);
+			}
+
+			if (task == null) {
+				task = new Task();
+				createdQuestions++;
+			} else {
+				updatedQuestions++;
+			}
+			task.setQuestion(dto.getQuestion());
+			task.setTopic(dto.getTopic());
+			task.setDifficulty(dto.getDifficulty());
+			task.setGrade(dto.getGrade());
+			// Следующие вопросы с тем же текстом в порции обновят это же задание
+			tasksByHash.put(hash, task);
+
+			if (task.getId() != null) {
+				existingTaskIds.add(task.getId());
+			}
+			if (answersByTask.put(task, dto.getAnswers()) == null) {
+				tasks.add(task);
+			}
+		}
+
+		// Вопросы должны получить идентификаторы до вставки ответов через JDBC
+		taskRepository.saveAll(tasks);
+		taskRepository.flush();
+
+		int deletedAnswers = answerBatchRepository.deleteByTaskIdIn(existingTaskIds);
+		List<Answer> answers = new ArrayList<>();
+		answersByTask.forEach((task, answerDTOs) -> {
+			for (AnswerDTO answerDTO : answerDTOs) {
+				answers.add(Answer.builder()
+						.task(task)
+						.content(answerDTO.getContent())
+						.isCorrect(Boolean.TRUE.equals(answerDTO.getIsCorrect()))
+						.explanation(answerDTO.getExplanation())
+						.build());
+			}
+		});
+		answerBatchRepository.insertAll(answers);
+
+		List<Long> taskIds = tasks.stream()
+				.map(Task::getId)
+				.toList();
+		taskSimilarityService.indexTasks(taskIds);
+
+		log.debug("Сохранена порция импорта: вопросов {}, создано {}, обновлено {}, удалено ответов {}, создано ответов {}",
+				questions.size(), createdQuestions, updatedQuestions, deletedAnswers, answers.size());
+		return new ChunkResult(createdQuestions, updatedQuestions, answers.size(), messages);
+	}
+
+	/**
+	 * Результат сохранения порции вопросов.
+	 *
+	 * @param createdQuestions количество созданных вопросов
+	 * @param updatedQuestions количество обновленных вопросов
+	 * @param createdAnswers   количество созданных ответов
+	 * @param messages         предупреждения для отчета администратору
+	 */
+	public record ChunkResult(
+			int createdQuestions,
+			int updatedQuestions,
+			int createdAnswers,
+			List<String> messages
+	) {
+	}
+}
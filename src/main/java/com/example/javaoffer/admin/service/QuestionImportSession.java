@@ -0,0 +1,143 @@
+package com.example.javaoffer.admin.service;
+
+import com.example.javaoffer.admin.dto.ImportedQuestionDTO;
+import com.example.javaoffer.admin.service.format.QuestionSink;
+import com.example.javaoffer.admin.service.job.JobContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Состояние одного запуска импорта вопросов.
+ * <p>
+ * Читатель файла (любого формата) передает сюда прочитанные вопросы и ошибки разбора.
+ * Вопросы накапливаются в порцию заданного размера, и каждая заполненная порция
+ * сохраняется через {@link QuestionImportChunkService} в отдельной транзакции.
+ * Каждый прочитанный вопрос проходит через контрольную точку задания
+ * ({@link JobContext#checkpoint(long)}): так сохраняется прогресс импорта
+ * и проверяется запрос отмены.
+ *
+ * <p>
+ * Экземпляр не потокобезопасен и используется одним потоком импорта.
+ *
+ * @author Garbuzov Oleg
+ */
+@Slf4j
+class QuestionImportSession implements QuestionSink {
+
+	/**
+	 * Максимальная длина текста ошибок в итоговом отчете (для UI)
+	 */
+	private static final int MAX_ERRORS_LENGTH = 3000;
+
+	private final QuestionImportChunkService chunkService;
+	private final JobContext context;
+	private final int chunkSize;
+
+	private final List<ImportedQuestionDTO> chunk;
+	private final StringBuilder errors = new StringBuilder();
+	private int processedQuestions;
+	private int updatedQuestions;
+	private int createdQuestions;
+	private int createdAnswers;
+	private int errorLines;
+
+	QuestionImportSession(QuestionImportChunkService chunkService, JobContext context, int chunkSize) {
+		this.chunkService = chunkService;
+		this.context = context;
+		this.chunkSize = Math.max(1, chunkSize);
+		this.chunk = new ArrayList<>(this.chunkSize);
+	}
+
+	/**
+	 * Добавляет прочитанный вопрос; при заполнении порции сохраняет её.
+	 *
+	 * @param question вопрос с ответами
+	 * @throws com.example.javaoffer.admin.exception.JobCancelledException если импорт отменен;
+	 *                                                                     неполная порция не сохраняется
+	 */
+	@Override
+	public void add(ImportedQuestionDTO question) {
+		context.checkpoint(processedQuestions + chunk.size());
+		chunk.add(question);
+		if (chunk.size() >= chunkSize) {
+			flush();
+		}
+	}
+
+	/**
+	 * Регистрирует ошибку разбора строки файла.
+	 *
+	 * @param line    номер строки файла
+	 * @param message описание ошибки
+	 */
+	@Override
+	public void addError(long line, String message) {
+		errorLines++;
+		appendError("Ошибка в строке " + line + ": " + message);
+	}
+
+	/**
+	 * Сохраняет оставшуюся неполную порцию и формирует итоговый отчет.
+	 *
+	 * @return отчет для записи в историю импорта
+	 */
+	String finish() {
+		flush();
+
+		String result = "Обновлено вопросов: " + updatedQuestions +
+				", создано вопросов: " + createdQuestions +
+				", создано ответов: " + createdAnswers;
+		if (errorLines > 0) {
+			result += ", ошибок: " + errorLines;
+		}
+		if (!errors.isEmpty()) {
+			String errorMsg = errors.toString();
+			if (errorMsg.length() > MAX_ERRORS_LENGTH) {
+				errorMsg = errorMsg.substring(0, MAX_ERRORS_LENGTH) + "... (и другие ошибки)";
+			}
+			result += "\n" + errorMsg;
+		}
+		return result;
+	}
+
+	/**
+	 * Количество обработанных вопросов, включая вопросы из порций с ошибкой.
+	 *
+	 * @return количество вопросов
+	 */
+	int getProcessedQuestions() {
+		return processedQuestions;
+	}
+
+	private void flush() {
+		if (chunk.isEmpty()) {
+			return;
+		}
+		long firstLine = chunk.getFirst().getSourceLine();
+		long lastLine = chunk.getLast().getSourceLine();
+		try {
+			QuestionImportChunkService.ChunkResult result = chunkService.saveChunk(List.copyOf(chunk));
+			createdQuestions += result.createdQuestions();
+			updatedQuestions += result.updatedQuestions();
+			createdAnswers += result.createdAnswers();
+			result.messages().forEach(this::appendError);
+		} catch (Exception e) {
+			// Порция откатывается целиком, остальные порции продолжают импортироваться
+			errorLines += chunk.size();
+			appendError("Ошибка сохранения вопросов в строках " + firstLine + "-" + lastLine + ": " + e.getMessage());
+			log.error("Ошибка сохранения порции импорта (строки {}-{})", firstLine, lastLine, e);
+		}
+		processedQuestions += chunk.size();
+		chunk.clear();
+		context.checkpoint(processedQuestions);
+	}
+
+	private void appendError(String message) {
+		// Не накапливаем в памяти больше, чем попадет в отчет
+		if (errors.length() <= MAX_ERRORS_LENGTH) {
+			errors.append(message).append("\n");
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package com.example.javaoffer.admin.service.format;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Читатель вопросов из CSV-файла.
+ * <p>
+ * Файл содержит те же столбцы, что и xlsx, и первую строку с заголовками.
+ * Строки читаются потоковым парсером Jackson как массивы строк и собираются
+ * в вопросы так же, как строки Excel.
+ *
+ * @author Garbuzov Oleg
+ */
+class CsvQuestionReader implements QuestionReader {
+	private final CsvMapper csvMapper;
+
+	CsvQuestionReader(CsvMapper csvMapper) {
+		this.csvMapper = csvMapper;
+	}
+
+	@Override
+	public void read(Path file, QuestionSink sink) throws IOException {
+		TabularQuestionAssembler assembler = new TabularQuestionAssembler(sink);
+		try (InputStream input = FormatStreams.openInput(file);
+			 MappingIterator<String[]> rows = csvMapper.readerForArrayOf(String.class)
+					 .with(CsvParser.Feature.WRAP_AS_ARRAY)
+					 .readValues(input)) {
+			// Номер записи CSV; совпадает с номером строки, если в значениях нет переводов строк
+			long record = 0;
+			while (rows.hasNextValue()) {
+				String[] cells = rows.nextValue();
+				if (++record == 1) continue; // Пропускаем заголовок
+				assembler.acceptRow(record, cells);
+			}
+		}
+		assembler.finish();
+	}
+}
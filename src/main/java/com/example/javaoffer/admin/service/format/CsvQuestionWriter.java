@@ -0,0 +1,80 @@
+package com.example.javaoffer.admin.service.format;
+
+import com.example.javaoffer.exam.entity.Answer;
+import com.example.javaoffer.exam.entity.Task;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Писатель вопросов в CSV-файл.
+ * <p>
+ * Использует те же столбцы и ту же раскладку, что и xlsx: строка на каждый ответ,
+ * данные вопроса только в строке первого ответа. Строки пишутся потоковым
+ * генератором Jackson сразу в выходной поток.
+ *
+ * @author Garbuzov Oleg
+ */
+class CsvQuestionWriter implements QuestionWriter {
+	private static final CsvSchema SCHEMA = CsvSchema.builder()
+			.addColumns(List.of(TabularQuestionAssembler.HEADERS), CsvSchema.ColumnType.STRING)
+			.setUseHeader(true)
+			.build();
+
+	private final SequenceWriter rows;
+	private final String[] row = new String[TabularQuestionAssembler.HEADERS.length];
+
+	CsvQuestionWriter(CsvMapper csvMapper, OutputStream outputStream) throws IOException {
+		this.rows = csvMapper.writer(SCHEMA)
+				.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+				.writeValues(outputStream);
+	}
+
+	@Override
+	public void write(Task task) throws IOException {
+		String taskId = task.getId() != null ? task.getId().toString() : "";
+		List<Answer> answers = task.getAnswers();
+		if (answers == null || answers.isEmpty()) {
+			// Если у вопроса нет ответов, все равно добавляем строку с вопросом
+			writeRow(taskId, task, null);
+			return;
+		}
+		boolean isFirstAnswer = true;
+		for (Answer answer : answers) {
+			writeRow(taskId, isFirstAnswer ? task : null, answer);
+			isFirstAnswer = false;
+		}
+	}
+
+	@Override
+	public void finish() throws IOException {
+		rows.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		rows.close();
+	}
+
+	private void writeRow(String taskId, Task task, Answer answer) throws IOException {
+		row[0] = taskId;
+		row[1] = task != null ? nullToEmpty(task.getQuestion()) : "";
+		row[2] = task != null && task.getTopic() != null ? task.getTopic().name() : "";
+		row[3] = task != null && task.getDifficulty() != null ? task.getDifficulty().name() : "";
+		row[4] = task != null && task.getGrade() != null ? task.getGrade().name() : "";
+		row[5] = answer != null && answer.getId() != null ? answer.getId().toString() : "";
+		row[6] = answer != null ? nullToEmpty(answer.getContent()) : "";
+		row[7] = answer != null ? Boolean.toString(answer.isCorrect()) : "";
+		row[8] = answer != null ? nullToEmpty(answer.getExplanation()) : "";
+		rows.write(row);
+	}
+
+	private static String nullToEmpty(String value) {
+		return value != null ? value : "";
+	}
+}
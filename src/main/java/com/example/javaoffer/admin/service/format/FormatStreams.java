@@ -0,0 +1,67 @@
+package com.example.javaoffer.admin.service.format;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Открытие входных файлов с автоматическим распознаванием gzip.
+ *
+ * @author Garbuzov Oleg
+ */
+final class FormatStreams {
+
+	/**
+	 * Размер буфера чтения
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private FormatStreams() {
+	}
+
+	/**
+	 * Открывает файл для чтения; если файл сжат gzip, возвращает распакованный поток.
+	 * <p>
+	 * Сжатие определяется по сигнатуре первых двух байт, а не по расширению файла.
+	 *
+	 * @param file путь к файлу
+	 * @return буферизованный поток содержимого
+	 * @throws IOException если файл не может быть открыт
+	 */
+	static InputStream openInput(Path file) throws IOException {
+		InputStream input = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+		try {
+			if (hasGzipMagic(input)) {
+				return new BufferedInputStream(new GZIPInputStream(input, BUFFER_SIZE), BUFFER_SIZE);
+			}
+			return input;
+		} catch (IOException e) {
+			input.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Проверяет, сжат ли файл gzip.
+	 *
+	 * @param file путь к файлу
+	 * @return true, если файл начинается с сигнатуры gzip
+	 * @throws IOException если файл не может быть прочитан
+	 */
+	static boolean isGzip(Path file) throws IOException {
+		try (InputStream input = new BufferedInputStream(Files.newInputStream(file), 2)) {
+			return hasGzipMagic(input);
+		}
+	}
+
+	private static boolean hasGzipMagic(InputStream input) throws IOException {
+		input.mark(2);
+		int first = input.read();
+		int second = input.read();
+		input.reset();
+		return first == 0x1f && second == 0x8b;
+	}
+}
@@ -0,0 +1,90 @@
+package com.example.javaoffer.admin.service.format;
+
+import com.example.javaoffer.admin.dto.ImportedQuestionDTO;
+import com.example.javaoffer.exam.dto.AnswerDTO;
+import com.example.javaoffer.exam.dto.TaskDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Читатель вопросов из файла JSON Lines (NDJSON).
+ * <p>
+ * Каждая непустая строка содержит один вопрос в формате {@link TaskDTO}:
+ * <pre>
+ * {"id":1,"question":"Текст","topic":"CORE","difficulty":"MEDIUM1","grade":"JUNIOR",
+ *  "answers":[{"content":"Ответ 1","isCorrect":true,"explanation":"Пояснение"}]}
+ * </pre>
+ * Строка разбирается потоковым парсером Jackson независимо от остальных, поэтому
+ * ошибка в одной строке не прерывает импорт. Вопрос проверяется теми же
+ * ограничениями Bean Validation, что и при создании через админку; ответы
+ * с пустым текстом пропускаются, как и в табличных форматах.
+ *
+ * @author Garbuzov Oleg
+ */
+class NdjsonQuestionReader implements QuestionReader {
+	private final ObjectReader taskReader;
+	private final Validator validator;
+
+	NdjsonQuestionReader(ObjectReader taskReader, Validator validator) {
+		this.taskReader = taskReader;
+		this.validator = validator;
+	}
+
+	@Override
+	public void read(Path file, QuestionSink sink) throws IOException {
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(FormatStreams.openInput(file), StandardCharsets.UTF_8))) {
+			long line = 0;
+			String json;
+			while ((json = reader.readLine()) != null) {
+				line++;
+				if (json.isBlank()) continue;
+
+				TaskDTO task;
+				try {
+					task = taskReader.readValue(json);
+				} catch (JsonProcessingException e) {
+					sink.addError(line, e.getOriginalMessage());
+					continue;
+				}
+
+				Set<ConstraintViolation<TaskDTO>> violations = validator.validate(task);
+				if (!violations.isEmpty()) {
+					sink.addError(line, violations.stream()
+							.map(ConstraintViolation::getMessage)
+							.sorted()
+							.collect(Collectors.joining(", ")));
+					continue;
+				}
+
+				task.setAnswers(nonBlankAnswers(task.getAnswers()));
+				sink.add(new ImportedQuestionDTO(line, task));
+			}
+		}
+	}
+
+	private List<AnswerDTO> nonBlankAnswers(List<AnswerDTO> answers) {
+		List<AnswerDTO> result = new ArrayList<>();
+		if (answers == null) {
+			return result;
+		}
+		for (AnswerDTO answer : answers) {
+			if (answer != null && answer.getContent() != null && !answer.getContent().trim().isEmpty()) {
+				result.add(answer);
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,77 @@
+package com.example.javaoffer.admin.service.format;
+
+import com.example.javaoffer.exam.entity.Answer;
+import com.example.javaoffer.exam.entity.Task;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Писатель вопросов в файл JSON Lines (NDJSON).
+ * <p>
+ * Каждый вопрос записывается одной строкой в формате, который принимает
+ * {@link NdjsonQuestionReader}. Используется потоковый генератор Jackson без
+ * построения промежуточных объектов.
+ *
+ * @author Garbuzov Oleg
+ */
+class NdjsonQuestionWriter implements QuestionWriter {
+	private final JsonGenerator generator;
+
+	NdjsonQuestionWriter(JsonFactory jsonFactory, OutputStream outputStream) throws IOException {
+		this.generator = jsonFactory.createGenerator(outputStream);
+		this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		// Вопросы разделяются переводом строки, а не пробелом по умолчанию
+		this.generator.setRootValueSeparator(null);
+	}
+
+	@Override
+	public void write(Task task) throws IOException {
+		generator.writeStartObject();
+		if (task.getId() != null) {
+			generator.writeNumberField("id", task.getId());
+		}
+		generator.writeStringField("question", task.getQuestion());
+		writeEnumField("topic", task.getTopic());
+		writeEnumField("difficulty", task.getDifficulty());
+		writeEnumField("grade", task.getGrade());
+		generator.writeArrayFieldStart("answers");
+		if (task.getAnswers() != null) {
+			for (Answer answer : task.getAnswers()) {
+				generator.writeStartObject();
+				if (answer.getId() != null) {
+					generator.writeNumberField("id", answer.getId());
+				}
+				generator.writeStringField("content", answer.getContent());
+				generator.writeBooleanField("isCorrect", answer.isCorrect());
+				if (answer.getExplanation() != null) {
+					generator.writeStringField("explanation", answer.getExplanation());
+				}
+				generator.writeEndObject();
+			}
+		}
+		generator.writeEndArray();
+		generator.writeEndObject();
+		generator.writeRaw('\n');
+	}
+
+	@Override
+	public void finish() throws IOException {
+		generator.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		generator.close();
+	}
+
+	private void writeEnumField(String name, Enum<?> value) throws IOException {
+		if (value != null) {
+			generator.writeStringField(name, value.name());
+		} else {
+			generator.writeNullField(name);
+		}
+	}
+}
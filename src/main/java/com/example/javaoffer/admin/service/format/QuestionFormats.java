@@ -0,0 +1,68 @@
+package com.example.javaoffer.admin.service.format;
+
+import com.example.javaoffer.admin.enums.QuestionFileFormat;
+import com.example.javaoffer.exam.dto.TaskDTO;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Фабрика читателей и писателей файлов вопросов по формату.
+ * <p>
+ * Читатели не имеют состояния и создаются один раз; писатели создаются
+ * на каждый экспорт, так как привязаны к выходному потоку.
+ *
+ * @author Garbuzov Oleg
+ * @see QuestionFileFormat
+ */
+@Component
+public class QuestionFormats {
+	private final ObjectMapper objectMapper;
+	private final CsvMapper csvMapper = new CsvMapper();
+	private final QuestionReader xlsxReader = new XlsxQuestionReader();
+	private final QuestionReader csvReader = new CsvQuestionReader(csvMapper);
+	private final QuestionReader ndjsonReader;
+
+	public QuestionFormats(ObjectMapper objectMapper, Validator validator) {
+		this.objectMapper = objectMapper;
+		ObjectReader taskReader = objectMapper.readerFor(TaskDTO.class)
+				.without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+		this.ndjsonReader = new NdjsonQuestionReader(taskReader, validator);
+	}
+
+	/**
+	 * Возвращает читатель файлов указанного формата.
+	 *
+	 * @param format формат файла
+	 * @return читатель
+	 */
+	public QuestionReader reader(QuestionFileFormat format) {
+		return switch (format) {
+			case XLSX -> xlsxReader;
+			case CSV -> csvReader;
+			case NDJSON -> ndjsonReader;
+		};
+	}
+
+	/**
+	 * Создает писатель файла указанного формата.
+	 *
+	 * @param format       формат файла
+	 * @param outputStream выходной поток; писатель его не закрывает
+	 * @return писатель
+	 * @throws IOException если писатель не может быть создан
+	 */
+	public QuestionWriter writer(QuestionFileFormat format, OutputStream outputStream) throws IOException {
+		return switch (format) {
+			case XLSX -> new XlsxQuestionWriter(outputStream);
+			case CSV -> new CsvQuestionWriter(csvMapper, outputStream);
+			case NDJSON -> new NdjsonQuestionWriter(objectMapper.getFactory(), outputStream);
+		};
+	}
+}
@@ -0,0 +1,24 @@
+package com.example.javaoffer.admin.service.format;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Потоковый читатель файла импорта вопросов определенного формата.
+ * <p>
+ * Реализации читают файл последовательно и передают вопросы получателю
+ * по мере разбора, не загружая файл целиком в память.
+ *
+ * @author Garbuzov Oleg
+ */
+public interface QuestionReader {
+
+	/**
+	 * Читает файл и передает вопросы получателю.
+	 *
+	 * @param file файл импорта (текстовые форматы могут быть сжаты gzip)
+	 * @param sink получатель вопросов и ошибок разбора
+	 * @throws IOException если файл не может быть прочитан или поврежден
+	 */
+	void read(Path file, QuestionSink sink) throws IOException;
+}
@@ -0,0 +1,29 @@
+package com.example.javaoffer.admin.service.format;
+
+import com.example.javaoffer.admin.dto.ImportedQuestionDTO;
+
+/**
+ * Получатель вопросов, прочитанных из файла импорта.
+ * <p>
+ * Читатели форматов передают сюда собранные вопросы и ошибки разбора,
+ * не зная, как вопросы будут сохранены.
+ *
+ * @author Garbuzov Oleg
+ */
+public interface QuestionSink {
+
+	/**
+	 * Принимает очередной вопрос с ответами.
+	 *
+	 * @param question вопрос
+	 */
+	void add(ImportedQuestionDTO question);
+
+	/**
+	 * Принимает ошибку разбора строки файла.
+	 *
+	 * @param line    номер строки файла, начиная с 1
+	 * @param message описание ошибки
+	 */
+	void addError(long line, String message);
+}
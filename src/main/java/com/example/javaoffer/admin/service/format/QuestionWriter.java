@@ -0,0 +1,39 @@
+package com.example.javaoffer.admin.service.format;
+
+import com.example.javaoffer.exam.entity.Task;
+
+import java.io.IOException;
+
+/**
+ * Потоковый писатель файла экспорта вопросов определенного формата.
+ * <p>
+ * Вопросы передаются по одному в порядке обхода; писатель не хранит
+ * уже записанные вопросы.
+ *
+ * @author Garbuzov Oleg
+ */
+public interface QuestionWriter extends AutoCloseable {
+
+	/**
+	 * Записывает вопрос с ответами.
+	 *
+	 * @param task вопрос с загруженными ответами
+	 * @throws IOException при ошибке записи
+	 */
+	void write(Task task) throws IOException;
+
+	/**
+	 * Завершает файл и сбрасывает данные в выходной поток. Сам поток не закрывается.
+	 *
+	 * @throws IOException при ошибке записи
+	 */
+	void finish() throws IOException;
+
+	/**
+	 * Освобождает ресурсы писателя (например, временные файлы).
+	 *
+	 * @throws IOException при ошибке освобождения ресурсов
+	 */
+	@Override
+	void close() throws IOException;
+}
@@ -0,0 +1,260 @@
+package com.example.javaoffer.admin.service.format;
+
+import com.example.javaoffer.admin.dto.ImportedQuestionDTO;
+import com.example.javaoffer.exam.dto.AnswerDTO;
+import com.example.javaoffer.exam.dto.TaskDTO;
+import com.example.javaoffer.exam.enums.TaskDifficulty;
+import com.example.javaoffer.exam.enums.TaskGrade;
+import com.example.javaoffer.exam.enums.TaskTopic;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+
+/**
+ * Сборка вопросов из строк табличного файла (XLSX или CSV).
+ * <p>
+ * Табличные форматы хранят строку на каждый ответ:
+ * <pre>
+ * | question_id | question_text | topic | difficulty | grade | answer_id | answer_text | is_correct | explanation |
+ * |-------------|---------------|-------|------------|-------|-----------|-------------|------------|-------------|
+ * | 1           | Текст вопроса | CORE  | MEDIUM1    | JUNIOR| 1         | Ответ 1     | true       |Пояснение    |
+ * | 1           |               |       |            |       | 2         | Ответ 2     | false      |             |
+ * | 2           | Другой вопрос | SPRING| Easy1      | MIDDLE| 3         | Ответ 1     | true       |Пояснение    |
+ * </pre>
+ *
+ * <h3>Логика обработки:</h3>
+ * <ol>
+ *   <li><b>Строка с текстом вопроса</b> - считается началом нового вопроса или обновлением существующего</li>
+ *   <li><b>Строка без текста вопроса</b> - считается дополнительным ответом к предыдущему вопросу</li>
+ *   <li><b>Строка с некорректным вопросом</b> - вопрос и его дополнительные ответы пропускаются</li>
+ * </ol>
+ * Идентификатор вопроса должен быть целым числом без разделителей разрядов: значение
+ * вроде "1,234" или "1 234" считается ошибкой строки, а не новым вопросом без идентификатора,
+ * иначе импорт создал бы дубликат существующего вопроса.
+ * Вопрос передается получателю, когда начинается следующий вопрос или заканчивается файл.
+ *
+ * @author Garbuzov Oleg
+ */
+@Slf4j
+final class TabularQuestionAssembler {
+
+	/**
+	 * Заголовки столбцов табличных форматов
+	 */
+	static final String[] HEADERS = {"question_id", "question_text", "topic", "difficulty", "grade", "answer_id", "answer_text", "is_correct", "explanation"};
+
+	private final QuestionSink sink;
+	private ImportedQuestionDTO currentQuestion; // Текущий собираемый вопрос
+	private boolean skipAnswers; // Ответы некорректного вопроса пропускаются
+
+	TabularQuestionAssembler(QuestionSink sink) {
+		this.sink = sink;
+	}
+
+	/**
+	 * Обрабатывает строку данных (без заголовка).
+	 *
+	 * @param line  номер строки файла, начиная с 1
+	 * @param cells значения ячеек по индексам столбцов; недостающие ячейки считаются пустыми
+	 */
+	void acceptRow(long line, String[] cells) {
+		// Извлекаем данные из текущей строки в структурированный объект
+		RowData rowData = extractRowData(cells);
+		if (rowData.isEmpty()) return; // Пропускаем пустые строки
+
+		// Определяем тип строки: новый вопрос или дополнительный ответ
+		if (isNewQuestionRow(rowData)) {
+			if (currentQuestion != null) {
+				sink.add(currentQuestion);
+			}
+			try {
+				currentQuestion = new ImportedQuestionDTO(line, toTaskDTO(rowData));
+				skipAnswers = false;
+			} catch (IllegalArgumentException | NullPointerException ex) {
+				currentQuestion = null;
+				skipAnswers = true;
+				sink.addError(line, ex.getMessage());
+				return;
+			}
+		} else if (currentQuestion == null) {
+			if (!skipAnswers) {
+				log.warn("Строка {}: Нет текущего вопроса для добавления ответа", line);
+			}
+			return;
+		}
+
+		// Добавляем ответ к текущему вопросу (если текст ответа не пустой)
+		if (rowData.answerText() != null && !rowData.answerText().trim().isEmpty()) {
+			currentQuestion.getTask().getAnswers().add(AnswerDTO.builder()
+					.content(rowData.answerText())
+					.isCorrect(rowData.isCorrect())
+					.explanation(rowData.explanation())
+					.build());
+		}
+	}
+
+	/**
+	 * Передает получателю последний собранный вопрос.
+	 */
+	void finish() {
+		if (currentQuestion != null) {
+			sink.add(currentQuestion);
+			currentQuestion = null;
+		}
+	}
+
+	/**
+	 * Извлекает данные из строки файла в структурированный объект.
+	 *
+	 * @param cells значения ячеек строки по индексам столбцов
+	 * @return объект с данными строки
+	 */
+	private RowData extractRowData(String[] cells) {
+		return new RowData(
+				parseIdCell(cell(cells, 0)),     // question_id
+				parseString(cell(cells, 1)),     // question_text
+				parseString(cell(cells, 2)),     // topic
+				parseString(cell(cells, 3)),     // difficulty
+				parseString(cell(cells, 4)),     // grade
+				parseIdCell(cell(cells, 5)),     // answer_id
+				parseString(cell(cells, 6)),     // answer_text
+				parseBoolean(cell(cells, 7)),    // is_correct
+				parseString(cell(cells, 8))      // explanation
+		);
+	}
+
+	private static @Nullable String cell(String[] cells, int index) {
+		return index < cells.length ? cells[index] : null;
+	}
+
+	/**
+	 * Определяет, является ли строка началом нового вопроса.
+	 *
+	 * @param rowData данные текущей строки
+	 * @return true если это новый вопрос, false если дополнительный ответ
+	 */
+	private boolean isNewQuestionRow(RowData rowData) {
+		return rowData.questionText() != null && !rowData.questionText().trim().isEmpty();
+	}
+
+	/**
+	 * Формирует данные вопроса из строки файла.
+	 * <p>
+	 * Валидирует идентификатор и enum-значения; ответы добавляются отдельно.
+	 *
+	 * @param rowData данные строки с вопросом
+	 * @return вопрос с пустым списком ответов
+	 * @throws IllegalArgumentException если идентификатор или enum-значения некорректны
+	 * @throws NullPointerException     если enum-значение не указано
+	 */
+	private TaskDTO toTaskDTO(RowData rowData) {
+		return TaskDTO.builder()
+				.id(parseId(rowData.questionId()))
+				.question(rowData.questionText())
+				.topic(Enum.valueOf(TaskTopic.class, rowData.topic()))
+				.difficulty(Enum.valueOf(TaskDifficulty.class, rowData.difficulty()))
+				.grade(Enum.valueOf(TaskGrade.class, rowData.grade()))
+				.answers(new ArrayList<>())
+				.build();
+	}
+
+	/**
+	 * Преобразует значение ячейки в идентификатор вопроса.
+	 * <p>
+	 * Поддерживает целые значения и значения с нулевой дробной частью ("12.0"),
+	 * которые возвращают табличные редакторы для числовых ячеек.
+	 *
+	 * @param value значение ячейки
+	 * @return идентификатор или null для пустой ячейки
+	 * @throws IllegalArgumentException если значение не является целым числом
+	 */
+	private @Nullable Long parseId(@Nullable String value) {
+		if (value == null || value.trim().isEmpty()) return null;
+		try {
+			return new BigDecimal(value.trim()).longValueExact();
+		} catch (ArithmeticException | NumberFormatException e) {
+			throw new IllegalArgumentException("Некорректный question_id: '" + value + "'");
+		}
+	}
+
+	/**
+	 * Возвращает значение ячейки с идентификатором; разбирается оно только для строки вопроса.
+	 *
+	 * @param value значение ячейки
+	 * @return значение ячейки или null для пустой ячейки и ячейки из пробелов
+	 */
+	private @Nullable String parseIdCell(@Nullable String value) {
+		return value == null || value.trim().isEmpty() ? null : value;
+	}
+
+	/**
+	 * Возвращает строковое значение ячейки.
+	 *
+	 * @param value значение ячейки
+	 * @return строковое значение или null для пустой ячейки
+	 */
+	private @Nullable String parseString(@Nullable String value) {
+		return value == null || value.isEmpty() ? null : value;
+	}
+
+	/**
+	 * Безопасно преобразует значение ячейки в логическое значение.
+	 * <p>
+	 * Поддерживает различные форматы:
+	 * - Логические ячейки: TRUE/FALSE
+	 * - Строковые: "true", "yes", "1", "да" = true
+	 * - Числовые: 0 = false, любое другое = true
+	 *
+	 * @param value значение ячейки
+	 * @return логическое значение (по умолчанию false)
+	 */
+	private boolean parseBoolean(@Nullable String value) {
+		if (value == null) return false;
+		String normalized = value.toLowerCase().trim();
+		if ("true".equals(normalized) || "yes".equals(normalized) || "да".equals(normalized)) {
+			return true;
+		}
+		try {
+			return new BigDecimal(normalized).signum() != 0;
+		} catch (NumberFormatException ignore) {
+			return false;
+		}
+	}
+
+	/**
+	 * Структура данных для хранения информации из одной строки табличного файла.
+	 *
+	 * @param questionId   ID вопроса в исходном виде (может быть null для новых вопросов)
+	 * @param questionText текст вопроса (обязателен для новых вопросов)
+	 * @param topic        тема вопроса (enum TaskTopic)
+	 * @param difficulty   сложность вопроса (enum TaskDifficulty)
+	 * @param grade        уровень подготовки (enum TaskGrade)
+	 * @param answerId     ID ответа в исходном виде (игнорируется при импорте)
+	 * @param answerText   текст ответа
+	 * @param isCorrect    признак правильности ответа
+	 * @param explanation  пояснение к ответу
+	 */
+	private record RowData(
+			String questionId,
+			String questionText,
+			String topic,
+			String difficulty,
+			String grade,
+			String answerId,
+			String answerText,
+			boolean isCorrect,
+			String explanation
+	) {
+		/**
+		 * Проверяет, что строка не содержит данных (все ячейки пустые).
+		 *
+		 * @return true для пустой строки
+		 */
+		boolean isEmpty() {
+			return questionId == null && questionText == null && topic == null && difficulty == null
+					&& grade == null && answerId == null && answerText == null && !isCorrect && explanation == null;
+		}
+	}
+}
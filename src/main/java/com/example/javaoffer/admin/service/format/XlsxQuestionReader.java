@@ -0,0 +1,60 @@
+package com.example.javaoffer.admin.service.format;
+
+import com.example.javaoffer.admin.utils.XlsxStreamingReader;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Читатель вопросов из xlsx-файла.
+ * <p>
+ * Лист разбирается SAX-парсером построчно ({@link XlsxStreamingReader}),
+ * книга целиком в память не загружается. Пакет xlsx требует произвольного
+ * доступа к файлу, поэтому сжатый gzip файл сначала распаковывается во временный файл.
+ *
+ * @author Garbuzov Oleg
+ */
+@Slf4j
+class XlsxQuestionReader implements QuestionReader {
+
+	@Override
+	public void read(Path file, QuestionSink sink) throws IOException {
+		if (!FormatStreams.isGzip(file)) {
+			readSheet(file, sink);
+			return;
+		}
+		Path unpacked = Files.createTempFile("questions-import-", ".xlsx");
+		try {
+			try (InputStream input = FormatStreams.openInput(file)) {
+				Files.copy(input, unpacked, StandardCopyOption.REPLACE_EXISTING);
+			}
+			readSheet(unpacked, sink);
+		} finally {
+			try {
+				Files.deleteIfExists(unpacked);
+			} catch (IOException e) {
+				log.warn("Не удалось удалить временный файл {}: {}", unpacked, e.getMessage());
+			}
+		}
+	}
+
+	private void readSheet(Path file, QuestionSink sink) throws IOException {
+		TabularQuestionAssembler assembler = new TabularQuestionAssembler(sink);
+		XlsxStreamingReader.readFirstSheet(file, TabularQuestionAssembler.HEADERS.length, new XlsxStreamingReader.RowHandler() {
+			@Override
+			public void handleRow(int rowNumber, String[] cells) {
+				if (rowNumber == 0) return; // Пропускаем заголовок
+				assembler.acceptRow(rowNumber + 1, cells);
+			}
+
+			@Override
+			public void endSheet() {
+				assembler.finish();
+			}
+		});
+	}
+}
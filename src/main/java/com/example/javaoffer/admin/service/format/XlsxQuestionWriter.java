@@ -0,0 +1,126 @@
+package com.example.javaoffer.admin.service.format;
+
+import com.example.javaoffer.exam.entity.Answer;
+import com.example.javaoffer.exam.entity.Task;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Писатель вопросов в xlsx-файл.
+ * <p>
+ * Строки пишутся в {@link SXSSFWorkbook}, который держит в памяти только окно
+ * из {@link #ROW_ACCESS_WINDOW} последних строк и сбрасывает остальные в сжатый
+ * временный файл. Ширина столбцов задается заранее, без автоподбора по содержимому.
+ * xlsx является zip-архивом, поэтому архив пишется в выходной поток
+ * в {@link #finish()}, после всех строк.
+ *
+ * <p>
+ * Для каждого вопроса создается строка с его данными и первым ответом.
+ * Дополнительные ответы добавляются в отдельные строки.
+ *
+ * @author Garbuzov Oleg
+ */
+class XlsxQuestionWriter implements QuestionWriter {
+
+	/**
+	 * Количество строк, одновременно хранимых в памяти при записи листа
+	 */
+	private static final int ROW_ACCESS_WINDOW = 100;
+
+	/**
+	 * Ширина столбцов в символах
+	 */
+	private static final int[] COLUMN_WIDTHS = {12, 80, 16, 12, 12, 12, 80, 10, 80};
+
+	private final OutputStream outputStream;
+	private final SXSSFWorkbook workbook;
+	private final SXSSFSheet sheet;
+	private int rowNum = 1;
+
+	XlsxQuestionWriter(OutputStream outputStream) {
+		this.outputStream = outputStream;
+		this.workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW);
+		this.workbook.setCompressTempFiles(true);
+		this.sheet = workbook.createSheet("Вопросы");
+		for (int i = 0; i < COLUMN_WIDTHS.length; i++) {
+			sheet.setColumnWidth(i, COLUMN_WIDTHS[i] * 256);
+		}
+
+		// Создаем стили для заголовка
+		CellStyle headerStyle = workbook.createCellStyle();
+		Font headerFont = workbook.createFont();
+		headerFont.setBold(true);
+		headerStyle.setFont(headerFont);
+
+		// Создаем заголовок
+		Row headerRow = sheet.createRow(0);
+		for (int i = 0; i < TabularQuestionAssembler.HEADERS.length; i++) {
+			Cell cell = headerRow.createCell(i);
+			cell.setCellValue(TabularQuestionAssembler.HEADERS[i]);
+			cell.setCellStyle(headerStyle);
+		}
+	}
+
+	@Override
+	public void write(Task task) {
+		List<Answer> answers = task.getAnswers();
+		if (answers == null || answers.isEmpty()) {
+			// Если у вопроса нет ответов, все равно добавляем строку с вопросом
+			Row row = sheet.createRow(rowNum++);
+
+			row.createCell(0).setCellValue(task.getId() != null ? task.getId() : 0);
+			writeTaskFields(row, task);
+			// Оставляем ячейки ответа пустыми
+			return;
+		}
+
+		boolean isFirstAnswer = true;
+		for (Answer answer : answers) {
+			Row row = sheet.createRow(rowNum++);
+
+			// ID вопроса всегда указываем
+			row.createCell(0).setCellValue(task.getId() != null ? task.getId() : 0);
+
+			if (isFirstAnswer) {
+				// Для первого ответа указываем все данные вопроса
+				writeTaskFields(row, task);
+				isFirstAnswer = false;
+			}
+			// Для остальных ответов поля вопроса оставляем пустыми
+
+			// Данные ответа
+			row.createCell(5).setCellValue(answer.getId() != null ? answer.getId() : 0);
+			row.createCell(6).setCellValue(answer.getContent() != null ? answer.getContent() : "");
+			row.createCell(7).setCellValue(answer.isCorrect());
+			row.createCell(8).setCellValue(answer.getExplanation() != null ? answer.getExplanation() : "");
+		}
+	}
+
+	@Override
+	public void finish() throws IOException {
+		workbook.write(outputStream);
+		outputStream.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		// Удаляем временные файлы листа
+		workbook.dispose();
+		workbook.close();
+	}
+
+	private void writeTaskFields(Row row, Task task) {
+		row.createCell(1).setCellValue(task.getQuestion() != null ? task.getQuestion() : "");
+		row.createCell(2).setCellValue(task.getTopic() != null ? task.getTopic().name() : "");
+		row.createCell(3).setCellValue(task.getDifficulty() != null ? task.getDifficulty().name() : "");
+		row.createCell(4).setCellValue(task.getGrade() != null ? task.getGrade().name() : "");
+	}
+}
@@ -0,0 +1,29 @@
+package com.example.javaoffer.admin.service.job;
+
+/**
+ * Тело задания импорта или экспорта, выполняемого очередью {@link ImportExportJobScheduler}.
+ * <p>
+ * Задание должно периодически вызывать {@link JobContext#checkpoint(long)}: в контрольной
+ * точке сохраняется прогресс и проверяется запрос отмены. Статус записи истории
+ * выставляет очередь по результату выполнения.
+ *
+ * @author Garbuzov Oleg
+ */
+public interface ImportExportJob {
+
+	/**
+	 * Выполняет задание.
+	 *
+	 * @param context контекст задания для контрольных точек
+	 * @return итоговый отчет для записи в историю
+	 * @throws Exception при ошибке выполнения; запись истории переводится в статус ошибки
+	 */
+	String run(JobContext context) throws Exception;
+
+	/**
+	 * Вызывается вместо {@link #run(JobContext)}, если задание отменено до начала выполнения.
+	 * Освобождает ресурсы, подготовленные для задания (например, временный файл).
+	 */
+	default void discard() {
+	}
+}
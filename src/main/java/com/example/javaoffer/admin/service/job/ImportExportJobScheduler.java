@@ -0,0 +1,238 @@
+package com.example.javaoffer.admin.service.job;
+
+import com.example.javaoffer.admin.dto.ImportExportJobProgressDTO;
+import com.example.javaoffer.admin.entity.ImportExportHistory;
+import com.example.javaoffer.admin.exception.JobQueueFullException;
+import com.example.javaoffer.admin.property.JobProperties;
+import com.example.javaoffer.admin.service.ImportExportHistoryService;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Очередь заданий импорта и экспорта вопросов.
+ * <p>
+ * Задания выполняются фиксированным пулом из {@link JobProperties#getWorkers()} потоков.
+ * Для каждого типа операции действует собственный лимит одновременных заданий
+ * ({@link JobProperties#getImportConcurrency()}, {@link JobProperties#getExportConcurrency()}):
+ * задание, которое не проходит по лимиту своего типа, ждет в очереди этого типа
+ * и не занимает поток пула. Очередь ограничена {@link JobProperties#getQueueCapacity()}
+ * заданиями; при переполнении новое задание отклоняется.
+ *
+ * <p>
+ * Записью задания служит {@link ImportExportHistory}: очередь переводит ее по статусам
+ * QUEUED → IN_PROGRESS → SUCCESS / ERROR / CANCELLED. Прогресс активных заданий
+ * хранится в памяти ({@link JobContext}) и отдается для опроса без обращения к базе данных.
+ * Задания, не завершенные до остановки приложения, при следующем запуске переводятся в статус ошибки.
+ *
+ * <p>
+ * Очередь своя у каждого узла: запись истории хранит идентификатор узла
+ * ({@link JobProperties#getNodeId()}), и при запуске узел завершает с ошибкой только
+ * свои прерванные задания. Прогресс из памяти и отмена доступны только на узле,
+ * который выполняет задание.
+ *
+ * @author Garbuzov Oleg
+ */
+@Component
+@Slf4j
+public class ImportExportJobScheduler {
+	private final ImportExportHistoryService historyService;
+	private final JobProperties properties;
+	private final ExecutorService workers;
+
+	/**
+	 * Ожидающие задания по типам операции; защищено монитором this
+	 */
+	private final Map<String, Deque<JobContext>> pending = new HashMap<>();
+
+	/**
+	 * Количество выполняющихся заданий по типам операции; защищено монитором this
+	 */
+	private final Map<String, Integer> running = new HashMap<>();
+
+	/**
+	 * Активные (ожидающие и выполняющиеся) задания по идентификатору записи истории
+	 */
+	private final Map<Long, JobContext> activeJobs = new ConcurrentHashMap<>();
+
+	private int pendingCount;
+	private int runningCount;
+
+	public ImportExportJobScheduler(ImportExportHistoryService historyService, JobProperties properties) {
+		this.historyService = historyService;
+		this.properties = properties;
+		this.workers = Executors.newFixedThreadPool(Math.max(1, properties.getWorkers()),
+				new ThreadFactoryBuilder().setNameFormat("import-export-job-%d").setDaemon(true).build());
+	}
+
+	/**
+	 * Ставит задание в очередь.
+	 *
+	 * @param history запись истории задания в статусе QUEUED
+	 * @param job     тело задания
+	 * @throws JobQueueFullException если очередь заполнена
+	 */
+	public void submit(ImportExportHistory history, ImportExportJob job) {
+		JobContext context = new JobContext(history, job, historyService,
+				properties.getCheckpointInterval().toNanos());
+		synchronized (this) {
+			if (pendingCount >= properties.getQueueCapacity()) {
+				throw new JobQueueFullException("Очередь заданий импорта/экспорта заполнена ("
+						+ properties.getQueueCapacity() + "), повторите попытку позже");
+			}
+			activeJobs.put(history.getId(), context);
+			pending.computeIfAbsent(history.getOperationType(), type -> new ArrayDeque<>()).addLast(context);
+			pendingCount++;
+			dispatch();
+		}
+		log.info("Задание {} ({}, файл '{}') поставлено в очередь",
+				history.getId(), history.getOperationType(), history.getFileName());
+	}
+
+	/**
+	 * Отменяет задание.
+	 * <p>
+	 * Задание из очереди снимается сразу; выполняющееся задание останавливается
+	 * в ближайшей контрольной точке. Уже сохраненные порции импорта не откатываются.
+	 *
+	 * @param historyId идентификатор записи истории задания
+	 * @return true, если задание найдено среди активных
+	 */
+	public boolean cancel(long historyId) {
+		JobContext context = activeJobs.get(historyId);
+		if (context == null) {
+			return false;
+		}
+		context.requestCancel();
+		boolean removedFromQueue;
+		synchronized (this) {
+			Deque<JobContext> queue = pending.get(context.getHistory().getOperationType());
+			removedFromQueue = queue != null && queue.remove(context);
+			if (removedFromQueue) {
+				pendingCount--;
+				activeJobs.remove(historyId);
+			}
+		}
+		if (removedFromQueue) {
+			context.getJob().discard();
+			historyService.markAsCancelled(context.getHistory(), "Отменено до начала выполнения");
+		}
+		log.info("Запрошена отмена задания {}", historyId);
+		return true;
+	}
+
+	/**
+	 * Возвращает прогресс активных заданий из памяти.
+	 *
+	 * @return прогресс заданий, отсортированный по идентификатору
+	 */
+	public List<ImportExportJobProgressDTO> getActiveJobs() {
+		Map<JobContext, Integer> positions = new IdentityHashMap<>();
+		synchronized (this) {
+			for (Deque<JobContext> queue : pending.values()) {
+				int position = 1;
+				for (JobContext context : queue) {
+					positions.put(context, position++);
+				}
+			}
+		}
+		return activeJobs.values().stream()
+				.map(context -> context.snapshot(positions.getOrDefault(context, 0)))
+				.sorted(Comparator.comparing(ImportExportJobProgressDTO::getId))
+				.toList();
+	}
+
+	/**
+	 * Переводит задания этого узла, прерванные предыдущей остановкой приложения, в статус ошибки.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void failInterruptedJobs() {
+		historyService.failInterruptedJobs();
+	}
+
+	/**
+	 * Останавливает пул при остановке приложения.
+	 * <p>
+	 * Выполняющимся заданиям отправляется запрос отмены; их записи, как и записи
+	 * заданий из очереди, будут переведены в статус ошибки при следующем запуске.
+	 */
+	@PreDestroy
+	public void shutdown() {
+		activeJobs.values().forEach(JobContext::requestCancel);
+		workers.shutdown();
+		try {
+			if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+				workers.shutdownNow();
+			}
+		} catch (InterruptedException e) {
+			workers.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Запускает ожидающие задания, для которых есть свободный поток и не превышен лимит типа.
+	 * Вызывается под монитором this.
+	 */
+	private void dispatch() {
+		for (Map.Entry<String, Deque<JobContext>> entry : pending.entrySet()) {
+			String type = entry.getKey();
+			Deque<JobContext> queue = entry.getValue();
+			while (!queue.isEmpty() && runningCount < Math.max(1, properties.getWorkers())
+					&& running.getOrDefault(type, 0) < concurrencyLimit(type)) {
+				JobContext context = queue.pollFirst();
+				pendingCount--;
+				runningCount++;
+				running.merge(type, 1, Integer::sum);
+				workers.execute(() -> run(context));
+			}
+		}
+	}
+
+	private int concurrencyLimit(String operationType) {
+		return ImportExportHistory.OPERATION_TYPE_IMPORT.equals(operationType)
+				? Math.max(1, properties.getImportConcurrency())
+				: Math.max(1, properties.getExportConcurrency());
+	}
+
+	private void run(JobContext context) {
+		ImportExportHistory history = context.getHistory();
+		try {
+			historyService.markAsRunning(history);
+			context.start();
+			log.info("Начато выполнение задания {} ({})", history.getId(), history.getOperationType());
+
+			String result = context.getJob().run(context);
+			context.persistFinalProgress();
+			historyService.markAsSuccess(history, result);
+			log.info("Задание {} успешно завершено", history.getId());
+		} catch (Exception e) {
+			context.persistFinalProgress();
+			// Исключение после запроса отмены считается отменой, даже если его обернул парсер файла
+			if (context.isCancelRequested()) {
+				historyService.markAsCancelled(history, "Отменено администратором, обработано строк: "
+						+ context.getProcessedRows());
+				log.info("Задание {} отменено", history.getId());
+			} else {
+				log.error("Ошибка выполнения задания {}", history.getId(), e);
+				historyService.markAsError(history, e.getMessage());
+			}
+		} finally {
+			activeJobs.remove(history.getId());
+			synchronized (this) {
+				runningCount--;
+				running.merge(history.getOperationType(), -1, Integer::sum);
+				dispatch();
+			}
+		}
+	}
+}
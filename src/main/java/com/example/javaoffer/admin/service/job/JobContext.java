@@ -0,0 +1,182 @@
+package com.example.javaoffer.admin.service.job;
+
+import com.example.javaoffer.admin.dto.ImportExportJobProgressDTO;
+import com.example.javaoffer.admin.entity.ImportExportHistory;
+import com.example.javaoffer.admin.exception.JobCancelledException;
+import com.example.javaoffer.admin.service.ImportExportHistoryService;
+
+/**
+ * Контекст выполнения задания импорта/экспорта.
+ * <p>
+ * Хранит прогресс задания в памяти и сохраняет его в запись истории не чаще,
+ * чем раз в интервал контрольных точек, поэтому вызывать {@link #checkpoint(long)}
+ * можно на каждой строке. Отмена кооперативная: флаг отмены проверяется
+ * в контрольной точке, и задание прерывается исключением {@link JobCancelledException}.
+ *
+ * <p>
+ * Прогресс изменяет только поток задания; остальные потоки (отмена, опрос прогресса)
+ * читают volatile-поля.
+ *
+ * @author Garbuzov Oleg
+ */
+public class JobContext {
+	private final ImportExportHistory history;
+	private final ImportExportJob job;
+	private final ImportExportHistoryService historyService;
+	private final long checkpointIntervalNanos;
+
+	private volatile boolean cancelRequested;
+	private volatile boolean running;
+	private volatile long processedRows;
+	private volatile long totalRows = -1;
+	private volatile long startedNanos;
+	private long lastCheckpointNanos;
+
+	JobContext(ImportExportHistory history, ImportExportJob job, ImportExportHistoryService historyService,
+			   long checkpointIntervalNanos) {
+		this.history = history;
+		this.job = job;
+		this.historyService = historyService;
+		this.checkpointIntervalNanos = checkpointIntervalNanos;
+	}
+
+	/**
+	 * Запись истории, которой соответствует задание.
+	 *
+	 * @return запись истории
+	 */
+	public ImportExportHistory getHistory() {
+		return history;
+	}
+
+	/**
+	 * Задает общее количество строк, если оно известно до начала обработки.
+	 * Без него оценка оставшегося времени не рассчитывается.
+	 *
+	 * @param totalRows общее количество строк
+	 */
+	public void setTotalRows(long totalRows) {
+		this.totalRows = totalRows;
+	}
+
+	/**
+	 * Контрольная точка задания.
+	 * <p>
+	 * Запоминает количество обработанных строк, прерывает задание при запросе отмены
+	 * и, если с прошлого сохранения прошел интервал контрольных точек, сохраняет прогресс в историю.
+	 *
+	 * @param processedRows количество обработанных строк
+	 * @throws JobCancelledException если запрошена отмена задания
+	 */
+	public void checkpoint(long processedRows) {
+		this.processedRows = processedRows;
+		checkCancelled();
+		long now = System.nanoTime();
+		if (now - lastCheckpointNanos >= checkpointIntervalNanos) {
+			lastCheckpointNanos = now;
+			persistProgress(now);
+		}
+	}
+
+	/**
+	 * Прерывает задание, если запрошена его отмена.
+	 *
+	 * @throws JobCancelledException если запрошена отмена задания
+	 */
+	public void checkCancelled() {
+		if (cancelRequested) {
+			throw new JobCancelledException("Задание " + history.getId() + " отменено");
+		}
+	}
+
+	/**
+	 * Запрошена ли отмена задания.
+	 *
+	 * @return true после запроса отмены
+	 */
+	public boolean isCancelRequested() {
+		return cancelRequested;
+	}
+
+	/**
+	 * Количество обработанных строк на последней контрольной точке.
+	 *
+	 * @return количество строк
+	 */
+	public long getProcessedRows() {
+		return processedRows;
+	}
+
+	ImportExportJob getJob() {
+		return job;
+	}
+
+	void requestCancel() {
+		cancelRequested = true;
+	}
+
+	void start() {
+		startedNanos = System.nanoTime();
+		lastCheckpointNanos = startedNanos;
+		running = true;
+	}
+
+	/**
+	 * Сохраняет последний прогресс задания перед записью итогового статуса.
+	 */
+	void persistFinalProgress() {
+		if (running) {
+			persistProgress(System.nanoTime());
+		}
+	}
+
+	/**
+	 * Снимок прогресса для опроса со страницы истории.
+	 *
+	 * @param queuePosition позиция в очереди (0 для выполняющегося задания)
+	 * @return прогресс задания
+	 */
+	ImportExportJobProgressDTO snapshot(int queuePosition) {
+		long now = System.nanoTime();
+		long rows = processedRows;
+		long total = totalRows;
+		double rate = running ? rowsPerSecond(rows, now) : 0;
+		return ImportExportJobProgressDTO.builder()
+				.id(history.getId())
+				.status(running ? ImportExportHistory.STATUS_IN_PROGRESS : ImportExportHistory.STATUS_QUEUED)
+				.queuePosition(queuePosition)
+				.processedRows(rows)
+				.totalRows(total >= 0 ? total : null)
+				.rowsPerSecond(rate)
+				.etaSeconds(etaSeconds(rows, total, rate))
+				.cancelRequested(cancelRequested)
+				.build();
+	}
+
+	private void persistProgress(long now) {
+		long rows = processedRows;
+		long total = totalRows;
+		double rate = rowsPerSecond(rows, now);
+		historyService.updateProgress(history, rows, total >= 0 ? total : null, rate, etaSeconds(rows, total, rate));
+	}
+
+	private double rowsPerSecond(long rows, long now) {
+		double seconds = (now - startedNanos) / 1_000_000_000.0;
+		return seconds > 0 ? rows / seconds : 0;
+	}
+
+	/**
+	 * Оценка оставшегося времени по средней скорости обработки.
+	 *
+	 * @param rows          количество обработанных строк
+	 * @param total         общее количество строк (-1, если неизвестно)
+	 * @param rowsPerSecond средняя скорость обработки
+	 * @return оценка в секундах с округлением вверх или null, если общее количество или скорость неизвестны
+	 */
+	static Long etaSeconds(long rows, long total, double rowsPerSecond) {
+		if (total < 0 || rowsPerSecond <= 0) {
+			return null;
+		}
+		return (long) Math.ceil(Math.max(0, total - rows) / rowsPerSecond);
+	}
+}
@@ -0,0 +1,128 @@
+package com.example.javaoffer.admin.utils;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Потоковое чтение первого листа xlsx-файла через событийную модель POI (SAX).
+ * <p>
+ * В отличие от {@code WorkbookFactory.create(...)}, книга не строится в памяти:
+ * XML листа разбирается SAX-парсером, и каждая строка передается обработчику
+ * сразу после разбора. Потребление памяти не зависит от количества строк
+ * (в памяти остается только таблица общих строк книги).
+ *
+ * <p>
+ * Значения ячеек передаются в виде строк, отформатированных {@link DataFormatter}
+ * так, как их показывает Excel: числа без дробной части, логические значения как TRUE/FALSE.
+ *
+ * @author Garbuzov Oleg
+ */
+public final class XlsxStreamingReader {
+
+	private XlsxStreamingReader() {
+	}
+
+	/**
+	 * Обработчик строки листа.
+	 */
+	@FunctionalInterface
+	public interface RowHandler {
+		/**
+		 * Вызывается для каждой непустой строки листа по порядку.
+		 *
+		 * @param rowNumber номер строки, начиная с 0
+		 * @param cells     значения ячеек по индексам столбцов; пустые ячейки содержат null.
+		 *                  Массив переиспользуется для следующей строки и не должен сохраняться
+		 */
+		void handleRow(int rowNumber, String[] cells);
+
+		/**
+		 * Вызывается один раз после последней строки листа.
+		 */
+		default void endSheet() {
+		}
+	}
+
+	/**
+	 * Читает первый лист xlsx-файла и передает строки обработчику.
+	 *
+	 * @param file    путь к xlsx-файлу
+	 * @param columns количество читаемых столбцов; ячейки правее игнорируются
+	 * @param handler обработчик строк
+	 * @throws IOException если файл не является корректным xlsx или не может быть прочитан
+	 */
+	public static void readFirstSheet(Path file, int columns, RowHandler handler) throws IOException {
+		try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+			XSSFReader reader = new XSSFReader(pkg);
+			ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
+			StylesTable styles = reader.getStylesTable();
+
+			Iterator<InputStream> sheets = reader.getSheetsData();
+			if (!sheets.hasNext()) {
+				return;
+			}
+			try (InputStream sheet = sheets.next()) {
+				XMLReader parser = XMLHelper.newXMLReader();
+				parser.setContentHandler(new XSSFSheetXMLHandler(
+						styles, sharedStrings, new RowCollector(columns, handler), new DataFormatter(), false));
+				parser.parse(new InputSource(sheet));
+			}
+			handler.endSheet();
+		} catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+			throw new IOException("Не удалось прочитать xlsx-файл: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Собирает значения ячеек текущей строки в переиспользуемый массив.
+	 */
+	private static final class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+		private final String[] cells;
+		private final RowHandler handler;
+		private int currentColumn;
+
+		private RowCollector(int columns, RowHandler handler) {
+			this.cells = new String[columns];
+			this.handler = handler;
+		}
+
+		@Override
+		public void startRow(int rowNum) {
+			Arrays.fill(cells, null);
+			currentColumn = -1;
+		}
+
+		@Override
+		public void endRow(int rowNum) {
+			handler.handleRow(rowNum, cells);
+		}
+
+		@Override
+		public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+			// Ссылка на ячейку может отсутствовать в файлах сторонних генераторов
+			currentColumn = cellReference != null ? new CellReference(cellReference).getCol() : currentColumn + 1;
+			if (currentColumn < cells.length) {
+				cells[currentColumn] = formattedValue;
+			}
+		}
+	}
+}
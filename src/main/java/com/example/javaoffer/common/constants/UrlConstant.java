@@ -135,14 +135,24 @@ public class UrlConstant {
 	public static final String URL_ADMIN_IMPORT_EXPORT_HISTORY = "/import-export-history";
 
 	/**
-	 * URL для экспорта вопросов в Excel
+	 * URL для экспорта вопросов в файл (XLSX, CSV или NDJSON)
 	 */
-	public static final String URL_ADMIN_QUESTIONS_EXPORT_EXCEL = "/questions/export-excel";
+	public static final String URL_ADMIN_QUESTIONS_EXPORT = "/questions/export";
 
 	/**
-	 * URL для импорта вопросов из Excel
+	 * URL для импорта вопросов из файла (XLSX, CSV или NDJSON)
 	 */
-	public static final String URL_ADMIN_QUESTIONS_IMPORT_EXCEL = "/questions/import-excel";
+	public static final String URL_ADMIN_QUESTIONS_IMPORT = "/questions/import";
+
+	/**
+	 * URL для скачивания файла завершенного экспорта
+	 */
+	public static final String URL_ADMIN_QUESTIONS_EXPORT_DOWNLOAD = "/questions/export/{id}/download";
+
+	/**
+	 * URL для отмены задания импорта/экспорта
+	 */
+	public static final String URL_ADMIN_IMPORT_EXPORT_JOB_CANCEL = "/import-export-history/{id}/cancel";
 
 	/**
 	 * URL для очистки истории импорта/экспорта
@@ -231,6 +241,16 @@ public class UrlConstant {
 	 */
 	public static final String URL_ADMIN_QUESTION_DATA = URL_ADMIN_QUESTIONS + "/{id}/data";
 
+	/**
+	 * REST: Кластеры почти одинаковых вопросов
+	 */
+	public static final String URL_ADMIN_API_QUESTION_SIMILARITY_CLUSTERS = "/api/questions/similarity-clusters";
+
+	/**
+	 * REST: Перестройка индекса почти одинаковых вопросов
+	 */
+	public static final String URL_ADMIN_API_QUESTION_SIMILARITY_REBUILD = URL_ADMIN_API_QUESTION_SIMILARITY_CLUSTERS + "/rebuild";
+
 	/**
 	 * REST: Получение обращений обратной связи
 	 */
@@ -241,6 +261,26 @@ public class UrlConstant {
 	 */
 	public static final String URL_ADMIN_API_FEEDBACK_BY_ID = "/api/feedback/{id}";
 
+	/**
+	 * REST: Прогресс активных заданий импорта/экспорта
+	 */
+	public static final String URL_ADMIN_API_IMPORT_EXPORT_JOBS = "/api/import-export-jobs";
+
+	/**
+	 * REST: Состояние адаптивного ограничения нагрузки
+	 */
+	public static final String URL_ADMIN_API_LOAD_SHEDDING = "/api/load-shedding";
+
+	/**
+	 * REST: Хронология событий античита экзамена из журнала
+	 */
+	public static final String URL_ADMIN_API_ANTICHEAT_JOURNAL = "/api/anticheat-journal/{examId}";
+
+	/**
+	 * REST: Поминутная аналитика античита
+	 */
+	public static final String URL_ADMIN_API_ANTICHEAT_ANALYTICS = "/api/anticheat-analytics";
+
 	/**
 	 * URL для клиентской конфигурации интерфейса
 	 */
@@ -268,5 +308,25 @@ public class UrlConstant {
 	 * Также используется как унифицированный URL для всех запросов античита
 	 */
 	public static final String URL_ANTICHEAT_STATUS_FULL = URL_ANTICHEAT_API_ROOT + URL_ANTICHEAT_STATUS;
+
+	/**
+	 * URL для пакетной отправки событий античита
+	 */
+	public static final String URL_ANTICHEAT_STATUS_BATCH = URL_ANTICHEAT_STATUS + "/batch";
+
+	/**
+	 * Полный URL для пакетной отправки событий античита
+	 */
+	public static final String URL_ANTICHEAT_STATUS_BATCH_FULL = URL_ANTICHEAT_API_ROOT + URL_ANTICHEAT_STATUS_BATCH;
+
+	/**
+	 * URL канала WebSocket для событий античита
+	 */
+	public static final String URL_ANTICHEAT_STREAM = "/stream";
+
+	/**
+	 * Полный URL канала WebSocket для событий античита
+	 */
+	public static final String URL_ANTICHEAT_STREAM_FULL = URL_ANTICHEAT_API_ROOT + URL_ANTICHEAT_STREAM;
 }
 
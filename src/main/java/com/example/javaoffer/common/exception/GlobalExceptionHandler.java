@@ -1,6 +1,7 @@
 package com.example.javaoffer.common.exception;
 
 import com.example.javaoffer.common.exception.dto.ErrorResponse;
+import com.example.javaoffer.exam.anticheat.exception.InvalidAntiCheatBatchException;
 import com.example.javaoffer.exam.anticheat.exception.NoMatchFieldAntiCheatEventTypeException;
 import com.example.javaoffer.exam.cache.exception.NoEntryInCacheException;
 import com.example.javaoffer.exam.exception.*;
@@ -254,6 +255,25 @@ public class GlobalExceptionHandler {
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
 	}
 
+	/**
+	 * Обрабатывает исключение, возникающее при некорректном пакете событий античита
+	 *
+	 * @param ex      исключение InvalidAntiCheatBatchException
+	 * @param request текущий HTTP-запрос
+	 * @return ResponseEntity с ErrorResponse и статусом 400
+	 */
+	@ExceptionHandler(InvalidAntiCheatBatchException.class)
+	public ResponseEntity<ErrorResponse> invalidAntiCheatBatchException(InvalidAntiCheatBatchException ex, HttpServletRequest request) {
+		log.warn("Некорректный пакет событий античита: {}", ex.getMessage());
+		ErrorResponse error = ErrorResponse.of(
+				HttpStatus.BAD_REQUEST.value(),
+				HttpStatus.BAD_REQUEST.getReasonPhrase(),
+				ex.getMessage(),
+				request.getRequestURI()
+		);
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+	}
+
 	/**
 	 * Обрабатывает исключения валидации параметров методов (@Valid + @ModelAttribute/@RequestBody)
 	 *
@@ -1,14 +1,13 @@
 package com.example.javaoffer.common.utils;
 
+import com.example.javaoffer.security.RequestContext;
 import com.example.javaoffer.user.entity.User;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
-import java.util.Arrays;
 import java.util.Optional;
 
 /**
@@ -69,7 +68,8 @@ public class ClientUtils {
 	/**
 	 * Получает ключ блокировки для синхронизации запросов пользователя.
 	 * <p>
-	 * Сначала пытается получить XSRF-токен из cookie, если не найден — использует IP-адрес клиента.
+	 * Сначала пытается получить XSRF-токен из cookie (через {@link RequestContext}, без повторного
+	 * перебора cookie), если не найден — использует IP-адрес клиента.
 	 * Этот ключ может использоваться для синхронизации запросов от одного пользователя,
 	 * например, с помощью Striped Lock.
 	 * 
@@ -81,19 +81,13 @@ public class ClientUtils {
 		String clientIp = ClientUtils.getClientIp(request);
 		log.trace("{}:getLockKey: Поиск ключа блокировки", clientIp);
 		
-		return Optional.ofNullable(request.getCookies()).stream()
-				.flatMap(Arrays::stream)
-				.filter(cookie -> "x-xsrf-token".equalsIgnoreCase(cookie.getName()))
-				.map(Cookie::getValue)
-				.findFirst()
-				.map(token -> {
-					log.debug("{}:getLockKey: Используется XSRF токен из cookie: {}", clientIp, token);
-					return token;
-				})
-				.orElseGet(() -> {
-					log.warn("{}:getLockKey: XSRF токен не найден, используем IP", clientIp);
-					return clientIp;
-				});
+		String token = RequestContext.of(request).xsrfToken();
+		if (token != null) {
+			log.debug("{}:getLockKey: Используется XSRF токен из cookie: {}", clientIp, token);
+			return token;
+		}
+		log.warn("{}:getLockKey: XSRF токен не найден, используем IP", clientIp);
+		return clientIp;
 	}
 
 	/**
@@ -0,0 +1,72 @@
+package com.example.javaoffer.common.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Утилитный класс для вычисления хеша содержимого текстов.
+ * <p>
+ * Текст нормализуется (любые последовательности пробельных символов заменяются
+ * одним пробелом, пробелы по краям удаляются), после чего вычисляется SHA-256
+ * в виде 64 шестнадцатеричных символов. Тексты, отличающиеся только пробелами
+ * и переводами строк, получают одинаковый хеш.
+ *
+ * <p>
+ * Нормализация совпадает с выражением, которым Liquibase заполняет столбец
+ * tasks.content_hash для существующих записей. Поэтому набор пробельных символов
+ * задан явным перечнем ({@link #WHITESPACE_CHARACTERS}, символы Unicode со свойством
+ * White_Space), а не классом {@code \s}: в Java он включает только ASCII-символы,
+ * а в PostgreSQL зависит от локали базы данных. По краям удаляются только пробелы,
+ * как в {@code btrim(..., ' ')}; прочие управляющие символы сохраняются.
+ *
+ * @author Garbuzov Oleg
+ */
+public class ContentHashUtils {
+	/**
+	 * Пробельные символы в синтаксисе регулярных выражений Java и PostgreSQL.
+	 * Та же строка используется в changeset 402-recompute-tasks-content-hash.
+	 */
+	static final String WHITESPACE_CHARACTERS =
+			"[\\u0009-\\u000D\\u0020\\u0085\\u00A0\\u1680\\u2000-\\u200A\\u2028\\u2029\\u202F\\u205F\\u3000]";
+
+	private static final Pattern WHITESPACE = Pattern.compile(WHITESPACE_CHARACTERS + "+");
+
+	private ContentHashUtils() {
+	}
+
+	/**
+	 * Нормализует пробельные символы в тексте.
+	 *
+	 * @param text исходный текст (может быть null)
+	 * @return нормализованный текст или пустая строка для null
+	 */
+	public static String normalize(String text) {
+		if (text == null) {
+			return "";
+		}
+		String collapsed = WHITESPACE.matcher(text).replaceAll(" ");
+		int start = collapsed.startsWith(" ") ? 1 : 0;
+		int end = collapsed.endsWith(" ") ? collapsed.length() - 1 : collapsed.length();
+		return start < end ? collapsed.substring(start, end) : "";
+	}
+
+	/**
+	 * Вычисляет SHA-256 нормализованного текста.
+	 *
+	 * @param text исходный текст (может быть null)
+	 * @return хеш в виде строки из 64 шестнадцатеричных символов в нижнем регистре
+	 */
+	public static String sha256Hex(String text) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] hash = digest.digest(normalize(text).getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(hash);
+		} catch (NoSuchAlgorithmException e) {
+			// SHA-256 обязателен для любой реализации JVM
+			throw new IllegalStateException("Алгоритм SHA-256 недоступен", e);
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package com.example.javaoffer.common.utils;
+
+import java.util.Locale;
+
+/**
+ * Утилитный класс для построения паттернов LIKE поиска по подстроке.
+ * <p>
+ * Символы {@code %}, {@code _} и сам символ экранирования в искомой строке экранируются
+ * символом {@link #ESCAPE_CHAR}, поэтому запрос должен передавать его в ESCAPE
+ * (JPQL: {@code LIKE :pattern ESCAPE '\'}, Criteria API: {@code cb.like(expr, pattern, ESCAPE_CHAR)}).
+ * Так поиск {@code a_b} или {@code 100%} совпадает только с этой подстрокой, как и в производных
+ * запросах Spring Data с {@code Containing}.
+ *
+ * @author Garbuzov Oleg
+ */
+public class LikePatternUtils {
+	/**
+	 * Символ экранирования в паттернах LIKE
+	 */
+	public static final char ESCAPE_CHAR = '\\';
+
+	private LikePatternUtils() {
+	}
+
+	/**
+	 * Формирует паттерн LIKE в нижнем регистре для поиска по подстроке.
+	 *
+	 * @param value искомая подстрока (может быть null)
+	 * @return паттерн вида %value% с экранированными спецсимволами или null, если строка пустая
+	 */
+	public static String containsLowerCase(String value) {
+		if (value == null || value.isBlank()) {
+			return null;
+		}
+		String trimmed = value.trim().toLowerCase(Locale.ROOT);
+		StringBuilder pattern = new StringBuilder(trimmed.length() + 8).append('%');
+		for (int i = 0; i < trimmed.length(); i++) {
+			char c = trimmed.charAt(i);
+			if (c == ESCAPE_CHAR || c == '%' || c == '_') {
+				pattern.append(ESCAPE_CHAR);
+			}
+			pattern.append(c);
+		}
+		return pattern.append('%').toString();
+	}
+}
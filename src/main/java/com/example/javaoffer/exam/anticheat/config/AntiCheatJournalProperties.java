@@ -0,0 +1,61 @@
+package com.example.javaoffer.exam.anticheat.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Конфигурационные свойства журнала событий античита.
+ * <p>
+ * Загружаются из файла настроек приложения с префиксом "exam.anticheat.journal".
+ *
+ * @author Garbuzov Oleg
+ * @see com.example.javaoffer.exam.anticheat.service.journal.AntiCheatJournal
+ */
+@Component
+@Data
+@ConfigurationProperties("exam.anticheat.journal")
+public class AntiCheatJournalProperties {
+	/**
+	 * Включение журнала
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * Каталог сегментов журнала
+	 */
+	private String directory = "data/anticheat-journal";
+
+	/**
+	 * Размер сегмента, после которого начинается новый сегмент (байт)
+	 */
+	private long segmentSizeBytes = 64L * 1024 * 1024;
+
+	/**
+	 * Количество хранимых сегментов; более старые сегменты удаляются
+	 */
+	private int maxSegments = 32;
+
+	/**
+	 * Емкость кольцевого буфера записей (округляется вверх до степени двойки).
+	 * При заполненном буфере новые записи отбрасываются, а не блокируют запрос
+	 */
+	private int ringBufferSize = 65536;
+
+	/**
+	 * Максимальное количество записей, сбрасываемых на диск одной операцией записи
+	 */
+	private int batchSize = 1024;
+
+	/**
+	 * Пауза потока записи при пустом буфере
+	 */
+	private Duration flushInterval = Duration.ofMillis(5);
+
+	/**
+	 * Принудительная синхронизация с диском (fsync) после каждой пачки записей
+	 */
+	private boolean fsync = true;
+}
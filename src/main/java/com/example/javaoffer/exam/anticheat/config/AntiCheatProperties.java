@@ -1,9 +1,14 @@
 package com.example.javaoffer.exam.anticheat.config;
 
+import com.example.javaoffer.exam.anticheat.enums.EventType;
+import com.example.javaoffer.exam.anticheat.enums.ViolationGroup;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
  * Конфигурационные свойства для механизма античита.
  * <p>
@@ -50,6 +55,31 @@ public class AntiCheatProperties {
 	 */
 	private int heartbeatTolerance = 2000;
 
+	/**
+	 * Длина такта колеса сроков heartbeat (мс): точность обнаружения пропущенного heartbeat
+	 */
+	private int heartbeatWheelTickMillis = 1000;
+
+	/**
+	 * Количество ячеек колеса сроков heartbeat
+	 */
+	private int heartbeatWheelSize = 512;
+
+	/**
+	 * Максимальное количество сообщений от клиента в минуту по каналу WebSocket
+	 */
+	private int pushMaxMessagesPerMinute = 120;
+
+	/**
+	 * Максимальное время отправки сообщения клиенту по каналу WebSocket (мс)
+	 */
+	private int pushSendTimeLimitMillis = 5000;
+
+	/**
+	 * Максимальный объем неотправленных сообщений одного канала WebSocket (байт)
+	 */
+	private int pushBufferSizeLimit = 65536;
+
 	/**
 	 * Секретный ключ для шифрования токенов
 	 */
@@ -59,4 +89,31 @@ public class AntiCheatProperties {
 	 * Время жизни токена (секунды)
 	 */
 	private int tokenValiditySeconds = 60;
+
+	/**
+	 * Максимальное количество событий в одном пакетном запросе
+	 */
+	private int maxBatchEvents = 50;
+
+	/**
+	 * Окно поминутной аналитики античита (минуты)
+	 */
+	private int analyticsWindowMinutes = 60;
+
+	/**
+	 * Максимальное количество заданий, для которых хранится аналитика
+	 */
+	private int analyticsMaxTasks = 10000;
+
+	/**
+	 * Количество заданий с наибольшим числом нарушений в сводке аналитики
+	 */
+	private int analyticsTopTasks = 20;
+
+	/**
+	 * Переопределение групп нарушений по типам событий.
+	 * Типы, не указанные здесь, используют группу по умолчанию
+	 * ({@link com.example.javaoffer.exam.anticheat.strategy.ViolationEventStrategy})
+	 */
+	private Map<EventType, ViolationGroup> violationGroups = new EnumMap<>(EventType.class);
 } 
\ No newline at end of file
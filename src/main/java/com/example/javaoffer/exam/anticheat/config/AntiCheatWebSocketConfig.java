@@ -0,0 +1,34 @@
+package com.example.javaoffer.exam.anticheat.config;
+
+import com.example.javaoffer.exam.anticheat.controller.AntiCheatStreamHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+import static com.example.javaoffer.common.constants.UrlConstant.URL_ANTICHEAT_STREAM_FULL;
+
+/**
+ * Регистрация канала WebSocket античита.
+ * <p>
+ * Канал доступен по адресу {@link com.example.javaoffer.common.constants.UrlConstant#URL_ANTICHEAT_STREAM_FULL}
+ * под тем же правилом безопасности, что и HTTP API античита; разрешены подключения только
+ * с того же источника (origin), что и страница экзамена.
+ *
+ * @author Garbuzov Oleg
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class AntiCheatWebSocketConfig implements WebSocketConfigurer {
+
+	private final AntiCheatStreamHandler antiCheatStreamHandler;
+	private final ExamStreamHandshakeInterceptor examStreamHandshakeInterceptor;
+
+	@Override
+	public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+		registry.addHandler(antiCheatStreamHandler, URL_ANTICHEAT_STREAM_FULL)
+				.addInterceptors(examStreamHandshakeInterceptor);
+	}
+}
@@ -0,0 +1,93 @@
+package com.example.javaoffer.exam.anticheat.config;
+
+import com.example.javaoffer.common.utils.ClientUtils;
+import com.example.javaoffer.exam.anticheat.controller.AntiCheatStreamHandler;
+import com.example.javaoffer.exam.cache.service.ExamSessionCacheService;
+import com.example.javaoffer.exam.enums.ExamMode;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Проверка запроса на открытие канала WebSocket античита.
+ * <p>
+ * Канал открывается только для существующего экзамена в рейтинговом режиме: для остальных
+ * режимов события античита не обрабатываются. Идентификатор экзамена передается параметром
+ * {@code examId}; он и IP-адрес клиента сохраняются в атрибутах сессии WebSocket.
+ *
+ * @author Garbuzov Oleg
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExamStreamHandshakeInterceptor implements HandshakeInterceptor {
+
+	private final ExamSessionCacheService examSessionCacheService;
+
+	@Override
+	public boolean beforeHandshake(
+			ServerHttpRequest request,
+			ServerHttpResponse response,
+			WebSocketHandler wsHandler,
+			Map<String, Object> attributes) {
+		if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+			return false;
+		}
+		HttpServletRequest httpRequest = servletRequest.getServletRequest();
+		String clientIp = ClientUtils.getClientIp(httpRequest);
+
+		UUID examId = parseExamId(httpRequest.getParameter("examId")).orElse(null);
+		if (examId == null) {
+			log.warn("{}: Канал античита отклонен: некорректный examId", clientIp);
+			response.setStatusCode(HttpStatus.BAD_REQUEST);
+			return false;
+		}
+
+		Optional<ExamMode> examMode = examSessionCacheService.getExamMode(examId);
+		if (examMode.isEmpty()) {
+			log.warn("{}: Канал античита отклонен: экзамен {} не найден", clientIp, examId);
+			response.setStatusCode(HttpStatus.NOT_FOUND);
+			return false;
+		}
+		if (examMode.get() != ExamMode.RATING) {
+			log.debug("{}: Канал античита отклонен: режим экзамена {} не рейтинговый", clientIp, examId);
+			response.setStatusCode(HttpStatus.BAD_REQUEST);
+			return false;
+		}
+
+		attributes.put(AntiCheatStreamHandler.EXAM_ID_ATTRIBUTE, examId);
+		attributes.put(AntiCheatStreamHandler.CLIENT_IP_ATTRIBUTE, clientIp);
+		return true;
+	}
+
+	@Override
+	public void afterHandshake(
+			ServerHttpRequest request,
+			ServerHttpResponse response,
+			WebSocketHandler wsHandler,
+			Exception exception) {
+		// Дополнительных действий после установки соединения не требуется
+	}
+
+	private static Optional<UUID> parseExamId(String value) {
+		if (value == null) {
+			return Optional.empty();
+		}
+		try {
+			return Optional.of(UUID.fromString(value));
+		} catch (IllegalArgumentException e) {
+			return Optional.empty();
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package com.example.javaoffer.exam.anticheat.controller;
+
+import com.example.javaoffer.exam.anticheat.dto.AntiCheatAnalyticsDTO;
+import com.example.javaoffer.exam.anticheat.service.analytics.AntiCheatAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import static com.example.javaoffer.common.constants.UrlConstant.URL_ADMIN_API_ANTICHEAT_ANALYTICS;
+import static com.example.javaoffer.common.constants.UrlConstant.URL_ADMIN_ROOT;
+
+/**
+ * Контроллер аналитики античита для панели администратора.
+ *
+ * @author Garbuzov Oleg
+ */
+@Controller
+@RequestMapping(URL_ADMIN_ROOT)
+@RequiredArgsConstructor
+public class AntiCheatAnalyticsController {
+
+	private final AntiCheatAnalyticsService antiCheatAnalyticsService;
+
+	/**
+	 * Возвращает сводку аналитики античита за скользящее окно.
+	 *
+	 * @return поминутные счетчики по типам событий, темам и заданиям
+	 */
+	@GetMapping(URL_ADMIN_API_ANTICHEAT_ANALYTICS)
+	@ResponseBody
+	public AntiCheatAnalyticsDTO getAnalytics() {
+		return antiCheatAnalyticsService.getSnapshot();
+	}
+}
@@ -19,11 +19,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.locks.Lock;
 
-import static com.example.javaoffer.common.constants.UrlConstant.URL_ANTICHEAT_STATUS;
-import static com.example.javaoffer.common.constants.UrlConstant.URL_ANTICHEAT_STATUS_FULL;
+import static com.example.javaoffer.common.constants.UrlConstant.*;
 
 /**
  * Унифицированный контроллер для обработки событий мониторинга сессии при прохождении экзамена.
@@ -36,6 +36,10 @@ import static com.example.javaoffer.common.constants.UrlConstant.URL_ANTICHEAT_S
  * Используется потокобезопасная обработка запросов с помощью Striped Locks
  * для предотвращения одновременного доступа к одним и тем же данным сессии.
  * 
+ * <p>
+ * Для клиентов, накапливающих события между heartbeat-запросами, предусмотрен пакетный
+ * эндпоинт: пакет проходит одну проверку лимита запросов и применяется к сессии
+ * одним обновлением под блокировкой прогресса экзамена.
  *
  * @author Garbuzov Oleg
  */
@@ -116,4 +120,47 @@ public class AntiCheatController {
 			lock.unlock();
 		}
 	}
-} 
\ No newline at end of file
+
+	/**
+	 * Пакетный эндпоинт для событий античита.
+	 * <p>
+	 * Принимает упорядоченный массив событий одного экзамена (нарушения и, как правило,
+	 * завершающий heartbeat) и применяет их к сессии одним обновлением. Лимит запросов
+	 * проверяется один раз на пакет. Для не рейтинговых режимов события не обрабатываются.
+	 * 
+	 *
+	 * @param events  события в порядке их возникновения на клиенте
+	 * @param request HTTP-запрос для получения IP клиента
+	 * @return общий статус сессии: признак прерывания экзамена, а при наличии heartbeat
+	 *         в пакете - следующий токен и задача
+	 * @throws NoEntryInCacheException если сессия экзамена не найдена в кэше
+	 * @throws com.example.javaoffer.exam.anticheat.exception.InvalidAntiCheatBatchException
+	 *                                 если пакет некорректен
+	 */
+	@PostMapping(URL_ANTICHEAT_STATUS_BATCH)
+	@ResponseBody
+	@RateLimit
+	public ResponseEntity<SessionStatusResponseDTO> processBatchRequest(
+			@RequestBody List<UnifiedRequestDTO> events,
+			HttpServletRequest request) {
+
+		String clientIp = ClientUtils.getClientIp(request);
+		UUID examId = antiCheatService.validateBatch(events);
+
+		log.debug("{}:POST {}: Получен пакет из {} событий для examId={}",
+				clientIp, URL_ANTICHEAT_STATUS_BATCH_FULL, events.size(), examId);
+
+		ExamMode examMode = examSessionCacheService.getExamMode(examId).orElseThrow(() ->
+				new NoEntryInCacheException(
+						"Ошибка. Сессия не найдена. Вероятно вас долго не было. Начните сначала"
+				));
+
+		if (examMode != ExamMode.RATING) {
+			log.debug("{}:POST {}: Пакет проигнорирован, режим не рейтинговый: {}",
+					clientIp, URL_ANTICHEAT_STATUS_BATCH_FULL, examMode);
+			return ResponseEntity.ok(new SessionStatusResponseDTO(null, false, null));
+		}
+
+		return ResponseEntity.ok(antiCheatService.processBatch(examId, events, clientIp));
+	}
+}
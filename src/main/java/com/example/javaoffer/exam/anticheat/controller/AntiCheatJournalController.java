@@ -0,0 +1,53 @@
+package com.example.javaoffer.exam.anticheat.controller;
+
+import com.example.javaoffer.exam.anticheat.dto.JournalRecordDTO;
+import com.example.javaoffer.exam.anticheat.service.journal.AntiCheatJournal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.javaoffer.common.constants.UrlConstant.URL_ADMIN_API_ANTICHEAT_JOURNAL;
+import static com.example.javaoffer.common.constants.UrlConstant.URL_ADMIN_ROOT;
+
+/**
+ * Контроллер просмотра журнала событий античита.
+ * <p>
+ * Восстанавливает хронологию событий одного экзамена для разбора спорных случаев.
+ *
+ * @author Garbuzov Oleg
+ */
+@Controller
+@RequestMapping(URL_ADMIN_ROOT)
+@RequiredArgsConstructor
+@Slf4j
+public class AntiCheatJournalController {
+
+	private final AntiCheatJournal antiCheatJournal;
+
+	/**
+	 * Возвращает записи журнала по экзамену.
+	 *
+	 * @param examId идентификатор экзамена
+	 * @return записи в порядке их записи в журнал; пустой список, если записей нет
+	 */
+	@GetMapping(URL_ADMIN_API_ANTICHEAT_JOURNAL)
+	@ResponseBody
+	public List<JournalRecordDTO> getExamTimeline(@PathVariable UUID examId) {
+		log.debug("Запрос хронологии событий античита для examId={}", examId);
+		return antiCheatJournal.replay(examId).stream()
+				.map(record -> new JournalRecordDTO(
+						Instant.ofEpochMilli(record.timestampMillis()),
+						record.kind(),
+						record.eventType(),
+						record.payload()))
+				.toList();
+	}
+}
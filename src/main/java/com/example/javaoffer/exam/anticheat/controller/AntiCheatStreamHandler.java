@@ -0,0 +1,131 @@
+package com.example.javaoffer.exam.anticheat.controller;
+
+import com.example.javaoffer.exam.anticheat.config.AntiCheatProperties;
+import com.example.javaoffer.exam.anticheat.dto.UnifiedRequestDTO;
+import com.example.javaoffer.exam.anticheat.enums.EventType;
+import com.example.javaoffer.exam.anticheat.enums.StreamMessageType;
+import com.example.javaoffer.exam.anticheat.service.AntiCheatService;
+import com.example.javaoffer.exam.anticheat.service.AntiCheatStreamService;
+import com.example.javaoffer.exam.cache.exception.NoEntryInCacheException;
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Обработчик канала WebSocket для событий античита.
+ * <p>
+ * Канал заменяет периодические POST-запросы на {@link AntiCheatController}: клиент отправляет
+ * по открытому соединению те же {@link UnifiedRequestDTO}, а сервер отвечает теми же DTO
+ * ({@link StreamMessageType#HEARTBEAT}, {@link StreamMessageType#VIOLATION_ACK}) и сам
+ * присылает уведомление о прерывании экзамена ({@link StreamMessageType#TERMINATED}).
+ * Проверка токенов и задач heartbeat выполняется {@link AntiCheatService} так же, как для HTTP.
+ *
+ * <p>
+ * Аутентификация, проверка экзамена и режима выполняются один раз при установке соединения
+ * ({@link com.example.javaoffer.exam.anticheat.config.ExamStreamHandshakeInterceptor}).
+ * Вместо {@link com.example.javaoffer.rateLimiter.annotation.RateLimit} частота сообщений
+ * ограничивается bucket'ом канала ({@link AntiCheatProperties#getPushMaxMessagesPerMinute()}).
+ * Сообщения одного канала контейнер доставляет последовательно, поэтому блокировка
+ * по клиенту, как в HTTP-контроллере, не нужна.
+ *
+ * @author Garbuzov Oleg
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AntiCheatStreamHandler extends TextWebSocketHandler {
+
+	/**
+	 * Атрибут сессии WebSocket: идентификатор экзамена
+	 */
+	public static final String EXAM_ID_ATTRIBUTE = "antiCheat.examId";
+
+	/**
+	 * Атрибут сессии WebSocket: IP-адрес клиента
+	 */
+	public static final String CLIENT_IP_ATTRIBUTE = "antiCheat.clientIp";
+
+	private static final String CHANNEL_ATTRIBUTE = "antiCheat.channel";
+	private static final String BUCKET_ATTRIBUTE = "antiCheat.bucket";
+
+	private final AntiCheatService antiCheatService;
+	private final AntiCheatStreamService antiCheatStreamService;
+	private final AntiCheatProperties antiCheatProperties;
+	private final ObjectMapper objectMapper;
+	private final Validator validator;
+
+	@Override
+	public void afterConnectionEstablished(WebSocketSession session) {
+		UUID examId = examId(session);
+		int limit = antiCheatProperties.getPushMaxMessagesPerMinute();
+		session.getAttributes().put(BUCKET_ATTRIBUTE, Bucket.builder()
+				.addLimit(Bandwidth.classic(limit, Refill.greedy(limit, Duration.ofMinutes(1))))
+				.build());
+		session.getAttributes().put(CHANNEL_ATTRIBUTE, antiCheatStreamService.register(examId, session));
+	}
+
+	@Override
+	protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+		UUID examId = examId(session);
+		String clientIp = (String) session.getAttributes().get(CLIENT_IP_ATTRIBUTE);
+		WebSocketSession channel = (WebSocketSession) session.getAttributes().get(CHANNEL_ATTRIBUTE);
+		Bucket bucket = (Bucket) session.getAttributes().get(BUCKET_ATTRIBUTE);
+
+		if (!bucket.tryConsume(1)) {
+			log.warn("{}: Превышена частота сообщений канала античита для examId={}", clientIp, examId);
+			antiCheatStreamService.send(channel, StreamMessageType.ERROR, "Слишком много запросов");
+			return;
+		}
+
+		UnifiedRequestDTO requestDTO;
+		try {
+			requestDTO = objectMapper.readValue(message.getPayload(), UnifiedRequestDTO.class);
+		} catch (JacksonException e) {
+			log.warn("{}: Некорректное сообщение канала античита для examId={}: {}", clientIp, examId, e.getOriginalMessage());
+			antiCheatStreamService.send(channel, StreamMessageType.ERROR, "Некорректный запрос");
+			return;
+		}
+
+		if (!validator.validate(requestDTO).isEmpty() || !examId.equals(requestDTO.getExamId())) {
+			log.warn("{}: Сообщение канала античита не прошло проверку для examId={}", clientIp, examId);
+			antiCheatStreamService.send(channel, StreamMessageType.ERROR, "Некорректный запрос");
+			return;
+		}
+
+		try {
+			ResponseEntity<?> response = antiCheatService.process(requestDTO, clientIp);
+			StreamMessageType type = requestDTO.getEventType() == EventType.HEART_BEAT
+					? StreamMessageType.HEARTBEAT
+					: StreamMessageType.VIOLATION_ACK;
+			antiCheatStreamService.send(channel, type, response.getBody());
+		} catch (NoEntryInCacheException e) {
+			antiCheatStreamService.send(channel, StreamMessageType.ERROR,
+					"Ошибка. Сессия не найдена. Вероятно вас долго не было. Начните сначала");
+			session.close(CloseStatus.NORMAL);
+		}
+	}
+
+	@Override
+	public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+		antiCheatStreamService.unregister(examId(session), session);
+	}
+
+	private static UUID examId(WebSocketSession session) {
+		return (UUID) session.getAttributes().get(EXAM_ID_ATTRIBUTE);
+	}
+}
@@ -0,0 +1,30 @@
+package com.example.javaoffer.exam.anticheat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO поминутного ряда счетчика аналитики античита.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsSeriesDTO {
+	/**
+	 * Имя счетчика
+	 */
+	private String name;
+
+	/**
+	 * Сумма за окно
+	 */
+	private long total;
+
+	/**
+	 * Значения по минутам от самой ранней минуты окна до текущей
+	 */
+	private long[] perMinute;
+}
@@ -0,0 +1,43 @@
+package com.example.javaoffer.exam.anticheat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO сводки аналитики античита за скользящее окно.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AntiCheatAnalyticsDTO {
+	/**
+	 * Время формирования сводки
+	 */
+	private Instant generatedAt;
+
+	/**
+	 * Длина окна (минуты)
+	 */
+	private int windowMinutes;
+
+	/**
+	 * Поминутные ряды по типам событий (внутренние имена типов)
+	 */
+	private List<AnalyticsSeriesDTO> events;
+
+	/**
+	 * Аналитика по темам заданий
+	 */
+	private List<TopicAnalyticsDTO> topics;
+
+	/**
+	 * Задания с наибольшим числом нарушений
+	 */
+	private List<TaskAnalyticsDTO> topTasks;
+}
@@ -0,0 +1,39 @@
+package com.example.javaoffer.exam.anticheat.dto;
+
+import com.example.javaoffer.exam.anticheat.enums.EventType;
+import com.example.javaoffer.exam.anticheat.enums.JournalRecordKind;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO записи журнала событий античита для просмотра администратором.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalRecordDTO {
+	/**
+	 * Время события
+	 */
+	private Instant timestamp;
+
+	/**
+	 * Вид записи
+	 */
+	private JournalRecordKind kind;
+
+	/**
+	 * Тип события (внутреннее имя); null, если запись не относится к событию
+	 */
+	private EventType eventType;
+
+	/**
+	 * Полезная нагрузка: ID вопроса для события, количество пропусков для пропущенного heartbeat
+	 */
+	private long payload;
+}
@@ -0,0 +1,26 @@
+package com.example.javaoffer.exam.anticheat.dto;
+
+import com.example.javaoffer.exam.anticheat.enums.StreamMessageType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO сообщения сервера в канале WebSocket античита.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreamMessageDTO {
+	/**
+	 * Тип сообщения
+	 */
+	private StreamMessageType type;
+
+	/**
+	 * Содержимое сообщения: DTO ответа или текст ошибки
+	 */
+	private Object payload;
+}
@@ -0,0 +1,49 @@
+package com.example.javaoffer.exam.anticheat.dto;
+
+import com.example.javaoffer.exam.anticheat.enums.EventType;
+import com.example.javaoffer.exam.enums.TaskTopic;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO аналитики античита по заданию за окно.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskAnalyticsDTO {
+	/**
+	 * Идентификатор задания
+	 */
+	private Long taskId;
+
+	/**
+	 * Тема задания; null, если задание не выдавалось с момента запуска приложения
+	 */
+	private TaskTopic topic;
+
+	/**
+	 * Общее количество нарушений во время задания
+	 */
+	private long violations;
+
+	/**
+	 * Количество нарушений по типам (внутренние имена типов)
+	 */
+	private Map<EventType, Long> violationsByType;
+
+	/**
+	 * Количество верных ответов
+	 */
+	private long correctAnswers;
+
+	/**
+	 * Количество неверных ответов
+	 */
+	private long incorrectAnswers;
+}
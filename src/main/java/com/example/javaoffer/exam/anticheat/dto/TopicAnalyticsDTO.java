@@ -0,0 +1,41 @@
+package com.example.javaoffer.exam.anticheat.dto;
+
+import com.example.javaoffer.exam.enums.TaskTopic;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO аналитики античита по теме заданий за окно.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopicAnalyticsDTO {
+	/**
+	 * Тема заданий
+	 */
+	private TaskTopic topic;
+
+	/**
+	 * Количество нарушений во время заданий темы
+	 */
+	private long violations;
+
+	/**
+	 * Количество верных ответов
+	 */
+	private long correctAnswers;
+
+	/**
+	 * Количество неверных ответов
+	 */
+	private long incorrectAnswers;
+
+	/**
+	 * Нарушения по минутам от самой ранней минуты окна до текущей
+	 */
+	private long[] violationsPerMinute;
+}
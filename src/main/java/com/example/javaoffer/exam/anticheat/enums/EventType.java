@@ -30,6 +30,10 @@ import java.util.Map;
  * Для преобразования клиентских имен во внутренние используется статическая карта MAP
  * и метод fromJson, который вызывается при десериализации JSON.
  * 
+ * <p>
+ * Порядковый номер типа хранится в журнале событий античита
+ * ({@link com.example.javaoffer.exam.anticheat.service.journal.AntiCheatJournal}),
+ * поэтому новые типы добавляются только в конец перечисления.
  */
 @Getter
 @RequiredArgsConstructor
@@ -0,0 +1,27 @@
+package com.example.javaoffer.exam.anticheat.enums;
+
+/**
+ * Вид записи журнала событий античита.
+ * <p>
+ * Порядковый номер хранится в записи журнала, поэтому новые значения добавляются только в конец.
+ *
+ * @author Garbuzov Oleg
+ * @see com.example.javaoffer.exam.anticheat.service.journal.AntiCheatJournal
+ */
+public enum JournalRecordKind {
+
+	/**
+	 * Событие клиента (heartbeat или нарушение); полезная нагрузка - ID вопроса или 0
+	 */
+	EVENT,
+
+	/**
+	 * Зарегистрирован пропущенный heartbeat; полезная нагрузка - текущее количество пропусков
+	 */
+	HEARTBEAT_MISSED,
+
+	/**
+	 * Экзамен прерван из-за нарушений; тип события - событие, превысившее лимит
+	 */
+	TERMINATED
+}
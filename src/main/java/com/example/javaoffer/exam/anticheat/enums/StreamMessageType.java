@@ -0,0 +1,46 @@
+package com.example.javaoffer.exam.anticheat.enums;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Типы сообщений, отправляемых клиенту по каналу WebSocket античита.
+ * <p>
+ * Как и в {@link EventType}, клиентские имена намеренно неинформативны.
+ *
+ * @author Garbuzov Oleg
+ */
+@Getter
+@RequiredArgsConstructor
+public enum StreamMessageType {
+
+	/**
+	 * Ответ на heartbeat: следующий токен и задача.
+	 * Содержит {@link com.example.javaoffer.exam.anticheat.dto.SessionStatusResponseDTO}
+	 */
+	HEARTBEAT("UI_SYNC"),
+
+	/**
+	 * Подтверждение обработки события нарушения.
+	 * Содержит {@link com.example.javaoffer.exam.anticheat.dto.SessionIntegrityResponseDTO}
+	 */
+	VIOLATION_ACK("UI_ACK"),
+
+	/**
+	 * Уведомление сервера о прерывании экзамена.
+	 * Содержит {@link com.example.javaoffer.exam.anticheat.dto.SessionStatusResponseDTO}
+	 */
+	TERMINATED("UI_HALT"),
+
+	/**
+	 * Ошибка обработки сообщения клиента; содержит текст ошибки
+	 */
+	ERROR("UI_ERR");
+
+	/**
+	 * Клиентское название типа сообщения
+	 */
+	@JsonValue
+	private final String jsonName;
+}
@@ -0,0 +1,48 @@
+package com.example.javaoffer.exam.anticheat.enums;
+
+import com.example.javaoffer.exam.anticheat.config.AntiCheatProperties;
+import lombok.RequiredArgsConstructor;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Группа нарушений с общим лимитом.
+ * <p>
+ * Каждый тип нарушения относится к одной группе. Экзамен прерывается, когда сумма
+ * счетчиков всех типов нарушений группы достигает лимита группы. Лимиты берутся
+ * из {@link AntiCheatProperties}, распределение типов по группам задается
+ * {@link AntiCheatProperties#getViolationGroups()}.
+ *
+ * @author Garbuzov Oleg
+ */
+@RequiredArgsConstructor
+public enum ViolationGroup {
+
+	/**
+	 * Переключения вкладки браузера.
+	 */
+	TAB_SWITCH(AntiCheatProperties::getMaxTabSwitchViolations),
+
+	/**
+	 * Копирование текста.
+	 */
+	TEXT_COPY(AntiCheatProperties::getMaxTextCopyViolations),
+
+	/**
+	 * Вмешательство в работу приложения: DevTools, изменение DOM, функций и модулей,
+	 * закрытие страницы, внешний контент, вмешательство в Anti-OCR.
+	 */
+	TAMPERING(AntiCheatProperties::getMaxTamperingViolations);
+
+	private final ToIntFunction<AntiCheatProperties> limit;
+
+	/**
+	 * Возвращает лимит нарушений группы.
+	 *
+	 * @param properties настройки античита
+	 * @return количество нарушений, при котором экзамен прерывается
+	 */
+	public int getLimit(AntiCheatProperties properties) {
+		return limit.applyAsInt(properties);
+	}
+}
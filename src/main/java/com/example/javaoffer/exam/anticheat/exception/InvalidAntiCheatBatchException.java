@@ -0,0 +1,26 @@
+package com.example.javaoffer.exam.anticheat.exception;
+
+import java.io.Serial;
+
+/**
+ * Исключение, которое выбрасывается при некорректном пакете событий античита.
+ * <p>
+ * Пакет отклоняется целиком, если он пуст, превышает допустимый размер,
+ * содержит событие без идентификатора экзамена или типа либо события разных экзаменов.
+ *
+ * @author Garbuzov Oleg
+ */
+public class InvalidAntiCheatBatchException extends RuntimeException {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Создает новый экземпляр исключения с указанным сообщением об ошибке.
+	 *
+	 * @param message сообщение, описывающее причину отклонения пакета
+	 */
+	public InvalidAntiCheatBatchException(String message) {
+		super(message);
+	}
+}
@@ -1,16 +1,27 @@
 package com.example.javaoffer.exam.anticheat.service;
 
+import com.example.javaoffer.exam.anticheat.config.AntiCheatProperties;
+import com.example.javaoffer.exam.anticheat.dto.SessionStatusResponseDTO;
 import com.example.javaoffer.exam.anticheat.dto.UnifiedRequestDTO;
 import com.example.javaoffer.exam.anticheat.enums.EventType;
+import com.example.javaoffer.exam.anticheat.enums.JournalRecordKind;
+import com.example.javaoffer.exam.anticheat.enums.ViolationGroup;
+import com.example.javaoffer.exam.anticheat.exception.InvalidAntiCheatBatchException;
+import com.example.javaoffer.exam.anticheat.service.analytics.AntiCheatAnalyticsService;
+import com.example.javaoffer.exam.anticheat.service.journal.AntiCheatJournal;
 import com.example.javaoffer.exam.anticheat.strategy.AntiCheatEventStrategy;
+import com.example.javaoffer.exam.anticheat.strategy.ViolationEventStrategy;
+import com.example.javaoffer.exam.cache.TemporaryExamProgress;
+import com.example.javaoffer.exam.cache.exception.NoEntryInCacheException;
+import com.example.javaoffer.exam.cache.service.ExamSessionCacheService;
 import com.example.javaoffer.exam.exception.NoStrategyForEventTypeException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -20,11 +31,25 @@ import java.util.stream.Collectors;
  * выбирает подходящую стратегию обработки для каждого типа события.
  * Использует паттерн "Стратегия" для делегирования обработки конкретным реализациям.
  * 
+ * <p>
+ * Помимо одиночных событий сервис принимает пакет событий одного экзамена: события
+ * применяются по порядку одной операцией над прогрессом в кэше, а лимиты нарушений
+ * проверяются один раз после применения всех событий.
+ *
+ * <p>
+ * Каждое принятое событие записывается в {@link AntiCheatJournal} и учитывается
+ * в {@link AntiCheatAnalyticsService}; построчное логирование событий оставлено на уровне DEBUG.
  */
 @Service
 @Slf4j
 public class AntiCheatService {
 	private final ConcurrentMap<EventType, AntiCheatEventStrategy> strategyMap;
+	private final ViolationEventStrategy violationEventStrategy;
+	private final HeartbeatService heartbeatService;
+	private final ExamSessionCacheService examSessionCacheService;
+	private final AntiCheatProperties antiCheatProperties;
+	private final AntiCheatJournal antiCheatJournal;
+	private final AntiCheatAnalyticsService antiCheatAnalyticsService;
 
 	/**
 	 * Конструктор сервиса.
@@ -32,17 +57,40 @@ public class AntiCheatService {
 	 * Инициализирует карту стратегий, сопоставляя каждый тип события с соответствующей стратегией.
 	 * 
 	 *
-	 * @param strategies список стратегий, которые будут использоваться для обработки событий
+	 * @param strategies                список стратегий, которые будут использоваться для обработки событий
+	 * @param violationEventStrategy    стратегия нарушений, применяемая к событиям пакета
+	 * @param heartbeatService          сервис обработки heartbeat-запросов
+	 * @param examSessionCacheService   сервис кэша прогресса экзаменов
+	 * @param antiCheatProperties       настройки античита
+	 * @param antiCheatJournal          журнал событий античита
+	 * @param antiCheatAnalyticsService аналитика событий античита
 	 */
-	public AntiCheatService(List<AntiCheatEventStrategy> strategies) {
-		this.strategyMap = strategies.stream()
-				.collect(Collectors.toConcurrentMap(
-						AntiCheatEventStrategy::getSupportedEvent,
-						Function.identity()
-				));
-		log.debug("AntiCheatService инициализирован с {} стратегиями: {}",
+	public AntiCheatService(List<AntiCheatEventStrategy> strategies,
+							ViolationEventStrategy violationEventStrategy,
+							HeartbeatService heartbeatService,
+							ExamSessionCacheService examSessionCacheService,
+							AntiCheatProperties antiCheatProperties,
+							AntiCheatJournal antiCheatJournal,
+							AntiCheatAnalyticsService antiCheatAnalyticsService) {
+		this.violationEventStrategy = violationEventStrategy;
+		this.antiCheatJournal = antiCheatJournal;
+		this.antiCheatAnalyticsService = antiCheatAnalyticsService;
+		this.heartbeatService = heartbeatService;
+		this.examSessionCacheService = examSessionCacheService;
+		this.antiCheatProperties = antiCheatProperties;
+		this.strategyMap = new ConcurrentHashMap<>();
+		for (AntiCheatEventStrategy strategy : strategies) {
+			for (EventType eventType : strategy.getSupportedEvents()) {
+				AntiCheatEventStrategy previous = strategyMap.put(eventType, strategy);
+				if (previous != null) {
+					throw new IllegalStateException("Тип события " + eventType + " обрабатывается стратегиями "
+							+ previous.getClass().getSimpleName() + " и " + strategy.getClass().getSimpleName());
+				}
+			}
+		}
+		log.debug("AntiCheatService инициализирован с {} стратегиями для событий: {}",
 				strategies.size(),
-				strategies.stream().map(s -> s.getSupportedEvent().name()).collect(Collectors.joining(", ")));
+				strategyMap.keySet().stream().map(Enum::name).collect(Collectors.joining(", ")));
 	}
 
 	/**
@@ -56,12 +104,129 @@ public class AntiCheatService {
 	 * @return ответ с результатом обработки события
 	 */
 	public ResponseEntity<?> process(UnifiedRequestDTO requestDTO, String clientIp) {
-		log.info("Обработка события античита типа {} для экзамена {}", 
+		log.debug("Обработка события античита типа {} для экзамена {}",
 		        requestDTO.getEventType(), requestDTO.getExamId());
 		AntiCheatEventStrategy strategy = getEventStrategy(requestDTO);
+		recordEvent(requestDTO, examSessionCacheService.getLastTaskId(requestDTO.getExamId()).orElse(null));
 		return strategy.eventProcess(requestDTO, clientIp);
 	}
 
+	/**
+	 * Проверяет пакет событий и возвращает идентификатор экзамена, к которому он относится.
+	 *
+	 * @param events события в порядке их возникновения на клиенте
+	 * @return идентификатор экзамена
+	 * @throws InvalidAntiCheatBatchException если пакет пуст, слишком велик, содержит событие
+	 *                                        без обязательных полей или события разных экзаменов
+	 */
+	public UUID validateBatch(List<UnifiedRequestDTO> events) {
+		if (events == null || events.isEmpty()) {
+			throw new InvalidAntiCheatBatchException("Пакет событий пуст");
+		}
+		if (events.size() > antiCheatProperties.getMaxBatchEvents()) {
+			throw new InvalidAntiCheatBatchException("Пакет содержит больше "
+					+ antiCheatProperties.getMaxBatchEvents() + " событий");
+		}
+
+		UUID examId = events.getFirst() != null ? events.getFirst().getExamId() : null;
+		for (UnifiedRequestDTO event : events) {
+			if (event == null || event.getExamId() == null || event.getEventType() == null) {
+				throw new InvalidAntiCheatBatchException("Событие пакета не содержит идентификатор экзамена или тип");
+			}
+			if (!event.getExamId().equals(examId)) {
+				throw new InvalidAntiCheatBatchException("Пакет содержит события разных экзаменов");
+			}
+		}
+		return examId;
+	}
+
+	/**
+	 * Обрабатывает пакет событий одного экзамена.
+	 * <p>
+	 * События применяются по порядку одной операцией над прогрессом в кэше: нарушения
+	 * увеличивают свои счетчики, heartbeat проверяет токен и выдает следующий. После
+	 * применения всех событий один раз проверяются лимиты затронутых групп нарушений.
+	 * Heartbeat-событие ожидается не более одного на пакет; если их несколько, в ответ
+	 * попадают токен и задача последнего.
+	 * 
+	 *
+	 * @param examId   идентификатор экзамена, предварительно проверенный {@link #validateBatch(List)}
+	 * @param events   события в порядке их возникновения на клиенте
+	 * @param clientIp IP-адрес клиента
+	 * @return общий статус сессии после применения пакета
+	 * @throws NoEntryInCacheException         если прогресс экзамена не найден в кэше
+	 * @throws NoStrategyForEventTypeException если для типа события нет стратегии
+	 */
+	public SessionStatusResponseDTO processBatch(UUID examId, List<UnifiedRequestDTO> events, String clientIp) {
+		log.debug("{}: Обработка пакета из {} событий античита для экзамена {}", clientIp, events.size(), examId);
+
+		return examSessionCacheService.update(examId, progress -> applyBatch(examId, progress, events))
+				.orElseThrow(() -> new NoEntryInCacheException("Прогресс не найден или устарел."));
+	}
+
+	/**
+	 * Применяет события пакета к прогрессу экзамена.
+	 *
+	 * @param examId   идентификатор экзамена
+	 * @param progress прогресс экзамена из кэша
+	 * @param events   события пакета
+	 * @return общий статус сессии
+	 */
+	private SessionStatusResponseDTO applyBatch(UUID examId, TemporaryExamProgress progress, List<UnifiedRequestDTO> events) {
+		if (progress.isTerminatedByViolations()) {
+			log.warn("examId={}: Экзамен уже прерван из-за нарушений", examId);
+			return new SessionStatusResponseDTO(null, true, null);
+		}
+
+		SessionStatusResponseDTO heartbeatResponse = null;
+		Set<ViolationGroup> touched = EnumSet.noneOf(ViolationGroup.class);
+		for (UnifiedRequestDTO event : events) {
+			recordEvent(event, progress.getLastTaskId());
+			if (event.getEventType() == EventType.HEART_BEAT) {
+				heartbeatResponse = heartbeatService.applyHeartbeat(
+						examId, progress, event.getToken(), event.getQuestionId());
+			} else if (violationEventStrategy.getSupportedEvents().contains(event.getEventType())) {
+				touched.add(violationEventStrategy.registerViolation(progress, event.getEventType()));
+			} else {
+				log.error("Не найдена стратегия для anti cheat event: {} (examId={})", event.getEventType(), examId);
+				throw new NoStrategyForEventTypeException("Server error");
+			}
+		}
+
+		// Лимиты проверяются один раз: счетчики только растут, поэтому итог совпадает
+		// с поштучной обработкой тех же событий
+		boolean terminated = progress.isTerminatedByViolations()
+				|| touched.stream().anyMatch(group -> violationEventStrategy.isLimitExceeded(progress, group));
+		if (terminated && !progress.isTerminatedByViolations()) {
+			log.warn("examId={}: Превышен лимит нарушений по итогам пакета событий, группы {}", examId, touched);
+			progress.setTerminatedByViolations(true);
+			antiCheatJournal.record(examId, JournalRecordKind.TERMINATED, null, 0);
+		}
+
+		if (terminated) {
+			return new SessionStatusResponseDTO(null, true,
+					heartbeatResponse != null ? heartbeatResponse.getChallenge() : null);
+		}
+		return heartbeatResponse != null ? heartbeatResponse : new SessionStatusResponseDTO(null, false, null);
+	}
+
+	/**
+	 * Записывает событие в журнал и учитывает его в аналитике.
+	 * <p>
+	 * В аналитике нарушение относится к последнему выданному вопросу экзамена. Идентификатор
+	 * вопроса из события не используется: его присылает клиент, и произвольные значения
+	 * засоряли бы сводку несуществующими заданиями.
+	 *
+	 * @param event      событие
+	 * @param lastTaskId последний выданный вопрос экзамена или null
+	 */
+	private void recordEvent(UnifiedRequestDTO event, Long lastTaskId) {
+		antiCheatJournal.record(event.getExamId(), JournalRecordKind.EVENT, event.getEventType(),
+				event.getQuestionId() != null ? event.getQuestionId() : 0);
+		antiCheatAnalyticsService.recordEvent(event.getEventType(),
+				event.getEventType() != EventType.HEART_BEAT ? lastTaskId : null);
+	}
+
 	/**
 	 * Получает стратегию для обработки события на основе его типа.
 	 *
@@ -0,0 +1,112 @@
+package com.example.javaoffer.exam.anticheat.service;
+
+import com.example.javaoffer.exam.anticheat.config.AntiCheatProperties;
+import com.example.javaoffer.exam.anticheat.dto.SessionStatusResponseDTO;
+import com.example.javaoffer.exam.anticheat.dto.StreamMessageDTO;
+import com.example.javaoffer.exam.anticheat.enums.StreamMessageType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Реестр открытых каналов WebSocket античита и отправка сообщений клиентам.
+ * <p>
+ * Каналы хранятся по идентификатору экзамена; у одного экзамена может быть несколько
+ * каналов (например, переподключение до закрытия старого соединения). Каждый канал
+ * обернут в {@link ConcurrentWebSocketSessionDecorator}: ответы на сообщения клиента
+ * и уведомления фоновых потоков отправляются без гонок, а медленный клиент ограничен
+ * временем отправки и объемом буфера ({@link AntiCheatProperties#getPushSendTimeLimitMillis()},
+ * {@link AntiCheatProperties#getPushBufferSizeLimit()}).
+ *
+ * @author Garbuzov Oleg
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AntiCheatStreamService {
+
+	private final ObjectMapper objectMapper;
+	private final AntiCheatProperties antiCheatProperties;
+
+	/**
+	 * Открытые каналы: examId -> (id сессии WebSocket -> канал)
+	 */
+	private final Map<UUID, Map<String, WebSocketSession>> sessions = new ConcurrentHashMap<>();
+
+	/**
+	 * Регистрирует канал экзамена.
+	 *
+	 * @param examId  идентификатор экзамена
+	 * @param session сессия WebSocket
+	 * @return канал для отправки сообщений, безопасный для использования из нескольких потоков
+	 */
+	public WebSocketSession register(UUID examId, WebSocketSession session) {
+		WebSocketSession channel = new ConcurrentWebSocketSessionDecorator(session,
+				antiCheatProperties.getPushSendTimeLimitMillis(), antiCheatProperties.getPushBufferSizeLimit());
+		sessions.compute(examId, (id, channels) -> {
+			Map<String, WebSocketSession> result = channels != null ? channels : new ConcurrentHashMap<>();
+			result.put(session.getId(), channel);
+			return result;
+		});
+		log.debug("examId={}: Открыт канал античита {}", examId, session.getId());
+		return channel;
+	}
+
+	/**
+	 * Удаляет канал экзамена из реестра.
+	 *
+	 * @param examId  идентификатор экзамена
+	 * @param session сессия WebSocket
+	 */
+	public void unregister(UUID examId, WebSocketSession session) {
+		sessions.computeIfPresent(examId, (id, channels) -> {
+			channels.remove(session.getId());
+			return channels.isEmpty() ? null : channels;
+		});
+		log.debug("examId={}: Закрыт канал античита {}", examId, session.getId());
+	}
+
+	/**
+	 * Отправляет сообщение в канал.
+	 * <p>
+	 * Ошибка отправки не пробрасывается: канал, который не может принять сообщение,
+	 * закрывается транспортом, и клиент переподключается.
+	 *
+	 * @param channel канал, полученный из {@link #register(UUID, WebSocketSession)}
+	 * @param type    тип сообщения
+	 * @param payload содержимое сообщения
+	 */
+	public void send(WebSocketSession channel, StreamMessageType type, Object payload) {
+		try {
+			String json = objectMapper.writeValueAsString(new StreamMessageDTO(type, payload));
+			channel.sendMessage(new TextMessage(json));
+		} catch (IOException | SessionLimitExceededException e) {
+			log.warn("Не удалось отправить сообщение {} в канал античита {}: {}", type, channel.getId(), e.getMessage());
+		}
+	}
+
+	/**
+	 * Уведомляет все каналы экзамена о его прерывании.
+	 *
+	 * @param examId идентификатор экзамена
+	 */
+	public void notifyTerminated(UUID examId) {
+		Map<String, WebSocketSession> channels = sessions.get(examId);
+		if (channels == null) {
+			return;
+		}
+		SessionStatusResponseDTO status = new SessionStatusResponseDTO(null, true, null);
+		channels.values().forEach(channel -> send(channel, StreamMessageType.TERMINATED, status));
+		log.info("examId={}: Уведомление о прерывании экзамена отправлено в {} канал(ов)", examId, channels.size());
+	}
+}
@@ -1,14 +1,19 @@
 package com.example.javaoffer.exam.anticheat.service;
 
 import com.example.javaoffer.exam.anticheat.config.AntiCheatProperties;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.security.GeneralSecurityException;
 import java.util.Base64;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Сервис для генерации и проверки токенов сессии экзамена.
@@ -16,81 +21,166 @@ import java.util.UUID;
  * Этот сервис обеспечивает безопасную аутентификацию heartbeat-запросов от клиента
  * путем генерации и проверки криптографически защищенных токенов. Токены используются
  * для подтверждения подлинности запросов и предотвращения подделки heartbeat-сигналов.
- * 
+ *
  * <p>
- * Токены генерируются на основе идентификатора экзамена, идентификатора текущего вопроса,
- * текущего времени и секретного ключа, что обеспечивает их уникальность и защищенность.
- * Для генерации токена используется алгоритм SHA-256 с последующим кодированием в Base64.
- * 
+ * Токен - это HMAC-SHA256 от идентификатора экзамена, идентификатора текущего вопроса,
+ * текущего времени и порядкового номера токена, закодированный в Base64 без дополнения.
+ * Ключ HMAC строится из секрета один раз при создании сервиса. Порядковый номер делает
+ * токены уникальными даже в пределах одной миллисекунды.
+ *
+ * <p>
+ * Генерация не создает промежуточных строк и массивов: экземпляры {@link Mac} вместе с буферами
+ * данных берутся из небольшого неблокирующего пула. Пул используется вместо ThreadLocal,
+ * чтобы не зависеть от модели потоков сервера: на виртуальных потоках значения ThreadLocal
+ * не переживали бы запрос.
+ *
  * <p>
  * Проверка токена осуществляется путем сравнения полученного токена с сохраненным
- * на сервере, что позволяет убедиться, что запрос отправлен легитимным клиентом.
- * 
+ * на сервере за время, не зависящее от позиции первого несовпадающего символа.
+ *
  */
 @Service
-@RequiredArgsConstructor
 public class HeartBeatTokenService {
 
-	private final AntiCheatProperties antiCheatProperties;
+	private static final String ALGORITHM = "HmacSHA256";
+
+	/**
+	 * Длина токена: 32 байта HMAC-SHA256 в Base64 без дополнения
+	 */
+	static final int TOKEN_LENGTH = 43;
+
+	private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+
+	private final SecretKeySpec key;
+	private final AtomicLong sequence = new AtomicLong();
+	private final AtomicReferenceArray<TokenWorker> pool;
+
+	/**
+	 * Создает сервис и проверяет доступность алгоритма HMAC.
+	 *
+	 * @param antiCheatProperties настройки античита с секретом токенов
+	 * @throws IllegalStateException если алгоритм HmacSHA256 недоступен или секрет пуст
+	 */
+	public HeartBeatTokenService(AntiCheatProperties antiCheatProperties) {
+		String secret = antiCheatProperties.getTokenSecret();
+		if (secret == null || secret.isEmpty()) {
+			throw new IllegalStateException("Не задан секрет токенов heartbeat (exam.anticheat.tokenSecret)");
+		}
+		this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+		this.pool = new AtomicReferenceArray<>(Math.max(2, Runtime.getRuntime().availableProcessors() * 2));
+		pool.set(0, new TokenWorker(key));
+	}
 
 	/**
 	 * Генерирует токен для проверки подлинности heartbeat-запросов.
 	 * <p>
-	 * Токен создается путем объединения идентификатора экзамена, идентификатора вопроса,
-	 * текущего времени в миллисекундах и секретного ключа. Полученная строка хешируется
-	 * с использованием алгоритма SHA-256, а результат кодируется в Base64 для удобства передачи.
-	 * 
-	 * <p>
 	 * Такой подход обеспечивает:
 	 * <ul>
 	 *   <li>Уникальность токена для каждого запроса</li>
-	 *   <li>Невозможность предсказать следующий токен</li>
+	 *   <li>Невозможность предсказать следующий токен без секретного ключа</li>
 	 *   <li>Защиту от подделки heartbeat-запросов</li>
-	 *   <li>Дополнительную защиту с использованием секретного ключа</li>
 	 * </ul>
-	 * 
+	 *
 	 *
 	 * @param examId     идентификатор экзамена
 	 * @param questionId ID текущего вопроса
-	 * @return зашифрованный токен в формате Base64
-	 * @throws RuntimeException если произошла ошибка при генерации хеша
+	 * @return токен в формате Base64
 	 */
 	public String generateToken(UUID examId, Long questionId) {
+		TokenWorker worker = acquire();
 		try {
-			String tokenData = examId.toString() + ":" +
-					questionId + ":" +
-					System.currentTimeMillis() + ":" +
-					antiCheatProperties.getTokenSecret();
-
-			MessageDigest digest = MessageDigest.getInstance("SHA-256");
-			byte[] hash = digest.digest(tokenData.getBytes(StandardCharsets.UTF_8));
-			return Base64.getEncoder().encodeToString(hash);
-		} catch (NoSuchAlgorithmException e) {
-			throw new RuntimeException("Ошибка при генерации токена: алгоритм SHA-256 не найден", e);
+			return worker.token(examId, questionId != null ? questionId : 0,
+					System.currentTimeMillis(), sequence.incrementAndGet());
+		} finally {
+			release(worker);
 		}
 	}
 
 	/**
 	 * Проверяет валидность токена путем сравнения с сохраненным токеном.
 	 * <p>
-	 * Метод выполняет простое сравнение полученного токена с сохраненным ранее.
 	 * Если токены совпадают, запрос считается подлинным. Если токены не совпадают
-	 * или один из них равен null, запрос считается недействительным.
-	 * 
+	 * или один из них равен null, запрос считается недействительным. Время сравнения
+	 * зависит только от длины токенов, поэтому по нему нельзя подобрать токен посимвольно.
+	 *
 	 * <p>
 	 * В отличие от более сложных систем аутентификации, этот метод не выполняет
 	 * проверку срока действия токена, так как эта функциональность реализована
 	 * в HeartbeatService, который отслеживает время между запросами.
-	 * 
+	 *
 	 *
 	 * @param token       токен для проверки, полученный от клиента
 	 * @param storedToken сохраненный токен, с которым выполняется сравнение
 	 * @return true, если токен валиден (совпадает с сохраненным), false в противном случае
 	 */
 	public boolean validateToken(String token, String storedToken) {
-		if (token == null || storedToken == null) {
+		if (token == null || storedToken == null || token.length() != storedToken.length()) {
 			return false;
 		}
-		return token.equals(storedToken);
+		int diff = 0;
+		for (int i = 0; i < token.length(); i++) {
+			diff |= token.charAt(i) ^ storedToken.charAt(i);
+		}
+		return diff == 0;
+	}
+
+	private TokenWorker acquire() {
+		int size = pool.length();
+		int start = ThreadLocalRandom.current().nextInt(size);
+		for (int i = 0; i < size; i++) {
+			TokenWorker worker = pool.getAndSet((start + i) % size, null);
+			if (worker != null) {
+				return worker;
+			}
+		}
+		// Все экземпляры заняты: создаем новый, при возврате он займет свободную ячейку пула
+		return new TokenWorker(key);
+	}
+
+	private void release(TokenWorker worker) {
+		int size = pool.length();
+		int start = ThreadLocalRandom.current().nextInt(size);
+		for (int i = 0; i < size; i++) {
+			if (pool.compareAndSet((start + i) % size, null, worker)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Экземпляр {@link Mac} с буферами для вычисления одного токена. Используется одним потоком за раз.
+	 */
+	private static final class TokenWorker {
+		private final Mac mac;
+		private final ByteBuffer input = ByteBuffer.allocate(5 * Long.BYTES);
+		private final byte[] digest;
+		private final byte[] encoded = new byte[TOKEN_LENGTH];
+
+		TokenWorker(SecretKeySpec key) {
+			try {
+				this.mac = Mac.getInstance(ALGORITHM);
+				this.mac.init(key);
+			} catch (GeneralSecurityException | IllegalArgumentException e) {
+				throw new IllegalStateException("Не удалось инициализировать " + ALGORITHM + " для токенов heartbeat", e);
+			}
+			this.digest = new byte[mac.getMacLength()];
+		}
+
+		String token(UUID examId, long questionId, long timestamp, long sequence) {
+			input.clear();
+			input.putLong(examId.getMostSignificantBits())
+					.putLong(examId.getLeastSignificantBits())
+					.putLong(questionId)
+					.putLong(timestamp)
+					.putLong(sequence);
+			mac.update(input.array(), 0, input.position());
+			try {
+				mac.doFinal(digest, 0);
+			} catch (ShortBufferException e) {
+				throw new IllegalStateException("Буфер HMAC меньше длины результата", e);
+			}
+			int length = ENCODER.encode(digest, encoded);
+			return new String(encoded, 0, length, StandardCharsets.ISO_8859_1);
+		}
 	}
-} 
\ No newline at end of file
+}
@@ -0,0 +1,145 @@
+package com.example.javaoffer.exam.anticheat.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Хешированное колесо таймеров для сроков heartbeat-запросов.
+ * <p>
+ * Время делится на такты длиной {@code tickMillis}; срок попадает в ячейку колеса
+ * по номеру своего такта по модулю размера колеса. Планирование и перепланирование
+ * выполняются за O(1) без блокировок: актуальный срок экзамена хранится в отдельной
+ * таблице, а устаревшая запись в ячейке отбрасывается, когда колесо до нее доходит.
+ * Сроки дальше одного оборота колеса остаются в ячейке до нужного оборота.
+ * Ячейка обрабатывается после окончания своего такта, поэтому срок срабатывает
+ * с опозданием не более чем на один такт.
+ *
+ * <p>
+ * Планировать сроки можно из любых потоков; {@link #advance(long)} вызывается одним потоком.
+ *
+ * @author Garbuzov Oleg
+ */
+public class HeartbeatDeadlineWheel {
+
+	private final long tickMillis;
+	private final Queue<Deadline>[] buckets;
+
+	/**
+	 * Актуальный срок каждого экзамена (epoch millis)
+	 */
+	private final ConcurrentMap<UUID, Long> deadlines = new ConcurrentHashMap<>();
+
+	/**
+	 * Последний обработанный такт
+	 */
+	private volatile long processedTick;
+
+	/**
+	 * Создает колесо.
+	 *
+	 * @param tickMillis  длина такта (мс)
+	 * @param wheelSize   количество ячеек колеса
+	 * @param startMillis время создания колеса (epoch millis)
+	 * @throws IllegalArgumentException если длина такта или размер колеса не положительны
+	 */
+	@SuppressWarnings("unchecked")
+	public HeartbeatDeadlineWheel(long tickMillis, int wheelSize, long startMillis) {
+		if (tickMillis <= 0 || wheelSize <= 0) {
+			throw new IllegalArgumentException("Длина такта и размер колеса heartbeat должны быть положительными");
+		}
+		this.tickMillis = tickMillis;
+		this.buckets = new Queue[wheelSize];
+		for (int i = 0; i < wheelSize; i++) {
+			buckets[i] = new ConcurrentLinkedQueue<>();
+		}
+		this.processedTick = startMillis / tickMillis - 1;
+	}
+
+	/**
+	 * Планирует срок экзамена, заменяя предыдущий.
+	 *
+	 * @param examId         идентификатор экзамена
+	 * @param deadlineMillis срок (epoch millis), после которого экзамен считается пропустившим heartbeat
+	 */
+	public void schedule(UUID examId, long deadlineMillis) {
+		deadlines.put(examId, deadlineMillis);
+		// Срок в уже пройденном такте попадает в ближайший необработанный такт
+		long tick = Math.max(deadlineMillis / tickMillis, processedTick + 1);
+		buckets[index(tick)].add(new Deadline(examId, deadlineMillis));
+	}
+
+	/**
+	 * Отменяет срок экзамена.
+	 *
+	 * @param examId идентификатор экзамена
+	 */
+	public void cancel(UUID examId) {
+		deadlines.remove(examId);
+	}
+
+	/**
+	 * Количество экзаменов с запланированным сроком.
+	 *
+	 * @return количество сроков
+	 */
+	public int size() {
+		return deadlines.size();
+	}
+
+	/**
+	 * Продвигает колесо до текущего времени и снимает истекшие сроки.
+	 *
+	 * @param nowMillis текущее время (epoch millis)
+	 * @return экзамены, срок которых истек; их сроки из колеса удалены
+	 */
+	public List<UUID> advance(long nowMillis) {
+		// Обрабатываются только завершившиеся такты
+		long lastTick = nowMillis / tickMillis - 1;
+		List<UUID> expired = new ArrayList<>();
+		// После долгой паузы достаточно одного оборота: каждая ячейка будет просмотрена
+		long tick = Math.max(processedTick + 1, lastTick - buckets.length + 1);
+		for (; tick <= lastTick; tick++) {
+			Queue<Deadline> bucket = buckets[index(tick)];
+			for (int i = bucket.size(); i > 0; i--) {
+				Deadline deadline = bucket.poll();
+				if (deadline == null) {
+					break;
+				}
+				if (!deadline.isCurrent(deadlines)) {
+					continue;
+				}
+				if (deadline.deadlineMillis() > nowMillis) {
+					// Срок на одном из следующих оборотов колеса
+					bucket.add(deadline);
+				} else if (deadlines.remove(deadline.examId(), deadline.deadlineMillis())) {
+					expired.add(deadline.examId());
+				}
+			}
+			processedTick = tick;
+		}
+		processedTick = Math.max(processedTick, lastTick);
+		return expired;
+	}
+
+	private int index(long tick) {
+		return (int) Math.floorMod(tick, (long) buckets.length);
+	}
+
+	/**
+	 * Запись срока в ячейке колеса.
+	 *
+	 * @param examId         идентификатор экзамена
+	 * @param deadlineMillis срок (epoch millis)
+	 */
+	private record Deadline(UUID examId, long deadlineMillis) {
+		boolean isCurrent(ConcurrentMap<UUID, Long> deadlines) {
+			Long current = deadlines.get(examId);
+			return current != null && current == deadlineMillis;
+		}
+	}
+}
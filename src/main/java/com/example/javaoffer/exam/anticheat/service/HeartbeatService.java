@@ -2,19 +2,27 @@ package com.example.javaoffer.exam.anticheat.service;
 
 import com.example.javaoffer.exam.anticheat.config.AntiCheatProperties;
 import com.example.javaoffer.exam.anticheat.dto.SessionStatusResponseDTO;
+import com.example.javaoffer.exam.anticheat.enums.EventType;
+import com.example.javaoffer.exam.anticheat.enums.JournalRecordKind;
+import com.example.javaoffer.exam.anticheat.service.journal.AntiCheatJournal;
 import com.example.javaoffer.exam.anticheat.util.EventUtils;
 import com.example.javaoffer.exam.cache.TemporaryExamProgress;
 import com.example.javaoffer.exam.cache.exception.NoEntryInCacheException;
 import com.example.javaoffer.exam.cache.service.ExamSessionCacheService;
-import com.google.common.util.concurrent.Striped;
-import lombok.RequiredArgsConstructor;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.Instant;
+import java.util.Optional;
 import java.util.Random;
 import java.util.UUID;
-import java.util.concurrent.locks.Lock;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
 
 /**
  * Сервис для обработки heartbeat-запросов и проверки активности сессии.
@@ -23,152 +31,235 @@ import java.util.concurrent.locks.Lock;
  * активность пользователя и целостность сессии экзамена. Отслеживает пропущенные
  * heartbeat-запросы и принимает решение о прерывании экзамена при превышении
  * допустимого количества нарушений.
+ *
+ * <p>
+ * Токен и временные метки heartbeat хранятся в {@link HeartbeatStateStore} и обновляются
+ * операцией compare-and-set без блокировок. Прогресс экзамена изменяется только при
+ * регистрации пропущенного heartbeat, то есть на редком пути эскалации.
+ *
+ * <p>
+ * Пропуски обнаруживаются на сервере, а не при следующем запросе клиента: каждый heartbeat
+ * переносит срок экзамена в {@link HeartbeatDeadlineWheel}, и один фоновый поток регистрирует
+ * пропуск, как только срок истек. Пока клиент молчит, срок продлевается на максимальный
+ * интервал heartbeat, так что пропуски накапливаются до прерывания экзамена.
  * 
  */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class HeartbeatService {
 
 	private final ExamSessionCacheService examSessionCacheService;
 	private final HeartBeatTokenService heartBeatTokenService;
+	private final HeartbeatStateStore heartbeatStateStore;
+	private final AntiCheatStreamService antiCheatStreamService;
+	private final AntiCheatJournal antiCheatJournal;
 	private final Random random = new Random();
-	private final Striped<Lock> examLocks = Striped.lock(10240);
 	private final AntiCheatProperties antiCheatProperties;
+	private final HeartbeatDeadlineWheel deadlineWheel;
+	private final ScheduledExecutorService deadlineScanner;
+
+	public HeartbeatService(
+			ExamSessionCacheService examSessionCacheService,
+			HeartBeatTokenService heartBeatTokenService,
+			HeartbeatStateStore heartbeatStateStore,
+			AntiCheatStreamService antiCheatStreamService,
+			AntiCheatJournal antiCheatJournal,
+			AntiCheatProperties antiCheatProperties) {
+		this.examSessionCacheService = examSessionCacheService;
+		this.heartBeatTokenService = heartBeatTokenService;
+		this.heartbeatStateStore = heartbeatStateStore;
+		this.antiCheatStreamService = antiCheatStreamService;
+		this.antiCheatJournal = antiCheatJournal;
+		this.antiCheatProperties = antiCheatProperties;
+		this.deadlineWheel = new HeartbeatDeadlineWheel(antiCheatProperties.getHeartbeatWheelTickMillis(),
+				antiCheatProperties.getHeartbeatWheelSize(), System.currentTimeMillis());
+		this.deadlineScanner = Executors.newSingleThreadScheduledExecutor(
+				new ThreadFactoryBuilder().setNameFormat("heartbeat-deadline-%d").setDaemon(true).build());
+	}
+
+	/**
+	 * Запускает фоновую проверку сроков heartbeat с периодом в один такт колеса.
+	 */
+	@PostConstruct
+	public void startDeadlineScanner() {
+		long tick = antiCheatProperties.getHeartbeatWheelTickMillis();
+		deadlineScanner.scheduleWithFixedDelay(() -> scanDeadlines(System.currentTimeMillis()),
+				tick, tick, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Останавливает фоновую проверку сроков при остановке приложения.
+	 */
+	@PreDestroy
+	public void stopDeadlineScanner() {
+		deadlineScanner.shutdownNow();
+	}
 
 	/**
 	 * Обрабатывает heartbeat-запрос для проверки статуса сессии.
 	 * <p>
 	 * Проверяет валидность токена, отслеживает пропущенные запросы и
-	 * генерирует новый токен для следующего запроса.
+	 * генерирует новый токен для следующего запроса. Прогресс экзамена
+	 * не копируется и не блокируется, если heartbeat пришел вовремя.
 	 * 
 	 *
 	 * @param examId     идентификатор экзамена
 	 * @param token      токен для проверки подлинности
 	 * @param questionId ID текущего вопроса
 	 * @return DTO с результатом проверки статуса и данными для следующего запроса
+	 * @throws NoEntryInCacheException если прогресс не найден в кэше
 	 */
 	public SessionStatusResponseDTO processHeartbeat(UUID examId, String token, Long questionId) {
-		Lock lock = examLocks.get(examId);
-		lock.lock();
-
-		try {
-			TemporaryExamProgress progress = getExamProgress(examId);
-
-			// Генерируем новые данные для следующего запроса
-			String newToken = heartBeatTokenService.generateToken(examId, questionId != null ? questionId : progress.getLastTaskId());
-			int nextInterval = getRandomHeartbeatInterval();
-			String challenge = EventUtils.generateChallenge(nextInterval);
-
-			// Проверяем, является ли это инициализационным запросом с временным токеном
-			// Так же надо убедиться, что это первый инициализационный запрос, иначе считаем ошибку
-			if (token != null && (token.startsWith("init_"))) {
-				return processInitialRequest(examId, progress, nextInterval, newToken, challenge);
-			}
-
-			// Проверяем, не прерван ли уже экзамен
-			if (examSessionCacheService.isExamTerminatedByViolations(examId)) {
-				log.warn("examId={}: Экзамен уже прерван из-за нарушений", examId);
-				return new SessionStatusResponseDTO();
-			}
-
-			// Проверяем валидность токена
-			if (!heartBeatTokenService.validateToken(token, progress.getLastSessionToken())) {
-				log.warn("examId={}: Невалидный токен: {}", examId, token);
-
-				// Увеличиваем счетчик пропущенных heartbeat если токен невалидный
-				progress.setHeartbeatMissedCount(progress.getHeartbeatMissedCount() + 1);
-				updateHeartBeatInProgress(progress, examId, nextInterval, newToken);
-
-				return new SessionStatusResponseDTO(
-						newToken,
-						terminateExamIfLimitExceeded(progress, examId),
-						challenge);
-			}
-
-			//Проверяем и фиксируем пропуски Heartbeat
-			boolean isTerminated = checkMissedHeartbeatsAndUpdateProgress(examId, progress);
-
-			if (isTerminated) {
-				log.warn("examId={}: Экзамен будет прерван из-за пропущенных heartbeat-запросов", examId);
-				return new SessionStatusResponseDTO(null, true,
-						"Процесс прерван из-за многочисленных нарушений правил сервиса");
-			}
+		if (examSessionCacheService.getExamMode(examId).isEmpty()) {
+			throw new NoEntryInCacheException("Прогресс не найден или устарел.");
+		}
 
-			updateHeartBeatInProgress(progress, examId, nextInterval, newToken);
+		Long tokenQuestionId = questionId != null
+				? questionId
+				: examSessionCacheService.getLastTaskId(examId).orElse(null);
 
-			return new SessionStatusResponseDTO(newToken, false, challenge);
-		} finally {
-			lock.unlock();
-		}
+		return handleHeartbeat(examId, token, tokenQuestionId,
+				() -> examSessionCacheService.isExamTerminatedByViolations(examId),
+				() -> examSessionCacheService.update(examId, progress -> countMissedHeartbeat(examId, progress)),
+				() -> examSessionCacheService.update(examId, progress -> registerMissedHeartbeat(examId, progress))
+						.orElse(false));
 	}
 
 	/**
-	 * Проверяет наличие долгого отсутствия heartbeat-запросов.
+	 * Применяет heartbeat в рамках пакетной обработки событий.
 	 * <p>
-	 * Вызывается при запросе ответа для проверки, не было ли длительного
-	 * отсутствия активности пользователя.
-	 * 
+	 * Вызывается внутри {@link ExamSessionCacheService#update}: пропущенный heartbeat
+	 * регистрируется непосредственно в переданном прогрессе, который сохранит вызывающий код.
 	 *
-	 * @param progress прогресс экзамена
-	 * @param examId   идентификатор экзамена
+	 * @param examId     идентификатор экзамена
+	 * @param progress   прогресс экзамена из кэша, изменяется методом
+	 * @param token      токен для проверки подлинности
+	 * @param questionId ID текущего вопроса
+	 * @return DTO с результатом проверки статуса и данными для следующего запроса
 	 */
-	public void heartBeatLongAbsenceCheck(TemporaryExamProgress progress, UUID examId) {
-		Instant now = Instant.now();
-		int toleranceMillis = 60000;
-
-		// Проверяем, что бы последний heartBeat был не очень давно
-		if (EventUtils.isHeartbeatMissed(progress, now, toleranceMillis)) {
-			// Регистрируем пропуск heartbeat
-			progress.setHeartbeatMissedCount(progress.getHeartbeatMissedCount() + 1);
+	public SessionStatusResponseDTO applyHeartbeat(UUID examId, TemporaryExamProgress progress, String token, Long questionId) {
+		return handleHeartbeat(examId, token, questionId != null ? questionId : progress.getLastTaskId(),
+				progress::isTerminatedByViolations,
+				() -> countMissedHeartbeat(examId, progress),
+				() -> registerMissedHeartbeat(examId, progress));
+	}
 
-			log.warn("examId={}: Обнаружено долгое отсутствие heartbeat при запросе ответа, текущее количество: {}, установленная толерантность:{}",
-					examId, progress.getHeartbeatMissedCount(),
-					toleranceMillis);
+	/**
+	 * Удаляет состояние heartbeat завершенного экзамена.
+	 *
+	 * @param examId идентификатор экзамена
+	 */
+	public void removeState(UUID examId) {
+		deadlineWheel.cancel(examId);
+		heartbeatStateStore.remove(examId);
+	}
 
-			// Сохраняем обновленный прогресс
-			examSessionCacheService.save(examId, progress);
+	/**
+	 * Регистрирует пропуски для экзаменов, срок heartbeat которых истек.
+	 * <p>
+	 * Выполняется фоновым потоком. Если экзамен не прерван, следующий срок
+	 * назначается через максимальный интервал heartbeat; иначе клиент получает
+	 * уведомление о прерывании по каналу WebSocket, если он открыт.
+	 *
+	 * @param nowMillis текущее время (epoch millis)
+	 */
+	void scanDeadlines(long nowMillis) {
+		try {
+			for (UUID examId : deadlineWheel.advance(nowMillis)) {
+				Optional<Boolean> terminated = examSessionCacheService.update(examId, progress ->
+						progress.isTerminatedByViolations() || registerMissedHeartbeat(examId, progress));
+
+				if (terminated.isEmpty()) {
+					// Прогресс удален или устарел - состояние heartbeat больше не нужно
+					heartbeatStateStore.remove(examId);
+				} else if (terminated.get()) {
+					antiCheatStreamService.notifyTerminated(examId);
+				} else {
+					deadlineWheel.schedule(examId, nowMillis + antiCheatProperties.getMaxHeartbeatInterval()
+							+ deadlineToleranceMillis());
+				}
+			}
+		} catch (RuntimeException e) {
+			// Исключение не должно останавливать периодическую проверку
+			log.error("Ошибка при проверке сроков heartbeat: {}", e.getMessage(), e);
 		}
 	}
 
 	/**
-	 * Обрабатывает инициализационный heartbeat-запрос.
+	 * Обрабатывает heartbeat на состоянии из {@link HeartbeatStateStore}.
 	 * <p>
-	 * Инициализирует данные для отслеживания heartbeat-запросов и
-	 * генерирует первый токен для клиента.
-	 * 
+	 * Валидный токен погашается операцией compare-and-set: из двух одновременных запросов
+	 * с одним токеном успешен только один, второй при повторной проверке увидит уже новый
+	 * токен и будет обработан как запрос с невалидным токеном. Каждый принятый запрос
+	 * переносит срок экзамена в колесе сроков.
+	 * <p>
+	 * Повторный инициализационный запрос (например, после перезагрузки страницы) только
+	 * увеличивает счетчик пропусков и, как и до переноса состояния в {@link HeartbeatStateStore},
+	 * не прерывает экзамен: прерывание по лимиту произойдет на следующем пропуске.
 	 *
-	 * @param examId       идентификатор экзамена
-	 * @param progress     прогресс экзамена
-	 * @param nextInterval интервал до следующего запроса
-	 * @param newToken     новый токен для следующего запроса
-	 * @param challenge    задача для выполнения на клиенте
-	 * @return DTO с результатом инициализации
+	 * @param examId         идентификатор экзамена
+	 * @param token          токен для проверки подлинности
+	 * @param questionId     ID вопроса для нового токена
+	 * @param terminated     проверка флага прерывания экзамена
+	 * @param countMissed    учет пропущенного heartbeat без проверки лимита
+	 * @param registerMissed регистрация пропущенного heartbeat; возвращает true, если экзамен прерван
+	 * @return DTO с результатом проверки статуса и данными для следующего запроса
 	 */
-	private SessionStatusResponseDTO processInitialRequest(
+	private SessionStatusResponseDTO handleHeartbeat(
 			UUID examId,
-			TemporaryExamProgress progress,
-			int nextInterval,
-			String newToken,
-			String challenge) {
-		try {
-			// Проверим, что это первый инициализационный запрос, иначе ошибка
-			if (progress.getLastSessionToken() != null)
-				progress.setHeartbeatMissedCount(progress.getHeartbeatMissedCount() + 1);
+			String token,
+			Long questionId,
+			BooleanSupplier terminated,
+			Runnable countMissed,
+			BooleanSupplier registerMissed) {
+		// Генерируем новые данные для следующего запроса
+		String newToken = heartBeatTokenService.generateToken(examId, questionId);
+		int nextInterval = getRandomHeartbeatInterval();
+		String challenge = EventUtils.generateChallenge(nextInterval);
+
+		AtomicReference<HeartbeatState> reference = heartbeatStateStore.reference(examId);
+		long now = System.currentTimeMillis();
+		HeartbeatState next = new HeartbeatState(newToken, now, now + nextInterval);
+
+		// Проверяем, является ли это инициализационным запросом с временным токеном
+		// Так же надо убедиться, что это первый инициализационный запрос, иначе считаем ошибку
+		if (token != null && token.startsWith("init_")) {
+			HeartbeatState previous = reference.getAndSet(next);
+			if (previous.isInitialized()) {
+				countMissed.run();
+			}
+			rescheduleDeadline(examId, next, false);
+			return new SessionStatusResponseDTO(newToken, false, challenge);
+		}
+
+		// Проверяем, не прерван ли уже экзамен
+		if (terminated.getAsBoolean()) {
+			log.warn("examId={}: Экзамен уже прерван из-за нарушений", examId);
+			return new SessionStatusResponseDTO();
+		}
+
+		while (true) {
+			HeartbeatState current = reference.get();
+
+			// Проверяем валидность токена
+			if (!heartBeatTokenService.validateToken(token, current.token())) {
+				log.warn("examId={}: Невалидный токен: {}", examId, token);
 
-			// Обновляем данные о последнем heartbeat
-			progress.setLastHeartbeatTime(Instant.now());
-			progress.setNextExpectedHeartbeatTime(Instant.now().plusMillis(nextInterval));
-			progress.setLastSessionToken(newToken);
+				// Увеличиваем счетчик пропущенных heartbeat если токен невалидный
+				reference.set(next);
+				boolean isTerminated = registerMissed.getAsBoolean();
+				rescheduleDeadline(examId, next, isTerminated);
+				return new SessionStatusResponseDTO(newToken, isTerminated, challenge);
+			}
 
-			// Сохраняем обновленный прогресс
-			examSessionCacheService.save(examId, progress);
+			// Токен уже погашен параллельным запросом - повторяем проверку с новым состоянием
+			if (!reference.compareAndSet(current, next)) {
+				continue;
+			}
 
-			// Возвращаем ответ с новым токеном
+			// Опоздание уже зарегистрировано колесом сроков, если срок истек до этого запроса
+			rescheduleDeadline(examId, next, false);
 			return new SessionStatusResponseDTO(newToken, false, challenge);
-		} catch (NoEntryInCacheException e) {
-			log.warn("examId={}: {}", examId, e.getMessage());
-			return new SessionStatusResponseDTO(null, true, challenge);
 		}
 	}
 
@@ -191,132 +282,71 @@ public class HeartbeatService {
 	}
 
 	/**
-	 * Проверяет наличие пропущенных heartbeat-запросов и обновляет прогресс.
-	 * <p>
-	 * Проверяет, был ли пропущен предыдущий heartbeat-запрос, и
-	 * прерывает экзамен при превышении лимита пропущенных запросов.
-	 * 
+	 * Переносит срок экзамена в колесе сроков на ожидаемое время следующего heartbeat
+	 * или снимает его, если экзамен прерван.
 	 *
-	 * @param examId   идентификатор экзамена
-	 * @param progress прогресс экзамена
-	 * @return true, если экзамен был прерван из-за превышения лимита
+	 * @param examId     идентификатор экзамена
+	 * @param state      новое состояние heartbeat
+	 * @param terminated true, если экзамен прерван
 	 */
-	private boolean checkMissedHeartbeatsAndUpdateProgress(UUID examId, TemporaryExamProgress progress) {
-		try {
-			// Проверяем наличие пропущенных heartbeat
-			if (checkForMissedHeartbeat(progress, examId)) {
-				// Если превышен лимит пропущенных heartbeat, прерываем экзамен
-				return terminateExamIfLimitExceeded(progress, examId);
-			}
-
-			return false;
-		} catch (Exception e) {
-			log.error("examId={}: Ошибка при проверке пропущенных heartbeat: {}", examId, e.getMessage(), e);
-			return false;
+	private void rescheduleDeadline(UUID examId, HeartbeatState state, boolean terminated) {
+		if (terminated) {
+			deadlineWheel.cancel(examId);
+		} else {
+			deadlineWheel.schedule(examId, state.nextExpectedMillis() + deadlineToleranceMillis());
 		}
 	}
 
 	/**
-	 * Получает прогресс экзамена из кэша.
+	 * Допустимое опоздание heartbeat относительно ожидаемого времени.
+	 * <p>
+	 * Сервер не видит часы клиента, поэтому всегда применяется увеличенное отклонение,
+	 * которое раньше давалось клиентам с возможной проблемой часового пояса.
 	 *
-	 * @param examId идентификатор экзамена
-	 * @return объект с прогрессом экзамена
-	 * @throws NoEntryInCacheException если прогресс не найден в кэше
+	 * @return допустимое отклонение в миллисекундах
 	 */
-	private TemporaryExamProgress getExamProgress(UUID examId) {
-		return examSessionCacheService.get(examId).orElseThrow(() ->
-				new NoEntryInCacheException("Прогресс не найден или устарел."));
+	private int deadlineToleranceMillis() {
+		return EventUtils.calculateToleranceMillis(antiCheatProperties.getHeartbeatTolerance(), true);
 	}
 
 	/**
-	 * Проверяет наличие пропущенного heartbeat-запроса.
-	 * <p>
-	 * Учитывает возможные проблемы с часовым поясом и
-	 * увеличивает счетчик пропущенных запросов при необходимости.
-	 * 
+	 * Увеличивает счетчик пропущенных heartbeat в прогрессе экзамена без проверки лимита.
 	 *
-	 * @param progress прогресс экзамена
 	 * @param examId   идентификатор экзамена
-	 * @return true, если был пропущен heartbeat-запрос
+	 * @param progress прогресс экзамена
+	 * @return новое количество пропущенных heartbeat
 	 */
-	private boolean checkForMissedHeartbeat(TemporaryExamProgress progress, UUID examId) {
-		Instant now = Instant.now();
-
-		// Определяем, может ли быть проблема с часовым поясом
-		boolean isPotentialTimezoneIssue = EventUtils.isPotentialTimezoneIssue(
-				progress, now, antiCheatProperties.getMaxHeartbeatInterval());
-
-		// Рассчитываем допустимое отклонение
-		int toleranceMillis = EventUtils.calculateToleranceMillis(
-				antiCheatProperties.getHeartbeatTolerance(), isPotentialTimezoneIssue);
-
-		if (isPotentialTimezoneIssue) {
-			log.debug("examId={}: Возможная проблема синхронизации времени, увеличена толерантность до {}мс",
-					examId, toleranceMillis);
-		}
-
-		// Проверяем, был ли пропущен heartbeat
-		if (EventUtils.isHeartbeatMissed(progress, now, toleranceMillis)) {
-			// Регистрируем пропуск heartbeat
-			progress.setHeartbeatMissedCount(progress.getHeartbeatMissedCount() + 1);
-
-			log.warn("examId={}: Обнаружен пропущенный heartbeat при запросе следующего вопроса, текущее количество: {}{}",
-					examId, progress.getHeartbeatMissedCount(),
-					isPotentialTimezoneIssue ? " (возможна проблема с часовым поясом)" : "");
-
-			// Сохраняем обновленный прогресс
-			examSessionCacheService.save(examId, progress);
-
-			return true;
-		}
-
-		return false;
+	private int countMissedHeartbeat(UUID examId, TemporaryExamProgress progress) {
+		progress.setHeartbeatMissedCount(progress.getHeartbeatMissedCount() + 1);
+		antiCheatJournal.record(examId, JournalRecordKind.HEARTBEAT_MISSED, EventType.HEART_BEAT,
+				progress.getHeartbeatMissedCount());
+		log.debug("examId={}: Зарегистрирован пропущенный heartbeat, текущее количество: {}",
+				examId, progress.getHeartbeatMissedCount());
+		return progress.getHeartbeatMissedCount();
 	}
 
 	/**
-	 * Проверяет, превышен ли лимит пропущенных heartbeat, и прерывает экзамен при необходимости.
+	 * Регистрирует пропущенный heartbeat в прогрессе экзамена и прерывает экзамен
+	 * при превышении лимита.
 	 *
-	 * @param progress прогресс экзамена
 	 * @param examId   идентификатор экзамена
+	 * @param progress прогресс экзамена
 	 * @return true, если экзамен прерван из-за превышения лимита
 	 */
-	private boolean terminateExamIfLimitExceeded(TemporaryExamProgress progress, UUID examId) {
+	private boolean registerMissedHeartbeat(UUID examId, TemporaryExamProgress progress) {
 		if (EventUtils.isHeartbeatLimitExceeded(
-				progress.getHeartbeatMissedCount(), antiCheatProperties.getMaxHeartbeatMissed())) {
+				countMissedHeartbeat(examId, progress), antiCheatProperties.getMaxHeartbeatMissed())) {
 
 			log.warn("examId={}: Превышен лимит пропущенных heartbeat-запросов ({}), экзамен будет прерван",
 					examId, antiCheatProperties.getMaxHeartbeatMissed());
 
 			// Устанавливаем флаг прерывания экзамена из-за нарушений
 			progress.setTerminatedByViolations(true);
-			examSessionCacheService.save(examId, progress);
+			antiCheatJournal.record(examId, JournalRecordKind.TERMINATED, EventType.HEART_BEAT, 0);
 
 			return true;
 		}
 
 		return false;
 	}
-
-	/**
-	 * Обновляет данные о последнем heartbeat в прогрессе экзамена.
-	 *
-	 * @param progress     прогресс экзамена
-	 * @param examId       идентификатор экзамена
-	 * @param nextInterval интервал до следующего запроса
-	 * @param newToken     новый токен для следующего запроса
-	 */
-	private void updateHeartBeatInProgress(
-			TemporaryExamProgress progress,
-			UUID examId,
-			int nextInterval,
-			String newToken) {
-		// Обновляем данные о последнем heartbeat
-		progress.setLastHeartbeatTime(Instant.now());
-		progress.setNextExpectedHeartbeatTime(Instant.now().plusMillis(nextInterval));
-		progress.setLastSessionToken(newToken);
-
-		// Сохраняем обновленный прогресс
-		examSessionCacheService.save(examId, progress);
-	}
-
-} 
\ No newline at end of file
+}
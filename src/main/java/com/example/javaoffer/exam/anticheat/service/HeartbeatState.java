@@ -0,0 +1,29 @@
+package com.example.javaoffer.exam.anticheat.service;
+
+/**
+ * Неизменяемый снимок состояния heartbeat одного экзамена.
+ * <p>
+ * Хранится в {@link HeartbeatStateStore} отдельно от прогресса экзамена и заменяется
+ * целиком операцией compare-and-set, поэтому обновление не требует блокировок.
+ *
+ * @param token               последний выданный клиенту токен; null, если heartbeat еще не инициализирован
+ * @param lastHeartbeatMillis время последнего heartbeat (epoch millis)
+ * @param nextExpectedMillis  ожидаемое время следующего heartbeat (epoch millis)
+ * @author Garbuzov Oleg
+ */
+public record HeartbeatState(String token, long lastHeartbeatMillis, long nextExpectedMillis) {
+
+	/**
+	 * Состояние экзамена, для которого еще не было инициализационного heartbeat
+	 */
+	public static final HeartbeatState EMPTY = new HeartbeatState(null, 0, 0);
+
+	/**
+	 * Проверяет, был ли выполнен инициализационный heartbeat.
+	 *
+	 * @return true, если клиенту уже выдан токен
+	 */
+	public boolean isInitialized() {
+		return token != null;
+	}
+}
@@ -0,0 +1,88 @@
+package com.example.javaoffer.exam.anticheat.service;
+
+import com.example.javaoffer.exam.cache.property.CacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Хранилище состояния heartbeat активных экзаменов.
+ * <p>
+ * Heartbeat - самый частый запрос античита, а его состояние - токен и две временные метки.
+ * Поэтому оно хранится отдельно от {@link com.example.javaoffer.exam.cache.TemporaryExamProgress}:
+ * обработка heartbeat не копирует прогресс с ответами пользователя и не берет его блокировку.
+ * Для каждого экзамена хранится {@link AtomicReference} на неизменяемый {@link HeartbeatState},
+ * который заменяется операцией compare-and-set.
+ *
+ * <p>
+ * Размер и время жизни записей совпадают с настройками кэша прогресса экзаменов;
+ * время жизни отсчитывается от последнего обращения, то есть от последнего heartbeat.
+ *
+ * @author Garbuzov Oleg
+ */
+@Slf4j
+@Component
+public class HeartbeatStateStore {
+
+	private final Cache<UUID, AtomicReference<HeartbeatState>> states;
+
+	/**
+	 * Создает хранилище с параметрами кэша прогресса экзаменов.
+	 *
+	 * @param cacheProperties настройки кэша прогресса экзаменов
+	 */
+	public HeartbeatStateStore(CacheProperties cacheProperties) {
+		this.states = Caffeine.newBuilder()
+				.maximumSize(cacheProperties.getMaximumSize())
+				.expireAfterAccess(cacheProperties.getExpireAfterWriteMinutes(), TimeUnit.MINUTES)
+				.build();
+		log.info("Создано хранилище состояния heartbeat: maximumSize={}, expireAfterAccessMinutes={}",
+				cacheProperties.getMaximumSize(), cacheProperties.getExpireAfterWriteMinutes());
+	}
+
+	/**
+	 * Возвращает ссылку на состояние heartbeat экзамена, создавая пустое состояние при отсутствии.
+	 *
+	 * @param examId идентификатор экзамена
+	 * @return ссылка для чтения и compare-and-set обновления состояния
+	 */
+	public AtomicReference<HeartbeatState> reference(UUID examId) {
+		return states.get(examId, id -> new AtomicReference<>(HeartbeatState.EMPTY));
+	}
+
+	/**
+	 * Возвращает текущее состояние heartbeat экзамена.
+	 *
+	 * @param examId идентификатор экзамена
+	 * @return состояние или пустой Optional, если heartbeat для экзамена еще не поступал
+	 */
+	public Optional<HeartbeatState> get(UUID examId) {
+		AtomicReference<HeartbeatState> reference = states.getIfPresent(examId);
+		return reference != null ? Optional.of(reference.get()) : Optional.empty();
+	}
+
+	/**
+	 * Устанавливает состояние heartbeat экзамена.
+	 *
+	 * @param examId идентификатор экзамена
+	 * @param state  новое состояние
+	 */
+	public void put(UUID examId, HeartbeatState state) {
+		reference(examId).set(state);
+	}
+
+	/**
+	 * Удаляет состояние heartbeat экзамена.
+	 *
+	 * @param examId идентификатор экзамена
+	 */
+	public void remove(UUID examId) {
+		states.invalidate(examId);
+	}
+}
@@ -0,0 +1,233 @@
+package com.example.javaoffer.exam.anticheat.service.analytics;
+
+import com.example.javaoffer.exam.anticheat.config.AntiCheatProperties;
+import com.example.javaoffer.exam.anticheat.dto.AnalyticsSeriesDTO;
+import com.example.javaoffer.exam.anticheat.dto.AntiCheatAnalyticsDTO;
+import com.example.javaoffer.exam.anticheat.dto.TaskAnalyticsDTO;
+import com.example.javaoffer.exam.anticheat.dto.TopicAnalyticsDTO;
+import com.example.javaoffer.exam.anticheat.enums.EventType;
+import com.example.javaoffer.exam.dto.TaskDTO;
+import com.example.javaoffer.exam.enums.TaskTopic;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Потоковая аналитика событий античита и проверок ответов.
+ * <p>
+ * Сервис получает события по мере их обработки и ведет поминутные счетчики
+ * ({@link RollingMinuteCounter}) за скользящее окно {@link AntiCheatProperties#getAnalyticsWindowMinutes()}:
+ * <ul>
+ *     <li>по типам событий античита;</li>
+ *     <li>по темам заданий: нарушения во время заданий темы, верные и неверные ответы;</li>
+ *     <li>по заданиям: нарушения по типам, верные и неверные ответы.</li>
+ * </ul>
+ * Тема задания запоминается при выдаче вопроса ({@link #registerTask(TaskDTO)}), поэтому
+ * сводка не обращается ни к кэшу сессий экзаменов, ни к базе данных.
+ *
+ * <p>
+ * Счетчики заданий хранятся в ограниченном кэше ({@link AntiCheatProperties#getAnalyticsMaxTasks()})
+ * и удаляются, если задание не встречалось дольше окна.
+ *
+ * @author Garbuzov Oleg
+ */
+@Service
+public class AntiCheatAnalyticsService {
+
+	private static final long MILLIS_PER_MINUTE = TimeUnit.MINUTES.toMillis(1);
+	private static final EventType[] EVENT_TYPES = EventType.values();
+
+	private final int windowMinutes;
+	private final int topTasks;
+	private final Map<EventType, RollingMinuteCounter> events = new EnumMap<>(EventType.class);
+	private final Map<TaskTopic, TopicCounters> topics = new EnumMap<>(TaskTopic.class);
+	private final Cache<Long, TaskCounters> tasks;
+
+	public AntiCheatAnalyticsService(AntiCheatProperties antiCheatProperties) {
+		this.windowMinutes = Math.max(1, antiCheatProperties.getAnalyticsWindowMinutes());
+		this.topTasks = Math.max(0, antiCheatProperties.getAnalyticsTopTasks());
+		for (EventType type : EVENT_TYPES) {
+			events.put(type, RollingMinuteCounter.striped(windowMinutes));
+		}
+		for (TaskTopic topic : TaskTopic.values()) {
+			topics.put(topic, new TopicCounters(windowMinutes));
+		}
+		this.tasks = Caffeine.newBuilder()
+				.maximumSize(antiCheatProperties.getAnalyticsMaxTasks())
+				.expireAfterAccess(Duration.ofMinutes(windowMinutes))
+				.build();
+	}
+
+	/**
+	 * Запоминает тему выданного задания для учета нарушений по темам.
+	 *
+	 * @param task выданное задание
+	 */
+	public void registerTask(TaskDTO task) {
+		if (task != null && task.getId() != null) {
+			taskCounters(task.getId()).topic = task.getTopic();
+		}
+	}
+
+	/**
+	 * Учитывает событие античита.
+	 *
+	 * @param eventType тип события
+	 * @param taskId    задание, во время которого произошло нарушение; null, если событие не относится к заданию
+	 */
+	public void recordEvent(EventType eventType, Long taskId) {
+		recordEvent(eventType, taskId, System.currentTimeMillis());
+	}
+
+	/**
+	 * Учитывает проверку ответа.
+	 *
+	 * @param task      задание
+	 * @param isCorrect верен ли ответ
+	 */
+	public void recordAnswer(TaskDTO task, boolean isCorrect) {
+		recordAnswer(task, isCorrect, System.currentTimeMillis());
+	}
+
+	/**
+	 * Формирует сводку за окно, заканчивающееся текущей минутой.
+	 *
+	 * @return сводка аналитики
+	 */
+	public AntiCheatAnalyticsDTO getSnapshot() {
+		return getSnapshot(System.currentTimeMillis());
+	}
+
+	void recordEvent(EventType eventType, Long taskId, long nowMillis) {
+		long minute = nowMillis / MILLIS_PER_MINUTE;
+		events.get(eventType).increment(minute);
+		if (taskId == null) {
+			return;
+		}
+		TaskCounters counters = taskCounters(taskId);
+		counters.violation(eventType).increment(minute);
+		TaskTopic topic = counters.topic;
+		if (topic != null) {
+			topics.get(topic).violations.increment(minute);
+		}
+	}
+
+	void recordAnswer(TaskDTO task, boolean isCorrect, long nowMillis) {
+		if (task == null || task.getId() == null) {
+			return;
+		}
+		long minute = nowMillis / MILLIS_PER_MINUTE;
+		TaskCounters counters = taskCounters(task.getId());
+		counters.topic = task.getTopic();
+		(isCorrect ? counters.correct : counters.incorrect).increment(minute);
+		if (task.getTopic() != null) {
+			TopicCounters topicCounters = topics.get(task.getTopic());
+			(isCorrect ? topicCounters.correct : topicCounters.incorrect).increment(minute);
+		}
+	}
+
+	AntiCheatAnalyticsDTO getSnapshot(long nowMillis) {
+		long minute = nowMillis / MILLIS_PER_MINUTE;
+
+		List<AnalyticsSeriesDTO> eventSeries = new ArrayList<>(events.size());
+		events.forEach((type, counter) -> {
+			long[] perMinute = counter.series(minute);
+			eventSeries.add(new AnalyticsSeriesDTO(type.name(), Arrays.stream(perMinute).sum(), perMinute));
+		});
+
+		List<TopicAnalyticsDTO> topicList = new ArrayList<>(topics.size());
+		topics.forEach((topic, counters) -> {
+			long[] perMinute = counters.violations.series(minute);
+			topicList.add(new TopicAnalyticsDTO(topic, Arrays.stream(perMinute).sum(),
+					counters.correct.total(minute), counters.incorrect.total(minute), perMinute));
+		});
+
+		List<TaskAnalyticsDTO> taskList = new ArrayList<>();
+		tasks.asMap().forEach((taskId, counters) -> {
+			TaskAnalyticsDTO dto = counters.snapshot(taskId, minute);
+			if (dto.getViolations() > 0) {
+				taskList.add(dto);
+			}
+		});
+		taskList.sort(Comparator.comparingLong(TaskAnalyticsDTO::getViolations).reversed());
+
+		return AntiCheatAnalyticsDTO.builder()
+				.generatedAt(Instant.ofEpochMilli(nowMillis))
+				.windowMinutes(windowMinutes)
+				.events(eventSeries)
+				.topics(topicList)
+				.topTasks(taskList.size() > topTasks ? new ArrayList<>(taskList.subList(0, topTasks)) : taskList)
+				.build();
+	}
+
+	private TaskCounters taskCounters(Long taskId) {
+		return tasks.get(taskId, id -> new TaskCounters(windowMinutes));
+	}
+
+	/**
+	 * Счетчики темы заданий.
+	 */
+	private static final class TopicCounters {
+		final RollingMinuteCounter violations;
+		final RollingMinuteCounter correct;
+		final RollingMinuteCounter incorrect;
+
+		TopicCounters(int windowMinutes) {
+			this.violations = RollingMinuteCounter.striped(windowMinutes);
+			this.correct = RollingMinuteCounter.striped(windowMinutes);
+			this.incorrect = RollingMinuteCounter.striped(windowMinutes);
+		}
+	}
+
+	/**
+	 * Счетчики задания. Счетчики нарушений создаются при первом нарушении своего типа.
+	 * <p>
+	 * Таких счетчиков до {@link AntiCheatProperties#getAnalyticsMaxTasks()}, а нагрузка на каждое
+	 * задание невелика, поэтому используются компактные счетчики без {@link java.util.concurrent.atomic.LongAdder}.
+	 */
+	private static final class TaskCounters {
+		private final int windowMinutes;
+		final RollingMinuteCounter correct;
+		final RollingMinuteCounter incorrect;
+		private final AtomicReferenceArray<RollingMinuteCounter> violations =
+				new AtomicReferenceArray<>(EVENT_TYPES.length);
+		volatile TaskTopic topic;
+
+		TaskCounters(int windowMinutes) {
+			this.windowMinutes = windowMinutes;
+			this.correct = RollingMinuteCounter.compact(windowMinutes);
+			this.incorrect = RollingMinuteCounter.compact(windowMinutes);
+		}
+
+		RollingMinuteCounter violation(EventType eventType) {
+			int index = eventType.ordinal();
+			RollingMinuteCounter counter = violations.get(index);
+			if (counter == null) {
+				RollingMinuteCounter created = RollingMinuteCounter.compact(windowMinutes);
+				counter = violations.compareAndSet(index, null, created) ? created : violations.get(index);
+			}
+			return counter;
+		}
+
+		TaskAnalyticsDTO snapshot(Long taskId, long minute) {
+			Map<EventType, Long> byType = new EnumMap<>(EventType.class);
+			long total = 0;
+			for (EventType type : EVENT_TYPES) {
+				RollingMinuteCounter counter = violations.get(type.ordinal());
+				long value = counter != null ? counter.total(minute) : 0;
+				if (value > 0) {
+					byType.put(type, value);
+					total += value;
+				}
+			}
+			return new TaskAnalyticsDTO(taskId, topic, total, byType,
+					correct.total(minute), incorrect.total(minute));
+		}
+	}
+}
@@ -0,0 +1,149 @@
+package com.example.javaoffer.exam.anticheat.service.analytics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счетчик событий за скользящее окно из последних минут.
+ * <p>
+ * Окно хранится кольцом поминутных ячеек: минута m попадает в ячейку m mod N, и ячейка
+ * переиспользуется с наступлением минуты m + N. Блокировки не используются.
+ * <p>
+ * Значения ячеек хранятся одним из двух способов:
+ * <ul>
+ *     <li>{@link #striped(int)} - в {@link LongAdder}: одновременные увеличения из разных потоков
+ *     не конкурируют за одну переменную, но каждая ячейка под нагрузкой разрастается до массива
+ *     ячеек по числу процессоров. Подходит для небольшого числа часто увеличиваемых счетчиков;</li>
+ *     <li>{@link #compact(int)} - в {@link AtomicLongArray}: по одному long на минуту. Подходит
+ *     для счетчиков, создаваемых на каждое задание.</li>
+ * </ul>
+ *
+ * <p>
+ * Счетчик приблизительный: увеличение, совпавшее с переводом ячейки на новую минуту,
+ * может быть потеряно. Для аналитики это допустимо.
+ *
+ * @author Garbuzov Oleg
+ */
+final class RollingMinuteCounter {
+
+	/**
+	 * Минута, которую сейчас хранит ячейка
+	 */
+	private final AtomicLongArray minutes;
+
+	/**
+	 * Значения ячеек для {@link #striped(int)}; null для компактного счетчика
+	 */
+	private final LongAdder[] adders;
+
+	/**
+	 * Значения ячеек для {@link #compact(int)}; null для счетчика на {@link LongAdder}
+	 */
+	private final AtomicLongArray counts;
+
+	private RollingMinuteCounter(int windowMinutes, boolean striped) {
+		int size = Math.max(1, windowMinutes);
+		this.minutes = new AtomicLongArray(size);
+		for (int i = 0; i < size; i++) {
+			minutes.set(i, Long.MIN_VALUE);
+		}
+		if (striped) {
+			this.adders = new LongAdder[size];
+			for (int i = 0; i < size; i++) {
+				adders[i] = new LongAdder();
+			}
+			this.counts = null;
+		} else {
+			this.adders = null;
+			this.counts = new AtomicLongArray(size);
+		}
+	}
+
+	/**
+	 * Создает счетчик с ячейками на {@link LongAdder} для часто увеличиваемых из многих потоков значений.
+	 *
+	 * @param windowMinutes размер окна в минутах
+	 * @return счетчик
+	 */
+	static RollingMinuteCounter striped(int windowMinutes) {
+		return new RollingMinuteCounter(windowMinutes, true);
+	}
+
+	/**
+	 * Создает компактный счетчик с ячейками в {@link AtomicLongArray}.
+	 *
+	 * @param windowMinutes размер окна в минутах
+	 * @return счетчик
+	 */
+	static RollingMinuteCounter compact(int windowMinutes) {
+		return new RollingMinuteCounter(windowMinutes, false);
+	}
+
+	/**
+	 * Учитывает одно событие.
+	 *
+	 * @param minute номер минуты события (миллисекунды эпохи / 60000)
+	 */
+	void increment(long minute) {
+		int slot = slot(minute);
+		long current = minutes.get(slot);
+		if (current != minute) {
+			if (current > minute) {
+				// Ячейка уже хранит более позднюю минуту: событие вышло за окно
+				return;
+			}
+			if (minutes.compareAndSet(slot, current, minute)) {
+				if (adders != null) {
+					adders[slot].reset();
+				} else {
+					counts.set(slot, 0);
+				}
+			}
+		}
+		if (adders != null) {
+			adders[slot].increment();
+		} else {
+			counts.incrementAndGet(slot);
+		}
+	}
+
+	/**
+	 * Возвращает значения по минутам окна.
+	 *
+	 * @param nowMinute текущая минута
+	 * @return значения от самой ранней минуты окна до текущей
+	 */
+	long[] series(long nowMinute) {
+		long[] result = new long[minutes.length()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = get(nowMinute - result.length + 1 + i);
+		}
+		return result;
+	}
+
+	/**
+	 * Возвращает сумму за окно.
+	 *
+	 * @param nowMinute текущая минута
+	 * @return количество событий за окно, заканчивающееся текущей минутой
+	 */
+	long total(long nowMinute) {
+		long total = 0;
+		for (long minute = nowMinute - minutes.length() + 1; minute <= nowMinute; minute++) {
+			total += get(minute);
+		}
+		return total;
+	}
+
+	private long get(long minute) {
+		int slot = slot(minute);
+		if (minutes.get(slot) != minute) {
+			return 0;
+		}
+		return adders != null ? adders[slot].sum() : counts.get(slot);
+	}
+
+	private int slot(long minute) {
+		return Math.floorMod(minute, minutes.length());
+	}
+}
@@ -0,0 +1,407 @@
+package com.example.javaoffer.exam.anticheat.service.journal;
+
+import com.example.javaoffer.exam.anticheat.config.AntiCheatJournalProperties;
+import com.example.javaoffer.exam.anticheat.enums.EventType;
+import com.example.javaoffer.exam.anticheat.enums.JournalRecordKind;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Журнал событий античита на локальном диске, только на дозапись.
+ * <p>
+ * Каждое событие античита, пропуск heartbeat и прерывание экзамена записываются двоичной
+ * записью фиксированной длины ({@link JournalCodec}). Запись из потока запроса только помещает
+ * событие в {@link JournalRingBuffer} без блокировок; один поток записи забирает накопленные
+ * записи пачкой, записывает их одной операцией и синхронизирует с диском один раз на пачку
+ * (групповая фиксация). Если буфер заполнен, запись отбрасывается и учитывается в счетчике
+ * {@link #getDroppedRecords()}: журнал не должен замедлять экзамен.
+ *
+ * <p>
+ * Журнал разбит на сегменты по {@link AntiCheatJournalProperties#getSegmentSizeBytes()} байт;
+ * хранится не более {@link AntiCheatJournalProperties#getMaxSegments()} последних сегментов.
+ * Для закрытого сегмента рядом записывается индекс - список экзаменов, записи которых в нем есть.
+ * Индекс всех сегментов держится в памяти, поэтому восстановление хронологии одного экзамена
+ * ({@link #replay(UUID)}) читает только сегменты, в которых этот экзамен встречается.
+ *
+ * @author Garbuzov Oleg
+ */
+@Slf4j
+@Component
+public class AntiCheatJournal {
+
+	private static final String SEGMENT_PREFIX = "segment-";
+	private static final String SEGMENT_SUFFIX = ".journal";
+	private static final String INDEX_SUFFIX = ".idx";
+	private static final int UUID_SIZE = 16;
+
+	private final AntiCheatJournalProperties properties;
+	private final JournalRingBuffer ringBuffer;
+	private final AtomicLong droppedRecords = new AtomicLong();
+
+	/**
+	 * Индекс: examId -> номера сегментов с записями экзамена
+	 */
+	private final Map<UUID, Set<Long>> index = new ConcurrentHashMap<>();
+
+	/**
+	 * Номера существующих сегментов по возрастанию
+	 */
+	private final NavigableSet<Long> segments = new ConcurrentSkipListSet<>();
+
+	private Path directory;
+	private Thread writer;
+	private volatile boolean running;
+
+	// Состояние потока записи
+	private FileChannel segmentChannel;
+	private long segmentId;
+	/**
+	 * Размер текущего сегмента без недописанной пачки; всегда кратен длине записи
+	 */
+	private long segmentPosition;
+	private final ExamIdSet segmentExams = new ExamIdSet();
+	private final CRC32C writeCrc = new CRC32C();
+	private ByteBuffer batch;
+
+	public AntiCheatJournal(AntiCheatJournalProperties properties) {
+		this.properties = properties;
+		this.ringBuffer = new JournalRingBuffer(properties.getRingBufferSize());
+	}
+
+	/**
+	 * Загружает индекс существующих сегментов, открывает новый сегмент и запускает поток записи.
+	 *
+	 * @throws UncheckedIOException если каталог журнала недоступен
+	 */
+	@PostConstruct
+	public void start() {
+		if (!properties.isEnabled()) {
+			log.info("Журнал событий античита отключен");
+			return;
+		}
+		try {
+			directory = Paths.get(properties.getDirectory());
+			Files.createDirectories(directory);
+			loadIndex();
+			openSegment(segments.isEmpty() ? 1 : segments.last() + 1);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Не удалось открыть журнал событий античита в " + properties.getDirectory(), e);
+		}
+		batch = ByteBuffer.allocateDirect(Math.max(1, properties.getBatchSize()) * JournalCodec.RECORD_SIZE);
+		running = true;
+		writer = new Thread(this::writeLoop, "anticheat-journal-writer");
+		writer.setDaemon(true);
+		writer.start();
+		log.info("Журнал событий античита: каталог {}, сегментов {}, экзаменов в индексе {}, буфер {} записей",
+				directory.toAbsolutePath(), segments.size(), index.size(), ringBuffer.capacity());
+	}
+
+	/**
+	 * Останавливает поток записи, дописав накопленные записи.
+	 */
+	@PreDestroy
+	public void stop() {
+		if (writer == null) {
+			return;
+		}
+		running = false;
+		LockSupport.unpark(writer);
+		try {
+			writer.join(TimeUnit.SECONDS.toMillis(10));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		writer = null;
+	}
+
+	/**
+	 * Добавляет запись в журнал. Не блокирует вызывающий поток.
+	 *
+	 * @param examId    идентификатор экзамена
+	 * @param kind      вид записи
+	 * @param eventType тип события или null
+	 * @param payload   полезная нагрузка
+	 */
+	public void record(UUID examId, JournalRecordKind kind, EventType eventType, long payload) {
+		if (!running) {
+			return;
+		}
+		if (!ringBuffer.offer(examId.getMostSignificantBits(), examId.getLeastSignificantBits(),
+				System.currentTimeMillis(), payload, kind.ordinal(), JournalCodec.eventTypeCode(eventType))) {
+			droppedRecords.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Восстанавливает хронологию событий экзамена.
+	 * <p>
+	 * Записи, еще находящиеся в буфере, в результат не попадают.
+	 *
+	 * @param examId идентификатор экзамена
+	 * @return записи экзамена в порядке записи в журнал
+	 */
+	public List<JournalRecord> replay(UUID examId) {
+		Set<Long> examSegments = index.get(examId);
+		if (examSegments == null || directory == null) {
+			return List.of();
+		}
+		List<JournalRecord> result = new ArrayList<>();
+		CRC32C crc = new CRC32C();
+		for (long id : new TreeSet<>(examSegments)) {
+			try {
+				readSegment(id, crc, record -> {
+					if (record.examId().equals(examId)) {
+						result.add(record);
+					}
+				});
+			} catch (NoSuchFileException e) {
+				log.debug("Сегмент журнала {} удален во время чтения", id);
+			} catch (IOException e) {
+				log.error("Ошибка чтения сегмента журнала {}: {}", id, e.getMessage(), e);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Количество записей, отброшенных из-за заполненного буфера.
+	 *
+	 * @return количество отброшенных записей
+	 */
+	public long getDroppedRecords() {
+		return droppedRecords.get();
+	}
+
+	private void writeLoop() {
+		long idleNanos = properties.getFlushInterval().toNanos();
+		while (true) {
+			boolean stopping = !running;
+			batch.clear();
+			int count;
+			try {
+				count = ringBuffer.drain(this::encode, properties.getBatchSize());
+				if (count > 0) {
+					flushBatch();
+				}
+			} catch (IOException | RuntimeException e) {
+				// Пачка теряется, но журнал продолжает работу
+				log.error("Ошибка записи журнала событий античита: {}", e.getMessage(), e);
+				count = 0;
+			}
+			if (count == 0) {
+				if (stopping) {
+					break;
+				}
+				LockSupport.parkNanos(idleNanos);
+			}
+		}
+		try {
+			closeSegment();
+		} catch (IOException e) {
+			log.error("Ошибка закрытия сегмента журнала {}: {}", segmentId, e.getMessage(), e);
+		}
+	}
+
+	private void encode(long msb, long lsb, long timestamp, long payload, int kind, int typeCode) {
+		JournalCodec.encode(batch, writeCrc, msb, lsb, timestamp, payload, kind, typeCode);
+		// UUID создается только для первой записи экзамена в сегменте
+		if (segmentExams.add(msb, lsb)) {
+			index.computeIfAbsent(new UUID(msb, lsb), id -> ConcurrentHashMap.newKeySet()).add(segmentId);
+		}
+	}
+
+	private void flushBatch() throws IOException {
+		if (segmentChannel == null) {
+			// Предыдущий сегмент закрыт после ошибки записи, а новый открыть не удалось
+			openSegment(segmentId + 1);
+		}
+		batch.flip();
+		int length = batch.remaining();
+		try {
+			while (batch.hasRemaining()) {
+				segmentChannel.write(batch);
+			}
+			// Групповая фиксация: одна синхронизация с диском на всю пачку
+			if (properties.isFsync()) {
+				segmentChannel.force(false);
+			}
+		} catch (IOException e) {
+			discardPartialBatch(e);
+			throw e;
+		}
+		segmentPosition += length;
+		if (segmentPosition >= properties.getSegmentSizeBytes()) {
+			closeSegment();
+			openSegment(segmentId + 1);
+			deleteOldSegments();
+		}
+	}
+
+	/**
+	 * Убирает из сегмента часть пачки, записанную до ошибки. Иначе хвост, не кратный длине
+	 * записи, сдвинул бы все следующие записи сегмента, и при чтении они не прошли бы проверку
+	 * контрольной суммы. Если обрезать файл не удалось, сегмент закрывается и запись продолжается
+	 * в новый: неполной остается только последняя запись, и чтение ее отбрасывает.
+	 * <p>
+	 * Экзамены потерянной пачки могут остаться в индексе сегмента; при восстановлении
+	 * хронологии это приводит лишь к лишнему чтению сегмента.
+	 */
+	private void discardPartialBatch(IOException writeError) {
+		try {
+			segmentChannel.truncate(segmentPosition);
+			return;
+		} catch (IOException e) {
+			writeError.addSuppressed(e);
+		}
+		log.warn("Не удалось обрезать сегмент журнала {} после ошибки записи, открывается новый сегмент", segmentId);
+		try {
+			segmentChannel.close();
+		} catch (IOException e) {
+			writeError.addSuppressed(e);
+		}
+		segmentChannel = null;
+		try {
+			writeIndex(segmentId, segmentExams);
+			openSegment(segmentId + 1);
+		} catch (IOException e) {
+			writeError.addSuppressed(e);
+		}
+	}
+
+	private void openSegment(long id) throws IOException {
+		segmentId = id;
+		segmentExams.clear();
+		segmentChannel = FileChannel.open(segmentPath(id),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		segmentPosition = segmentChannel.size();
+		segments.add(id);
+	}
+
+	private void closeSegment() throws IOException {
+		if (segmentChannel == null) {
+			return;
+		}
+		boolean empty = segmentChannel.size() == 0;
+		segmentChannel.force(true);
+		segmentChannel.close();
+		segmentChannel = null;
+		if (empty) {
+			// Пустой сегмент не оставляем, чтобы перезапуски не копили файлы
+			segments.remove(segmentId);
+			Files.deleteIfExists(segmentPath(segmentId));
+			return;
+		}
+		writeIndex(segmentId, segmentExams);
+	}
+
+	private void deleteOldSegments() throws IOException {
+		while (segments.size() > Math.max(1, properties.getMaxSegments())) {
+			long oldest = segments.pollFirst();
+			index.values().forEach(examSegments -> examSegments.remove(oldest));
+			index.values().removeIf(Set::isEmpty);
+			Files.deleteIfExists(segmentPath(oldest));
+			Files.deleteIfExists(indexPath(oldest));
+			log.debug("Удален сегмент журнала {}", oldest);
+		}
+	}
+
+	/**
+	 * Загружает индексы закрытых сегментов. Сегмент без индекса (запись в него прервала
+	 * остановка приложения) сканируется, и индекс для него создается.
+	 */
+	private void loadIndex() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			files.map(path -> path.getFileName().toString())
+					.filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+					.map(name -> name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()))
+					.forEach(id -> segments.add(Long.parseLong(id)));
+		}
+		for (long id : segments) {
+			Set<UUID> exams = Files.exists(indexPath(id)) ? readIndex(id) : rebuildIndex(id);
+			exams.forEach(examId -> index.computeIfAbsent(examId, key -> ConcurrentHashMap.newKeySet()).add(id));
+		}
+	}
+
+	private Set<UUID> rebuildIndex(long id) throws IOException {
+		ExamIdSet exams = new ExamIdSet();
+		readSegment(id, new CRC32C(), record -> exams.add(
+				record.examId().getMostSignificantBits(), record.examId().getLeastSignificantBits()));
+		writeIndex(id, exams);
+		log.info("Восстановлен индекс сегмента журнала {}: {} экзаменов", id, exams.size());
+		return exams.toUuids();
+	}
+
+	private Set<UUID> readIndex(long id) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(indexPath(id)));
+		Set<UUID> exams = new HashSet<>();
+		while (buffer.remaining() >= UUID_SIZE) {
+			exams.add(new UUID(buffer.getLong(), buffer.getLong()));
+		}
+		return exams;
+	}
+
+	private void writeIndex(long id, ExamIdSet exams) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(exams.size() * UUID_SIZE);
+		exams.writeTo(buffer);
+		Path target = indexPath(id);
+		Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+		Files.write(temp, buffer.array());
+		Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Читает все целые записи сегмента. Записи с неверной контрольной суммой пропускаются.
+	 */
+	private void readSegment(long id, CRC32C crc, Consumer<JournalRecord> consumer) throws IOException {
+		try (FileChannel channel = FileChannel.open(segmentPath(id), StandardOpenOption.READ)) {
+			long size = channel.size() - channel.size() % JournalCodec.RECORD_SIZE;
+			ByteBuffer buffer = ByteBuffer.allocate(JournalCodec.RECORD_SIZE * 1024);
+			long position = 0;
+			while (position < size) {
+				buffer.clear();
+				buffer.limit((int) Math.min(buffer.capacity(), size - position));
+				while (buffer.hasRemaining()) {
+					if (channel.read(buffer, position + buffer.position()) < 0) {
+						break;
+					}
+				}
+				int read = buffer.position() - buffer.position() % JournalCodec.RECORD_SIZE;
+				if (read == 0) {
+					break;
+				}
+				for (int offset = 0; offset < read; offset += JournalCodec.RECORD_SIZE) {
+					JournalRecord record = JournalCodec.decode(buffer, offset, crc);
+					if (record != null) {
+						consumer.accept(record);
+					}
+				}
+				position += read;
+			}
+		}
+	}
+
+	private Path segmentPath(long id) {
+		return directory.resolve(SEGMENT_PREFIX + String.format("%012d", id) + SEGMENT_SUFFIX);
+	}
+
+	private Path indexPath(long id) {
+		return directory.resolve(SEGMENT_PREFIX + String.format("%012d", id) + INDEX_SUFFIX);
+	}
+}
@@ -0,0 +1,101 @@
+package com.example.javaoffer.exam.anticheat.service.journal;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Множество идентификаторов экзаменов текущего сегмента журнала, хранящее UUID
+ * парами long с открытой адресацией.
+ * <p>
+ * Проверка записи на принадлежность сегменту выполняется для каждой записи журнала,
+ * поэтому добавление не создает объектов: массивы перераспределяются только при росте.
+ * Не потокобезопасно; используется только потоком записи журнала.
+ *
+ * @author Garbuzov Oleg
+ */
+final class ExamIdSet {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private long[] msbs = new long[INITIAL_CAPACITY];
+	private long[] lsbs = new long[INITIAL_CAPACITY];
+	private boolean[] used = new boolean[INITIAL_CAPACITY];
+	private int size;
+
+	/**
+	 * Добавляет идентификатор экзамена.
+	 *
+	 * @return true, если идентификатора еще не было в множестве
+	 */
+	boolean add(long msb, long lsb) {
+		int mask = used.length - 1;
+		int slot = hash(msb, lsb) & mask;
+		while (used[slot]) {
+			if (msbs[slot] == msb && lsbs[slot] == lsb) {
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+		msbs[slot] = msb;
+		lsbs[slot] = lsb;
+		used[slot] = true;
+		// Заполненность не выше половины, чтобы цепочки проб оставались короткими
+		if (++size * 2 > used.length) {
+			grow();
+		}
+		return true;
+	}
+
+	int size() {
+		return size;
+	}
+
+	void clear() {
+		Arrays.fill(used, false);
+		size = 0;
+	}
+
+	/**
+	 * Записывает идентификаторы в буфер парами long (старшие и младшие биты UUID).
+	 */
+	void writeTo(ByteBuffer buffer) {
+		for (int slot = 0; slot < used.length; slot++) {
+			if (used[slot]) {
+				buffer.putLong(msbs[slot]).putLong(lsbs[slot]);
+			}
+		}
+	}
+
+	Set<UUID> toUuids() {
+		Set<UUID> result = new HashSet<>(size * 2);
+		for (int slot = 0; slot < used.length; slot++) {
+			if (used[slot]) {
+				result.add(new UUID(msbs[slot], lsbs[slot]));
+			}
+		}
+		return result;
+	}
+
+	private void grow() {
+		long[] oldMsbs = msbs;
+		long[] oldLsbs = lsbs;
+		boolean[] oldUsed = used;
+		msbs = new long[oldUsed.length * 2];
+		lsbs = new long[oldUsed.length * 2];
+		used = new boolean[oldUsed.length * 2];
+		size = 0;
+		for (int slot = 0; slot < oldUsed.length; slot++) {
+			if (oldUsed[slot]) {
+				add(oldMsbs[slot], oldLsbs[slot]);
+			}
+		}
+	}
+
+	private static int hash(long msb, long lsb) {
+		long hash = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32));
+	}
+}
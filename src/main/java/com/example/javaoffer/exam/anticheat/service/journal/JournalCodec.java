@@ -0,0 +1,100 @@
+package com.example.javaoffer.exam.anticheat.service.journal;
+
+import com.example.javaoffer.exam.anticheat.enums.EventType;
+import com.example.javaoffer.exam.anticheat.enums.JournalRecordKind;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * Двоичный формат записи журнала фиксированной длины {@link #RECORD_SIZE} байт.
+ * <pre>
+ *  0  long  старшие биты examId
+ *  8  long  младшие биты examId
+ * 16  long  время события (epoch millis)
+ * 24  long  полезная нагрузка
+ * 32  byte  вид записи (порядковый номер {@link JournalRecordKind})
+ * 33  byte  тип события (порядковый номер {@link EventType} + 1, 0 - нет события)
+ * 34  short резерв
+ * 36  int   CRC32C байтов 0-35
+ * </pre>
+ * Контрольная сумма отсекает запись, оборванную при аварийной остановке.
+ *
+ * @author Garbuzov Oleg
+ */
+final class JournalCodec {
+
+	static final int RECORD_SIZE = 40;
+	private static final int CHECKSUM_OFFSET = 36;
+
+	private static final JournalRecordKind[] KINDS = JournalRecordKind.values();
+	private static final EventType[] EVENT_TYPES = EventType.values();
+
+	private JournalCodec() {
+	}
+
+	/**
+	 * Код типа события для записи.
+	 *
+	 * @param eventType тип события или null
+	 * @return код типа события
+	 */
+	static int eventTypeCode(EventType eventType) {
+		return eventType != null ? eventType.ordinal() + 1 : 0;
+	}
+
+	/**
+	 * Записывает запись в буфер с его текущей позиции.
+	 *
+	 * @param buffer    буфер с не менее чем {@link #RECORD_SIZE} свободными байтами
+	 * @param crc       переиспользуемый расчет контрольной суммы
+	 * @param msb       старшие биты examId
+	 * @param lsb       младшие биты examId
+	 * @param timestamp время события (epoch millis)
+	 * @param payload   полезная нагрузка
+	 * @param kind      порядковый номер вида записи
+	 * @param typeCode  код типа события
+	 */
+	static void encode(ByteBuffer buffer, CRC32C crc, long msb, long lsb, long timestamp, long payload,
+					   int kind, int typeCode) {
+		int start = buffer.position();
+		buffer.putLong(msb)
+				.putLong(lsb)
+				.putLong(timestamp)
+				.putLong(payload)
+				.put((byte) kind)
+				.put((byte) typeCode)
+				.putShort((short) 0);
+		crc.reset();
+		crc.update(buffer.slice(start, CHECKSUM_OFFSET));
+		buffer.putInt((int) crc.getValue());
+	}
+
+	/**
+	 * Читает запись из буфера начиная с указанной позиции.
+	 *
+	 * @param buffer буфер с записями
+	 * @param offset позиция начала записи
+	 * @param crc    переиспользуемый расчет контрольной суммы
+	 * @return запись или null, если контрольная сумма или коды не совпадают
+	 */
+	static JournalRecord decode(ByteBuffer buffer, int offset, CRC32C crc) {
+		crc.reset();
+		crc.update(buffer.slice(offset, CHECKSUM_OFFSET));
+		if ((int) crc.getValue() != buffer.getInt(offset + CHECKSUM_OFFSET)) {
+			return null;
+		}
+		int kind = buffer.get(offset + 32);
+		int typeCode = buffer.get(offset + 33);
+		if (kind < 0 || kind >= KINDS.length || typeCode < 0 || typeCode > EVENT_TYPES.length) {
+			return null;
+		}
+		return new JournalRecord(
+				new UUID(buffer.getLong(offset), buffer.getLong(offset + 8)),
+				buffer.getLong(offset + 16),
+				KINDS[kind],
+				typeCode == 0 ? null : EVENT_TYPES[typeCode - 1],
+				buffer.getLong(offset + 24));
+	}
+}
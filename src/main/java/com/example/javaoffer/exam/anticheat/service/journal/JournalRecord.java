@@ -0,0 +1,25 @@
+package com.example.javaoffer.exam.anticheat.service.journal;
+
+import com.example.javaoffer.exam.anticheat.enums.EventType;
+import com.example.javaoffer.exam.anticheat.enums.JournalRecordKind;
+
+import java.util.UUID;
+
+/**
+ * Запись журнала событий античита.
+ *
+ * @param examId          идентификатор экзамена
+ * @param timestampMillis время события (epoch millis)
+ * @param kind            вид записи
+ * @param eventType       тип события; null, если запись не относится к конкретному событию
+ * @param payload         полезная нагрузка, смысл зависит от вида записи ({@link JournalRecordKind})
+ * @author Garbuzov Oleg
+ */
+public record JournalRecord(
+		UUID examId,
+		long timestampMillis,
+		JournalRecordKind kind,
+		EventType eventType,
+		long payload
+) {
+}
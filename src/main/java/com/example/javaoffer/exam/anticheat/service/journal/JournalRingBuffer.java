@@ -0,0 +1,123 @@
+package com.example.javaoffer.exam.anticheat.service.journal;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ограниченный кольцевой буфер записей журнала без блокировок: много производителей, один потребитель.
+ * <p>
+ * Каждая ячейка хранит поля записи и номер последовательности. Производитель занимает позицию
+ * операцией compare-and-set над хвостом, заполняет ячейку и публикует ее записью номера
+ * последовательности; потребитель читает только опубликованные ячейки и освобождает их для
+ * следующего оборота. Ячейки выделяются один раз, поэтому запись события не создает объектов.
+ * При заполненном буфере запись не ожидает освобождения места, а отклоняется.
+ *
+ * @author Garbuzov Oleg
+ */
+final class JournalRingBuffer {
+
+	private final Slot[] slots;
+	private final int mask;
+	private final AtomicLong tail = new AtomicLong();
+
+	/**
+	 * Позиция потребителя; изменяется только потоком записи
+	 */
+	private long head;
+
+	/**
+	 * Создает буфер.
+	 *
+	 * @param requestedCapacity желаемая емкость; округляется вверх до степени двойки
+	 */
+	JournalRingBuffer(int requestedCapacity) {
+		int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+		this.slots = new Slot[capacity];
+		this.mask = capacity - 1;
+		for (int i = 0; i < capacity; i++) {
+			slots[i] = new Slot(i);
+		}
+	}
+
+	/**
+	 * Помещает запись в буфер. Может вызываться из любых потоков.
+	 *
+	 * @return false, если буфер заполнен и запись отброшена
+	 */
+	boolean offer(long msb, long lsb, long timestamp, long payload, int kind, int typeCode) {
+		while (true) {
+			long position = tail.get();
+			Slot slot = slots[(int) (position & mask)];
+			long difference = slot.sequence.get() - position;
+			if (difference < 0) {
+				// Ячейка еще не прочитана потребителем с прошлого оборота
+				return false;
+			}
+			if (difference == 0 && tail.compareAndSet(position, position + 1)) {
+				slot.msb = msb;
+				slot.lsb = lsb;
+				slot.timestamp = timestamp;
+				slot.payload = payload;
+				slot.kind = kind;
+				slot.typeCode = typeCode;
+				// Публикация ячейки: поля выше становятся видны потребителю
+				slot.sequence.set(position + 1);
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Передает опубликованные записи получателю в порядке их размещения.
+	 * Вызывается только потоком записи.
+	 *
+	 * @param sink     получатель записей
+	 * @param maxCount максимальное количество записей
+	 * @return количество переданных записей
+	 */
+	int drain(RecordSink sink, int maxCount) {
+		int count = 0;
+		while (count < maxCount) {
+			Slot slot = slots[(int) (head & mask)];
+			if (slot.sequence.get() != head + 1) {
+				break;
+			}
+			sink.accept(slot.msb, slot.lsb, slot.timestamp, slot.payload, slot.kind, slot.typeCode);
+			// Освобождение ячейки для следующего оборота
+			slot.sequence.set(head + slots.length);
+			head++;
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Емкость буфера.
+	 *
+	 * @return количество ячеек
+	 */
+	int capacity() {
+		return slots.length;
+	}
+
+	/**
+	 * Получатель записей буфера.
+	 */
+	@FunctionalInterface
+	interface RecordSink {
+		void accept(long msb, long lsb, long timestamp, long payload, int kind, int typeCode);
+	}
+
+	private static final class Slot {
+		final AtomicLong sequence;
+		long msb;
+		long lsb;
+		long timestamp;
+		long payload;
+		int kind;
+		int typeCode;
+
+		Slot(long sequence) {
+			this.sequence = new AtomicLong(sequence);
+		}
+	}
+}
@@ -4,22 +4,24 @@ import com.example.javaoffer.exam.anticheat.dto.UnifiedRequestDTO;
 import com.example.javaoffer.exam.anticheat.enums.EventType;
 import org.springframework.http.ResponseEntity;
 
+import java.util.Set;
+
 /**
  * Интерфейс для стратегий обработки событий античита.
  * <p>
  * Определяет контракт для различных стратегий обработки событий, связанных с системой античита.
- * Каждая стратегия отвечает за обработку определенного типа события, такого как переключение вкладки,
- * копирование текста, открытие инструментов разработчика и т.д.
+ * Каждая стратегия отвечает за обработку своих типов событий: heartbeat или нарушения,
+ * такие как переключение вкладки, копирование текста, открытие инструментов разработчика и т.д.
  * 
  */
 public interface AntiCheatEventStrategy {
 	
 	/**
-	 * Возвращает тип события, который поддерживает данная стратегия.
+	 * Возвращает типы событий, которые поддерживает данная стратегия.
 	 *
-	 * @return тип события из перечисления {@link EventType}
+	 * @return непустой набор типов события из перечисления {@link EventType}
 	 */
-	EventType getSupportedEvent();
+	Set<EventType> getSupportedEvents();
 
 	/**
 	 * Обрабатывает событие античита.
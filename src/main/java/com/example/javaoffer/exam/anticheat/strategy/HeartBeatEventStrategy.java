@@ -9,6 +9,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.UUID;
 
 import static com.example.javaoffer.common.constants.UrlConstant.URL_ANTICHEAT_STATUS_FULL;
@@ -33,8 +35,8 @@ public class HeartBeatEventStrategy implements AntiCheatEventStrategy {
 	 * @return тип события {@link EventType#HEART_BEAT}
 	 */
 	@Override
-	public EventType getSupportedEvent() {
-		return EventType.HEART_BEAT;
+	public Set<EventType> getSupportedEvents() {
+		return EnumSet.of(EventType.HEART_BEAT);
 	}
 
 	/**
@@ -0,0 +1,219 @@
+package com.example.javaoffer.exam.anticheat.strategy;
+
+import com.example.javaoffer.exam.anticheat.config.AntiCheatProperties;
+import com.example.javaoffer.exam.anticheat.dto.SessionIntegrityResponseDTO;
+import com.example.javaoffer.exam.anticheat.dto.UnifiedRequestDTO;
+import com.example.javaoffer.exam.anticheat.enums.EventType;
+import com.example.javaoffer.exam.anticheat.enums.JournalRecordKind;
+import com.example.javaoffer.exam.anticheat.enums.ViolationGroup;
+import com.example.javaoffer.exam.anticheat.service.journal.AntiCheatJournal;
+import com.example.javaoffer.exam.cache.TemporaryExamProgress;
+import com.example.javaoffer.exam.cache.service.ExamSessionCacheService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Стратегия обработки всех событий нарушений.
+ * <p>
+ * Правила задаются таблицей: каждому типу нарушения соответствует счетчик в
+ * {@link TemporaryExamProgress} и группа нарушений {@link ViolationGroup} с общим лимитом.
+ * Нарушение увеличивает свой счетчик, после чего сумма счетчиков группы сравнивается
+ * с лимитом группы; при достижении лимита экзамен прерывается.
+ *
+ * <p>
+ * Группы по умолчанию: переключение вкладки и копирование текста имеют собственные лимиты,
+ * остальные нарушения считаются вмешательством в работу приложения и суммируются.
+ * Группу любого типа можно переопределить через {@link AntiCheatProperties#getViolationGroups()}.
+ *
+ * <p>
+ * Одиночное событие обрабатывается одной операцией чтения-изменения-записи
+ * {@link ExamSessionCacheService#update} без копирования прогресса.
+ *
+ * @author Garbuzov Oleg
+ */
+@Slf4j
+@Component
+public class ViolationEventStrategy implements AntiCheatEventStrategy {
+
+	/**
+	 * Счетчики нарушений в прогрессе экзамена и их группы по умолчанию
+	 */
+	private static final Map<EventType, ViolationCounter> COUNTERS = new EnumMap<>(Map.of(
+			EventType.TAB_SWITCH, new ViolationCounter(ViolationGroup.TAB_SWITCH,
+					TemporaryExamProgress::getTabSwitchViolationCount, TemporaryExamProgress::setTabSwitchViolationCount),
+			EventType.TEXT_COPY, new ViolationCounter(ViolationGroup.TEXT_COPY,
+					TemporaryExamProgress::getTextCopyViolationCount, TemporaryExamProgress::setTextCopyViolationCount),
+			EventType.DEVTOOLS, new ViolationCounter(ViolationGroup.TAMPERING,
+					TemporaryExamProgress::getDevToolsViolationCount, TemporaryExamProgress::setDevToolsViolationCount),
+			EventType.DOM_TAMPERING, new ViolationCounter(ViolationGroup.TAMPERING,
+					TemporaryExamProgress::getDomTamperingViolationCount, TemporaryExamProgress::setDomTamperingViolationCount),
+			EventType.FUNCTION_TAMPERING, new ViolationCounter(ViolationGroup.TAMPERING,
+					TemporaryExamProgress::getFunctionTamperingViolationCount, TemporaryExamProgress::setFunctionTamperingViolationCount),
+			EventType.MODULE_TAMPERING, new ViolationCounter(ViolationGroup.TAMPERING,
+					TemporaryExamProgress::getModuleTamperingViolationCount, TemporaryExamProgress::setModuleTamperingViolationCount),
+			EventType.PAGE_CLOSE, new ViolationCounter(ViolationGroup.TAMPERING,
+					TemporaryExamProgress::getPageCloseViolationCount, TemporaryExamProgress::setPageCloseViolationCount),
+			EventType.EXTERNAL_CONTENT, new ViolationCounter(ViolationGroup.TAMPERING,
+					TemporaryExamProgress::getExternalContentViolationCount, TemporaryExamProgress::setExternalContentViolationCount),
+			EventType.ANTI_OCR_TAMP, new ViolationCounter(ViolationGroup.TAMPERING,
+					TemporaryExamProgress::getAntiOcrTamperingViolationCount, TemporaryExamProgress::setAntiOcrTamperingViolationCount)
+	));
+
+	private final ExamSessionCacheService examSessionCacheService;
+	private final AntiCheatProperties antiCheatProperties;
+	private final AntiCheatJournal antiCheatJournal;
+
+	/**
+	 * Группа каждого типа нарушения с учетом настроек
+	 */
+	private final Map<EventType, ViolationGroup> groups = new EnumMap<>(EventType.class);
+
+	/**
+	 * Счетчики, суммируемые при проверке лимита группы
+	 */
+	private final Map<ViolationGroup, List<ViolationCounter>> groupCounters = new EnumMap<>(ViolationGroup.class);
+
+	/**
+	 * Создает стратегию и строит таблицу правил.
+	 *
+	 * @param examSessionCacheService сервис кэша прогресса экзаменов
+	 * @param antiCheatProperties     настройки античита
+	 * @param antiCheatJournal        журнал событий античита
+	 * @throws IllegalArgumentException если в настройках группа задана для типа, не являющегося нарушением
+	 */
+	public ViolationEventStrategy(ExamSessionCacheService examSessionCacheService, AntiCheatProperties antiCheatProperties,
+								  AntiCheatJournal antiCheatJournal) {
+		this.examSessionCacheService = examSessionCacheService;
+		this.antiCheatProperties = antiCheatProperties;
+		this.antiCheatJournal = antiCheatJournal;
+
+		antiCheatProperties.getViolationGroups().keySet().forEach(type -> {
+			if (!COUNTERS.containsKey(type)) {
+				throw new IllegalArgumentException("Тип события " + type + " не является нарушением");
+			}
+		});
+		COUNTERS.forEach((type, counter) -> {
+			ViolationGroup group = antiCheatProperties.getViolationGroups().getOrDefault(type, counter.defaultGroup());
+			groups.put(type, group);
+			groupCounters.computeIfAbsent(group, g -> new ArrayList<>()).add(counter);
+		});
+		log.debug("Таблица правил нарушений: {}", groups);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @return все типы событий нарушений
+	 */
+	@Override
+	public Set<EventType> getSupportedEvents() {
+		return Collections.unmodifiableSet(COUNTERS.keySet());
+	}
+
+	/**
+	 * Обрабатывает событие нарушения.
+	 * <p>
+	 * Увеличивает счетчик нарушения и проверяет лимит его группы одной атомарной
+	 * операцией над прогрессом в кэше. Если лимит достигнут, экзамен прерывается.
+	 *
+	 *
+	 * @param requestDTO объект запроса с данными о событии
+	 * @param clientIp   IP-адрес клиента
+	 * @return ответ с информацией о статусе экзамена
+	 */
+	@Override
+	public ResponseEntity<?> eventProcess(UnifiedRequestDTO requestDTO, String clientIp) {
+		UUID examId = requestDTO.getExamId();
+		EventType eventType = requestDTO.getEventType();
+
+		boolean terminated = examSessionCacheService.update(examId, progress -> {
+			// Проверяем, не прерван ли уже экзамен
+			if (progress.isTerminatedByViolations()) {
+				log.warn("examId={}: Экзамен уже прерван из-за нарушений", examId);
+				return true;
+			}
+
+			ViolationGroup group = registerViolation(progress, eventType);
+			if (isLimitExceeded(progress, group)) {
+				log.warn("examId={}: Превышено максимальное количество нарушений группы {} (событие {})",
+						examId, group, eventType);
+				progress.setTerminatedByViolations(true);
+				antiCheatJournal.record(examId, JournalRecordKind.TERMINATED, eventType, 0);
+				return true;
+			}
+
+			log.debug("examId={}: Зафиксировано нарушение {} ({})", examId, eventType, counter(eventType).get(progress));
+			return false;
+		}).orElseGet(() -> {
+			log.warn("examId={}: Прогресс не найден при обработке нарушения", examId);
+			return false;
+		});
+
+		return ResponseEntity.ok(new SessionIntegrityResponseDTO(terminated));
+	}
+
+	/**
+	 * Учитывает нарушение в прогрессе экзамена.
+	 * <p>
+	 * Метод только изменяет переданный объект: прогресс не сохраняется, лимит не проверяется.
+	 * Используется пакетной обработкой, которая проверяет лимиты после применения всех событий.
+	 *
+	 * @param progress  прогресс экзамена
+	 * @param eventType тип нарушения
+	 * @return группа нарушения, лимит которой нужно проверить
+	 * @throws IllegalArgumentException если тип события не является нарушением
+	 */
+	public ViolationGroup registerViolation(TemporaryExamProgress progress, EventType eventType) {
+		ViolationCounter counter = counter(eventType);
+		counter.set(progress, counter.get(progress) + 1);
+		return groups.get(eventType);
+	}
+
+	/**
+	 * Проверяет, достигнут ли лимит группы нарушений.
+	 *
+	 * @param progress прогресс экзамена
+	 * @param group    группа нарушений
+	 * @return true, если экзамен должен быть прерван
+	 */
+	public boolean isLimitExceeded(TemporaryExamProgress progress, ViolationGroup group) {
+		int total = 0;
+		for (ViolationCounter counter : groupCounters.getOrDefault(group, List.of())) {
+			total += counter.get(progress);
+		}
+		return total >= group.getLimit(antiCheatProperties);
+	}
+
+	private static ViolationCounter counter(EventType eventType) {
+		ViolationCounter counter = COUNTERS.get(eventType);
+		if (counter == null) {
+			throw new IllegalArgumentException("Тип события " + eventType + " не является нарушением");
+		}
+		return counter;
+	}
+
+	/**
+	 * Счетчик нарушения в прогрессе экзамена.
+	 *
+	 * @param defaultGroup группа нарушения по умолчанию
+	 * @param getter       чтение счетчика
+	 * @param setter       запись счетчика
+	 */
+	private record ViolationCounter(
+			ViolationGroup defaultGroup,
+			ToIntFunction<TemporaryExamProgress> getter,
+			ObjIntConsumer<TemporaryExamProgress> setter
+	) {
+		int get(TemporaryExamProgress progress) {
+			return getter.applyAsInt(progress);
+		}
+
+		void set(TemporaryExamProgress progress, int value) {
+			setter.accept(progress, value);
+		}
+	}
+}
@@ -1,11 +1,8 @@
 package com.example.javaoffer.exam.anticheat.util;
 
-import com.example.javaoffer.exam.anticheat.config.AntiCheatProperties;
-import com.example.javaoffer.exam.cache.TemporaryExamProgress;
 import lombok.extern.slf4j.Slf4j;
 
-import java.time.Instant;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Утилитный класс для работы с heartbeat-запросами.
@@ -13,43 +10,34 @@ import java.util.Random;
  */
 @Slf4j
 public class EventUtils {
+	/**
+	 * Емкость буфера задачи: префикс, два числа int, знак операции и окончание
+	 */
+	private static final int CHALLENGE_CAPACITY = 48;
+
 	private EventUtils() {
 	}
 
 	/**
 	 * Генерирует задачу для выполнения на клиенте.
+	 * <p>
+	 * Задача - функция, возвращающая сумму или разность двух чисел, равную ожидаемому результату.
+	 * Строка собирается без String.format, случайные числа берутся из {@link ThreadLocalRandom}.
 	 *
+	 * @param expectedResult результат, который должна вернуть функция (неотрицательный)
 	 * @return строка с JavaScript-кодом задачи
 	 */
 	public static String generateChallenge(int expectedResult) {
-		Random random = new Random();
-		int a, b;
-		int operation = random.nextInt(2); // 0 - сложение, 1 - вычитание
-
-		if (operation == 0) {
-			a = random.nextInt(expectedResult + 1);
-			b = expectedResult - a;
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		StringBuilder challenge = new StringBuilder(CHALLENGE_CAPACITY).append("function(x){return ");
+		if (random.nextBoolean()) {
+			int a = random.nextInt(expectedResult + 1);
+			challenge.append(a).append('+').append(expectedResult - a);
 		} else {
-			a = expectedResult + random.nextInt(10000);
-			b = a - expectedResult;
+			int a = expectedResult + random.nextInt(10000);
+			challenge.append(a).append('-').append(a - expectedResult);
 		}
-
-		return (operation == 0)
-				? String.format("function(x){return %d+%d;}", a, b)
-				: String.format("function(x){return %d-%d;}", a, b);
-	}
-
-	/**
-	 * Определяет, может ли быть проблема с часовым поясом на основе времени последнего heartbeat.
-	 *
-	 * @param progress             прогресс экзамена
-	 * @param now                  текущее время
-	 * @param maxHeartbeatInterval максимальный интервал между heartbeat
-	 * @return true, если возможна проблема с часовым поясом
-	 */
-	public static boolean isPotentialTimezoneIssue(TemporaryExamProgress progress, Instant now, int maxHeartbeatInterval) {
-		long millisSinceLastHeartbeat = now.toEpochMilli() - progress.getLastHeartbeatTime().toEpochMilli();
-		return millisSinceLastHeartbeat < maxHeartbeatInterval * 1.2;
+		return challenge.append(";}").toString();
 	}
 
 	/**
@@ -66,18 +54,6 @@ public class EventUtils {
 		return baseToleranceMillis;
 	}
 
-	/**
-	 * Проверяет, был ли пропущен heartbeat на основе временных меток.
-	 *
-	 * @param progress        прогресс экзамена
-	 * @param now             текущее время
-	 * @param toleranceMillis допустимое отклонение в миллисекундах
-	 * @return true, если heartbeat был пропущен
-	 */
-	public static boolean isHeartbeatMissed(TemporaryExamProgress progress, Instant now, int toleranceMillis) {
-		return now.isAfter(progress.getNextExpectedHeartbeatTime().plusMillis(toleranceMillis));
-	}
-
 	/**
 	 * Проверяет, превышен ли лимит пропущенных heartbeat.
 	 *
@@ -88,27 +64,4 @@ public class EventUtils {
 	public static boolean isHeartbeatLimitExceeded(int missedHeartbeatsCount, int maxHeartbeatMissed) {
 		return missedHeartbeatsCount >= maxHeartbeatMissed;
 	}
-
-	/**
-	 * Проверяет, превышено ли суммарное количество нарушений, связанных с вмешательством в работу приложения.
-	 * <p>
-	 * Метод суммирует все типы нарушений, связанных с вмешательством в работу приложения,
-	 * и сравнивает с максимально допустимым значением из настроек.
-	 * 
-	 *
-	 * @param progress прогресс экзамена с данными о количестве нарушений
-	 * @param properties настройки античита с максимально допустимыми значениями
-	 * @return true, если суммарное количество нарушений превышено
-	 */
-	public static boolean exceededTotalTamperingViolation(TemporaryExamProgress progress, AntiCheatProperties properties) {
-		return (progress.getDevToolsViolationCount() +
-				progress.getDomTamperingViolationCount() +
-				progress.getFunctionTamperingViolationCount() +
-				progress.getModuleTamperingViolationCount() +
-				progress.getPageCloseViolationCount() +
-				progress.getExternalContentViolationCount() +
-				progress.getAntiOcrTamperingViolationCount())
-
-				>= properties.getMaxTamperingViolations();
-	}
 } 
\ No newline at end of file
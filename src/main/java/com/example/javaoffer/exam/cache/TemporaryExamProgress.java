@@ -20,7 +20,8 @@ import java.util.UUID;
  *     <li>Статистику ответов пользователя</li>
  *     <li>Идентификаторы запросов для обеспечения идемпотентности</li>
  *     <li>Данные системы античита</li>
- *     <li>Информацию о heartbeat-сообщениях</li>
+ *     <li>Счетчик пропущенных heartbeat-сообщений (текущее состояние heartbeat хранится
+ *     в {@link com.example.javaoffer.exam.anticheat.service.HeartbeatStateStore})</li>
  * </ul>
  * Используется для временного хранения данных в сессии пользователя.
  * 
@@ -184,21 +185,4 @@ public class TemporaryExamProgress {
 	 * Флаг, указывающий, был ли экзамен прерван из-за превышения лимита неверных ответов
 	 */
 	private boolean terminatedByFailAnswerCount;
-
-	// --- Информация о сессии и heartbeat ---
-	
-	/**
-	 * Последний действительный токен сессии
-	 */
-	private String lastSessionToken;
-
-	/**
-	 * Время последнего успешного heartbeat-запроса
-	 */
-	private Instant lastHeartbeatTime;
-
-	/**
-	 * Ожидаемое время следующего heartbeat-запроса
-	 */
-	private Instant nextExpectedHeartbeatTime;
 }
@@ -1,6 +1,8 @@
 package com.example.javaoffer.exam.cache.controller;
 
 import com.example.javaoffer.common.constants.UrlConstant;
+import com.example.javaoffer.exam.anticheat.service.HeartbeatState;
+import com.example.javaoffer.exam.anticheat.service.HeartbeatStateStore;
 import com.example.javaoffer.exam.cache.TemporaryExamProgress;
 import com.example.javaoffer.exam.cache.dto.CacheDebugProgressDTO;
 import com.example.javaoffer.exam.enums.ExamMode;
@@ -43,14 +45,18 @@ import static com.example.javaoffer.common.constants.ViewConstant.VIEW_TEMPLATE_
 public class CacheDebugController {
 
 	private final Cache<UUID, TemporaryExamProgress> temporaryExamProgressCache;
+	private final HeartbeatStateStore heartbeatStateStore;
 
 	/**
 	 * Конструктор для внедрения кэша прогресса экзаменов.
 	 *
 	 * @param temporaryExamProgressCache кэш с данными о прогрессе экзаменов
+	 * @param heartbeatStateStore        хранилище состояния heartbeat
 	 */
-	public CacheDebugController(Cache<UUID, TemporaryExamProgress> temporaryExamProgressCache) {
+	public CacheDebugController(Cache<UUID, TemporaryExamProgress> temporaryExamProgressCache,
+								HeartbeatStateStore heartbeatStateStore) {
 		this.temporaryExamProgressCache = temporaryExamProgressCache;
+		this.heartbeatStateStore = heartbeatStateStore;
 		log.info("Инициализирован контроллер отладки кэша");
 	}
 
@@ -185,8 +191,10 @@ public class CacheDebugController {
 		examData.setTerminatedByViolations(progress.isTerminatedByViolations());
 
 		// Статистика heartbeat
-		if (progress.getLastHeartbeatTime() != null) {
-			long secondsSinceLastHeartbeat = ChronoUnit.SECONDS.between(progress.getLastHeartbeatTime(), now);
+		HeartbeatState heartbeatState = heartbeatStateStore.get(examId).orElse(HeartbeatState.EMPTY);
+		if (heartbeatState.isInitialized()) {
+			long secondsSinceLastHeartbeat = ChronoUnit.SECONDS.between(
+					Instant.ofEpochMilli(heartbeatState.lastHeartbeatMillis()), now);
 			examData.setLastHeartbeatSecondsAgo(secondsSinceLastHeartbeat);
 			examData.setHeartbeatStatus((secondsSinceLastHeartbeat > 30) ? "ПРОБЛЕМА" : "OK");
 		} else {
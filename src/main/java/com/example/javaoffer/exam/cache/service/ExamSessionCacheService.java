@@ -17,6 +17,7 @@ import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
 
 /**
  * Сервис для управления кэшем прогресса экзаменационных сессий.
@@ -175,9 +176,6 @@ public class ExamSessionCacheService {
 						.externalContentViolationCount(existing.getExternalContentViolationCount())
 						.terminatedByViolations(existing.isTerminatedByViolations())
 						.terminatedByFailAnswerCount(existing.isTerminatedByFailAnswerCount())
-						.lastSessionToken(existing.getLastSessionToken())
-						.lastHeartbeatTime(existing.getLastHeartbeatTime())
-						.nextExpectedHeartbeatTime(existing.getNextExpectedHeartbeatTime())
 						.antiOcrTamperingViolationCount(existing.getAntiOcrTamperingViolationCount())
 						.build());
 			} else {
@@ -189,6 +187,51 @@ public class ExamSessionCacheService {
 		}
 	}
 
+	/**
+	 * Изменяет прогресс экзамена в кэше одной атомарной операцией.
+	 * <p>
+	 * Действие получает сам объект из кэша, а не копию, и выполняется под блокировкой
+	 * прогресса: чтение, изменение и запись не требуют копирования прогресса и отдельного
+	 * сохранения. После действия запись перекладывается в кэш, чтобы продлить ее время жизни,
+	 * как это делает {@link #save(UUID, TemporaryExamProgress)}. Действие не должно сохранять
+	 * ссылку на объект за пределами вызова.
+	 *
+	 * @param examId идентификатор экзамена
+	 * @param action изменение прогресса, возвращающее результат для вызывающего кода
+	 * @param <R>    тип результата действия
+	 * @return результат действия или пустой Optional, если прогресс не найден
+	 */
+	public <R> Optional<R> update(UUID examId, Function<TemporaryExamProgress, R> action) {
+		Lock lock = locks.get(examId);
+		lock.lock();
+		try {
+			TemporaryExamProgress existing = cache.getIfPresent(examId);
+			if (existing == null) {
+				log.warn("Прогресс не найден для examId={}", examId);
+				return Optional.empty();
+			}
+			R result = action.apply(existing);
+			cache.put(examId, existing);
+			return Optional.ofNullable(result);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Возвращает блокировку прогресса экзамена.
+	 * <p>
+	 * Это та же реентерабельная блокировка, под которой выполняются {@link #get(UUID)}
+	 * и {@link #save(UUID, TemporaryExamProgress)}. Удерживая ее, вызывающий код выполняет
+	 * чтение, изменение и сохранение прогресса как одну атомарную операцию.
+	 *
+	 * @param examId идентификатор экзамена
+	 * @return блокировка прогресса экзамена
+	 */
+	public Lock getLock(UUID examId) {
+		return locks.get(examId);
+	}
+
 	/**
 	 * Получает режим экзамена по идентификатору.
 	 * <p>
@@ -210,6 +253,19 @@ public class ExamSessionCacheService {
 		}
 	}
 
+	/**
+	 * Получает идентификатор последнего выданного вопроса.
+	 * <p>
+	 * Выполняет прямой запрос к кэшу без копирования полного объекта прогресса.
+	 *
+	 * @param examId идентификатор экзамена
+	 * @return Optional, содержащий идентификатор вопроса, если запись существует и вопрос уже выдан
+	 */
+	public Optional<Long> getLastTaskId(UUID examId) {
+		var existing = cache.getIfPresent(examId);
+		return existing != null ? Optional.ofNullable(existing.getLastTaskId()) : Optional.empty();
+	}
+
 	/**
 	 * Удаляет прогресс экзамена из кэша.
 	 * <p>
@@ -306,9 +362,9 @@ public class ExamSessionCacheService {
 	 * @return true, если экзамен был прерван из-за нарушений, иначе false
 	 */
 	public boolean isExamTerminatedByViolations(UUID examId) {
-		boolean result = get(examId)
-				.map(TemporaryExamProgress::isTerminatedByViolations)
-				.orElse(false);
+		// Флаг читается без копирования прогресса: проверка выполняется на каждом heartbeat
+		var existing = cache.getIfPresent(examId);
+		boolean result = existing != null && existing.isTerminatedByViolations();
 				
 		log.debug("Проверка terminatedByViolations для examId={}: {}", examId, result);
 		return result;
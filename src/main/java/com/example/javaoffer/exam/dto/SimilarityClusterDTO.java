@@ -0,0 +1,30 @@
+package com.example.javaoffer.exam.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * DTO с кластером почти одинаковых заданий.
+ * <p>
+ * Кластер образуют задания, связанные цепочкой пар, оценка сходства которых
+ * не ниже запрошенного порога.
+ *
+ * @author Garbuzov Oleg
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class SimilarityClusterDTO {
+	/**
+	 * Задания кластера без ответов, отсортированные по идентификатору
+	 */
+	private final List<TaskDTO> tasks;
+
+	/**
+	 * Наибольшая оценка сходства среди пар заданий кластера
+	 */
+	private final double maxSimilarity;
+}
@@ -0,0 +1,36 @@
+package com.example.javaoffer.exam.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * DTO с порцией отфильтрованных заданий для административной таблицы вопросов.
+ * <p>
+ * Порции загружаются по ключу (keyset-пагинация): следующая порция запрашивается
+ * с параметром afterId, равным {@link #nextAfterId}. Общее количество заданий
+ * подсчитывается только для первой порции.
+ *
+ * @author Garbuzov Oleg
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class TaskFilterResultDTO {
+	/**
+	 * Задания текущей порции без деталей ответов, отсортированные по идентификатору
+	 */
+	private final List<TaskDTO> tasks;
+
+	/**
+	 * Идентификатор, с которого начинается следующая порция, или null, если порция последняя
+	 */
+	private final Long nextAfterId;
+
+	/**
+	 * Общее количество заданий, удовлетворяющих фильтру; null для всех порций, кроме первой
+	 */
+	private final Long totalCount;
+}
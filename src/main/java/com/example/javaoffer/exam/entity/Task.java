@@ -1,5 +1,6 @@
 package com.example.javaoffer.exam.entity;
 
+import com.example.javaoffer.common.utils.ContentHashUtils;
 import com.example.javaoffer.exam.enums.TaskDifficulty;
 import com.example.javaoffer.exam.enums.TaskGrade;
 import com.example.javaoffer.exam.enums.TaskTopic;
@@ -10,6 +11,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -50,6 +52,13 @@ public class Task {
     @Column(columnDefinition = "TEXT")
     private String question;
 
+    /**
+     * SHA-256 текста вопроса с нормализованными пробелами.
+     * Вычисляется автоматически при сохранении и используется для поиска дублей и при импорте.
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     /**
      * Тема, к которой относится задание.
      * Определяет область знаний, проверяемую вопросом (например, COLLECTIONS, GENERICS и т.д.).
@@ -92,29 +101,33 @@ public class Task {
     /**
      * Варианты ответов на задание.
      * Коллекция объектов типа Answer, связанных с данным заданием.
+     * Загружается пачками, чтобы детали истории экзамена не порождали запрос на каждое задание.
      */
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     @Builder.Default
     private List<Answer> answers = new ArrayList<>();
 
     /**
      * Метод, вызываемый перед сохранением объекта в базу данных.
-     * Устанавливает дату и время создания и обновления.
+     * Устанавливает дату и время создания и обновления, вычисляет хеш текста вопроса.
      * Вызывается автоматически при первом сохранении сущности в базу данных.
      */
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
+        this.contentHash = ContentHashUtils.sha256Hex(question);
     }
 
     /**
      * Метод, вызываемый перед обновлением объекта в базе данных.
-     * Обновляет дату и время последнего изменения.
+     * Обновляет дату и время последнего изменения и хеш текста вопроса.
      * Вызывается автоматически при каждом обновлении сущности в базе данных.
      */
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = LocalDateTime.now();
+        this.contentHash = ContentHashUtils.sha256Hex(question);
     }
 }
@@ -0,0 +1,59 @@
+package com.example.javaoffer.exam.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Принадлежность задания LSH-корзине в одной из полос сигнатуры.
+ * <p>
+ * Для каждого задания хранится ровно одна запись на полосу. Задания с одинаковым
+ * хешем корзины в одной полосе являются кандидатами в почти одинаковые вопросы;
+ * поиск кандидатов выполняется по индексу (band, bucket_hash).
+ *
+ * @author Garbuzov Oleg
+ * @see TaskSimilaritySignature
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "task_lsh_buckets")
+@IdClass(TaskLshBucket.Key.class)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskLshBucket {
+	/**
+	 * Идентификатор задания
+	 */
+	@Id
+	@Column(name = "task_id")
+	private Long taskId;
+
+	/**
+	 * Номер полосы сигнатуры
+	 */
+	@Id
+	@Column(name = "band")
+	private Integer band;
+
+	/**
+	 * Хеш значений сигнатуры в полосе
+	 */
+	@Column(name = "bucket_hash", nullable = false)
+	private Long bucketHash;
+
+	/**
+	 * Составной ключ записи: задание и номер полосы.
+	 */
+	@Getter
+	@Setter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@EqualsAndHashCode
+	public static class Key implements Serializable {
+		private Long taskId;
+		private Integer band;
+	}
+}
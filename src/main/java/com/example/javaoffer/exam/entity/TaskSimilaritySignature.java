@@ -0,0 +1,37 @@
+package com.example.javaoffer.exam.entity;
+
+import com.example.javaoffer.exam.utils.MinHashUtils;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * MinHash-сигнатура задания для поиска почти одинаковых вопросов.
+ * <p>
+ * Сигнатура вычисляется по шинглам текста вопроса и всех его ответов
+ * и пересчитывается при создании, изменении и импорте задания.
+ * Хранится отдельно от задания, чтобы не загружать её вместе с вопросами.
+ *
+ * @author Garbuzov Oleg
+ * @see MinHashUtils
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "task_similarity_signatures")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSimilaritySignature {
+	/**
+	 * Идентификатор задания, которому принадлежит сигнатура
+	 */
+	@Id
+	@Column(name = "task_id")
+	private Long taskId;
+
+	/**
+	 * Сериализованная сигнатура: SIGNATURE_SIZE целых чисел в порядке big-endian
+	 */
+	@Column(name = "signature", nullable = false, length = MinHashUtils.SIGNATURE_SIZE * Integer.BYTES)
+	private byte[] signature;
+}
@@ -205,6 +205,14 @@ public class UserScoreHistory {
 	@Column(name = "termination_reason")
 	private String terminationReason;
 
+	/**
+	 * Признак наличия хотя бы одного нарушения или прерывания экзамена из-за нарушений.
+	 * Вычисляется при каждой записи сущности, чтобы фильтр "только с нарушениями"
+	 * использовал один индексируемый столбец вместо проверки всех счетчиков.
+	 */
+	@Column(name = "has_violations", nullable = false)
+	private boolean hasViolations;
+
 	/**
 	 * Метод, вызываемый перед сохранением объекта в базу данных.
 	 * Устанавливает дату и время создания записи истории.
@@ -213,6 +221,40 @@ public class UserScoreHistory {
 	@PrePersist
 	protected void onCreate() {
 		this.createAt = LocalDateTime.now();
+		this.hasViolations = computeHasViolations();
+	}
+
+	/**
+	 * Метод, вызываемый перед обновлением объекта в базе данных.
+	 * Пересчитывает признак наличия нарушений.
+	 */
+	@PreUpdate
+	protected void onUpdate() {
+		this.hasViolations = computeHasViolations();
+	}
+
+	/**
+	 * Определяет, есть ли в записи хотя бы одно нарушение.
+	 *
+	 * @return true если любой из счетчиков нарушений больше нуля
+	 * или экзамен был прерван из-за нарушений
+	 */
+	private boolean computeHasViolations() {
+		return isPositive(tabSwitchViolations)
+				|| isPositive(textCopyViolations)
+				|| isPositive(heartbeatMissedViolations)
+				|| isPositive(devToolsViolations)
+				|| isPositive(domTamperingViolations)
+				|| isPositive(functionTamperingViolations)
+				|| isPositive(moduleTamperingViolations)
+				|| isPositive(pageCloseViolations)
+				|| isPositive(externalContentViolations)
+				|| isPositive(antiOcrTamperingViolations)
+				|| Boolean.TRUE.equals(terminatedByViolations);
+	}
+
+	private static boolean isPositive(Integer value) {
+		return value != null && value > 0;
 	}
 
 	/**
@@ -0,0 +1,97 @@
+package com.example.javaoffer.exam.repository;
+
+import com.example.javaoffer.exam.entity.Answer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Репозиторий пакетных операций над ответами через JDBC.
+ * <p>
+ * Используется при массовом импорте: ответы набора заданий удаляются одним
+ * запросом, а новые ответы вставляются JDBC-батчами с получением идентификатора
+ * из последовательности прямо в INSERT, без отдельного запроса на каждую запись.
+ * Выражение получения значения последовательности берется из диалекта Hibernate,
+ * поэтому запрос одинаково работает в PostgreSQL и в H2 тестового профиля.
+ * Операции выполняются в обход контекста персистентности, поэтому коллекции
+ * ответов уже загруженных заданий после них не актуальны.
+ *
+ * @author Garbuzov Oleg
+ * @see AnswerRepository
+ */
+@Repository
+public class AnswerBatchRepository {
+
+	/**
+	 * Количество строк в одном JDBC-батче
+	 */
+	private static final int BATCH_SIZE = 500;
+
+	private static final String DELETE_BY_TASK_IDS = "DELETE FROM answers WHERE task_id IN (:taskIds)";
+
+	/**
+	 * Последовательность идентификаторов ответов, та же, что у {@link Answer}
+	 */
+	private static final String ANSWER_SEQUENCE = "answer_seq";
+
+	private static final String INSERT_ANSWER = "INSERT INTO answers " +
+			"(id, task_id, content, is_correct, explanation, created_at, updated_at) " +
+			"VALUES (%s, ?, ?, ?, ?, ?, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+	private final String insertAnswerSql;
+
+	public AnswerBatchRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+								 EntityManagerFactory entityManagerFactory) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+		Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+		this.insertAnswerSql = INSERT_ANSWER.formatted(
+				dialect.getSequenceSupport().getSelectSequenceNextValString(ANSWER_SEQUENCE));
+	}
+
+	/**
+	 * Удаляет все ответы указанных заданий одним запросом.
+	 *
+	 * @param taskIds идентификаторы заданий
+	 * @return количество удаленных ответов
+	 */
+	public int deleteByTaskIdIn(Collection<Long> taskIds) {
+		if (taskIds.isEmpty()) {
+			return 0;
+		}
+		return namedParameterJdbcTemplate.update(DELETE_BY_TASK_IDS, Map.of("taskIds", taskIds));
+	}
+
+	/**
+	 * Вставляет ответы JDBC-батчами.
+	 * <p>
+	 * У каждого ответа должно быть заполнено задание с идентификатором.
+	 *
+	 * @param answers новые ответы
+	 */
+	public void insertAll(List<Answer> answers) {
+		if (answers.isEmpty()) {
+			return;
+		}
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		jdbcTemplate.batchUpdate(insertAnswerSql, answers, BATCH_SIZE, (ps, answer) -> {
+			ps.setLong(1, answer.getTask().getId());
+			ps.setString(2, answer.getContent());
+			ps.setBoolean(3, answer.isCorrect());
+			ps.setString(4, answer.getExplanation());
+			ps.setTimestamp(5, now);
+			ps.setTimestamp(6, now);
+		});
+	}
+}
@@ -2,8 +2,10 @@ package com.example.javaoffer.exam.repository;
 
 import com.example.javaoffer.exam.entity.Answer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -22,4 +24,23 @@ public interface AnswerRepository extends JpaRepository<Answer, Long> {
 	 */
 	List<Answer> findByTaskId(Long taskId);
 
+	/**
+	 * Находит тексты ответов для набора задач одним запросом.
+	 * <p>
+	 * Загружаются только идентификатор задачи и текст ответа, без сущностей.
+	 *
+	 * @param taskIds идентификаторы задач
+	 * @return тексты ответов с идентификаторами задач
+	 */
+	@Query("SELECT a.task.id AS taskId, a.content AS content FROM Answer a WHERE a.task.id IN :taskIds")
+	List<TaskAnswerContent> findContentsByTaskIdIn(Collection<Long> taskIds);
+
+	/**
+	 * Текст ответа вместе с идентификатором задачи.
+	 */
+	interface TaskAnswerContent {
+		Long getTaskId();
+
+		String getContent();
+	}
 }
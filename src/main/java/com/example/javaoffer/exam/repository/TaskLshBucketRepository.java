@@ -0,0 +1,59 @@
+package com.example.javaoffer.exam.repository;
+
+import com.example.javaoffer.exam.entity.TaskLshBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Репозиторий LSH-корзин заданий.
+ * <p>
+ * Используется для инкрементального обновления корзин при изменении заданий
+ * и для поиска пар-кандидатов в почти одинаковые вопросы.
+ *
+ * @author Garbuzov Oleg
+ * @see TaskLshBucket
+ */
+@Repository
+public interface TaskLshBucketRepository extends JpaRepository<TaskLshBucket, TaskLshBucket.Key> {
+
+	/**
+	 * Удаляет все корзины указанных заданий.
+	 *
+	 * @param taskIds идентификаторы заданий
+	 */
+	@Modifying
+	@Query("DELETE FROM TaskLshBucket b WHERE b.taskId IN :taskIds")
+	void deleteByTaskIdIn(Collection<Long> taskIds);
+
+	/**
+	 * Находит пары, в которых задание из указанного набора делит корзину хотя бы в одной
+	 * полосе с заданием с большим идентификатором.
+	 * <p>
+	 * Соединение выполняется по индексу (band, bucket_hash) только для корзин заданий
+	 * из набора, поэтому размер результата ограничен размером набора, а не всего индекса.
+	 * Обход всех наборов по возрастанию идентификаторов возвращает каждую пару один раз;
+	 * первым идет задание с меньшим идентификатором.
+	 *
+	 * @param taskIds идентификаторы заданий, для которых ищутся пары
+	 * @return список пар-кандидатов
+	 */
+	@Query("SELECT DISTINCT b1.taskId AS firstTaskId, b2.taskId AS secondTaskId " +
+			"FROM TaskLshBucket b1, TaskLshBucket b2 " +
+			"WHERE b1.taskId IN :taskIds AND b1.band = b2.band AND b1.bucketHash = b2.bucketHash " +
+			"AND b1.taskId < b2.taskId")
+	List<CandidatePair> findCandidatePairs(Collection<Long> taskIds);
+
+	/**
+	 * Пара заданий-кандидатов в почти одинаковые вопросы.
+	 */
+	interface CandidatePair {
+		Long getFirstTaskId();
+
+		Long getSecondTaskId();
+	}
+}
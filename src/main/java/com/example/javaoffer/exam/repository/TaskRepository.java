@@ -4,10 +4,18 @@ import com.example.javaoffer.exam.entity.Task;
 import com.example.javaoffer.exam.enums.TaskDifficulty;
 import com.example.javaoffer.exam.enums.TaskGrade;
 import com.example.javaoffer.exam.enums.TaskTopic;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Репозиторий для работы с заданиями (вопросами) в системе экзаменов.
@@ -16,6 +24,7 @@ import java.util.List;
  * и фильтрации по различным критериям: сложность, грейд, тема.
  * Поддерживает как стандартные методы Spring Data JPA, так и
  * специализированные запросы для получения заданий с определенными характеристиками.
+ * Динамическая фильтрация выполняется через спецификации {@link TaskSpecifications}.
  *
  * @author Garbuzov Oleg
  * @see Task
@@ -24,7 +33,7 @@ import java.util.List;
  * @see TaskTopic
  */
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
 
 	/**
 	 * Находит все задания с указанной сложностью.
@@ -48,4 +57,49 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
 	 * @return список заданий с указанным текстом вопроса
 	 */
 	List<Task> findByQuestion(String question);
+
+	/**
+	 * Находит первое задание с указанным хешем содержимого.
+	 * <p>
+	 * Поиск выполняется по индексу idx_tasks_content_hash и находит вопрос,
+	 * даже если его текст отличается только пробелами и переводами строк.
+	 *
+	 * @param contentHash SHA-256 нормализованного текста вопроса
+	 * @return Optional с найденным заданием
+	 */
+	Optional<Task> findFirstByContentHashOrderByIdAsc(String contentHash);
+
+	/**
+	 * Находит задания с любым из указанных хешей содержимого одним запросом.
+	 *
+	 * @param contentHashes SHA-256 нормализованных текстов вопросов
+	 * @return список заданий, отсортированный по идентификатору
+	 */
+	List<Task> findByContentHashInOrderByIdAsc(Collection<String> contentHashes);
+
+	/**
+	 * Возвращает идентификаторы всех заданий по возрастанию.
+	 *
+	 * @return список идентификаторов заданий
+	 */
+	@Query("SELECT t.id FROM Task t ORDER BY t.id")
+	List<Long> findAllIds();
+
+	/**
+	 * Возвращает все задания вместе с ответами в виде однонаправленного курсора.
+	 * <p>
+	 * Ответы загружаются соединением в том же запросе, строки читаются из базы
+	 * порциями по размеру выборки JDBC. Сортировка по идентификатору обязательна:
+	 * Hibernate собирает задание из подряд идущих строк результата.
+	 * Поток должен закрываться и использоваться внутри транзакции; прочитанные
+	 * задания следует отсоединять от контекста персистентности, чтобы память не росла.
+	 *
+	 * @return поток заданий с загруженными ответами
+	 */
+	@Query("SELECT t FROM Task t LEFT JOIN FETCH t.answers a ORDER BY t.id, a.id")
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	Stream<Task> streamAllWithAnswers();
 }
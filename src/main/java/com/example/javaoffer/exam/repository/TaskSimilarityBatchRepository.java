@@ -0,0 +1,78 @@
+package com.example.javaoffer.exam.repository;
+
+import com.example.javaoffer.exam.utils.MinHashUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Репозиторий пакетной записи индекса похожих заданий через JDBC.
+ * <p>
+ * Сигнатуры и корзины имеют присвоенные идентификаторы, поэтому при сохранении
+ * через JPA перед каждой вставкой выполнялся бы SELECT. Здесь старые записи
+ * заданий удаляются двумя запросами, а новые вставляются JDBC-батчами.
+ * Операции выполняются в обход контекста персистентности.
+ *
+ * @author Garbuzov Oleg
+ * @see TaskSimilaritySignatureRepository
+ * @see TaskLshBucketRepository
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskSimilarityBatchRepository {
+
+	/**
+	 * Количество строк в одном JDBC-батче
+	 */
+	private static final int BATCH_SIZE = 500;
+
+	private static final String DELETE_BUCKETS = "DELETE FROM task_lsh_buckets WHERE task_id IN (:taskIds)";
+
+	private static final String DELETE_SIGNATURES = "DELETE FROM task_similarity_signatures WHERE task_id IN (:taskIds)";
+
+	private static final String INSERT_SIGNATURE = "INSERT INTO task_similarity_signatures (task_id, signature) VALUES (?, ?)";
+
+	private static final String INSERT_BUCKET = "INSERT INTO task_lsh_buckets (task_id, band, bucket_hash) VALUES (?, ?, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	/**
+	 * Заменяет сигнатуры и корзины указанных заданий.
+	 *
+	 * @param signatures сигнатуры по идентификаторам заданий
+	 */
+	public void replaceAll(Map<Long, int[]> signatures) {
+		if (signatures.isEmpty()) {
+			return;
+		}
+		Map<String, Collection<Long>> params = Map.of("taskIds", signatures.keySet());
+		namedParameterJdbcTemplate.update(DELETE_BUCKETS, params);
+		namedParameterJdbcTemplate.update(DELETE_SIGNATURES, params);
+
+		List<Map.Entry<Long, int[]>> entries = new ArrayList<>(signatures.entrySet());
+		jdbcTemplate.batchUpdate(INSERT_SIGNATURE, entries, BATCH_SIZE, (ps, entry) -> {
+			ps.setLong(1, entry.getKey());
+			ps.setBytes(2, MinHashUtils.toBytes(entry.getValue()));
+		});
+
+		List<long[]> buckets = new ArrayList<>(entries.size() * MinHashUtils.BANDS);
+		for (Map.Entry<Long, int[]> entry : entries) {
+			long[] bandHashes = MinHashUtils.bandHashes(entry.getValue());
+			for (int band = 0; band < bandHashes.length; band++) {
+				buckets.add(new long[]{entry.getKey(), band, bandHashes[band]});
+			}
+		}
+		jdbcTemplate.batchUpdate(INSERT_BUCKET, buckets, BATCH_SIZE, (ps, bucket) -> {
+			ps.setLong(1, bucket[0]);
+			ps.setInt(2, (int) bucket[1]);
+			ps.setLong(3, bucket[2]);
+		});
+	}
+}
@@ -0,0 +1,30 @@
+package com.example.javaoffer.exam.repository;
+
+import com.example.javaoffer.exam.entity.TaskSimilaritySignature;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Репозиторий MinHash-сигнатур заданий.
+ *
+ * @author Garbuzov Oleg
+ * @see TaskSimilaritySignature
+ */
+@Repository
+public interface TaskSimilaritySignatureRepository extends JpaRepository<TaskSimilaritySignature, Long> {
+
+	/**
+	 * Возвращает идентификаторы проиндексированных заданий после указанного по возрастанию.
+	 * Используется для постраничного обхода индекса без смещения.
+	 *
+	 * @param afterTaskId идентификатор, после которого начинается страница
+	 * @param pageable    размер страницы
+	 * @return идентификаторы заданий
+	 */
+	@Query("SELECT s.taskId FROM TaskSimilaritySignature s WHERE s.taskId > :afterTaskId ORDER BY s.taskId")
+	List<Long> findTaskIdsAfter(Long afterTaskId, Pageable pageable);
+}
@@ -0,0 +1,136 @@
+package com.example.javaoffer.exam.repository;
+
+import com.example.javaoffer.common.utils.LikePatternUtils;
+import com.example.javaoffer.exam.entity.Task;
+import com.example.javaoffer.exam.enums.TaskDifficulty;
+import com.example.javaoffer.exam.enums.TaskGrade;
+import com.example.javaoffer.exam.enums.TaskTopic;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Набор спецификаций JPA Criteria для фильтрации заданий.
+ * <p>
+ * Каждая спецификация отвечает за один критерий и возвращает null, если критерий
+ * не задан, поэтому спецификации можно свободно комбинировать через
+ * {@link Specification#where(Specification)} и {@link Specification#and(Specification)}.
+ * Вся фильтрация выполняется в базе данных.
+ *
+ * @author Garbuzov Oleg
+ * @see TaskRepository
+ */
+public final class TaskSpecifications {
+	private TaskSpecifications() {
+	}
+
+	/**
+	 * Фильтр по теме задания.
+	 *
+	 * @param topic название темы без учета регистра (может быть null или пустым)
+	 * @return спецификация или null, если фильтр не задан
+	 */
+	public static Specification<Task> hasTopic(String topic) {
+		if (isBlank(topic)) {
+			return null;
+		}
+		TaskTopic value = parseEnum(TaskTopic.class, topic);
+		return (root, query, cb) -> value == null ? cb.disjunction() : cb.equal(root.get("topic"), value);
+	}
+
+	/**
+	 * Фильтр по сложности задания.
+	 *
+	 * @param difficulty название сложности без учета регистра (может быть null или пустым)
+	 * @return спецификация или null, если фильтр не задан
+	 */
+	public static Specification<Task> hasDifficulty(String difficulty) {
+		if (isBlank(difficulty)) {
+			return null;
+		}
+		TaskDifficulty value = parseEnum(TaskDifficulty.class, difficulty);
+		return (root, query, cb) -> value == null ? cb.disjunction() : cb.equal(root.get("difficulty"), value);
+	}
+
+	/**
+	 * Фильтр по грейду задания.
+	 *
+	 * @param grade название грейда без учета регистра (может быть null или пустым)
+	 * @return спецификация или null, если фильтр не задан
+	 */
+	public static Specification<Task> hasGrade(String grade) {
+		if (isBlank(grade)) {
+			return null;
+		}
+		TaskGrade value = parseEnum(TaskGrade.class, grade);
+		return (root, query, cb) -> value == null ? cb.disjunction() : cb.equal(root.get("grade"), value);
+	}
+
+	/**
+	 * Поиск по подстроке в тексте вопроса без учета регистра.
+	 * <p>
+	 * Условие LOWER(question) LIKE в PostgreSQL обслуживается триграммным индексом.
+	 * Символы {@code %} и {@code _} в искомой строке ищутся буквально.
+	 *
+	 * @param search искомая подстрока (может быть null или пустой)
+	 * @return спецификация или null, если поиск не задан
+	 */
+	public static Specification<Task> questionContains(String search) {
+		if (isBlank(search)) {
+			return null;
+		}
+		String pattern = LikePatternUtils.containsLowerCase(search);
+		return (root, query, cb) -> cb.like(cb.lower(root.<String>get("question")), pattern, LikePatternUtils.ESCAPE_CHAR);
+	}
+
+	/**
+	 * Оставляет только задания, текст вопроса которых встречается более одного раза.
+	 * <p>
+	 * Сравнение выполняется по индексированному хешу содержимого, поэтому дублями
+	 * считаются и вопросы, отличающиеся только пробелами.
+	 *
+	 * @param showDuplicates включить фильтр дублей
+	 * @return спецификация или null, если фильтр выключен
+	 */
+	public static Specification<Task> onlyDuplicates(Boolean showDuplicates) {
+		if (!Boolean.TRUE.equals(showDuplicates)) {
+			return null;
+		}
+		return (root, query, cb) -> {
+			Subquery<String> duplicates = query.subquery(String.class);
+			Root<Task> other = duplicates.from(Task.class);
+			duplicates.select(other.get("contentHash"))
+					.groupBy(other.get("contentHash"))
+					.having(cb.greaterThan(cb.count(other), 1L));
+			return root.get("contentHash").in(duplicates);
+		};
+	}
+
+	/**
+	 * Условие keyset-пагинации: задания с идентификатором больше последнего показанного.
+	 *
+	 * @param afterId идентификатор последнего задания предыдущей порции (может быть null)
+	 * @return спецификация или null для первой порции
+	 */
+	public static Specification<Task> idGreaterThan(Long afterId) {
+		if (afterId == null) {
+			return null;
+		}
+		return (root, query, cb) -> cb.greaterThan(root.<Long>get("id"), afterId);
+	}
+
+	private static boolean isBlank(String value) {
+		return value == null || value.isBlank();
+	}
+
+	// Сравнение без учета регистра: часть констант перечислений записана в смешанном регистре (Easy1)
+	private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+		String name = value.trim();
+		for (E constant : type.getEnumConstants()) {
+			if (constant.name().equalsIgnoreCase(name)) {
+				return constant;
+			}
+		}
+		return null;
+	}
+}
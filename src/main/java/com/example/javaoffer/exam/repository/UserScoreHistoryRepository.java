@@ -8,15 +8,17 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Репозиторий для работы с историей прохождения экзаменов пользователями.
  * <p>
  * Предоставляет методы для доступа к историям экзаменов в базе данных,
- * их поиску и фильтрации по различным критериям. Использует EntityGraph
- * для оптимизации запросов с загрузкой связанных сущностей.
+ * их поиску и фильтрации по различным критериям. Постраничные запросы не загружают
+ * ответы пользователя; детали экзамена загружаются отдельным запросом.
  *
  * @author Garbuzov Oleg
  * @see UserScoreHistory
@@ -40,13 +42,15 @@ public interface UserScoreHistoryRepository extends JpaRepository<UserScoreHisto
 	 * Находит истории экзаменов для указанного пользователя с пагинацией.
 	 * <p>
 	 * Метод возвращает страницу историй прохождения экзаменов для пользователя
-	 * с указанным идентификатором, включая связанные ответы.
+	 * с указанным идентификатором без загрузки ответов: коллекция userAnswers
+	 * в сочетании с пагинацией заставляет Hibernate выбирать все строки и
+	 * разбивать их на страницы в памяти.
 	 *
 	 * @param userId   идентификатор пользователя
 	 * @param pageable параметры пагинации и сортировки
 	 * @return страница с историями экзаменов пользователя
 	 */
-	@EntityGraph(attributePaths = "userAnswers")
+	@EntityGraph(attributePaths = "user")
 	Page<UserScoreHistory> findByUserId(Long userId, Pageable pageable);
 
 	/**
@@ -54,46 +58,72 @@ public interface UserScoreHistoryRepository extends JpaRepository<UserScoreHisto
 	 * <p>
 	 * Метод возвращает страницу историй прохождения экзаменов для пользователя
 	 * с указанным идентификатором и конкретным идентификатором экзамена.
+	 * Ответы пользователя не загружаются.
 	 *
 	 * @param userId   идентификатор пользователя
 	 * @param examId   идентификатор экзамена
 	 * @param pageable параметры пагинации и сортировки
 	 * @return страница с историями экзаменов пользователя по указанному экзамену
 	 */
-	@EntityGraph(attributePaths = "userAnswers")
+	@EntityGraph(attributePaths = "user")
 	Page<UserScoreHistory> findByUserIdAndExamID(Long userId, UUID examId, Pageable pageable);
 
 	/**
-	 * Находит все истории экзаменов с применением комбинированных фильтров.
+	 * Находит идентификаторы историй экзаменов с применением комбинированных фильтров.
 	 * <p>
-	 * Метод возвращает страницу историй прохождения экзаменов с возможностью
-	 * фильтрации по различным критериям: наличие нарушений, идентификатор экзамена,
-	 * имя пользователя. Использует оптимизированный запрос с загрузкой связанных ответов.
+	 * Первая фаза двухфазной пагинации: база данных сортирует и ограничивает
+	 * только идентификаторы, без соединения с ответами пользователя. Сами записи
+	 * затем загружаются методом {@link #findSummariesByIdIn(Collection)}.
+	 * Фильтр нарушений использует вычисляемый столбец has_violations,
+	 * покрытый частичным индексом по дате создания.
 	 *
 	 * @param pageable           параметры пагинации и сортировки
 	 * @param showViolationsOnly показывать только записи с нарушениями
 	 * @param examId             фильтр по идентификатору экзамена (может быть null)
-	 * @param userNamePattern    фильтр по имени пользователя с паттерном LIKE (может быть null)
-	 * @return страница с отфильтрованными историями экзаменов
+	 * @param userNamePattern    фильтр по имени пользователя с экранированным паттерном LIKE в нижнем регистре (может быть null)
+	 * @return страница идентификаторов отфильтрованных историй экзаменов
 	 */
-	@EntityGraph(attributePaths = "userAnswers")
-	@Query("SELECT u FROM UserScoreHistory u " +
-			"WHERE (:showViolationsOnly = false OR " +
-			"       (u.tabSwitchViolations > 0 OR " +
-			"        u.textCopyViolations > 0 OR " +
-			"        u.heartbeatMissedViolations > 0 OR " +
-			"        u.devToolsViolations > 0 OR " +
-			"        u.domTamperingViolations > 0 OR " +
-			"        u.functionTamperingViolations > 0 OR " +
-			"        u.moduleTamperingViolations > 0 OR " +
-			"        u.pageCloseViolations > 0 OR " +
-			"        u.externalContentViolations > 0 OR " +
-			"        u.terminatedByViolations = true)) " +
+	@Query(value = "SELECT u.id FROM UserScoreHistory u " +
+			"WHERE (:showViolationsOnly = false OR u.hasViolations = true) " +
 			"AND (:examId IS NULL OR u.examID = :examId) " +
-			"AND (:userNamePattern IS NULL OR u.user.username LIKE :userNamePattern)")
-	Page<UserScoreHistory> findAllWithFilters(
+			"AND (:userNamePattern IS NULL OR LOWER(u.user.username) LIKE :userNamePattern ESCAPE '\\')",
+			countQuery = "SELECT COUNT(u) FROM UserScoreHistory u " +
+					"WHERE (:showViolationsOnly = false OR u.hasViolations = true) " +
+					"AND (:examId IS NULL OR u.examID = :examId) " +
+					"AND (:userNamePattern IS NULL OR LOWER(u.user.username) LIKE :userNamePattern ESCAPE '\\')")
+	Page<Long> findIdsWithFilters(
 			Pageable pageable,
 			Boolean showViolationsOnly,
 			UUID examId,
 			String userNamePattern);
+
+	/**
+	 * Загружает сводные данные историй экзаменов по списку идентификаторов.
+	 * <p>
+	 * Вторая фаза двухфазной пагинации: подгружается только пользователь,
+	 * ответы пользователя остаются незагруженными. Порядок результата не гарантирован.
+	 *
+	 * @param ids идентификаторы историй экзаменов
+	 * @return список историй экзаменов с загруженным пользователем
+	 */
+	@Query("SELECT u FROM UserScoreHistory u JOIN FETCH u.user WHERE u.id IN :ids")
+	List<UserScoreHistory> findSummariesByIdIn(Collection<Long> ids);
+
+	/**
+	 * Находит историю экзамена по идентификатору вместе с ответами пользователя.
+	 * <p>
+	 * Ответы, задания и выбранные варианты загружаются одним запросом;
+	 * варианты ответов заданий догружаются пачками (см. {@code Task.answers}).
+	 * Используется только для страницы деталей экзамена.
+	 *
+	 * @param id идентификатор истории экзамена
+	 * @return Optional с историей экзамена и её ответами
+	 */
+	@Query("SELECT DISTINCT u FROM UserScoreHistory u " +
+			"JOIN FETCH u.user " +
+			"LEFT JOIN FETCH u.userAnswers ua " +
+			"LEFT JOIN FETCH ua.task " +
+			"LEFT JOIN FETCH ua.answer " +
+			"WHERE u.id = :id")
+	Optional<UserScoreHistory> findWithAnswersById(Long id);
 }
@@ -2,17 +2,21 @@ package com.example.javaoffer.exam.service;
 
 import com.example.javaoffer.exam.dto.AnswerDTO;
 import com.example.javaoffer.exam.dto.TaskDTO;
+import com.example.javaoffer.exam.dto.TaskFilterResultDTO;
 import com.example.javaoffer.exam.entity.Answer;
 import com.example.javaoffer.exam.entity.Task;
 import com.example.javaoffer.exam.enums.TaskDifficulty;
 import com.example.javaoffer.exam.exception.NoCorrectAnswerByTaskException;
 import com.example.javaoffer.exam.exception.QuestionNotFoundException;
 import com.example.javaoffer.exam.repository.TaskRepository;
+import com.example.javaoffer.exam.repository.TaskSpecifications;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,6 +31,8 @@ import static com.example.javaoffer.common.constants.JpaCacheName.CACHE_NAME_ALL
  * Предоставляет методы для создания, чтения, обновления и удаления заданий,
  * а также для получения заданий по различным критериям (сложность, текст вопроса).
  * Реализует валидацию заданий и проверку корректности ответов.
+ * При создании, изменении и удалении задания обновляется индекс похожих заданий
+ * {@link TaskSimilarityService}.
  *
  * <p>
  * Сервис использует кэширование для оптимизации доступа к часто запрашиваемым данным
@@ -39,6 +45,7 @@ import static com.example.javaoffer.common.constants.JpaCacheName.CACHE_NAME_ALL
 @Slf4j
 public class TaskService {
 	private final TaskRepository taskRepository;
+	private final TaskSimilarityService taskSimilarityService;
 
 	/**
 	 * Получает список всех заданий в системе.
@@ -183,6 +190,7 @@ public class TaskService {
 		log.info("Запрос на создание нового задания: {}", taskDTO.getQuestion());
 		Task task = convertToEntity(taskDTO);
 		Task savedTask = taskRepository.save(task);
+		taskSimilarityService.index(savedTask);
 		log.info("Успешно создано новое задание с id: {}", savedTask.getId());
 		return convertToDTO(savedTask);
 	}
@@ -211,6 +219,7 @@ public class TaskService {
 
 		updateTaskFromDTO(existingTask, taskDTO);
 		Task updatedTask = taskRepository.save(existingTask);
+		taskSimilarityService.index(updatedTask);
 		log.info("Задание с id: {} успешно обновлено", id);
 		return convertToDTO(updatedTask);
 	}
@@ -232,6 +241,7 @@ public class TaskService {
 			log.error("Не удалось удалить: задание с id {} не найдено", id);
 			throw new EntityNotFoundException("Задача не найдена с id: " + id);
 		}
+		taskSimilarityService.remove(id);
 		taskRepository.deleteById(id);
 		log.info("Задание с id: {} успешно удалено", id);
 	}
@@ -447,79 +457,72 @@ public class TaskService {
 	/**
 	 * Фильтрует задания по теме, сложности, грейду, поисковому запросу и показу дублей.
 	 * <p>
-	 * Метод возвращает список заданий, соответствующих указанным критериям фильтрации.
-	 * Если какой-либо параметр фильтрации не указан (null или пустая строка),
-	 * фильтрация по этому критерию не выполняется.
+	 * Все условия собираются в JPA Specification и выполняются в базе данных.
+	 * Результат возвращается порциями по возрастанию идентификатора (keyset-пагинация):
+	 * для следующей порции передается afterId из {@link TaskFilterResultDTO#getNextAfterId()}.
+	 * Запрос количества выполняется только для первой порции, последующие порции
+	 * обходятся без него. Если какой-либо параметр фильтрации не указан
+	 * (null или пустая строка), фильтрация по этому критерию не выполняется.
 	 *
 	 * @param topic          фильтр по теме задания (может быть null)
 	 * @param difficulty     фильтр по сложности задания (может быть null)
 	 * @param grade          фильтр по грейду задания (может быть null)
 	 * @param search         поисковый запрос для фильтрации по тексту вопроса (может быть null)
 	 * @param showDuplicates показывать только задания с дублирующимся текстом вопроса
-	 * @return список отфильтрованных заданий в формате DTO
+	 * @param afterId        идентификатор последнего задания предыдущей порции (null для первой порции)
+	 * @param size           максимальный размер порции
+	 * @return порция отфильтрованных заданий без деталей ответов
 	 */
 	@Transactional(readOnly = true)
-	public List<TaskDTO> filterTasks(String topic, String difficulty, String grade, String search, Boolean showDuplicates) {
-		log.debug("Фильтрация заданий: topic={}, difficulty={}, grade={}, search={}, showDuplicates={}",
-				topic, difficulty, grade, search, showDuplicates);
-
-		List<Task> tasks = taskRepository.findAll();
-		log.trace("Получено {} заданий из базы данных для фильтрации", tasks.size());
-
-		// Если нужно показывать дубли, сначала найдем ID заданий с дублирующимся текстом
-		Set<Long> duplicateTaskIds = new HashSet<>();
-		if (showDuplicates != null && showDuplicates) {
-			Map<String, List<Task>> tasksByQuestion = tasks.stream()
-					.collect(Collectors.groupingBy(Task::getQuestion));
-
-			duplicateTaskIds = tasksByQuestion.entrySet().stream()
-					.filter(entry -> entry.getValue().size() > 1)
-					.flatMap(entry -> entry.getValue().stream())
-					.map(Task::getId)
-					.collect(Collectors.toSet());
-
-			log.debug("Найдено {} заданий с дублирующимся текстом", duplicateTaskIds.size());
+	public TaskFilterResultDTO filterTasks(String topic, String difficulty, String grade, String search,
+										   Boolean showDuplicates, Long afterId, int size) {
+		log.debug("Фильтрация заданий: topic={}, difficulty={}, grade={}, search={}, showDuplicates={}, afterId={}, size={}",
+				topic, difficulty, grade, search, showDuplicates, afterId, size);
+
+		Specification<Task> filter = Specification.where(TaskSpecifications.hasTopic(topic))
+				.and(TaskSpecifications.hasDifficulty(difficulty))
+				.and(TaskSpecifications.hasGrade(grade))
+				.and(TaskSpecifications.questionContains(search))
+				.and(TaskSpecifications.onlyDuplicates(showDuplicates));
+
+		// Запрашиваем на одну запись больше, чтобы узнать о наличии следующей порции без COUNT
+		List<Task> tasks = taskRepository.findBy(filter.and(TaskSpecifications.idGreaterThan(afterId)),
+				query -> query.sortBy(Sort.by(Sort.Direction.ASC, "id"))
+						.limit(size + 1)
+						.all());
+		boolean hasNext = tasks.size() > size;
+		if (hasNext) {
+			tasks = tasks.subList(0, size);
 		}
 
-		List<TaskDTO> filteredTasks = applyFilters(tasks, topic, difficulty, grade, search, duplicateTaskIds, showDuplicates);
+		Long totalCount = afterId == null ? taskRepository.count(filter) : null;
+		Long nextAfterId = hasNext ? tasks.getLast().getId() : null;
+		log.debug("Отфильтровано {} заданий, nextAfterId={}, totalCount={}", tasks.size(), nextAfterId, totalCount);
 
-		log.debug("После фильтрации осталось {} заданий", filteredTasks.size());
-		return filteredTasks;
+		return TaskFilterResultDTO.builder()
+				.tasks(tasks.stream()
+						.map(this::convertToRowDTO)
+						.toList())
+				.nextAfterId(nextAfterId)
+				.totalCount(totalCount)
+				.build();
 	}
 
 	/**
-	 * Применяет фильтры к списку заданий и преобразует их в DTO.
+	 * Конвертирует сущность Task в DTO для строки административной таблицы.
 	 * <p>
-	 * Приватный метод для выполнения фильтрации заданий по всем критериям
-	 * и преобразования результата в список DTO без деталей ответов.
+	 * Варианты ответов не загружаются: таблица показывает только поля самого задания.
 	 *
-	 * @param tasks            список всех заданий для фильтрации
-	 * @param topic            фильтр по теме задания (может быть null)
-	 * @param difficulty       фильтр по сложности задания (может быть null)
-	 * @param grade            фильтр по грейду задания (может быть null)
-	 * @param search           поисковый запрос для фильтрации по тексту вопроса (может быть null)
-	 * @param duplicateTaskIds множество ID заданий с дублирующимся текстом
-	 * @param showDuplicates   показывать только задания с дублирующимся текстом
-	 * @return отфильтрованный список заданий в формате DTO
+	 * @param task сущность задания для конвертации
+	 * @return объект DTO без ответов
 	 */
-	private List<TaskDTO> applyFilters(List<Task> tasks, String topic, String difficulty, String grade,
-									   String search, Set<Long> duplicateTaskIds, Boolean showDuplicates) {
-
-		return tasks.stream()
-				.filter(task -> topic == null || topic.isEmpty() || task.getTopic().name().equalsIgnoreCase(topic))
-				.filter(task -> difficulty == null || difficulty.isEmpty() || task.getDifficulty().name().equalsIgnoreCase(difficulty))
-				.filter(task -> grade == null || grade.isEmpty() || task.getGrade().name().equalsIgnoreCase(grade))
-				.filter(task -> search == null || search.isEmpty() || task.getQuestion().toLowerCase().contains(search.toLowerCase()))
-				.filter(task -> {
-					// Фильтр дублей: если showDuplicates = true, показываем только дубли; если false - показываем все
-					if (showDuplicates == null || !showDuplicates) {
-						return true; // Показываем все задания
-					} else {
-						return duplicateTaskIds.contains(task.getId()); // Показываем только дубли
-					}
-				})
-				.map(this::convertToDTOWithoutAnswersDetails)
-				.toList();
+	private TaskDTO convertToRowDTO(Task task) {
+		return TaskDTO.builder()
+				.id(task.getId())
+				.question(task.getQuestion())
+				.topic(task.getTopic())
+				.difficulty(task.getDifficulty())
+				.grade(task.getGrade())
+				.build();
 	}
-
 }
@@ -0,0 +1,292 @@
+package com.example.javaoffer.exam.service;
+
+import com.example.javaoffer.exam.dto.SimilarityClusterDTO;
+import com.example.javaoffer.exam.dto.TaskDTO;
+import com.example.javaoffer.exam.entity.Answer;
+import com.example.javaoffer.exam.entity.Task;
+import com.example.javaoffer.exam.entity.TaskSimilaritySignature;
+import com.example.javaoffer.exam.repository.AnswerRepository;
+import com.example.javaoffer.exam.repository.TaskLshBucketRepository;
+import com.example.javaoffer.exam.repository.TaskRepository;
+import com.example.javaoffer.exam.repository.TaskSimilarityBatchRepository;
+import com.example.javaoffer.exam.repository.TaskSimilaritySignatureRepository;
+import com.example.javaoffer.exam.utils.MinHashUtils;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Сервис поиска почти одинаковых заданий на основе MinHash и LSH.
+ * <p>
+ * Для каждого задания хранится MinHash-сигнатура текста вопроса и ответов и его
+ * LSH-корзины по полосам сигнатуры. Сигнатура и корзины пересчитываются
+ * инкрементально при создании, изменении и импорте задания, поэтому поиск
+ * кластеров не требует попарного сравнения всех вопросов: сравниваются только
+ * пары, попавшие в общую корзину.
+ *
+ * @author Garbuzov Oleg
+ * @see MinHashUtils
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskSimilarityService {
+
+	/**
+	 * Количество заданий, индексируемых за один запрос к базе данных
+	 */
+	private static final int INDEX_BATCH_SIZE = 500;
+
+	/**
+	 * Количество заданий, для которых пары-кандидаты ищутся за один запрос к базе данных
+	 */
+	private static final int CANDIDATE_BATCH_SIZE = 500;
+
+	private final TaskRepository taskRepository;
+	private final AnswerRepository answerRepository;
+	private final TaskSimilaritySignatureRepository signatureRepository;
+	private final TaskLshBucketRepository bucketRepository;
+	private final TaskSimilarityBatchRepository similarityBatchRepository;
+	private final EntityManager entityManager;
+
+	/**
+	 * Пересчитывает сигнатуру и корзины задания по его текущему состоянию в памяти.
+	 * <p>
+	 * Используется после создания и изменения задания, когда ответы уже
+	 * находятся в коллекции сущности.
+	 *
+	 * @param task сохраненное задание с идентификатором
+	 */
+	@Transactional
+	public void index(Task task) {
+		List<String> texts = new ArrayList<>();
+		texts.add(task.getQuestion());
+		task.getAnswers().stream()
+				.map(Answer::getContent)
+				.forEach(texts::add);
+		store(Map.of(task.getId(), MinHashUtils.signature(texts)));
+		log.trace("Обновлена MinHash-сигнатура задания с id: {}", task.getId());
+	}
+
+	/**
+	 * Пересчитывает сигнатуры и корзины для набора заданий по данным из базы.
+	 * <p>
+	 * Тексты вопросов и ответов загружаются порциями по {@value #INDEX_BATCH_SIZE}
+	 * заданий; ответы читаются проекцией без загрузки сущностей.
+	 *
+	 * @param taskIds идентификаторы заданий
+	 */
+	@Transactional
+	public void indexTasks(Collection<Long> taskIds) {
+		List<Long> ids = new ArrayList<>(new LinkedHashSet<>(taskIds));
+		for (int from = 0; from < ids.size(); from += INDEX_BATCH_SIZE) {
+			indexBatch(ids.subList(from, Math.min(from + INDEX_BATCH_SIZE, ids.size())));
+		}
+		log.debug("Обновлены MinHash-сигнатуры {} заданий", ids.size());
+	}
+
+	/**
+	 * Удаляет сигнатуру и корзины задания.
+	 *
+	 * @param taskId идентификатор задания
+	 */
+	@Transactional
+	public void remove(Long taskId) {
+		bucketRepository.deleteByTaskIdIn(List.of(taskId));
+		signatureRepository.deleteById(taskId);
+		log.trace("Удалена MinHash-сигнатура задания с id: {}", taskId);
+	}
+
+	/**
+	 * Полностью перестраивает сигнатуры и корзины всех заданий.
+	 * <p>
+	 * Нужен для заполнения индекса после развертывания и в случае изменения
+	 * параметров {@link MinHashUtils}. Контекст персистентности очищается после
+	 * каждой порции, поэтому в памяти не накапливаются задания всего банка.
+	 *
+	 * @return количество проиндексированных заданий
+	 */
+	@Transactional
+	public int rebuildAll() {
+		log.info("Полная перестройка индекса похожих заданий");
+		bucketRepository.deleteAllInBatch();
+		signatureRepository.deleteAllInBatch();
+		List<Long> ids = taskRepository.findAllIds();
+		for (int from = 0; from < ids.size(); from += INDEX_BATCH_SIZE) {
+			indexBatch(ids.subList(from, Math.min(from + INDEX_BATCH_SIZE, ids.size())));
+			// Загруженные задания порции больше не нужны
+			entityManager.flush();
+			entityManager.clear();
+		}
+		log.info("Индекс похожих заданий перестроен, заданий: {}", ids.size());
+		return ids.size();
+	}
+
+	/**
+	 * Находит кластеры почти одинаковых заданий.
+	 * <p>
+	 * Пары-кандидаты берутся из общих LSH-корзин, после чего каждая пара
+	 * проверяется по оценке сходства сигнатур. Пары, прошедшие порог,
+	 * объединяются в кластеры через систему непересекающихся множеств.
+	 * <p>
+	 * Кандидаты обходятся порциями по {@value #CANDIDATE_BATCH_SIZE} заданий, и после
+	 * каждой порции контекст персистентности очищается: в памяти остаются только
+	 * пары, прошедшие порог, а не все пары-кандидаты индекса.
+	 *
+	 * @param threshold минимальная оценка сходства пары от 0.0 до 1.0
+	 * @return кластеры, отсортированные по убыванию наибольшего сходства
+	 */
+	@Transactional(readOnly = true)
+	public List<SimilarityClusterDTO> findClusters(double threshold) {
+		Map<Long, Long> parents = new HashMap<>();
+		List<long[]> matchedPairs = new ArrayList<>();
+		List<Double> matchedSimilarities = new ArrayList<>();
+		long candidateCount = 0;
+
+		long afterTaskId = Long.MIN_VALUE;
+		List<Long> taskIds;
+		while (!(taskIds = signatureRepository.findTaskIdsAfter(afterTaskId,
+				PageRequest.ofSize(CANDIDATE_BATCH_SIZE))).isEmpty()) {
+			afterTaskId = taskIds.getLast();
+			List<TaskLshBucketRepository.CandidatePair> candidates = bucketRepository.findCandidatePairs(taskIds);
+			candidateCount += candidates.size();
+			if (candidates.isEmpty()) {
+				continue;
+			}
+
+			Set<Long> candidateIds = new HashSet<>();
+			for (TaskLshBucketRepository.CandidatePair pair : candidates) {
+				candidateIds.add(pair.getFirstTaskId());
+				candidateIds.add(pair.getSecondTaskId());
+			}
+			Map<Long, int[]> signatures = signatureRepository.findAllById(candidateIds).stream()
+					.collect(Collectors.toMap(TaskSimilaritySignature::getTaskId,
+							signature -> MinHashUtils.fromBytes(signature.getSignature())));
+			entityManager.clear();
+
+			for (TaskLshBucketRepository.CandidatePair pair : candidates) {
+				int[] first = signatures.get(pair.getFirstTaskId());
+				int[] second = signatures.get(pair.getSecondTaskId());
+				if (first == null || second == null) {
+					continue;
+				}
+				double similarity = MinHashUtils.estimateSimilarity(first, second);
+				if (similarity >= threshold) {
+					union(parents, pair.getFirstTaskId(), pair.getSecondTaskId());
+					matchedPairs.add(new long[]{pair.getFirstTaskId(), pair.getSecondTaskId()});
+					matchedSimilarities.add(similarity);
+				}
+			}
+		}
+		log.debug("Проверено {} пар-кандидатов в похожие задания", candidateCount);
+		if (parents.isEmpty()) {
+			return List.of();
+		}
+
+		Map<Long, Double> maxSimilarityByRoot = new HashMap<>();
+		for (int i = 0; i < matchedPairs.size(); i++) {
+			maxSimilarityByRoot.merge(find(parents, matchedPairs.get(i)[0]), matchedSimilarities.get(i), Math::max);
+		}
+
+		Map<Long, List<Long>> members = new HashMap<>();
+		for (Long taskId : parents.keySet()) {
+			members.computeIfAbsent(find(parents, taskId), root -> new ArrayList<>()).add(taskId);
+		}
+		Map<Long, Task> tasks = taskRepository.findAllById(parents.keySet()).stream()
+				.collect(Collectors.toMap(Task::getId, Function.identity()));
+
+		List<SimilarityClusterDTO> clusters = new ArrayList<>();
+		members.forEach((root, ids) -> clusters.add(SimilarityClusterDTO.builder()
+				.tasks(ids.stream()
+						.sorted()
+						.map(tasks::get)
+						.filter(Objects::nonNull)
+						.map(this::convertToRowDTO)
+						.toList())
+				.maxSimilarity(maxSimilarityByRoot.getOrDefault(root, threshold))
+				.build()));
+		clusters.sort(Comparator.comparingDouble(SimilarityClusterDTO::getMaxSimilarity).reversed());
+		log.debug("Найдено {} кластеров похожих заданий при пороге {}", clusters.size(), threshold);
+		return clusters;
+	}
+
+	/**
+	 * Вычисляет и сохраняет сигнатуры одной порции заданий.
+	 *
+	 * @param batch идентификаторы заданий порции
+	 */
+	private void indexBatch(List<Long> batch) {
+		Map<Long, List<String>> textsByTask = new HashMap<>();
+		for (Task task : taskRepository.findAllById(batch)) {
+			textsByTask.computeIfAbsent(task.getId(), id -> new ArrayList<>()).add(task.getQuestion());
+		}
+		for (AnswerRepository.TaskAnswerContent answer : answerRepository.findContentsByTaskIdIn(textsByTask.keySet())) {
+			List<String> texts = textsByTask.get(answer.getTaskId());
+			if (texts != null) {
+				texts.add(answer.getContent());
+			}
+		}
+
+		Map<Long, int[]> signatures = new HashMap<>();
+		textsByTask.forEach((id, texts) -> signatures.put(id, MinHashUtils.signature(texts)));
+		store(signatures);
+	}
+
+	/**
+	 * Сохраняет сигнатуры и заменяет корзины указанных заданий.
+	 * <p>
+	 * Перед записью через JDBC изменения контекста персистентности сбрасываются
+	 * в базу, чтобы только что созданные задания уже существовали для внешнего ключа.
+	 *
+	 * @param signatures сигнатуры по идентификаторам заданий
+	 */
+	private void store(Map<Long, int[]> signatures) {
+		if (signatures.isEmpty()) {
+			return;
+		}
+		entityManager.flush();
+		similarityBatchRepository.replaceAll(signatures);
+	}
+
+	private static Long find(Map<Long, Long> parents, Long id) {
+		Long root = id;
+		while (!parents.get(root).equals(root)) {
+			root = parents.get(root);
+		}
+		// Сжатие путей
+		Long current = id;
+		while (!current.equals(root)) {
+			Long next = parents.get(current);
+			parents.put(current, root);
+			current = next;
+		}
+		return root;
+	}
+
+	private static void union(Map<Long, Long> parents, Long first, Long second) {
+		parents.putIfAbsent(first, first);
+		parents.putIfAbsent(second, second);
+		Long firstRoot = find(parents, first);
+		Long secondRoot = find(parents, second);
+		if (!firstRoot.equals(secondRoot)) {
+			parents.put(Math.max(firstRoot, secondRoot), Math.min(firstRoot, secondRoot));
+		}
+	}
+
+	private TaskDTO convertToRowDTO(Task task) {
+		return TaskDTO.builder()
+				.id(task.getId())
+				.question(task.getQuestion())
+				.topic(task.getTopic())
+				.difficulty(task.getDifficulty())
+				.grade(task.getGrade())
+				.build();
+	}
+}
@@ -1,5 +1,6 @@
 package com.example.javaoffer.exam.service;
 
+import com.example.javaoffer.common.utils.LikePatternUtils;
 import com.example.javaoffer.exam.dto.UserAnswerDTO;
 import com.example.javaoffer.exam.dto.UserScoreHistoryDTO;
 import com.example.javaoffer.exam.entity.UserScoreHistory;
@@ -10,12 +11,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.example.javaoffer.common.constants.JpaCacheName.CACHE_NAME_GLOBAL_RATING;
@@ -67,11 +72,36 @@ public class UserScoreHistoryService {
 	 * <p>
 	 * Преобразует объект сущности UserScoreHistory в объект DTO с необходимыми
 	 * для клиента данными, включая информацию о пользователе и его ответах.
+	 * Ответы должны быть загружены заранее, например через
+	 * {@link UserScoreHistoryRepository#findWithAnswersById(Long)}.
 	 *
 	 * @param userScoreHistory сущность истории прохождения экзамена
 	 * @return объект DTO с данными истории экзамена
 	 */
 	private UserScoreHistoryDTO convertToDTO(UserScoreHistory userScoreHistory) {
+		UserScoreHistoryDTO dto = convertToSummaryDTO(userScoreHistory);
+		dto.setUserAnswers(userScoreHistory.getUserAnswers().stream()
+				.map(userAnswer -> UserAnswerDTO.builder()
+						.answerDTO(answerService.convertToDTO(userAnswer.getAnswer()))
+						.taskDTO(taskService.convertToDTO(userAnswer.getTask()))
+						.isCorrect(userAnswer.isCorrect())
+						.timeTakenSeconds(userAnswer.getTimeTakenSeconds())
+						.id(userAnswer.getId())
+						.build())
+				.collect(Collectors.toList()));
+		return dto;
+	}
+
+	/**
+	 * Конвертирует сущность в сводное DTO без ответов пользователя.
+	 * <p>
+	 * Используется для постраничных списков, где ответы не отображаются,
+	 * поэтому коллекция userAnswers не инициализируется.
+	 *
+	 * @param userScoreHistory сущность истории прохождения экзамена
+	 * @return объект DTO со сводными данными истории экзамена
+	 */
+	private UserScoreHistoryDTO convertToSummaryDTO(UserScoreHistory userScoreHistory) {
 		log.trace("Конвертация сущности UserScoreHistory с id: {} в DTO", userScoreHistory.getId());
 		UserScoreHistoryDTO dto = UserScoreHistoryDTO.builder()
 				.createAt(userScoreHistory.getCreateAt())
@@ -96,15 +126,6 @@ public class UserScoreHistoryService {
 				.terminatedByFailAnswerCount(userScoreHistory.getTerminatedByFailAnswerCount())
 				.terminationReason(userScoreHistory.getTerminationReason())
 				.antiOcrTamperingViolations(userScoreHistory.getAntiOcrTamperingViolations())
-				.userAnswers(userScoreHistory.getUserAnswers().stream()
-						.map(userAnswer -> UserAnswerDTO.builder()
-								.answerDTO(answerService.convertToDTO(userAnswer.getAnswer()))
-								.taskDTO(taskService.convertToDTO(userAnswer.getTask()))
-								.isCorrect(userAnswer.isCorrect())
-								.timeTakenSeconds(userAnswer.getTimeTakenSeconds())
-								.id(userAnswer.getId())
-								.build())
-						.collect(Collectors.toList()))
 				.build();
 
 		// Добавляем информацию о пользователе, если он существует
@@ -158,7 +179,7 @@ public class UserScoreHistoryService {
 				UUID uuid = UUID.fromString(examId);
 				log.trace("Выполняется поиск с фильтром по examId: {}", uuid);
 				return userScoreHistoryRepository.findByUserIdAndExamID(userId, uuid, pageable)
-						.map(this::convertToDTO);
+						.map(this::convertToSummaryDTO);
 			} catch (IllegalArgumentException e) {
 				log.warn("Некорректный формат examId: {}", examId, e);
 				return Page.empty(pageable);
@@ -166,7 +187,7 @@ public class UserScoreHistoryService {
 		} else {
 			log.trace("Выполняется поиск без фильтра по examId");
 			return userScoreHistoryRepository.findByUserId(userId, pageable)
-					.map(this::convertToDTO);
+					.map(this::convertToSummaryDTO);
 		}
 	}
 
@@ -177,6 +198,10 @@ public class UserScoreHistoryService {
 	 * фильтрации по различным критериям: наличие нарушений, идентификатор экзамена,
 	 * имя пользователя.
 	 *
+	 * <p>
+	 * Пагинация выполняется в две фазы: сначала в базе данных выбирается страница
+	 * идентификаторов, затем по ним загружаются сводные данные без ответов пользователя.
+	 *
 	 * @param pageable           параметры пагинации и сортировки
 	 * @param showViolationsOnly показывать только записи с нарушениями
 	 * @param examId             фильтр по идентификатору экзамена (может быть null)
@@ -205,25 +230,36 @@ public class UserScoreHistoryService {
 			}
 		}
 
-		// Обработка userName - убираем лишние пробелы и формируем паттерн для LIKE
-		String userNamePattern = null;
-		if (userName != null && !userName.trim().isEmpty()) {
-			userNamePattern = "%" + userName.trim() + "%";
+		// Обработка userName - убираем лишние пробелы и формируем паттерн для LIKE по LOWER(username)
+		String userNamePattern = LikePatternUtils.containsLowerCase(userName);
+		if (userNamePattern != null) {
 			log.trace("Сформирован паттерн для поиска по имени пользователя: {}", userNamePattern);
 		}
 
-		Page<UserScoreHistory> result = userScoreHistoryRepository.findAllWithFilters(
+		Page<Long> idPage = userScoreHistoryRepository.findIdsWithFilters(
 				pageable, showViolationsOnly, examUuid, userNamePattern);
+		log.trace("Найдено {} историй экзаменов, соответствующих фильтрам", idPage.getTotalElements());
+		if (idPage.isEmpty()) {
+			return new PageImpl<>(List.of(), pageable, idPage.getTotalElements());
+		}
 
-		log.trace("Найдено {} историй экзаменов, соответствующих фильтрам", result.getTotalElements());
-		return result.map(this::convertToDTO);
+		// Восстанавливаем порядок страницы: IN-запрос не сохраняет сортировку
+		Map<Long, UserScoreHistory> summariesById = userScoreHistoryRepository.findSummariesByIdIn(idPage.getContent())
+				.stream()
+				.collect(Collectors.toMap(UserScoreHistory::getId, Function.identity()));
+		List<UserScoreHistoryDTO> content = idPage.getContent().stream()
+				.map(summariesById::get)
+				.filter(Objects::nonNull)
+				.map(this::convertToSummaryDTO)
+				.toList();
+		return new PageImpl<>(content, pageable, idPage.getTotalElements());
 	}
 
 	/**
 	 * Находит историю экзамена по идентификатору.
 	 * <p>
 	 * Метод возвращает детальную информацию о конкретной истории
-	 * прохождения экзамена по её идентификатору.
+	 * прохождения экзамена по её идентификатору, включая ответы пользователя.
 	 *
 	 * @param id идентификатор истории экзамена
 	 * @return DTO с данными истории экзамена
@@ -232,7 +268,7 @@ public class UserScoreHistoryService {
 	@Transactional(readOnly = true)
 	public UserScoreHistoryDTO findById(Long id) {
 		log.debug("Поиск истории экзамена по id: {}", id);
-		return userScoreHistoryRepository.findById(id)
+		return userScoreHistoryRepository.findWithAnswersById(id)
 				.map(this::convertToDTO)
 				.orElseThrow(() -> {
 					log.warn("История экзамена с ID {} не найдена", id);
@@ -1,6 +1,7 @@
 package com.example.javaoffer.exam.strategy;
 
 import com.example.javaoffer.common.utils.ClientUtils;
+import com.example.javaoffer.exam.anticheat.service.analytics.AntiCheatAnalyticsService;
 import com.example.javaoffer.exam.cache.TemporaryExamProgress;
 import com.example.javaoffer.exam.cache.exception.NoEntryInCacheException;
 import com.example.javaoffer.exam.cache.service.ExamSessionCacheService;
@@ -37,19 +38,22 @@ public class FreeModeStrategy extends ModeStrategyAbstract implements ExamModeSt
 	/**
 	 * Конструктор стратегии свободного режима экзамена.
 	 *
-	 * @param examSessionCacheService сервис для работы с кэшем сессий экзамена
-	 * @param taskService             сервис для работы с заданиями
-	 * @param freeModeProperties      настройки свободного режима экзамена
-	 * @param freeModeQuestionFinder  сервис поиска вопросов для свободного режима
-	 * @param userService             сервис для работы с пользователями
+	 * @param examSessionCacheService   сервис для работы с кэшем сессий экзамена
+	 * @param taskService               сервис для работы с заданиями
+	 * @param freeModeProperties        настройки свободного режима экзамена
+	 * @param freeModeQuestionFinder    сервис поиска вопросов для свободного режима
+	 * @param userService               сервис для работы с пользователями
+	 * @param antiCheatAnalyticsService сервис аналитики античита
 	 */
 	public FreeModeStrategy(
 			ExamSessionCacheService examSessionCacheService,
 			TaskService taskService,
 			FreeModeProperties freeModeProperties,
 			QuestionFinder freeModeQuestionFinder,
-			UserService userService) {
-		super(examSessionCacheService, taskService, freeModeQuestionFinder, freeModeProperties, userService);
+			UserService userService,
+			AntiCheatAnalyticsService antiCheatAnalyticsService) {
+		super(examSessionCacheService, taskService, freeModeQuestionFinder, freeModeProperties, userService,
+				antiCheatAnalyticsService);
 	}
 
 	/**
@@ -149,6 +153,7 @@ public class FreeModeStrategy extends ModeStrategyAbstract implements ExamModeSt
 			boolean isCorrect = taskService.answerIsCorrect(taskDTO, examRequest.getSelectedAnswer());
 
 			ValidateAnswerResponseDTO validateAnswerResponseDTO = getValidateAnswerResponseDTO(
+					taskDTO,
 					correctAnswer,
 					isCorrect,
 					examRequest,
@@ -1,5 +1,6 @@
 package com.example.javaoffer.exam.strategy;
 
+import com.example.javaoffer.exam.anticheat.service.analytics.AntiCheatAnalyticsService;
 import com.example.javaoffer.exam.cache.TemporaryExamProgress;
 import com.example.javaoffer.exam.cache.dto.TemporaryExamProgressDTO;
 import com.example.javaoffer.exam.cache.exception.NoEntryInCacheException;
@@ -40,6 +41,7 @@ public abstract class ModeStrategyAbstract {
 	final QuestionFinder questionFinder;
 	final ModeProperties properties;
 	final UserService userService;
+	final AntiCheatAnalyticsService antiCheatAnalyticsService;
 	private final Striped<Lock> examLocks = Striped.lock(10240);
 
 	/**
@@ -72,6 +74,7 @@ public abstract class ModeStrategyAbstract {
 			nextQuestionValidationRequestID(examId, progress, examRequest);
 			TaskDifficulty difficulty = getNextQuestionTaskDifficulty(progress, examId);
 			TaskDTO nextTask = selectNextQuestion(progress, difficulty, examId);
+			antiCheatAnalyticsService.registerTask(nextTask);
 			UUID nextAnswerCheckRequestId = UUID.randomUUID();
 
 			nextQuestionUpdateProgressAndSave(progress, nextTask, examId, examRequest, nextAnswerCheckRequestId);
@@ -95,8 +98,10 @@ public abstract class ModeStrategyAbstract {
 	 * <p>
 	 * Проверяет на дублирующие запросы, валидирует идентификаторы,
 	 * обновляет статистику экзамена и генерирует новый идентификатор запроса.
+	 * Ответ, не являющийся дубликатом, учитывается в аналитике.
 	 * 
 	 *
+	 * @param task          задание, на которое дан ответ
 	 * @param correctAnswer правильный ответ на вопрос
 	 * @param isCorrect     результат проверки ответа пользователя
 	 * @param examRequest   запрос на проверку ответа
@@ -105,6 +110,7 @@ public abstract class ModeStrategyAbstract {
 	 * @return ответ с результатами валидации
 	 */
 	ValidateAnswerResponseDTO getValidateAnswerResponseDTO(
+			TaskDTO task,
 			AnswerDTO correctAnswer,
 			boolean isCorrect,
 			ExamCheckAnswerRequestDTO examRequest,
@@ -122,6 +128,7 @@ public abstract class ModeStrategyAbstract {
 		response.setRequestId(nextQuestionRequestId);
 
 		validateAndRefreshExamStatisticByLastAnswer(progress, isCorrect, examRequest, examId);
+		antiCheatAnalyticsService.recordAnswer(task, isCorrect);
 		refreshRequestIdByLastAnswer(progress, examRequest, examId, nextQuestionRequestId);
 
 		return response;
@@ -2,6 +2,7 @@ package com.example.javaoffer.exam.strategy;
 
 import com.example.javaoffer.common.utils.ClientUtils;
 import com.example.javaoffer.exam.anticheat.service.HeartbeatService;
+import com.example.javaoffer.exam.anticheat.service.analytics.AntiCheatAnalyticsService;
 import com.example.javaoffer.exam.cache.TemporaryExamProgress;
 import com.example.javaoffer.exam.cache.dto.TemporaryExamProgressDTO;
 import com.example.javaoffer.exam.cache.exception.NoEntryInCacheException;
@@ -57,6 +58,7 @@ public class RatingModeStrategy extends ModeStrategyAbstract implements ExamMode
 	 * @param globalRatingScoreHistoryService    сервис для работы с глобальным рейтингом
 	 * @param examSessionCacheService            сервис для работы с кэшем сессий экзамена
 	 * @param heartbeatService                   сервис для античит проверок
+	 * @param antiCheatAnalyticsService          сервис аналитики античита
 	 */
 	public RatingModeStrategy(
 			TaskService taskService,
@@ -66,8 +68,10 @@ public class RatingModeStrategy extends ModeStrategyAbstract implements ExamMode
 			ExamRatingModeHelperService examRatingModeHelperService,
 			GlobalRatingScoreHistoryService globalRatingScoreHistoryService, 
 			ExamSessionCacheService examSessionCacheService, 
-			HeartbeatService heartbeatService) {
-		super(examSessionCacheService, taskService, questionFinder, ratingModeProperties, userService);
+			HeartbeatService heartbeatService,
+			AntiCheatAnalyticsService antiCheatAnalyticsService) {
+		super(examSessionCacheService, taskService, questionFinder, ratingModeProperties, userService,
+				antiCheatAnalyticsService);
 		this.examRatingModeHelperService = examRatingModeHelperService;
 		this.globalRatingScoreHistoryService = globalRatingScoreHistoryService;
 		this.examSessionCacheService = examSessionCacheService;
@@ -190,6 +194,7 @@ public class RatingModeStrategy extends ModeStrategyAbstract implements ExamMode
 			boolean isDuplicate = requestAnswerCheckIsDuplicate(examRequest, progress, examId);
 
 			ValidateAnswerResponseDTO responseDTO = getValidateAnswerResponseDTO(
+					taskDTO,
 					correctAnswer,
 					isCorrect,
 					examRequest,
@@ -202,7 +207,6 @@ public class RatingModeStrategy extends ModeStrategyAbstract implements ExamMode
 			}
 
 			examRatingModeHelperService.terminateExamIfFailAnswerCountAbsoluteLimitExceeded(examId, progress);
-			heartbeatService.heartBeatLongAbsenceCheck(progress, examId);
 
 			return responseDTO;
 		} finally {
@@ -238,6 +242,7 @@ public class RatingModeStrategy extends ModeStrategyAbstract implements ExamMode
 			}
 
 			examSessionCacheService.remove(examId);
+			heartbeatService.removeState(examId);
 			ClientUtils.getCurrentUser().ifPresent(userService::clearUnfinishedExam);
 
 			return ExamAbortResponseDTO.builder()
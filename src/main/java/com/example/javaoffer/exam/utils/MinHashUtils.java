@@ -0,0 +1,198 @@
+package com.example.javaoffer.exam.utils;
+
+import com.example.javaoffer.common.utils.ContentHashUtils;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Утилитный класс для вычисления MinHash-сигнатур и LSH-корзин текстов.
+ * <p>
+ * Текст разбивается на шинглы из {@link #SHINGLE_SIZE} подряд идущих символов
+ * (после нормализации пробелов и приведения к нижнему регистру): символьные шинглы
+ * устойчивее словесных к небольшим правкам в коротких вопросах. Для множества
+ * шинглов вычисляется сигнатура из {@link #SIGNATURE_SIZE} минимальных значений
+ * независимых хеш-функций вида (a * x + b) mod p. Доля совпадающих позиций двух
+ * сигнатур оценивает коэффициент Жаккара исходных множеств шинглов.
+ *
+ * <p>
+ * Для поиска кандидатов сигнатура делится на {@link #BANDS} полос по {@link #ROWS_PER_BAND}
+ * значений; тексты, у которых хотя бы одна полоса совпадает, попадают в одну корзину.
+ * При 32 полосах по 4 строки порог срабатывания находится около сходства 0.42,
+ * окончательная фильтрация выполняется по оценке сходства сигнатур.
+ *
+ * @author Garbuzov Oleg
+ */
+public final class MinHashUtils {
+
+	/**
+	 * Количество символов в шингле
+	 */
+	public static final int SHINGLE_SIZE = 5;
+
+	/**
+	 * Количество хеш-функций (длина сигнатуры)
+	 */
+	public static final int SIGNATURE_SIZE = 128;
+
+	/**
+	 * Количество LSH-полос
+	 */
+	public static final int BANDS = 32;
+
+	/**
+	 * Количество значений сигнатуры в одной полосе
+	 */
+	public static final int ROWS_PER_BAND = SIGNATURE_SIZE / BANDS;
+
+	/**
+	 * Простое число Мерсенна 2^61 - 1 для универсального хеширования
+	 */
+	private static final long MERSENNE_PRIME = (1L << 61) - 1;
+
+	/**
+	 * Фиксированное зерно: сигнатуры должны совпадать между перезапусками приложения
+	 */
+	private static final long SEED = 0x5EEDL;
+
+	private static final long[] COEFFICIENTS_A = new long[SIGNATURE_SIZE];
+	private static final long[] COEFFICIENTS_B = new long[SIGNATURE_SIZE];
+	private static final HashFunction SHINGLE_HASH = Hashing.murmur3_128((int) SEED);
+
+	static {
+		SplittableRandom random = new SplittableRandom(SEED);
+		for (int i = 0; i < SIGNATURE_SIZE; i++) {
+			COEFFICIENTS_A[i] = 1 + random.nextLong(MERSENNE_PRIME - 1);
+			COEFFICIENTS_B[i] = random.nextLong(MERSENNE_PRIME);
+		}
+	}
+
+	/**
+	 * Приватный конструктор для предотвращения создания экземпляров утилитного класса.
+	 */
+	private MinHashUtils() {
+	}
+
+	/**
+	 * Вычисляет MinHash-сигнатуру для набора текстов (например, вопроса и его ответов).
+	 *
+	 * @param texts тексты, шинглы которых объединяются в одно множество
+	 * @return сигнатура длиной {@link #SIGNATURE_SIZE}
+	 */
+	public static int[] signature(List<String> texts) {
+		Set<Long> shingles = new HashSet<>();
+		for (String text : texts) {
+			addShingles(text, shingles);
+		}
+
+		int[] signature = new int[SIGNATURE_SIZE];
+		Arrays.fill(signature, Integer.MAX_VALUE);
+		for (long shingle : shingles) {
+			long x = Long.remainderUnsigned(shingle, MERSENNE_PRIME);
+			for (int i = 0; i < SIGNATURE_SIZE; i++) {
+				int value = (int) (universalHash(COEFFICIENTS_A[i], COEFFICIENTS_B[i], x) >>> 30);
+				if (value < signature[i]) {
+					signature[i] = value;
+				}
+			}
+		}
+		return signature;
+	}
+
+	/**
+	 * Вычисляет хеши LSH-корзин сигнатуры, по одному на каждую полосу.
+	 *
+	 * @param signature MinHash-сигнатура
+	 * @return массив длиной {@link #BANDS} с хешами корзин
+	 */
+	public static long[] bandHashes(int[] signature) {
+		long[] result = new long[BANDS];
+		ByteBuffer buffer = ByteBuffer.allocate(ROWS_PER_BAND * Integer.BYTES);
+		for (int band = 0; band < BANDS; band++) {
+			buffer.clear();
+			for (int row = 0; row < ROWS_PER_BAND; row++) {
+				buffer.putInt(signature[band * ROWS_PER_BAND + row]);
+			}
+			result[band] = SHINGLE_HASH.hashBytes(buffer.array()).asLong();
+		}
+		return result;
+	}
+
+	/**
+	 * Оценивает коэффициент Жаккара по двум сигнатурам.
+	 *
+	 * @param first  первая сигнатура
+	 * @param second вторая сигнатура
+	 * @return доля совпадающих позиций от 0.0 до 1.0
+	 */
+	public static double estimateSimilarity(int[] first, int[] second) {
+		int equal = 0;
+		for (int i = 0; i < SIGNATURE_SIZE; i++) {
+			if (first[i] == second[i]) {
+				equal++;
+			}
+		}
+		return (double) equal / SIGNATURE_SIZE;
+	}
+
+	/**
+	 * Сериализует сигнатуру для хранения в базе данных.
+	 *
+	 * @param signature MinHash-сигнатура
+	 * @return массив байт длиной SIGNATURE_SIZE * 4
+	 */
+	public static byte[] toBytes(int[] signature) {
+		ByteBuffer buffer = ByteBuffer.allocate(signature.length * Integer.BYTES);
+		buffer.asIntBuffer().put(signature);
+		return buffer.array();
+	}
+
+	/**
+	 * Восстанавливает сигнатуру из массива байт.
+	 *
+	 * @param bytes массив байт, полученный из {@link #toBytes(int[])}
+	 * @return MinHash-сигнатура
+	 */
+	public static int[] fromBytes(byte[] bytes) {
+		int[] signature = new int[bytes.length / Integer.BYTES];
+		ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+		return signature;
+	}
+
+	private static void addShingles(String text, Set<Long> shingles) {
+		String normalized = ContentHashUtils.normalize(text).toLowerCase();
+		if (normalized.isEmpty()) {
+			return;
+		}
+		if (normalized.length() <= SHINGLE_SIZE) {
+			// Короткий текст целиком считается одним шинглом
+			shingles.add(hashShingle(normalized));
+			return;
+		}
+		for (int i = 0; i <= normalized.length() - SHINGLE_SIZE; i++) {
+			shingles.add(hashShingle(normalized.substring(i, i + SHINGLE_SIZE)));
+		}
+	}
+
+	private static long hashShingle(String shingle) {
+		return SHINGLE_HASH.hashString(shingle, StandardCharsets.UTF_8).asLong();
+	}
+
+	// (a * x + b) mod (2^61 - 1) без переполнения: умножение через Math.multiplyHigh
+	private static long universalHash(long a, long b, long x) {
+		long low = a * x;
+		long high = Math.multiplyHigh(a, x);
+		long product = ((low & MERSENNE_PRIME) + ((low >>> 61) | (high << 3)));
+		product = (product & MERSENNE_PRIME) + (product >>> 61);
+		long result = product + b;
+		result = (result & MERSENNE_PRIME) + (result >>> 61);
+		return result >= MERSENNE_PRIME ? result - MERSENNE_PRIME : result;
+	}
+}
@@ -0,0 +1,211 @@
+package com.example.javaoffer.loadShedding;
+
+import com.example.javaoffer.loadShedding.dto.LoadSheddingStatsDTO;
+import com.example.javaoffer.loadShedding.enums.RequestPriority;
+import com.example.javaoffer.loadShedding.property.LoadSheddingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Адаптивный лимит одновременных запросов (AIMD по задержке).
+ * <p>
+ * Лимит подстраивается под задержку запросов экзамена:
+ * <ul>
+ *   <li>задержка в пределах {@link LoadSheddingProperties#getRttTolerance()} от минимальной и
+ *   загрузка не меньше половины лимита - лимит увеличивается на 1 (аддитивный рост);</li>
+ *   <li>задержка выше допустимой - лимит умножается на {@link LoadSheddingProperties#getBackoffRatio()},
+ *   не чаще одного раза за минимальную задержку (мультипликативное уменьшение).</li>
+ * </ul>
+ * Когда база данных замедляется, задержка растет, лимит снижается, и лишние запросы
+ * отклоняются сразу, а не ждут в пуле потоков Tomcat.
+ *
+ * <p>
+ * Минимальная (базовая) задержка снижается сразу, а растет только по окончании периода
+ * {@link LoadSheddingProperties#getMinRttWindow()} и не больше чем на
+ * {@link LoadSheddingProperties#getMinRttMaxGrowth()} за период. Иначе при длительной перегрузке
+ * завышенная задержка стала бы новой базой, и лимит начал бы расти именно тогда,
+ * когда он должен оставаться низким.
+ *
+ * <p>
+ * Каждому приоритету доступна своя доля лимита: запросы LOW отклоняются первыми,
+ * CRITICAL (проверка ответа, прерывание экзамена) могут превышать лимит в пределах резерва.
+ *
+ * @author Garbuzov Oleg
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+	private final LoadSheddingProperties properties;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final Map<RequestPriority, LongAdder> admitted = new EnumMap<>(RequestPriority.class);
+	private final Map<RequestPriority, LongAdder> shed = new EnumMap<>(RequestPriority.class);
+
+	/**
+	 * Текущий лимит; изменяется под монитором this, читается без блокировки
+	 */
+	private volatile double limit;
+
+	// Состояние оценки задержки; защищено монитором this
+	private long minRttNanos = Long.MAX_VALUE;
+	private long windowMinRttNanos = Long.MAX_VALUE;
+	private long minRttResetAt;
+	private double smoothedRttNanos;
+	private long nextDecreaseAt;
+
+	public AdaptiveConcurrencyLimiter(LoadSheddingProperties properties) {
+		this.properties = properties;
+		this.limit = properties.getInitialLimit();
+		this.minRttResetAt = System.nanoTime();
+		this.nextDecreaseAt = minRttResetAt;
+		for (RequestPriority priority : RequestPriority.values()) {
+			admitted.put(priority, new LongAdder());
+			shed.put(priority, new LongAdder());
+		}
+	}
+
+	/**
+	 * Пытается занять место для запроса.
+	 *
+	 * @param priority приоритет запроса
+	 * @return true, если запрос допущен; в этом случае обязателен вызов {@link #release(long, int)}
+	 */
+	public boolean tryAcquire(RequestPriority priority) {
+		int current = inFlight.incrementAndGet();
+		if (current > threshold(priority)) {
+			inFlight.decrementAndGet();
+			shed.get(priority).increment();
+			return false;
+		}
+		admitted.get(priority).increment();
+		return true;
+	}
+
+	/**
+	 * Проверяет, был бы допущен запрос, не занимая места.
+	 * Используется для дешевых запросов, задержка которых не зависит от сервера (например, GIF).
+	 *
+	 * @param priority приоритет запроса
+	 * @return true, если запрос допускается
+	 */
+	public boolean canAdmit(RequestPriority priority) {
+		if (inFlight.get() >= threshold(priority)) {
+			shed.get(priority).increment();
+			return false;
+		}
+		admitted.get(priority).increment();
+		return true;
+	}
+
+	/**
+	 * Освобождает место, занятое {@link #tryAcquire(RequestPriority)}, без учета задержки.
+	 */
+	public void release() {
+		inFlight.decrementAndGet();
+	}
+
+	/**
+	 * Освобождает место и учитывает задержку запроса при пересчете лимита.
+	 *
+	 * @param rttNanos          длительность запроса в наносекундах
+	 * @param inFlightAtAcquire количество выполнявшихся запросов в момент допуска
+	 */
+	public void release(long rttNanos, int inFlightAtAcquire) {
+		inFlight.decrementAndGet();
+		onSample(rttNanos, inFlightAtAcquire, System.nanoTime());
+	}
+
+	/**
+	 * Возвращает количество выполняющихся запросов.
+	 *
+	 * @return количество запросов
+	 */
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	/**
+	 * Возвращает текущий лимит одновременных запросов.
+	 *
+	 * @return лимит
+	 */
+	public int getLimit() {
+		return (int) limit;
+	}
+
+	/**
+	 * Возвращает состояние ограничителя для мониторинга.
+	 *
+	 * @return состояние ограничителя
+	 */
+	public synchronized LoadSheddingStatsDTO getStats() {
+		Map<RequestPriority, Long> admittedCounts = new EnumMap<>(RequestPriority.class);
+		Map<RequestPriority, Long> shedCounts = new EnumMap<>(RequestPriority.class);
+		for (RequestPriority priority : RequestPriority.values()) {
+			admittedCounts.put(priority, admitted.get(priority).sum());
+			shedCounts.put(priority, shed.get(priority).sum());
+		}
+		return LoadSheddingStatsDTO.builder()
+				.limit(getLimit())
+				.inFlight(getInFlight())
+				.minRttMillis(minRttNanos == Long.MAX_VALUE ? 0 : minRttNanos / 1_000_000.0)
+				.smoothedRttMillis(smoothedRttNanos / 1_000_000.0)
+				.admitted(admittedCounts)
+				.shed(shedCounts)
+				.build();
+	}
+
+	/**
+	 * Пересчитывает лимит по задержке запроса.
+	 *
+	 * @param rttNanos          длительность запроса
+	 * @param inFlightAtAcquire количество выполнявшихся запросов в момент допуска
+	 * @param now               текущее время, {@link System#nanoTime()}
+	 */
+	synchronized void onSample(long rttNanos, int inFlightAtAcquire, long now) {
+		if (rttNanos <= 0) {
+			return;
+		}
+		windowMinRttNanos = Math.min(windowMinRttNanos, rttNanos);
+		if (rttNanos < minRttNanos) {
+			minRttNanos = rttNanos;
+		}
+		if (now - minRttResetAt >= 0) {
+			// Базовая задержка поднимается к минимуму периода постепенно
+			long maxBaseline = (long) (minRttNanos * (1 + properties.getMinRttMaxGrowth()));
+			minRttNanos = Math.min(windowMinRttNanos, Math.max(minRttNanos, maxBaseline));
+			windowMinRttNanos = Long.MAX_VALUE;
+			minRttResetAt = now + properties.getMinRttWindow().toNanos();
+		}
+		smoothedRttNanos = smoothedRttNanos == 0 ? rttNanos : smoothedRttNanos * 0.9 + rttNanos * 0.1;
+
+		double newLimit = limit;
+		if (rttNanos > minRttNanos * properties.getRttTolerance()) {
+			if (now - nextDecreaseAt >= 0) {
+				newLimit = Math.max(properties.getMinLimit(), limit * properties.getBackoffRatio());
+				nextDecreaseAt = now + minRttNanos;
+			}
+		} else if (inFlightAtAcquire * 2 >= limit) {
+			newLimit = Math.min(properties.getMaxLimit(), limit + 1);
+		}
+
+		if ((int) newLimit != (int) limit) {
+			log.debug("Лимит одновременных запросов изменен: {} -> {} (задержка {} мс, минимальная {} мс)",
+					(int) limit, (int) newLimit, rttNanos / 1_000_000, minRttNanos / 1_000_000);
+		}
+		limit = newLimit;
+	}
+
+	private int threshold(RequestPriority priority) {
+		double share = switch (priority) {
+			case CRITICAL -> properties.getCriticalShare();
+			case NORMAL -> properties.getNormalShare();
+			case LOW -> properties.getLowShare();
+		};
+		return Math.max(1, (int) (limit * share));
+	}
+}
@@ -0,0 +1,141 @@
+package com.example.javaoffer.loadShedding;
+
+import com.example.javaoffer.common.exception.dto.ErrorResponse;
+import com.example.javaoffer.loadShedding.enums.RequestPriority;
+import com.example.javaoffer.loadShedding.property.LoadSheddingProperties;
+import com.example.javaoffer.security.RequestContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+import static com.example.javaoffer.common.constants.UrlConstant.*;
+
+/**
+ * Фильтр адаптивного ограничения нагрузки.
+ * <p>
+ * Выполняется сразу после {@link com.example.javaoffer.security.RequestClassificationFilter},
+ * до фильтров безопасности, поэтому отклонение запроса почти ничего не стоит.
+ * Через {@link AdaptiveConcurrencyLimiter} проходят:
+ * <ul>
+ *   <li>запросы экзамена и античита (их задержка управляет лимитом);
+ *   проверка ответа и прерывание экзамена имеют приоритет CRITICAL;</li>
+ *   <li>админка (кроме состояния ограничителя) и глобальный рейтинг с приоритетом LOW;</li>
+ *   <li>GIF-анимации с приоритетом LOW - только проверка допуска, без занятия места.</li>
+ * </ul>
+ * Остальные запросы не ограничиваются. Отклоненный запрос получает 503 с заголовком Retry-After.
+ *
+ * @author Garbuzov Oleg
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+@Slf4j
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+	private static final String URL_ANSWER_CHECK_FULL = URL_EXAM_ROOT + URL_ANSWER_CHECK;
+	private static final String URL_ABORT_EXAM_FULL = URL_EXAM_ROOT + URL_ABORT_EXAM;
+	private static final String URL_LOAD_SHEDDING_STATS_FULL = URL_ADMIN_ROOT + URL_ADMIN_API_LOAD_SHEDDING;
+
+	private final AdaptiveConcurrencyLimiter limiter;
+	private final LoadSheddingProperties properties;
+	private final ObjectMapper objectMapper;
+
+	@Override
+	protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+		return !properties.isEnabled();
+	}
+
+	@Override
+	protected void doFilterInternal(@NonNull HttpServletRequest request,
+									@NonNull HttpServletResponse response,
+									@NonNull FilterChain filterChain) throws ServletException, IOException {
+		String uri = request.getRequestURI();
+		RequestContext context = RequestContext.of(request);
+
+		boolean examPath;
+		RequestPriority priority;
+		switch (context.category()) {
+			case EXAM_API -> {
+				examPath = true;
+				priority = uri.equals(URL_ANSWER_CHECK_FULL) || uri.equals(URL_ABORT_EXAM_FULL)
+						? RequestPriority.CRITICAL : RequestPriority.NORMAL;
+			}
+			case ANTI_CHEAT -> {
+				examPath = true;
+				priority = RequestPriority.NORMAL;
+			}
+			case ADMIN -> {
+				// Мониторинг ограничителя должен оставаться доступным при перегрузке
+				if (uri.equals(URL_LOAD_SHEDDING_STATS_FULL)) {
+					filterChain.doFilter(request, response);
+					return;
+				}
+				examPath = false;
+				priority = RequestPriority.LOW;
+			}
+			case STATIC -> {
+				if (uri.startsWith("/gifs/") && !limiter.canAdmit(RequestPriority.LOW)) {
+					reject(request, response, RequestPriority.LOW);
+					return;
+				}
+				filterChain.doFilter(request, response);
+				return;
+			}
+			default -> {
+				if (uri.equals(URL_GLOBAL_RATING)) {
+					examPath = false;
+					priority = RequestPriority.LOW;
+				} else {
+					filterChain.doFilter(request, response);
+					return;
+				}
+			}
+		}
+
+		if (!limiter.tryAcquire(priority)) {
+			reject(request, response, priority);
+			return;
+		}
+
+		int inFlightAtAcquire = limiter.getInFlight();
+		long start = System.nanoTime();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			// Задержку учитывают только синхронные запросы экзамена и античита
+			if (examPath && !request.isAsyncStarted()) {
+				limiter.release(System.nanoTime() - start, inFlightAtAcquire);
+			} else {
+				limiter.release();
+			}
+		}
+	}
+
+	private void reject(HttpServletRequest request, HttpServletResponse response, RequestPriority priority) throws IOException {
+		log.warn("Запрос {} {} отклонен ограничителем нагрузки (приоритет {}, лимит {}, выполняется {})",
+				request.getMethod(), request.getRequestURI(), priority, limiter.getLimit(), limiter.getInFlight());
+		response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+		response.setHeader("Retry-After", "1");
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setCharacterEncoding("UTF-8");
+		objectMapper.writeValue(response.getWriter(), ErrorResponse.of(
+				HttpStatus.SERVICE_UNAVAILABLE.value(),
+				HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+				"Сервер перегружен. Попробуйте отправить запрос снова чуть позже",
+				request.getRequestURI()
+		));
+	}
+}
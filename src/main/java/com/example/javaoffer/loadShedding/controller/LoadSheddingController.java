@@ -0,0 +1,42 @@
+package com.example.javaoffer.loadShedding.controller;
+
+import com.example.javaoffer.loadShedding.AdaptiveConcurrencyLimiter;
+import com.example.javaoffer.loadShedding.dto.LoadSheddingStatsDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import static com.example.javaoffer.common.constants.UrlConstant.URL_ADMIN_API_LOAD_SHEDDING;
+import static com.example.javaoffer.common.constants.UrlConstant.URL_ADMIN_ROOT;
+
+/**
+ * Контроллер мониторинга адаптивного ограничения нагрузки.
+ * <p>
+ * Отдает текущий лимит одновременных запросов, задержку запросов экзамена
+ * и счетчики пропущенных и отклоненных запросов по приоритетам.
+ *
+ * @author Garbuzov Oleg
+ */
+@Controller
+@RequestMapping(URL_ADMIN_ROOT)
+@RequiredArgsConstructor
+@Slf4j
+public class LoadSheddingController {
+
+	private final AdaptiveConcurrencyLimiter limiter;
+
+	/**
+	 * Возвращает состояние ограничителя нагрузки.
+	 *
+	 * @return состояние ограничителя
+	 */
+	@GetMapping(URL_ADMIN_API_LOAD_SHEDDING)
+	@ResponseBody
+	public LoadSheddingStatsDTO getLoadSheddingStats() {
+		log.debug("Запрос состояния ограничителя нагрузки");
+		return limiter.getStats();
+	}
+}
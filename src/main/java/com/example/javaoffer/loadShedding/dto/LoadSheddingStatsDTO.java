@@ -0,0 +1,50 @@
+package com.example.javaoffer.loadShedding.dto;
+
+import com.example.javaoffer.loadShedding.enums.RequestPriority;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Состояние адаптивного ограничения нагрузки для мониторинга.
+ *
+ * @author Garbuzov Oleg
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadSheddingStatsDTO {
+    /**
+     * Текущий лимит одновременных запросов
+     */
+    private int limit;
+
+    /**
+     * Количество выполняющихся запросов
+     */
+    private int inFlight;
+
+    /**
+     * Минимальная задержка запроса экзамена в текущем окне, мс
+     */
+    private double minRttMillis;
+
+    /**
+     * Сглаженная задержка запроса экзамена, мс
+     */
+    private double smoothedRttMillis;
+
+    /**
+     * Количество пропущенных запросов по приоритетам с момента запуска
+     */
+    private Map<RequestPriority, Long> admitted;
+
+    /**
+     * Количество отклоненных запросов по приоритетам с момента запуска
+     */
+    private Map<RequestPriority, Long> shed;
+}
@@ -0,0 +1,27 @@
+package com.example.javaoffer.loadShedding.enums;
+
+/**
+ * Приоритет запроса при адаптивном ограничении нагрузки.
+ * <p>
+ * Запросы с низким приоритетом отклоняются первыми: для каждого приоритета
+ * допускается своя доля текущего лимита одновременных запросов.
+ *
+ * @author Garbuzov Oleg
+ * @see com.example.javaoffer.loadShedding.AdaptiveConcurrencyLimiter
+ */
+public enum RequestPriority {
+    /**
+     * Проверка ответа и прерывание экзамена: отклоняются последними
+     */
+    CRITICAL,
+
+    /**
+     * Остальные запросы экзамена и античита
+     */
+    NORMAL,
+
+    /**
+     * Админка, GIF-анимации и глобальный рейтинг: отклоняются первыми
+     */
+    LOW
+}
@@ -0,0 +1,79 @@
+package com.example.javaoffer.loadShedding.property;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Конфигурационные свойства адаптивного ограничения нагрузки.
+ * <p>
+ * Загружаются из файла настроек приложения с префиксом "app.load-shedding".
+ *
+ * @author Garbuzov Oleg
+ * @see com.example.javaoffer.loadShedding.AdaptiveConcurrencyLimiter
+ */
+@Component
+@Data
+@ConfigurationProperties("app.load-shedding")
+public class LoadSheddingProperties {
+	/**
+	 * Включение ограничения нагрузки
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * Начальный лимит одновременных запросов
+	 */
+	private int initialLimit = 50;
+
+	/**
+	 * Минимальный лимит одновременных запросов
+	 */
+	private int minLimit = 10;
+
+	/**
+	 * Максимальный лимит одновременных запросов
+	 */
+	private int maxLimit = 400;
+
+	/**
+	 * Во сколько раз задержка запроса может превышать минимальную, прежде чем лимит будет уменьшен
+	 */
+	private double rttTolerance = 2.0;
+
+	/**
+	 * Множитель лимита при перегрузке (мультипликативное уменьшение)
+	 */
+	private double backoffRatio = 0.9;
+
+	/**
+	 * Период измерения минимальной задержки.
+	 * <p>
+	 * По окончании периода базовая задержка может подняться до минимума периода, но не больше
+	 * чем на {@link #minRttMaxGrowth}. Так лимит восстанавливается, если медленным стал сам
+	 * «нормальный» режим работы, а задержка при перегрузке не становится новой базой сразу.
+	 */
+	private Duration minRttWindow = Duration.ofMinutes(1);
+
+	/**
+	 * Максимальный рост базовой задержки за один период {@link #minRttWindow} (доля, 0.1 - на 10%)
+	 */
+	private double minRttMaxGrowth = 0.1;
+
+	/**
+	 * Доля лимита для запросов с приоритетом CRITICAL (больше 1 - резерв сверх лимита)
+	 */
+	private double criticalShare = 1.2;
+
+	/**
+	 * Доля лимита для запросов с приоритетом NORMAL
+	 */
+	private double normalShare = 0.8;
+
+	/**
+	 * Доля лимита для запросов с приоритетом LOW
+	 */
+	private double lowShare = 0.5;
+}
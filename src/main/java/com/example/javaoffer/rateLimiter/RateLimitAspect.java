@@ -2,21 +2,25 @@ package com.example.javaoffer.rateLimiter;
 
 import com.example.javaoffer.common.utils.ClientUtils;
 import com.example.javaoffer.rateLimiter.annotation.RateLimit;
+import com.example.javaoffer.rateLimiter.bucket.RateLimitBucketProvider;
 import com.example.javaoffer.rateLimiter.exception.RateLimitException;
-import io.github.bucket4j.Bandwidth;
+import com.example.javaoffer.rateLimiter.property.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.context.annotation.Profile;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
 import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -37,6 +41,17 @@ import java.util.concurrent.ConcurrentHashMap;
  * </ul>
  *
  * <p>
+ * Параметры аннотации читаются один раз на метод ({@link MethodLimits}), глобальный bucket
+ * метода создается вместе с ними. Пользовательские bucket'ы хранятся в ограниченном кеше
+ * ({@link RateLimitProperties#getMaxUserBuckets()}) с ключом "метод + пользователь" и удаляются,
+ * если к ним не обращались дольше окна пополнения: такой bucket уже полностью пополнен,
+ * поэтому удаление не ослабляет ограничение.
+ *
+ * <p>
+ * Bucket'ы создает {@link RateLimitBucketProvider}: в памяти узла или с общим состоянием
+ * в PostgreSQL, если лимиты должны действовать на весь кластер ({@code app.rate-limit.backend}).
+ *
+ * <p>
  * Исключен из тестового профиля для избежания влияния на производительность тестов.
  *
  * @author Garbuzov Oleg
@@ -44,23 +59,33 @@ import java.util.concurrent.ConcurrentHashMap;
 @Aspect
 @Profile("!test")
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class RateLimitAspect {
 
 	private final HttpServletRequest request;
+	private final RateLimitBucketProvider bucketProvider;
 
 	/**
-	 * Кэш bucket'ов для пользовательских ограничений.
-	 * Ключ: endpoint:username, Значение: Bucket с настроенными лимитами.
+	 * Ограничения по методам: параметры аннотации и глобальный bucket.
+	 * Ключ: метод-обработчик; количество записей ограничено количеством аннотированных методов.
 	 */
-	private final Map<String, Bucket> userBuckets = new ConcurrentHashMap<>();
+	private final Map<Method, MethodLimits> methodLimits = new ConcurrentHashMap<>();
 
 	/**
-	 * Кэш bucket'ов для глобальных ограничений.
-	 * Ключ: endpoint, Значение: Bucket с настроенными глобальными лимитами.
+	 * Кэш bucket'ов для пользовательских ограничений.
+	 * Ключ: метод + username или IP, Значение: Bucket с настроенными лимитами.
 	 */
-	private final Map<String, Bucket> endpointBuckets = new ConcurrentHashMap<>();
+	private final Cache<UserBucketKey, Bucket> userBuckets;
+
+	public RateLimitAspect(HttpServletRequest request, RateLimitProperties properties,
+						   RateLimitBucketProvider bucketProvider) {
+		this.request = request;
+		this.bucketProvider = bucketProvider;
+		this.userBuckets = Caffeine.newBuilder()
+				.maximumSize(properties.getMaxUserBuckets())
+				.expireAfter(new RefillWindowExpiry())
+				.build();
+	}
 
 	/**
 	 * Основной метод аспекта для ограничения частоты вызовов методов.
@@ -90,64 +115,77 @@ public class RateLimitAspect {
 	@Around("@annotation(rateLimit)")
 	@SuppressWarnings("unused")
 	public Object rateLimit(ProceedingJoinPoint joinPoint, RateLimit rateLimit) throws Throwable {
-		String endpointKey = request.getRequestURI();
-		String ip = ClientUtils.getClientIp(request);
-		String username = getCurrentUsernameOrIp(ip);
-		String userKey = endpointKey + ":" + username;
+		Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+		MethodLimits limits = methodLimits.computeIfAbsent(method, m -> new MethodLimits(m, rateLimit, bucketProvider));
+		String username = getCurrentUsernameOrIp(ClientUtils.getClientIp(request));
 
 		log.trace("RateLimitAspect: начало проверки rate limit для endpoint={}, user={}, userLimit={}, globalLimit={}",
-				endpointKey, username, rateLimit.userLimit(), rateLimit.globalLimit());
+				limits.name(), username, limits.userLimit(), limits.globalLimit());
 
 		try {
-			checkUserRateLimit(userKey, username, endpointKey, rateLimit);
-			checkGlobalRateLimit(endpointKey, rateLimit);
+			checkLimits(limits, username);
 
-			log.debug("RateLimitAspect: запрос разрешён, выполняем метод. Endpoint={}, user={}", endpointKey, username);
+			log.debug("RateLimitAspect: запрос разрешён, выполняем метод. Endpoint={}, user={}", limits.name(), username);
 			Object result = joinPoint.proceed();
 
-			log.trace("RateLimitAspect: метод успешно выполнен для endpoint={}, user={}", endpointKey, username);
+			log.trace("RateLimitAspect: метод успешно выполнен для endpoint={}, user={}", limits.name(), username);
 			return result;
 
 		} catch (RateLimitException e) {
 			log.info("RateLimitAspect: запрос отклонён из-за превышения лимита. Endpoint={}, user={}, причина={}",
-					endpointKey, username, e.getMessage());
+					limits.name(), username, e.getMessage());
 			throw e;
 		} catch (Exception e) {
 			log.error("RateLimitAspect: непредвиденная ошибка при проверке rate limit. Endpoint={}, user={}",
-					endpointKey, username, e);
+					limits.name(), username, e);
 			throw e;
 		}
 	}
 
+	/**
+	 * Проверяет пользовательский и глобальный лимиты метода.
+	 *
+	 * @param limits   ограничения метода
+	 * @param username имя пользователя или IP-адрес
+	 * @throws RateLimitException если превышен пользовательский или глобальный лимит
+	 */
+	void checkLimits(MethodLimits limits, String username) {
+		checkUserRateLimit(limits, username);
+		checkGlobalRateLimit(limits);
+	}
+
+	/**
+	 * Возвращает приблизительное количество пользовательских bucket'ов в памяти.
+	 *
+	 * @return количество bucket'ов
+	 */
+	long estimatedUserBucketCount() {
+		userBuckets.cleanUp();
+		return userBuckets.estimatedSize();
+	}
+
 	/**
 	 * Проверяет пользовательский лимит запросов.
 	 * <p>
 	 * Создаёт или получает существующий bucket для пользователя и пытается
 	 * получить токен. Если токенов нет, выбрасывает исключение.
 	 *
-	 * @param userKey     уникальный ключ пользователя для endpoint'а
-	 * @param username    имя пользователя для логирования
-	 * @param endpointKey путь endpoint'а
-	 * @param rateLimit   настройки лимитов
+	 * @param limits   ограничения метода
+	 * @param username имя пользователя или IP-адрес
 	 * @throws RateLimitException если превышен пользовательский лимит
 	 */
-	private void checkUserRateLimit(String userKey, String username, String endpointKey, RateLimit rateLimit) {
-		log.trace("RateLimitAspect: проверка пользовательского лимита. UserKey={}, лимит={}, период={}сек",
-				userKey, rateLimit.userLimit(), rateLimit.userDurationSeconds());
-
-		Bucket userBucket = userBuckets.computeIfAbsent(userKey, _ -> {
-			log.debug("RateLimitAspect: создание нового bucket для пользователя. UserKey={}", userKey);
-			return Bucket.builder()
-					.addLimit(Bandwidth.classic(
-							rateLimit.userLimit(),
-							Refill.greedy(rateLimit.userLimit(), Duration.ofSeconds(rateLimit.userDurationSeconds()))
-					))
-					.build();
+	private void checkUserRateLimit(MethodLimits limits, String username) {
+		log.trace("RateLimitAspect: проверка пользовательского лимита. Endpoint={}, user={}, лимит={}, период={}",
+				limits.name(), username, limits.userLimit(), limits.userWindow());
+
+		Bucket userBucket = userBuckets.get(new UserBucketKey(limits, username), _ -> {
+			log.debug("RateLimitAspect: создание нового bucket для пользователя. Endpoint={}, user={}", limits.name(), username);
+			return bucketProvider.create(limits.key() + ":" + username, limits.userLimit(), limits.userWindow());
 		});
 
 		if (!userBucket.tryConsume(1)) {
-			log.warn("RateLimitAspect: превышен пользовательский лимит. User={}, endpoint={}, лимит={}/{}сек",
-					username, endpointKey, rateLimit.userLimit(), rateLimit.userDurationSeconds());
+			log.warn("RateLimitAspect: превышен пользовательский лимит. User={}, endpoint={}, лимит={}/{}",
+					username, limits.name(), limits.userLimit(), limits.userWindow());
 			throw new RateLimitException("Превышен пользовательский лимит запросов. Попробуйте отправить запрос снова чуть позже");
 		}
 
@@ -157,39 +195,25 @@ public class RateLimitAspect {
 	/**
 	 * Проверяет глобальный лимит запросов, если он включен.
 	 * <p>
-	 * Создаёт или получает существующий глобальный bucket для endpoint'а.
-	 * Проверка выполняется только если globalLimit > 0.
+	 * Глобальный bucket создаётся один раз вместе с ограничениями метода.
 	 *
-	 * @param endpointKey путь endpoint'а
-	 * @param rateLimit   настройки лимитов
+	 * @param limits ограничения метода
 	 * @throws RateLimitException если превышен глобальный лимит
 	 */
-	private void checkGlobalRateLimit(String endpointKey, RateLimit rateLimit) {
-		if (rateLimit.globalLimit() <= 0) {
-			log.trace("RateLimitAspect: глобальный лимит отключён для endpoint={}", endpointKey);
+	private void checkGlobalRateLimit(MethodLimits limits) {
+		Bucket globalBucket = limits.globalBucket();
+		if (globalBucket == null) {
+			log.trace("RateLimitAspect: глобальный лимит отключён для endpoint={}", limits.name());
 			return;
 		}
 
-		log.trace("RateLimitAspect: проверка глобального лимита. Endpoint={}, лимит={}, период={}сек",
-				endpointKey, rateLimit.globalLimit(), rateLimit.globalDurationSeconds());
-
-		Bucket globalBucket = endpointBuckets.computeIfAbsent(endpointKey, _ -> {
-			log.debug("RateLimitAspect: создание нового глобального bucket. Endpoint={}", endpointKey);
-			return Bucket.builder()
-					.addLimit(Bandwidth.classic(
-							rateLimit.globalLimit(),
-							Refill.greedy(rateLimit.globalLimit(), Duration.ofSeconds(rateLimit.globalDurationSeconds()))
-					))
-					.build();
-		});
-
 		if (!globalBucket.tryConsume(1)) {
-			log.warn("RateLimitAspect: превышен глобальный лимит. Endpoint={}, лимит={}/{}сек",
-					endpointKey, rateLimit.globalLimit(), rateLimit.globalDurationSeconds());
+			log.warn("RateLimitAspect: превышен глобальный лимит. Endpoint={}, лимит={}/{}",
+					limits.name(), limits.globalLimit(), limits.globalWindow());
 			throw new RateLimitException("Превышен глобальный лимит запросов. Попробуйте отправить запрос снова чуть позже");
 		}
 
-		log.trace("RateLimitAspect: глобальный лимит пройден. Endpoint={}", endpointKey);
+		log.trace("RateLimitAspect: глобальный лимит пройден. Endpoint={}", limits.name());
 	}
 
 	/**
@@ -210,4 +234,87 @@ public class RateLimitAspect {
 
 		return identifier;
 	}
+
+	/**
+	 * Ограничения метода, прочитанные из аннотации один раз.
+	 * <p>
+	 * Равенство - по ссылке: на каждый метод создается один экземпляр.
+	 */
+	static final class MethodLimits {
+		private final String key;
+		private final String name;
+		private final int userLimit;
+		private final Duration userWindow;
+		private final int globalLimit;
+		private final Duration globalWindow;
+		private final Bucket globalBucket;
+
+		MethodLimits(Method method, RateLimit rateLimit, RateLimitBucketProvider bucketProvider) {
+			this.key = method.getDeclaringClass().getName() + "#" + method.getName();
+			this.name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+			this.userLimit = rateLimit.userLimit();
+			this.userWindow = Duration.ofSeconds(rateLimit.userDurationSeconds());
+			this.globalLimit = rateLimit.globalLimit();
+			this.globalWindow = Duration.ofSeconds(rateLimit.globalDurationSeconds());
+			this.globalBucket = globalLimit > 0 ? bucketProvider.create(key, globalLimit, globalWindow) : null;
+		}
+
+		/**
+		 * Ключ метода, одинаковый на всех узлах (используется хранилищем bucket'ов)
+		 */
+		String key() {
+			return key;
+		}
+
+		String name() {
+			return name;
+		}
+
+		int userLimit() {
+			return userLimit;
+		}
+
+		Duration userWindow() {
+			return userWindow;
+		}
+
+		int globalLimit() {
+			return globalLimit;
+		}
+
+		Duration globalWindow() {
+			return globalWindow;
+		}
+
+		Bucket globalBucket() {
+			return globalBucket;
+		}
+
+	}
+
+	/**
+	 * Ключ пользовательского bucket'а: метод и пользователь (имя или IP).
+	 */
+	private record UserBucketKey(MethodLimits limits, String username) {
+	}
+
+	/**
+	 * Пользовательский bucket живет, пока к нему обращаются чаще окна пополнения метода.
+	 */
+	private static class RefillWindowExpiry implements Expiry<UserBucketKey, Bucket> {
+		@Override
+		public long expireAfterCreate(UserBucketKey key, Bucket bucket, long currentTime) {
+			return key.limits().userWindow().toNanos();
+		}
+
+		@Override
+		public long expireAfterUpdate(UserBucketKey key, Bucket bucket, long currentTime, long currentDuration) {
+			return key.limits().userWindow().toNanos();
+		}
+
+		@Override
+		public long expireAfterRead(UserBucketKey key, Bucket bucket, long currentTime, long currentDuration) {
+			return key.limits().userWindow().toNanos();
+		}
+	}
 }
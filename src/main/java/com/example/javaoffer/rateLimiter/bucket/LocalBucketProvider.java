@@ -0,0 +1,26 @@
+package com.example.javaoffer.rateLimiter.bucket;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bucket'ы в памяти узла: лимиты действуют отдельно на каждом экземпляре приложения.
+ *
+ * @author Garbuzov Oleg
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "backend", havingValue = "local", matchIfMissing = true)
+public class LocalBucketProvider implements RateLimitBucketProvider {
+
+	@Override
+	public Bucket create(String key, int limit, Duration window) {
+		return Bucket.builder()
+				.addLimit(Bandwidth.classic(limit, Refill.greedy(limit, window)))
+				.build();
+	}
+}
@@ -0,0 +1,142 @@
+package com.example.javaoffer.rateLimiter.bucket;
+
+import com.example.javaoffer.rateLimiter.enums.PostgresLockStrategy;
+import com.example.javaoffer.rateLimiter.property.RateLimitProperties;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.Refill;
+import io.github.bucket4j.distributed.jdbc.BucketTableSettings;
+import io.github.bucket4j.distributed.jdbc.SQLProxyConfiguration;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.distributed.proxy.RemoteBucketBuilder;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
+import io.github.bucket4j.postgresql.PostgreSQLSelectForUpdateBasedProxyManager;
+import io.github.bucket4j.postgresql.PostgreSQLadvisoryLockBasedProxyManager;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bucket'ы с общим для всех узлов состоянием в PostgreSQL.
+ * <p>
+ * Состояние bucket'а хранится в таблице {@link RateLimitProperties.Postgres#getTableName()}
+ * и изменяется через Bucket4j {@link ProxyManager} под advisory-блокировкой или SELECT ... FOR UPDATE.
+ * Ключ bucket'а преобразуется в идентификатор строки хешем murmur3.
+ *
+ * <p>
+ * Чтобы обычный запрос не обращался к базе данных, bucket расходует токены локально
+ * и синхронизируется пачкой ({@link Optimizations#delaying(DelayParameters)}) после
+ * предвыборки или {@link RateLimitProperties.Postgres#getPrefetchTimeout()}. Лимит при этом
+ * может быть превышен не более чем на предвыборку каждого узла, поэтому она ограничена
+ * долей лимита самого bucket'а ({@link #prefetchTokens(int)}): пользовательские bucket'ы
+ * с маленьким лимитом синхронизируются на каждом запросе, предвыборка работает
+ * для bucket'ов с большим лимитом.
+ *
+ * <p>
+ * Строки, не изменявшиеся дольше {@link RateLimitProperties.Postgres#getStaleBucketTtl()},
+ * периодически удаляются: к этому моменту bucket полностью пополнен.
+ *
+ * @author Garbuzov Oleg
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "backend", havingValue = "postgres")
+@Slf4j
+public class PostgresBucketProvider implements RateLimitBucketProvider {
+	private final DataSource dataSource;
+	private final RateLimitProperties.Postgres properties;
+	private final ProxyManager<Long> proxyManager;
+	private final ScheduledExecutorService cleaner;
+
+	public PostgresBucketProvider(DataSource dataSource, RateLimitProperties rateLimitProperties) {
+		this.dataSource = dataSource;
+		this.properties = rateLimitProperties.getPostgres();
+
+		SQLProxyConfiguration configuration = new SQLProxyConfiguration(dataSource,
+				BucketTableSettings.customSettings(properties.getTableName(), "id", "state"));
+		this.proxyManager = properties.getLockStrategy() == PostgresLockStrategy.SELECT_FOR_UPDATE
+				? new PostgreSQLSelectForUpdateBasedProxyManager(configuration)
+				: new PostgreSQLadvisoryLockBasedProxyManager(configuration);
+
+		this.cleaner = Executors.newSingleThreadScheduledExecutor(
+				new ThreadFactoryBuilder().setNameFormat("rate-limit-bucket-cleaner").setDaemon(true).build());
+		long period = properties.getStaleBucketTtl().toSeconds();
+		cleaner.scheduleWithFixedDelay(this::purgeStaleBuckets, period, period, TimeUnit.SECONDS);
+
+		log.info("Rate limiting: состояние bucket'ов в PostgreSQL ({}, таблица {}, локальная предвыборка до {} токенов "
+						+ "и до {} лимита)", properties.getLockStrategy(), properties.getTableName(),
+				properties.getPrefetchTokens(), properties.getPrefetchMaxShare());
+	}
+
+	@Override
+	public Bucket create(String key, int limit, Duration window) {
+		BucketConfiguration configuration = BucketConfiguration.builder()
+				.addLimit(Bandwidth.classic(limit, Refill.greedy(limit, window)))
+				.build();
+
+		RemoteBucketBuilder<Long> builder = proxyManager.builder();
+		long prefetchTokens = prefetchTokens(limit);
+		if (prefetchTokens > 0) {
+			builder = builder.withOptimization(Optimizations.delaying(
+					new DelayParameters(prefetchTokens, properties.getPrefetchTimeout())));
+		}
+		return builder.build(toBucketId(key), configuration);
+	}
+
+	/**
+	 * Предвыборка bucket'а с указанным лимитом: не больше
+	 * {@link RateLimitProperties.Postgres#getPrefetchTokens()} и не больше
+	 * доли {@link RateLimitProperties.Postgres#getPrefetchMaxShare()} от лимита.
+	 *
+	 * @param limit количество токенов за окно
+	 * @return количество токенов, расходуемых локально до синхронизации
+	 */
+	long prefetchTokens(int limit) {
+		long byShare = (long) Math.floor(limit * properties.getPrefetchMaxShare());
+		return Math.max(0, Math.min(properties.getPrefetchTokens(), byShare));
+	}
+
+	/**
+	 * Удаляет строки bucket'ов, не изменявшиеся дольше {@link RateLimitProperties.Postgres#getStaleBucketTtl()}.
+	 *
+	 * @return количество удаленных строк
+	 */
+	int purgeStaleBuckets() {
+		String sql = "DELETE FROM " + properties.getTableName() + " WHERE updated_at < ?";
+		try (Connection connection = dataSource.getConnection();
+			 PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setTimestamp(1, Timestamp.from(Instant.now().minus(properties.getStaleBucketTtl())));
+			int deleted = statement.executeUpdate();
+			log.debug("Удалено устаревших bucket'ов rate limiting: {}", deleted);
+			return deleted;
+		} catch (SQLException e) {
+			log.error("Ошибка удаления устаревших bucket'ов rate limiting", e);
+			return 0;
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		cleaner.shutdownNow();
+	}
+
+	private static long toBucketId(String key) {
+		return Hashing.murmur3_128().hashString(key, StandardCharsets.UTF_8).asLong();
+	}
+}
@@ -0,0 +1,27 @@
+package com.example.javaoffer.rateLimiter.bucket;
+
+import io.github.bucket4j.Bucket;
+
+import java.time.Duration;
+
+/**
+ * Источник bucket'ов для {@link com.example.javaoffer.rateLimiter.RateLimitAspect}.
+ * <p>
+ * Реализация выбирается свойством {@code app.rate-limit.backend}: bucket'ы в памяти узла
+ * ({@link LocalBucketProvider}) или общие для всех узлов в PostgreSQL ({@link PostgresBucketProvider}).
+ * Аспект сам кеширует созданные bucket'ы, поэтому для одного ключа метод вызывается редко.
+ *
+ * @author Garbuzov Oleg
+ */
+public interface RateLimitBucketProvider {
+
+	/**
+	 * Создает bucket с классическим лимитом и жадным пополнением.
+	 *
+	 * @param key    ключ bucket'а, одинаковый на всех узлах для одного метода и пользователя
+	 * @param limit  количество токенов за окно
+	 * @param window окно пополнения
+	 * @return bucket
+	 */
+	Bucket create(String key, int limit, Duration window);
+}
@@ -0,0 +1,18 @@
+package com.example.javaoffer.rateLimiter.enums;
+
+/**
+ * Способ блокировки строки bucket'а в PostgreSQL при изменении его состояния.
+ *
+ * @author Garbuzov Oleg
+ */
+public enum PostgresLockStrategy {
+    /**
+     * Транзакционная advisory-блокировка по идентификатору bucket'а
+     */
+    ADVISORY_LOCK,
+
+    /**
+     * Блокировка строки через SELECT ... FOR UPDATE
+     */
+    SELECT_FOR_UPDATE
+}
@@ -0,0 +1,18 @@
+package com.example.javaoffer.rateLimiter.enums;
+
+/**
+ * Хранилище состояния bucket'ов ограничения частоты запросов.
+ *
+ * @author Garbuzov Oleg
+ */
+public enum RateLimitBackend {
+    /**
+     * Bucket'ы в памяти приложения. Лимиты действуют в пределах одного узла.
+     */
+    LOCAL,
+
+    /**
+     * Состояние bucket'ов в PostgreSQL. Лимиты общие для всех узлов.
+     */
+    POSTGRES
+}
@@ -0,0 +1,87 @@
+package com.example.javaoffer.rateLimiter.property;
+
+import com.example.javaoffer.rateLimiter.enums.PostgresLockStrategy;
+import com.example.javaoffer.rateLimiter.enums.RateLimitBackend;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Конфигурационные свойства ограничения частоты запросов.
+ * <p>
+ * Загружаются из файла настроек приложения с префиксом "app.rate-limit".
+ *
+ * @author Garbuzov Oleg
+ * @see com.example.javaoffer.rateLimiter.RateLimitAspect
+ */
+@Component
+@Data
+@ConfigurationProperties("app.rate-limit")
+public class RateLimitProperties {
+	/**
+	 * Максимальное количество пользовательских bucket'ов в памяти (по всем методам).
+	 * <p>
+	 * Bucket удаляется и раньше - если к нему не обращались дольше окна пополнения:
+	 * к этому моменту он полностью пополнен и не отличается от нового.
+	 * При переполнении вытесняются редко используемые bucket'ы.
+	 */
+	private long maxUserBuckets = 100_000;
+
+	/**
+	 * Хранилище состояния bucket'ов: LOCAL (по умолчанию) или POSTGRES для общих лимитов всех узлов
+	 */
+	private RateLimitBackend backend = RateLimitBackend.LOCAL;
+
+	/**
+	 * Настройки хранилища POSTGRES
+	 */
+	private Postgres postgres = new Postgres();
+
+	/**
+	 * Настройки хранения bucket'ов в PostgreSQL.
+	 */
+	@Data
+	public static class Postgres {
+		/**
+		 * Способ блокировки строки bucket'а
+		 */
+		private PostgresLockStrategy lockStrategy = PostgresLockStrategy.ADVISORY_LOCK;
+
+		/**
+		 * Таблица состояния bucket'ов (столбцы id, state, updated_at)
+		 */
+		private String tableName = "rate_limit_buckets";
+
+		/**
+		 * Количество токенов, которое узел может израсходовать локально до синхронизации с базой данных.
+		 * <p>
+		 * Большинство запросов обслуживается без обращения к базе; суммарное превышение лимита
+		 * ограничено предвыборкой каждого узла. 0 - каждый запрос синхронизируется.
+		 * Для конкретного bucket'а значение дополнительно ограничено {@link #prefetchMaxShare}.
+		 */
+		private long prefetchTokens = 5;
+
+		/**
+		 * Максимальная доля лимита bucket'а, которую узел может израсходовать локально.
+		 * <p>
+		 * Предвыборка bucket'а равна меньшему из {@link #prefetchTokens} и целой части
+		 * limit * prefetchMaxShare. Маленькие пользовательские лимиты (по умолчанию 5 запросов)
+		 * при этом синхронизируются на каждом запросе и соблюдаются точно на любом числе узлов,
+		 * а большие глобальные лимиты обслуживаются в основном локально.
+		 */
+		private double prefetchMaxShare = 0.1;
+
+		/**
+		 * Максимальное время, в течение которого локально израсходованные токены не синхронизируются
+		 */
+		private Duration prefetchTimeout = Duration.ofMillis(500);
+
+		/**
+		 * Строки bucket'ов, не изменявшиеся дольше этого времени, удаляются:
+		 * значение должно быть больше самого длинного окна пополнения
+		 */
+		private Duration staleBucketTtl = Duration.ofHours(1);
+	}
+}
@@ -22,7 +22,8 @@ import java.io.IOException;
  * фронтенду получать и использовать CSRF-токены для защиты от CSRF-атак.
  * </p>
  * Статические ресурсы (CSS, JS, изображения и т.д.) исключаются из обработки
- * для оптимизации производительности.
+ * для оптимизации производительности; категория запроса и XSRF-токен берутся
+ * из {@link RequestContext}.
  *
  * @author Garbuzov Oleg
  * @since 1.0
@@ -60,11 +61,7 @@ public class CsrfTokenGeneratingFilter extends OncePerRequestFilter {
 		String requestUri = request.getRequestURI();
 		log.trace("Обработка запроса в CsrfTokenGeneratingFilter: {}", requestUri);
 
-		if (requestUri.startsWith("/css")
-				|| requestUri.startsWith("/js")
-				|| requestUri.startsWith("/img")
-				|| requestUri.startsWith("/gifs")
-				|| requestUri.endsWith(".map")) {
+		if (RequestContext.of(request).isStatic()) {
 			log.trace("Пропуск статического ресурса: {}", requestUri);
 			filterChain.doFilter(request, response);
 			return;
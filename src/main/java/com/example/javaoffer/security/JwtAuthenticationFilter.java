@@ -2,6 +2,7 @@ package com.example.javaoffer.security;
 
 import com.example.javaoffer.security.dto.TokenResponseDTO;
 import com.example.javaoffer.security.service.JwtService;
+import com.example.javaoffer.security.service.ParsedToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -20,7 +21,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.Optional;
 
 import static com.example.javaoffer.common.constants.SecurityConstant.*;
@@ -44,14 +44,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 	private final UserDetailsService userDetailsService;
 	private final ObjectMapper objectMapper;
 
+	/**
+	 * Статические ресурсы не требуют аутентификации и пропускаются без разбора токенов.
+	 *
+	 * @param request HTTP-запрос
+	 * @return true для запроса к статическому ресурсу
+	 */
+	@Override
+	protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+		return RequestContext.of(request).isStatic();
+	}
+
 	/**
 	 * Основной метод фильтра, выполняющий проверку и обработку JWT-токенов.
 	 * <p>
 	 * Процесс обработки:
 	 * <ol>
-	 *   <li>Извлечение JWT-токена из запроса (заголовка или куки)</li>
+	 *   <li>Получение JWT-токена из {@link RequestContext} (извлечен из заголовка или куки в начале цепочки)</li>
 	 *   <li>Если токен отсутствует, запрос передается дальше без изменений</li>
-	 *   <li>Извлечение имени пользователя из токена</li>
+	 *   <li>Однократный разбор токена с проверкой подписи; поврежденный токен игнорируется</li>
+	 *   <li>Извлечение имени пользователя из разобранного токена</li>
 	 *   <li>Если имя пользователя валидно и аутентификация не установлена, загрузка данных пользователя</li>
 	 *   <li>Проверка валидности токена для данного пользователя</li>
 	 *   <li>Если токен валиден, устанавливает аутентификацию пользователя</li>
@@ -74,14 +86,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
 		log.trace("Обработка запроса в JwtAuthenticationFilter: {}", request.getRequestURI());
 
-		String jwt = getJwtFromRequest(request);
+		RequestContext requestContext = RequestContext.of(request);
+		String jwt = requestContext.accessToken();
 		if (jwt == null) {
 			log.trace("JWT токен не найден в запросе: {}", request.getRequestURI());
 			filterChain.doFilter(request, response);
 			return;
 		}
 
-		String userName = jwtService.extractUsername(jwt);
+		Optional<ParsedToken> parsedToken = jwtService.parseToken(jwt);
+		if (parsedToken.isEmpty()) {
+			log.debug("JWT токен поврежден или подпись неверна: {}", request.getRequestURI());
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		String userName = parsedToken.get().subject();
 		log.debug("Извлечено имя пользователя из JWT: {}", userName);
 
 		if (userName != null && SecurityContextHolder.getContext().getAuthentication() == null) {
@@ -89,7 +109,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 				UserDetails userDetails = this.userDetailsService.loadUserByUsername(userName);
 				log.trace("Загружены данные пользователя: {}", userName);
 
-				if (jwtService.isTokenValid(jwt, userDetails)) {
+				if (jwtService.isTokenValid(parsedToken.get(), userDetails)) {
 					UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
 							userDetails,
 							null,
@@ -101,8 +121,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 				} else {
 					log.debug("Access токен истек для пользователя: {}, пытаемся обновить", userName);
 
-					String refreshToken = getRefreshTokenFromRequest(request);
-					if (refreshToken != null && jwtService.isTokenValid(refreshToken, userDetails)) {
+					String refreshToken = requestContext.refreshToken();
+					if (refreshToken != null && jwtService.parseToken(refreshToken)
+							.filter(token -> jwtService.isTokenValid(token, userDetails))
+							.isPresent()) {
 						log.info("Обновление токенов для пользователя: {}", userName);
 
 						TokenResponseDTO newTokens = jwtService.generateTokens(userDetails);
@@ -139,70 +161,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
 		filterChain.doFilter(request, response);
 	}
-
-	/**
-	 * Извлекает JWT-токен из HTTP-запроса.
-	 * <p>
-	 * Пытается получить токен в следующем порядке:
-	 * <ol>
-	 *   <li>Из заголовка Authorization (формат "Bearer {token}")</li>
-	 *   <li>Из куки access_token</li>
-	 * </ol>
-	 *
-	 * @param request HTTP-запрос
-	 * @return JWT-токен или null, если токен не найден
-	 */
-	private String getJwtFromRequest(HttpServletRequest request) {
-		String authHeader = request.getHeader(AUTHORIZATION_HEADER);
-		if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
-			log.trace("JWT токен получен из заголовка Authorization");
-			return authHeader.substring(BEARER_PREFIX.length());
-		}
-
-		Cookie[] cookies = request.getCookies();
-		if (cookies != null) {
-			Optional<Cookie> accessTokenCookie = Arrays.stream(cookies)
-					.filter(cookie -> COOKIE_ACCESS_TOKEN.equals(cookie.getName()))
-					.findFirst();
-			if (accessTokenCookie.isPresent()) {
-				log.trace("JWT токен получен из cookie");
-				return accessTokenCookie.get().getValue();
-			}
-		}
-
-		return null;
-	}
-
-	/**
-	 * Извлекает refresh-токен из HTTP-запроса.
-	 * <p>
-	 * Пытается получить токен в следующем порядке:
-	 * <ol>
-	 *   <li>Из заголовка Refresh-Token</li>
-	 *   <li>Из куки refresh_token</li>
-	 * </ol>
-	 *
-	 * @param request HTTP-запрос
-	 * @return refresh-токен или null, если токен не найден
-	 */
-	private String getRefreshTokenFromRequest(HttpServletRequest request) {
-		String refreshTokenHeader = request.getHeader(REFRESH_TOKEN_HEADER);
-		if (refreshTokenHeader != null) {
-			log.trace("Refresh токен получен из заголовка");
-			return refreshTokenHeader;
-		}
-
-		Cookie[] cookies = request.getCookies();
-		if (cookies != null) {
-			Optional<Cookie> refreshTokenCookie = Arrays.stream(cookies)
-					.filter(cookie -> COOKIE_REFRESH_TOKEN.equals(cookie.getName()))
-					.findFirst();
-			if (refreshTokenCookie.isPresent()) {
-				log.trace("Refresh токен получен из cookie");
-				return refreshTokenCookie.get().getValue();
-			}
-		}
-
-		return null;
-	}
-} 
\ No newline at end of file
+}
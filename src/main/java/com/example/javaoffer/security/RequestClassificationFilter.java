@@ -0,0 +1,44 @@
+package com.example.javaoffer.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Первый фильтр цепочки: классифицирует запрос и извлекает токены.
+ * <p>
+ * Для каждого запроса один раз создается {@link RequestContext} с категорией запроса
+ * (статический ресурс, публичная страница, API экзамена, античит, админка)
+ * и токенами access, refresh и XSRF. Контекст сохраняется в атрибуте запроса
+ * и используется остальными фильтрами и контроллерами.
+ * <p>
+ * Статические ресурсы исключаются из цепочки Spring Security
+ * ({@link com.example.javaoffer.security.config.SecurityConfig#webSecurityCustomizer()}),
+ * а собственные фильтры безопасности их пропускают.
+ *
+ * @author Garbuzov Oleg
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class RequestClassificationFilter extends OncePerRequestFilter {
+
+	@Override
+	protected void doFilterInternal(@NonNull HttpServletRequest request,
+									@NonNull HttpServletResponse response,
+									@NonNull FilterChain filterChain) throws ServletException, IOException {
+		RequestContext context = RequestContext.resolve(request);
+		request.setAttribute(RequestContext.ATTRIBUTE, context);
+		log.trace("Запрос {} отнесен к категории {}", request.getRequestURI(), context.category());
+		filterChain.doFilter(request, response);
+	}
+}
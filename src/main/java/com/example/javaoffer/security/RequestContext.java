@@ -0,0 +1,137 @@
+package com.example.javaoffer.security;
+
+import com.example.javaoffer.security.enums.RequestCategory;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+
+import static com.example.javaoffer.common.constants.SecurityConstant.*;
+import static com.example.javaoffer.common.constants.UrlConstant.*;
+
+/**
+ * Данные запроса, извлекаемые один раз в начале цепочки фильтров.
+ * <p>
+ * Содержит категорию запроса и токены из заголовков и cookie. Фильтры безопасности
+ * и контроллеры читают токены отсюда, а не перебирают cookie запроса повторно.
+ * Для статических ресурсов cookie не разбираются.
+ *
+ * @param category     категория запроса
+ * @param accessToken  access-токен из заголовка Authorization или cookie (может быть null)
+ * @param refreshToken refresh-токен из заголовка Refresh-Token или cookie (может быть null)
+ * @param xsrfToken    XSRF-токен из cookie (может быть null)
+ * @author Garbuzov Oleg
+ * @see RequestClassificationFilter
+ */
+public record RequestContext(RequestCategory category, String accessToken, String refreshToken, String xsrfToken) {
+
+	/**
+	 * Имя атрибута запроса, в котором хранится контекст
+	 */
+	public static final String ATTRIBUTE = RequestContext.class.getName();
+
+	private static final String[] STATIC_PREFIXES = {"/css/", "/js/", "/img/", "/gifs/"};
+	private static final String[] STATIC_FILES = {"/robots.txt", "/sitemap.xml", "/favicon.ico"};
+
+	/**
+	 * Возвращает контекст запроса.
+	 * <p>
+	 * Обычно контекст уже создан {@link RequestClassificationFilter}; если запрос
+	 * не прошел через фильтр, контекст создается и сохраняется при первом обращении.
+	 *
+	 * @param request HTTP-запрос
+	 * @return контекст запроса
+	 */
+	public static RequestContext of(HttpServletRequest request) {
+		if (request.getAttribute(ATTRIBUTE) instanceof RequestContext context) {
+			return context;
+		}
+		RequestContext context = resolve(request);
+		request.setAttribute(ATTRIBUTE, context);
+		return context;
+	}
+
+	/**
+	 * Проверяет, является ли запрос запросом к статическому ресурсу.
+	 *
+	 * @return true для статического ресурса
+	 */
+	public boolean isStatic() {
+		return category == RequestCategory.STATIC;
+	}
+
+	/**
+	 * Определяет категорию запроса и за один проход извлекает токены.
+	 *
+	 * @param request HTTP-запрос
+	 * @return новый контекст запроса
+	 */
+	static RequestContext resolve(HttpServletRequest request) {
+		RequestCategory category = classify(request.getRequestURI());
+		if (category == RequestCategory.STATIC) {
+			return new RequestContext(category, null, null, null);
+		}
+
+		String accessToken = null;
+		String refreshToken = null;
+		String xsrfToken = null;
+		Cookie[] cookies = request.getCookies();
+		if (cookies != null) {
+			for (Cookie cookie : cookies) {
+				String name = cookie.getName();
+				if (accessToken == null && COOKIE_ACCESS_TOKEN.equals(name)) {
+					accessToken = cookie.getValue();
+				} else if (refreshToken == null && COOKIE_REFRESH_TOKEN.equals(name)) {
+					refreshToken = cookie.getValue();
+				} else if (xsrfToken == null && COOKIE_XSRF_TOKEN.equals(name)) {
+					xsrfToken = cookie.getValue();
+				}
+			}
+		}
+
+		// Заголовки имеют приоритет над cookie
+		String authHeader = request.getHeader(AUTHORIZATION_HEADER);
+		if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
+			accessToken = authHeader.substring(BEARER_PREFIX.length());
+		}
+		String refreshTokenHeader = request.getHeader(REFRESH_TOKEN_HEADER);
+		if (refreshTokenHeader != null) {
+			refreshToken = refreshTokenHeader;
+		}
+
+		return new RequestContext(category, accessToken, refreshToken, xsrfToken);
+	}
+
+	/**
+	 * Определяет категорию запроса по URI.
+	 *
+	 * @param uri URI запроса
+	 * @return категория запроса
+	 */
+	static RequestCategory classify(String uri) {
+		if (uri == null) {
+			return RequestCategory.PUBLIC;
+		}
+		for (String prefix : STATIC_PREFIXES) {
+			if (uri.startsWith(prefix)) {
+				return RequestCategory.STATIC;
+			}
+		}
+		for (String file : STATIC_FILES) {
+			if (uri.equals(file)) {
+				return RequestCategory.STATIC;
+			}
+		}
+		if (uri.endsWith(".map")) {
+			return RequestCategory.STATIC;
+		}
+		if (uri.startsWith(URL_ANTICHEAT_API_ROOT)) {
+			return RequestCategory.ANTI_CHEAT;
+		}
+		if (uri.startsWith(URL_EXAM_ROOT)) {
+			return RequestCategory.EXAM_API;
+		}
+		if (uri.equals(URL_ADMIN_ROOT) || uri.startsWith(URL_ADMIN_ROOT + "/")) {
+			return RequestCategory.ADMIN;
+		}
+		return RequestCategory.PUBLIC;
+	}
+}
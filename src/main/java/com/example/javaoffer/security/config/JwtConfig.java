@@ -39,4 +39,10 @@ public class JwtConfig {
      * после истечения срока действия предыдущего.
      */
     private long refreshTokenExpiration;
-} 
\ No newline at end of file
+
+    /**
+     * Максимальное количество недавно проверенных токенов в кеше.
+     * Повторный запрос с тем же токеном не требует повторного разбора и проверки подписи.
+     */
+    private int verifiedTokenCacheSize = 10_000;
+}
@@ -0,0 +1,35 @@
+package com.example.javaoffer.security.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Настройки кеша аутентифицированных пользователей.
+ * <p>
+ * Класс загружает настройки из файла конфигурации приложения, используя префикс
+ * "security.principal-cache". Кеш избавляет фильтр аутентификации от запроса
+ * к таблице users на каждый HTTP-запрос с валидным JWT-токеном.
+ *
+ * @author Garbuzov Oleg
+ * @see com.example.javaoffer.security.service.PrincipalCache
+ */
+@Configuration
+@ConfigurationProperties(prefix = "security.principal-cache")
+@Getter
+@Setter
+public class PrincipalCacheProperties {
+    /**
+     * Время жизни записи после загрузки из базы данных.
+     * Ограничивает устаревание данных, изменённых в обход {@link com.example.javaoffer.user.service.UserService}.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * Максимальное количество пользователей в кеше.
+     */
+    private int maximumSize = 10_000;
+}
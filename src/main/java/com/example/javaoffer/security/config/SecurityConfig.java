@@ -1,6 +1,8 @@
 package com.example.javaoffer.security.config;
 
 import com.example.javaoffer.security.JwtAuthenticationFilter;
+import com.example.javaoffer.security.RequestClassificationFilter;
+import com.example.javaoffer.security.RequestContext;
 import com.example.javaoffer.security.dto.TokenResponseDTO;
 import com.example.javaoffer.security.service.CustomCsrfTokenRepository;
 import com.example.javaoffer.security.service.CustomUserDetailsService;
@@ -21,6 +23,7 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -162,6 +165,20 @@ public class SecurityConfig {
 		return http.build();
 	}
 
+	/**
+	 * Исключает статические ресурсы из цепочки фильтров Spring Security.
+	 * <p>
+	 * Категория запроса определяется {@link RequestClassificationFilter} до цепочки безопасности,
+	 * поэтому для CSS, JS, изображений, GIF и source map не создается контекст безопасности,
+	 * не проверяется CSRF и не добавляются заголовки безопасности.
+	 *
+	 * @return настройка игнорируемых запросов
+	 */
+	@Bean
+	public WebSecurityCustomizer webSecurityCustomizer() {
+		return web -> web.ignoring().requestMatchers(request -> RequestContext.of(request).isStatic());
+	}
+
 	/**
 	 * Создает провайдер аутентификации, использующий хранилище пользователей
 	 * и механизм кодирования паролей.
@@ -0,0 +1,38 @@
+package com.example.javaoffer.security.enums;
+
+/**
+ * Категория HTTP-запроса, определяемая один раз в начале цепочки фильтров.
+ * <p>
+ * Категория служит для быстрого выбора обработки запроса фильтрами
+ * и не заменяет правила авторизации {@link com.example.javaoffer.security.config.SecurityConfig}.
+ *
+ * @author Garbuzov Oleg
+ * @see com.example.javaoffer.security.RequestClassificationFilter
+ */
+public enum RequestCategory {
+    /**
+     * Статический ресурс (CSS, JS, изображения, GIF, source map, SEO-файлы).
+     * Обрабатывается без фильтров безопасности.
+     */
+    STATIC,
+
+    /**
+     * Страница или API, не относящиеся к остальным категориям
+     */
+    PUBLIC,
+
+    /**
+     * Запросы экзамена (следующий вопрос, проверка ответа, прерывание)
+     */
+    EXAM_API,
+
+    /**
+     * Запросы античита (heartbeat и события нарушений)
+     */
+    ANTI_CHEAT,
+
+    /**
+     * Административная панель и ее API
+     */
+    ADMIN
+}
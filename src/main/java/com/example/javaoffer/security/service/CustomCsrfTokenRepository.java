@@ -1,5 +1,6 @@
 package com.example.javaoffer.security.service;
 
+import com.example.javaoffer.security.RequestContext;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -87,7 +88,7 @@ public class CustomCsrfTokenRepository implements CsrfTokenRepository {
 	/**
 	 * Загружает CSRF-токен из HTTP-запроса.
 	 * <p>
-	 * Метод ищет куки с именем X-XSRF-TOKEN в запросе и, если находит,
+	 * Метод берет значение куки X-XSRF-TOKEN из {@link RequestContext} и, если оно есть,
 	 * создает объект CsrfToken с соответствующим значением.
 	 * 
 	 *
@@ -97,16 +98,13 @@ public class CustomCsrfTokenRepository implements CsrfTokenRepository {
 	@Override
 	public CsrfToken loadToken(HttpServletRequest request) {
 		log.trace("Поиск CSRF токена в запросе: {}", request.getRequestURI());
-		
-		if (request.getCookies() != null) {
-			for (Cookie cookie : request.getCookies()) {
-				if (COOKIE_XSRF_TOKEN.equals(cookie.getName())) {
-					log.trace("CSRF токен найден в куки");
-					return new DefaultCsrfToken(COOKIE_XSRF_TOKEN, CSRF_PARAMETER_NAME, cookie.getValue());
-				}
-			}
+
+		String token = RequestContext.of(request).xsrfToken();
+		if (token != null) {
+			log.trace("CSRF токен найден в куки");
+			return new DefaultCsrfToken(COOKIE_XSRF_TOKEN, CSRF_PARAMETER_NAME, token);
 		}
-		
+
 		log.trace("CSRF токен не найден в запросе");
 		return null;
 	}
@@ -28,12 +28,14 @@ import org.springframework.stereotype.Service;
 public class CustomUserDetailsService implements UserDetailsService {
 
 	private final UserRepository userRepository;
+	private final PrincipalCache principalCache;
 
 	/**
 	 * Загружает данные пользователя по имени пользователя.
 	 * <p>
-	 * Выполняет поиск пользователя в базе данных по имени пользователя.
-	 * Если пользователь найден, возвращает объект UserDetails с его данными.
+	 * Выполняет поиск пользователя в кеше аутентифицированных пользователей ({@link PrincipalCache}),
+	 * а при промахе - в базе данных по имени пользователя.
+	 * Если пользователь найден, возвращает копию объекта UserDetails с его данными.
 	 * В противном случае выбрасывает исключение UsernameNotFoundException.
 	 *
 	 * @param username имя пользователя для поиска
@@ -44,9 +46,9 @@ public class CustomUserDetailsService implements UserDetailsService {
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 		log.debug("Поиск пользователя с именем: {}", username);
 
-		return userRepository.findByUsername(username)
+		return principalCache.get(username, userRepository::findByUsername)
 				.map(user -> {
-					log.trace("Пользователь {} найден в базе данных", username);
+					log.trace("Пользователь {} найден", username);
 					return user;
 				})
 				.orElseThrow(() -> {
@@ -2,20 +2,28 @@ package com.example.javaoffer.security.service;
 
 import com.example.javaoffer.security.config.JwtConfig;
 import com.example.javaoffer.security.dto.TokenResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Optional;
 
 /**
  * Сервис для работы с JWT (JSON Web Tokens).
@@ -23,43 +31,69 @@ import java.util.function.Function;
  * Предоставляет методы для:
  * <ul>
  *   <li>Генерации токенов доступа и обновления</li>
- *   <li>Извлечения информации из токенов</li>
+ *   <li>Разбора и проверки подписи токенов</li>
  *   <li>Проверки валидности токенов</li>
  * </ul>
- * 
+ * Ключ подписи и парсер создаются один раз при запуске: {@link JwtParser} неизменяем
+ * и потокобезопасен. Недавно проверенные неистекшие токены хранятся в ограниченном кеше,
+ * ключом которого служит SHA-256 токена (сами токены в памяти не хранятся); запись
+ * удаляется из кеша в момент истечения срока действия токена.
  *
  * @author Garbuzov Oleg
  * @since 1.0
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class JwtService {
 	private final JwtConfig jwtConfig;
+	private final SecretKey signingKey;
+	private final JwtParser jwtParser;
+	private final Cache<HashCode, ParsedToken> verifiedTokens;
+
+	public JwtService(JwtConfig jwtConfig) {
+		this.jwtConfig = jwtConfig;
+		this.signingKey = Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes());
+		this.jwtParser = Jwts.parser()
+				.verifyWith(signingKey)
+				.build();
+		this.verifiedTokens = Caffeine.newBuilder()
+				.maximumSize(jwtConfig.getVerifiedTokenCacheSize())
+				.expireAfter(new TokenExpiry())
+				.build();
+	}
 
 	/**
-	 * Извлекает имя пользователя (subject) из JWT-токена.
+	 * Разбирает токен и проверяет его подпись.
+	 * <p>
+	 * Неистекший токен сначала ищется в кеше проверенных токенов. Истекший токен
+	 * с корректной подписью возвращается (его имя пользователя нужно для обновления токенов),
+	 * но не кешируется.
 	 *
 	 * @param token JWT-токен
-	 * @return имя пользователя
+	 * @return разобранный токен или пустой Optional, если токен поврежден или подпись неверна
 	 */
-	public String extractUsername(String token) {
-		String username = extractClaim(token, Claims::getSubject);
-		log.trace("Извлечено имя пользователя из токена: {}", username);
-		return username;
-	}
+	public Optional<ParsedToken> parseToken(String token) {
+		HashCode key = Hashing.sha256().hashString(token, StandardCharsets.UTF_8);
+		ParsedToken cached = verifiedTokens.getIfPresent(key);
+		if (cached != null) {
+			log.trace("Токен пользователя {} найден в кеше проверенных токенов", cached.subject());
+			return Optional.of(cached);
+		}
 
-	/**
-	 * Извлекает определенное утверждение (claim) из JWT-токена.
-	 *
-	 * @param token          JWT-токен
-	 * @param claimsResolver функция для извлечения нужного утверждения из объекта Claims
-	 * @param <T>            тип возвращаемого значения
-	 * @return значение утверждения, извлеченное из токена
-	 */
-	public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-		final Claims claims = extractAllClaims(token);
-		return claimsResolver.apply(claims);
+		try {
+			ParsedToken parsed = toParsedToken(jwtParser.parseSignedClaims(token).getPayload());
+			if (!parsed.isExpired()) {
+				verifiedTokens.put(key, parsed);
+			}
+			log.trace("Успешно разобран токен пользователя: {}", parsed.subject());
+			return Optional.of(parsed);
+		} catch (ExpiredJwtException e) {
+			log.debug("Токен истек, но структурно валиден. Извлекаем claims из исключения");
+			return Optional.of(toParsedToken(e.getClaims()));
+		} catch (Exception e) {
+			log.error("Ошибка при разборе токена: {}", e.getMessage());
+			return Optional.empty();
+		}
 	}
 
 	/**
@@ -89,88 +123,34 @@ public class JwtService {
 	}
 
 	/**
-	 * Проверяет, валиден ли токен для указанного пользователя.
+	 * Проверяет, валиден ли разобранный токен для указанного пользователя.
 	 * Токен считается валидным, если:
 	 * <ul>
 	 *   <li>Имя пользователя в токене совпадает с именем пользователя в UserDetails</li>
 	 *   <li>Срок действия токена не истек</li>
 	 * </ul>
 	 *
-	 * @param token       JWT-токен
+	 * @param token       разобранный JWT-токен
 	 * @param userDetails данные пользователя
 	 * @return true, если токен валиден для указанного пользователя
 	 */
-	public boolean isTokenValid(String token, UserDetails userDetails) {
-		final String username = extractUsername(token);
-		boolean isValid = username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-
-		if (!isValid) {
-			if (!username.equals(userDetails.getUsername())) {
-				log.warn("Несоответствие имени пользователя в токене: {} и в UserDetails: {}",
-						username, userDetails.getUsername());
-			} else if (isTokenExpired(token)) {
-				log.warn("Токен истек для пользователя: {}", username);
-			}
-		} else {
-			log.trace("Токен валиден для пользователя: {}", username);
+	public boolean isTokenValid(ParsedToken token, UserDetails userDetails) {
+		if (token.subject() == null || !token.subject().equals(userDetails.getUsername())) {
+			log.warn("Несоответствие имени пользователя в токене: {} и в UserDetails: {}",
+					token.subject(), userDetails.getUsername());
+			return false;
 		}
-
-		return isValid;
-	}
-
-	/**
-	 * Проверяет, истек ли срок действия токена.
-	 *
-	 * @param token JWT-токен
-	 * @return true, если срок действия токена истек
-	 */
-	private boolean isTokenExpired(String token) {
-		Date expiration = extractExpiration(token);
-		boolean isExpired = expiration.before(new Date());
-
-		if (isExpired) {
-			log.trace("Токен истек: срок истечения был {}", expiration);
+		if (token.isExpired()) {
+			log.debug("Токен истек для пользователя: {}, срок истечения был {}", token.subject(), token.expiration());
+			return false;
 		}
-
-		return isExpired;
+		log.trace("Токен валиден для пользователя: {}", token.subject());
+		return true;
 	}
 
-	/**
-	 * Извлекает дату истечения срока действия из токена.
-	 *
-	 * @param token JWT-токен
-	 * @return дата истечения срока действия токена
-	 */
-	private Date extractExpiration(String token) {
-		return extractClaim(token, Claims::getExpiration);
-	}
-
-	/**
-	 * Извлекает все утверждения (claims) из JWT-токена.
-	 * <p>
-	 * Метод пытается распарсить токен и вернуть его содержимое. В случае,
-	 * если токен истек, но структурно валиден, возвращает утверждения из исключения.
-	 * В случае других ошибок возвращает null.
-	 *
-	 * @param token JWT-токен
-	 * @return объект Claims, содержащий все утверждения из токена, или null в случае ошибки
-	 */
-	private Claims extractAllClaims(String token) {
-		try {
-			Claims claims = Jwts.parser()
-					.verifyWith(getSigningKey())
-					.build()
-					.parseSignedClaims(token)
-					.getPayload();
-			log.trace("Успешно извлечены claims из токена");
-			return claims;
-		} catch (ExpiredJwtException e) {
-			log.debug("Токен истек, но структурно валиден. Извлекаем claims из исключения");
-			return e.getClaims();
-		} catch (Exception e) {
-			log.error("Ошибка при извлечении claims из токена: {}", e.getMessage());
-			return null;
-		}
+	private static ParsedToken toParsedToken(Claims claims) {
+		Date expiration = claims.getExpiration();
+		return new ParsedToken(claims.getSubject(), expiration != null ? expiration.toInstant() : null);
 	}
 
 	/**
@@ -193,17 +173,27 @@ public class JwtService {
 				.subject(userDetails.getUsername())
 				.issuedAt(issuedAt)
 				.expiration(expirationDate)
-				.signWith(getSigningKey())
+				.signWith(signingKey)
 				.compact();
 	}
 
 	/**
-	 * Получает ключ для подписи JWT-токенов.
-	 *
-	 * @return ключ для подписи, основанный на секрете из конфигурации
+	 * Время жизни записи кеша проверенных токенов: до истечения срока действия токена.
 	 */
-	private SecretKey getSigningKey() {
-		byte[] keyBytes = jwtConfig.getSecret().getBytes();
-		return Keys.hmacShaKeyFor(keyBytes);
+	private static class TokenExpiry implements Expiry<HashCode, ParsedToken> {
+		@Override
+		public long expireAfterCreate(HashCode key, ParsedToken token, long currentTime) {
+			return Math.max(0, Duration.between(Instant.now(), token.expiration()).toNanos());
+		}
+
+		@Override
+		public long expireAfterUpdate(HashCode key, ParsedToken token, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, token, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(HashCode key, ParsedToken token, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
 	}
-} 
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package com.example.javaoffer.security.service;
+
+import java.time.Instant;
+
+/**
+ * Результат разбора JWT-токена с проверенной подписью.
+ * <p>
+ * Токен разбирается и проверяется один раз ({@link JwtService#parseToken(String)}),
+ * после чего все проверки выполняются над этим объектом без повторного разбора.
+ * Истекший токен с корректной подписью тоже разбирается: по его имени пользователя
+ * фильтр аутентификации пытается обновить токены.
+ *
+ * @param subject    имя пользователя (subject)
+ * @param expiration время истечения срока действия (может быть null, если не указано в токене)
+ * @author Garbuzov Oleg
+ */
+public record ParsedToken(String subject, Instant expiration) {
+
+	/**
+	 * Проверяет, истек ли срок действия токена.
+	 * Токен без срока действия считается истекшим.
+	 *
+	 * @param now текущий момент времени
+	 * @return true, если срок действия токена истек
+	 */
+	public boolean isExpired(Instant now) {
+		return expiration == null || expiration.isBefore(now);
+	}
+
+	/**
+	 * Проверяет, истек ли срок действия токена на текущий момент.
+	 *
+	 * @return true, если срок действия токена истек
+	 */
+	public boolean isExpired() {
+		return isExpired(Instant.now());
+	}
+}
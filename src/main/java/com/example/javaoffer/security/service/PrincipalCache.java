@@ -0,0 +1,107 @@
+package com.example.javaoffer.security.service;
+
+import com.example.javaoffer.security.config.PrincipalCacheProperties;
+import com.example.javaoffer.user.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Кеш аутентифицированных пользователей по имени пользователя.
+ * <p>
+ * В кеше хранятся снимки пользователей: копии скалярных полей сущности без связанных
+ * коллекций. Снимок никогда не отдается наружу - каждое чтение возвращает новую копию,
+ * поэтому изменения объекта пользователя в SecurityContext (например, установка
+ * незавершенного экзамена) не попадают в кеш и в запросы других потоков.
+ * Копия не привязана к сессии Hibernate и не должна сохраняться через {@code save}:
+ * изменения пользователя выполняются точечными запросами {@link com.example.javaoffer.user.service.UserService}.
+ *
+ * <p>
+ * Запись живет {@link PrincipalCacheProperties#getTtl()} с момента загрузки и удаляется сразу
+ * при изменении пользователя ({@link #invalidate(String)}), в том числе при блокировке учетной записи.
+ *
+ * @author Garbuzov Oleg
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+	private final Cache<String, User> users;
+
+	public PrincipalCache(PrincipalCacheProperties properties) {
+		this.users = Caffeine.newBuilder()
+				.maximumSize(properties.getMaximumSize())
+				.expireAfterWrite(properties.getTtl())
+				.build();
+	}
+
+	/**
+	 * Возвращает копию пользователя из кеша или загружает его.
+	 * <p>
+	 * Отсутствие пользователя не кешируется.
+	 *
+	 * @param username имя пользователя
+	 * @param loader   загрузка пользователя из базы данных
+	 * @return копия пользователя или пустой Optional, если пользователь не найден
+	 */
+	public Optional<User> get(String username, Function<String, Optional<User>> loader) {
+		User cached = users.getIfPresent(username);
+		if (cached != null) {
+			log.trace("Пользователь {} найден в кеше", username);
+			return Optional.of(copyOf(cached));
+		}
+		Optional<User> loaded = loader.apply(username);
+		loaded.ifPresent(user -> users.put(username, copyOf(user)));
+		return loaded.map(PrincipalCache::copyOf);
+	}
+
+	/**
+	 * Удаляет пользователя из кеша.
+	 * <p>
+	 * Внутри транзакции удаление повторяется после ее завершения, чтобы параллельный запрос
+	 * не оставил в кеше данные, прочитанные до фиксации изменений.
+	 *
+	 * @param username имя пользователя (при смене имени удаляется и старое, и новое имя)
+	 */
+	public void invalidate(String username) {
+		if (username == null) {
+			return;
+		}
+		users.invalidate(username);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					users.invalidate(username);
+				}
+			});
+		}
+		log.debug("Пользователь {} удален из кеша", username);
+	}
+
+	/**
+	 * Создает снимок пользователя без связанных коллекций.
+	 *
+	 * @param user пользователь
+	 * @return независимая копия пользователя
+	 */
+	private static User copyOf(User user) {
+		return User.builder()
+				.id(user.getId())
+				.email(user.getEmail())
+				.username(user.getUsername())
+				.password(user.getPassword())
+				.role(user.getRole())
+				.unfinishedExamId(user.getUnfinishedExamId())
+				.accountNonLocked(user.isAccountNonLocked())
+				.userScoreHistories(new ArrayList<>())
+				.feedBacks(new ArrayList<>())
+				.build();
+	}
+}
@@ -5,9 +5,12 @@ import com.example.javaoffer.user.enums.UserRole;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Репозиторий для работы с сущностью {@link User}.
@@ -36,25 +39,25 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     /**
-     * Находит всех пользователей с фильтрацией по email и имени пользователя (без учета регистра)
+     * Находит пользователей с фильтрацией по email, имени пользователя и роли.
+     * <p>
+     * Сравнение выполняется по выражениям LOWER(...) LIKE, которые в PostgreSQL
+     * обслуживаются триграммными индексами idx_users_email_trgm и idx_users_username_trgm.
+     * Паттерны должны быть уже приведены к нижнему регистру и экранированы обратной косой чертой
+     * ({@link com.example.javaoffer.common.utils.LikePatternUtils}). Пустой (null) параметр
+     * отключает соответствующий фильтр.
      *
-     * @param email     email для поиска (может быть частичным)
-     * @param username  имя пользователя для поиска (может быть частичным)
-     * @param pageable  параметры пагинации
+     * @param emailPattern    паттерн LIKE для email в нижнем регистре (может быть null)
+     * @param usernamePattern паттерн LIKE для имени пользователя в нижнем регистре (может быть null)
+     * @param role            роль пользователя для фильтрации (может быть null)
+     * @param pageable        параметры пагинации
      * @return страница пользователей, соответствующих критериям поиска
      */
-    Page<User> findAllByEmailContainingIgnoreCaseAndUsernameContainingIgnoreCase(String email, String username, Pageable pageable);
-
-    /**
-     * Находит всех пользователей с фильтрацией по email, имени пользователя и роли (без учета регистра)
-     *
-     * @param email     email для поиска (может быть частичным)
-     * @param username  имя пользователя для поиска (может быть частичным)
-     * @param role      роль пользователя для фильтрации
-     * @param pageable  параметры пагинации
-     * @return страница пользователей, соответствующих критериям поиска
-     */
-    Page<User> findAllByEmailContainingIgnoreCaseAndUsernameContainingIgnoreCaseAndRole(String email, String username, UserRole role, Pageable pageable);
+    @Query("SELECT u FROM User u " +
+            "WHERE (:emailPattern IS NULL OR LOWER(u.email) LIKE :emailPattern ESCAPE '\\') " +
+            "AND (:usernamePattern IS NULL OR LOWER(u.username) LIKE :usernamePattern ESCAPE '\\') " +
+            "AND (:role IS NULL OR u.role = :role)")
+    Page<User> searchByEmailAndUsername(String emailPattern, String usernamePattern, UserRole role, Pageable pageable);
 
     /**
      * Находит всех пользователей по идентификатору
@@ -73,4 +76,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return страница пользователей с указанным статусом блокировки
      */
     Page<User> findAllByAccountNonLocked(boolean accountNonLocked, Pageable pageable);
-} 
\ No newline at end of file
+
+    /**
+     * Устанавливает или очищает незавершенный экзамен пользователя.
+     * <p>
+     * Точечное обновление не требует управляемой сущности, поэтому подходит
+     * для пользователя из SecurityContext (копии из кеша аутентифицированных пользователей).
+     *
+     * @param id     идентификатор пользователя
+     * @param examId идентификатор незавершенного экзамена или null
+     * @return количество обновленных записей
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.unfinishedExamId = :examId WHERE u.id = :id")
+    int updateUnfinishedExamId(Long id, UUID examId);
+}
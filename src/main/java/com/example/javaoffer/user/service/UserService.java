@@ -1,5 +1,7 @@
 package com.example.javaoffer.user.service;
 
+import com.example.javaoffer.common.utils.LikePatternUtils;
+import com.example.javaoffer.security.service.PrincipalCache;
 import com.example.javaoffer.user.dto.UserDTO;
 import com.example.javaoffer.user.entity.User;
 import com.example.javaoffer.user.enums.UserRole;
@@ -22,6 +24,8 @@ import java.util.UUID;
  * <p>
  * Предоставляет методы для создания, поиска и обновления пользователей,
  * а также для работы с их незавершенными экзаменами.
+ * Каждое изменение пользователя удаляет его из кеша аутентифицированных пользователей
+ * ({@link PrincipalCache}).
  *
  * @author Garbuzov Oleg
  */
@@ -33,6 +37,7 @@ public class UserService {
 	private final UserRepository userRepository;
 	private final PasswordEncoder passwordEncoder;
 	private final List<UserValidation> userValidationList;
+	private final PrincipalCache principalCache;
 
 	/**
 	 * Создает нового пользователя в системе.
@@ -85,7 +90,8 @@ public class UserService {
 
 		try {
 			user.setUnfinishedExamId(examId);
-			userRepository.save(user);
+			userRepository.updateUnfinishedExamId(user.getId(), examId);
+			principalCache.invalidate(user.getUsername());
 			log.info("Незавершенный экзамен {} установлен для пользователя {}", examId, user.getUsername());
 
 		} catch (Exception e) {
@@ -107,7 +113,8 @@ public class UserService {
 
 		try {
 			user.setUnfinishedExamId(null);
-			userRepository.save(user);
+			userRepository.updateUnfinishedExamId(user.getId(), null);
+			principalCache.invalidate(user.getUsername());
 			log.info("Незавершенный экзамен очищен для пользователя {}", user.getUsername());
 
 		} catch (Exception e) {
@@ -156,6 +163,7 @@ public class UserService {
 
 		try {
 			User savedUser = userRepository.save(user);
+			principalCache.invalidate(savedUser.getUsername());
 			log.debug("Пользователь {} успешно сохранен", user.getUsername());
 			return savedUser;
 
@@ -190,20 +198,13 @@ public class UserService {
 			} else if (accountNonLocked != null) {
 				log.trace("Поиск пользователей по статусу блокировки: {}", accountNonLocked);
 				result = userRepository.findAllByAccountNonLocked(accountNonLocked, pageable).map(this::toUserDTO);
-			} else if (role != null && !role.isEmpty()) {
-				log.trace("Поиск пользователей с фильтрацией по роли: {}", role);
-				UserRole roleEnum = UserRole.valueOf(role);
-				result = userRepository.findAllByEmailContainingIgnoreCaseAndUsernameContainingIgnoreCaseAndRole(
-						email == null ? "" : email,
-						username == null ? "" : username,
-						roleEnum,
-						pageable
-				).map(this::toUserDTO);
 			} else {
-				log.trace("Поиск пользователей с базовыми фильтрами");
-				result = userRepository.findAllByEmailContainingIgnoreCaseAndUsernameContainingIgnoreCase(
-						email == null ? "" : email,
-						username == null ? "" : username,
+				log.trace("Поиск пользователей с фильтрацией по email, имени и роли: {}", role);
+				UserRole roleEnum = role != null && !role.isEmpty() ? UserRole.valueOf(role) : null;
+				result = userRepository.searchByEmailAndUsername(
+						LikePatternUtils.containsLowerCase(email),
+						LikePatternUtils.containsLowerCase(username),
+						roleEnum,
 						pageable
 				).map(this::toUserDTO);
 			}
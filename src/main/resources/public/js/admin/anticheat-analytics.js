@@ -0,0 +1,71 @@
+// Панель поминутной аналитики античита на странице отладки кэша
+const ANALYTICS_POLL_INTERVAL_MS = 10000;
+const ANALYTICS_RECENT_MINUTES = 5;
+
+function analyticsCell(text, className) {
+    const cell = document.createElement('td');
+    cell.textContent = text;
+    if (className) cell.className = className;
+    return cell;
+}
+
+function analyticsRow(cells) {
+    const row = document.createElement('tr');
+    cells.forEach(cell => row.appendChild(cell));
+    return row;
+}
+
+function renderAnalyticsRows(tbodyId, rows) {
+    const tbody = document.getElementById(tbodyId);
+    tbody.replaceChildren(...rows);
+    if (rows.length === 0) {
+        const empty = analyticsCell('Нет данных', 'text-muted');
+        empty.colSpan = 3;
+        tbody.appendChild(analyticsRow([empty]));
+    }
+}
+
+function renderAnalytics(data) {
+    const recent = series => series.slice(-ANALYTICS_RECENT_MINUTES).reduce((sum, value) => sum + value, 0);
+
+    renderAnalyticsRows('analyticsEvents', data.events
+        .filter(event => event.total > 0)
+        .sort((a, b) => b.total - a.total)
+        .map(event => analyticsRow([
+            analyticsCell(event.name),
+            analyticsCell(event.total, 'text-end'),
+            analyticsCell(recent(event.perMinute), 'text-end')
+        ])));
+
+    renderAnalyticsRows('analyticsTopics', data.topics
+        .filter(topic => topic.violations + topic.correctAnswers + topic.incorrectAnswers > 0)
+        .sort((a, b) => b.violations - a.violations)
+        .map(topic => analyticsRow([
+            analyticsCell(topic.topic),
+            analyticsCell(topic.violations, 'text-end'),
+            analyticsCell(`${topic.correctAnswers} / ${topic.incorrectAnswers}`, 'text-end')
+        ])));
+
+    renderAnalyticsRows('analyticsTasks', data.topTasks.map(task => analyticsRow([
+        analyticsCell(task.topic ? `${task.taskId} (${task.topic})` : task.taskId),
+        analyticsCell(Object.entries(task.violationsByType).map(([type, count]) => `${type}: ${count}`).join(', ')),
+        analyticsCell(`${task.correctAnswers} / ${task.incorrectAnswers}`, 'text-end')
+    ])));
+
+    document.getElementById('analyticsUpdated').textContent =
+        `Окно ${data.windowMinutes} мин, обновлено ${new Date(data.generatedAt).toLocaleTimeString()}`;
+}
+
+function pollAnalytics() {
+    fetch('/admin/api/anticheat-analytics')
+        .then(r => r.json())
+        .then(renderAnalytics)
+        .catch(() => {})
+        .finally(() => setTimeout(pollAnalytics, ANALYTICS_POLL_INTERVAL_MS));
+}
+
+document.addEventListener('DOMContentLoaded', function () {
+    if (document.getElementById('antiCheatAnalytics')) {
+        pollAnalytics();
+    }
+});
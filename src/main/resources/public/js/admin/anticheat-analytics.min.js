@@ -0,0 +1 @@
+const ANALYTICS_POLL_INTERVAL_MS=10000;const ANALYTICS_RECENT_MINUTES=5;function analyticsCell(c,d){const e=document.createElement('td');e.textContent=c;if(d)e.className=d;return e;}function analyticsRow(f){const g=document.createElement('tr');f.forEach(h=>g.appendChild(h));return g;}function renderAnalyticsRows(i,j){const k=document.getElementById(i);k.replaceChildren(...j);if(j.length===0){const l=analyticsCell('Нет данных','text-muted');l.colSpan=3;k.appendChild(analyticsRow([l]));}}function renderAnalytics(m){const n=o=>o.slice(-ANALYTICS_RECENT_MINUTES).reduce((p,q)=>p+q,0);renderAnalyticsRows('analyticsEvents',m.events.filter(s=>s.total>0).sort((t,u)=>u.total-t.total).map(v=>analyticsRow([analyticsCell(v.name),analyticsCell(v.total,'text-end'),analyticsCell(n(v.perMinute),'text-end')])));renderAnalyticsRows('analyticsTopics',m.topics.filter(w=>w.violations+w.correctAnswers+w.incorrectAnswers>0).sort((x,y)=>y.violations-x.violations).map(z=>analyticsRow([analyticsCell(z.topic),analyticsCell(z.violations,'text-end'),analyticsCell(`${z.correctAnswers} / ${z.incorrectAnswers}`,'text-end')])));renderAnalyticsRows('analyticsTasks',m.topTasks.map(A=>analyticsRow([analyticsCell(A.topic?`${A.taskId} (${A.topic})`:A.taskId),analyticsCell(Object.entries(A.violationsByType).map(([B,C])=>`${B}: ${C}`).join(', ')),analyticsCell(`${A.correctAnswers} / ${A.incorrectAnswers}`,'text-end')])));document.getElementById('analyticsUpdated').textContent=`Окно ${m.windowMinutes} мин, обновлено ${new Date(m.generatedAt).toLocaleTimeString()}`;}function pollAnalytics(){fetch('/admin/api/anticheat-analytics').then(D=>D.json()).then(renderAnalytics).catch(()=>{}).finally(()=>setTimeout(pollAnalytics,ANALYTICS_POLL_INTERVAL_MS));}document.addEventListener('DOMContentLoaded',function(){if(document.getElementById('antiCheatAnalytics')){pollAnalytics();}});
\ No newline at end of file
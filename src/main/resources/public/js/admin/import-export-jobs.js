@@ -0,0 +1,58 @@
+// Опрос прогресса активных заданий импорта/экспорта на странице истории
+const JOBS_POLL_INTERVAL_MS = 2000;
+const JOBS_RETRY_INTERVAL_MS = 10000;
+let knownActiveJobs = new Set();
+
+function formatJobEta(seconds) {
+    if (seconds === null || seconds === undefined) return '';
+    if (seconds < 60) return `~${seconds} с`;
+    const minutes = Math.floor(seconds / 60);
+    if (minutes < 60) return `~${minutes} мин ${seconds % 60} с`;
+    return `~${Math.floor(minutes / 60)} ч ${minutes % 60} мин`;
+}
+
+function renderJobProgress(job) {
+    const row = document.querySelector(`tr[data-job-id="${job.id}"]`);
+    if (!row) return;
+    const cell = row.querySelector('.job-progress');
+    if (!cell) return;
+    if (job.status === 'QUEUED') {
+        cell.textContent = `В очереди: ${job.queuePosition}`;
+        return;
+    }
+    const parts = [job.totalRows !== null ? `${job.processedRows} / ${job.totalRows}` : `${job.processedRows}`];
+    if (job.rowsPerSecond > 0) parts.push(`${Math.round(job.rowsPerSecond)} стр/с`);
+    const eta = formatJobEta(job.etaSeconds);
+    if (eta) parts.push(eta);
+    if (job.cancelRequested) parts.push('отмена...');
+    cell.textContent = parts.join(' · ');
+}
+
+function pollJobs() {
+    fetch('/admin/api/import-export-jobs')
+        .then(r => r.json())
+        .then(jobs => {
+            const active = new Set(jobs.map(job => job.id));
+            // Задание завершилось: итоговый статус и результат берем из истории
+            for (const id of knownActiveJobs) {
+                if (!active.has(id)) {
+                    window.location.reload();
+                    return;
+                }
+            }
+            knownActiveJobs = active;
+            jobs.forEach(renderJobProgress);
+            if (jobs.length > 0) {
+                setTimeout(pollJobs, JOBS_POLL_INTERVAL_MS);
+            }
+        })
+        .catch(() => setTimeout(pollJobs, JOBS_RETRY_INTERVAL_MS));
+}
+
+document.addEventListener('DOMContentLoaded', function () {
+    const activeRows = document.querySelectorAll('tr[data-job-active="true"]');
+    activeRows.forEach(row => knownActiveJobs.add(parseInt(row.getAttribute('data-job-id'))));
+    if (activeRows.length > 0) {
+        pollJobs();
+    }
+});
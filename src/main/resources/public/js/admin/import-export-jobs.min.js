@@ -0,0 +1 @@
+const JOBS_POLL_INTERVAL_MS=2e3,JOBS_RETRY_INTERVAL_MS=1e4;let knownActiveJobs=new Set;function formatJobEta(e){if(null==e)return"";if(e<60)return`~${e} с`;const t=Math.floor(e/60);return t<60?`~${t} мин ${e%60} с`:`~${Math.floor(t/60)} ч ${t%60} мин`}function renderJobProgress(e){const t=document.querySelector(`tr[data-job-id="${e.id}"]`);if(!t)return;const o=t.querySelector(".job-progress");if(!o)return;if("QUEUED"===e.status)return void(o.textContent=`В очереди: ${e.queuePosition}`);const n=[null!==e.totalRows?`${e.processedRows} / ${e.totalRows}`:`${e.processedRows}`];e.rowsPerSecond>0&&n.push(`${Math.round(e.rowsPerSecond)} стр/с`);const r=formatJobEta(e.etaSeconds);r&&n.push(r),e.cancelRequested&&n.push("отмена..."),o.textContent=n.join(" · ")}function pollJobs(){fetch("/admin/api/import-export-jobs").then(e=>e.json()).then(e=>{const t=new Set(e.map(e=>e.id));for(const e of knownActiveJobs)if(!t.has(e))return void window.location.reload();knownActiveJobs=t,e.forEach(renderJobProgress),e.length>0&&setTimeout(pollJobs,JOBS_POLL_INTERVAL_MS)}).catch(()=>setTimeout(pollJobs,JOBS_RETRY_INTERVAL_MS))}document.addEventListener("DOMContentLoaded",function(){const e=document.querySelectorAll('tr[data-job-active="true"]');e.forEach(e=>knownActiveJobs.add(parseInt(e.getAttribute("data-job-id")))),e.length>0&&pollJobs()});
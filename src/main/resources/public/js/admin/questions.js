@@ -83,14 +83,6 @@ document.addEventListener('DOMContentLoaded', function() {
   const URL_ADMIN_FILTER_ROOT = `${URL_ADMIN_ROOT}/filter`;
   const URL_ADMIN_FILTER_QUESTIONS = `${URL_ADMIN_FILTER_ROOT}/questions`;
   
-  // Добавляем обработчики для кнопок редактирования
-  document.querySelectorAll('.edit-task-btn').forEach(button => {
-    button.addEventListener('click', function() {
-      const taskId = this.getAttribute('data-id');
-      loadTaskForEdit(taskId);
-    });
-  });
-  
   // Создаем модальное окно предпросмотра, если его нет
   if (!document.getElementById('previewModal')) {
     const previewModal = document.createElement('div');
@@ -411,50 +403,92 @@ document.addEventListener('DOMContentLoaded', function() {
   const difficultyFilter = document.getElementById('difficultyFilter');
   const gradeFilter = document.getElementById('gradeFilter');
   const searchInput = document.getElementById('searchInput');
+  const showDuplicatesFilter = document.getElementById('showDuplicatesFilter');
+  const pageSizeSelect = document.getElementById('pageSize');
   const resetFilters = document.getElementById('resetFilters');
   const tasksTableBody = document.getElementById('tasksTableBody');
+  const tasksTotalCount = document.getElementById('tasksTotalCount');
 
-  function fetchFilteredQuestions() {
+  // Номер текущего запроса: ответы на устаревшие запросы (после смены фильтра) игнорируются
+  let requestSeq = 0;
+  let searchDebounce = null;
+
+  // Наблюдатель за строкой-маркером: при ее появлении загружается следующая порция
+  const loadMoreObserver = new IntersectionObserver(entries => {
+    entries.forEach(entry => {
+      if (entry.isIntersecting) {
+        loadMoreObserver.unobserve(entry.target);
+        loadQuestions(entry.target.getAttribute('data-after-id'), entry.target);
+      }
+    });
+  }, { rootMargin: '200px' });
+
+  function buildFilterParams(afterId) {
     const params = new URLSearchParams({
       topic: topicFilter.value,
       difficulty: difficultyFilter.value,
       grade: gradeFilter.value,
-      search: searchInput.value
+      search: searchInput.value,
+      showDuplicates: showDuplicatesFilter.checked,
+      size: pageSizeSelect.value
     });
-    fetch(`${URL_ADMIN_FILTER_QUESTIONS}?${params.toString()}`)
+    if (afterId) params.set('afterId', afterId);
+    return params;
+  }
+
+  // Загружает порцию строк: без afterId заменяет содержимое таблицы, иначе заменяет маркер
+  function loadQuestions(afterId, marker) {
+    const seq = afterId ? requestSeq : ++requestSeq;
+    fetch(`${URL_ADMIN_FILTER_QUESTIONS}?${buildFilterParams(afterId).toString()}`)
       .then(res => res.text())
       .then(html => {
-        tasksTableBody.innerHTML = html;
-        // Перепривязываем обработчики кнопок после обновления таблицы
-        attachEditButtonHandlers();
-      });
+        if (seq !== requestSeq) return;
+        if (afterId && marker) {
+          marker.insertAdjacentHTML('beforebegin', html);
+          marker.remove();
+        } else {
+          tasksTableBody.innerHTML = html;
+        }
+        const totalRow = tasksTableBody.querySelector('.tasks-total-row');
+        if (totalRow) {
+          tasksTotalCount.textContent = totalRow.getAttribute('data-total-count');
+          totalRow.remove();
+        }
+        const nextMarker = tasksTableBody.querySelector('.tasks-load-more-row');
+        if (nextMarker) loadMoreObserver.observe(nextMarker);
+      })
+      .catch(error => console.error('Ошибка при загрузке вопросов:', error));
   }
 
-  // Функция для привязки обработчиков к кнопкам редактирования
-  function attachEditButtonHandlers() {
-    document.querySelectorAll('.edit-task-btn').forEach(button => {
-      button.addEventListener('click', function() {
-        const taskId = this.getAttribute('data-id');
-        loadTaskForEdit(taskId);
-      });
-    });
+  function fetchFilteredQuestions() {
+    loadMoreObserver.disconnect();
+    loadQuestions(null, null);
   }
 
-  // Привязываем обработчики при загрузке страницы
-  attachEditButtonHandlers();
-  
+  // Делегирование: обработчик работает и для строк, подгруженных позже
+  tasksTableBody.addEventListener('click', function(e) {
+    const button = e.target.closest('.edit-task-btn');
+    if (button) loadTaskForEdit(button.getAttribute('data-id'));
+  });
+
   topicFilter.addEventListener('change', fetchFilteredQuestions);
   difficultyFilter.addEventListener('change', fetchFilteredQuestions);
   gradeFilter.addEventListener('change', fetchFilteredQuestions);
+  showDuplicatesFilter.addEventListener('change', fetchFilteredQuestions);
+  pageSizeSelect.addEventListener('change', fetchFilteredQuestions);
   searchInput.addEventListener('input', function() {
-    // Можно добавить debounce для оптимизации
-    fetchFilteredQuestions();
+    clearTimeout(searchDebounce);
+    searchDebounce = setTimeout(fetchFilteredQuestions, 300);
   });
   resetFilters.addEventListener('click', function() {
     topicFilter.value = '';
     difficultyFilter.value = '';
     gradeFilter.value = '';
     searchInput.value = '';
+    showDuplicatesFilter.checked = false;
     fetchFilteredQuestions();
   });
-}); 
\ No newline at end of file
+
+  // Первая порция загружается сразу после открытия страницы
+  fetchFilteredQuestions();
+});
@@ -1,47 +1,103 @@
-function showPreview(){const e=document.querySelector('[name="question"]').value,t=document.querySelector('[name="topic"]').value,n=document.querySelector('[name="difficulty"]').value,a=document.querySelector('[name="grade"]').value,r=document.querySelectorAll("#answers-container .card"),l=document.getElementById("preview-answers")
-l.innerHTML="",r.forEach(((e,t)=>{const n=e.querySelector('textarea[name^="answers["]').value,a=e.querySelector('textarea[name$=".explanation"]').value,r=`\n      <div class="answer-btn" data-correct="${"true"===e.querySelector('input[name$=".isCorrect"]').value}">\n        <span>${n}</span>\n        ${a?`<span class="text-muted ms-2">${a}</span>`:""}\n      </div>`
-l.insertAdjacentHTML("beforeend",r)})),document.getElementById("preview-question").innerHTML=e,document.getElementById("preview-topic").textContent=t,document.getElementById("preview-difficulty").textContent=n,document.getElementById("preview-grade").textContent=a,new bootstrap.Modal(document.getElementById("previewModal")).show()}function showEditPreview(){const e=document.getElementById("editQuestionModal"),t=document.getElementById("previewModal"),n=bootstrap.Modal.getInstance(e)
-n&&n.hide()
-const a=document.getElementById("editQuestion").value,r=document.getElementById("editTopic").options[document.getElementById("editTopic").selectedIndex].text,l=document.getElementById("editDifficulty").options[document.getElementById("editDifficulty").selectedIndex].text,o=document.getElementById("editGrade").options[document.getElementById("editGrade").selectedIndex].text
-document.getElementById("preview-question").innerHTML=a
-const d=document.querySelectorAll("#editAnswersContainer .card"),c=document.getElementById("preview-answers")
-c.innerHTML="",d.forEach(((e,t)=>{const n=e.querySelector('textarea[name^="answers["]').value,a=e.querySelector('textarea[name$=".explanation"]').value,r=`\n      <div class="answer-btn" data-correct="${"true"===e.querySelector('input[name$=".isCorrect"]').value}">\n        <span>${n}</span>\n        ${a?`<span class="text-muted ms-2">${a}</span>`:""}\n      </div>`
-c.insertAdjacentHTML("beforeend",r)})),document.getElementById("preview-topic").textContent=r,document.getElementById("preview-difficulty").textContent=l,document.getElementById("preview-grade").textContent=o,new bootstrap.Modal(t).show(),t.addEventListener("hidden.bs.modal",(function e(){n.show(),t.removeEventListener("hidden.bs.modal",e)}))}document.addEventListener("DOMContentLoaded",(function(){function e(){const e=document.getElementById("answers-container"),t=e.querySelectorAll(".card"),n=e.querySelector('input[type="radio"]:checked')
-if(n){const e=parseInt(n.value)
-t.forEach(((t,n)=>{t.querySelector('input[name$=".isCorrect"]').value=n===e?"true":"false"}))}}function t(e){fetch(`/admin/questions/${e}/data`).then((e=>e.json())).then((e=>{document.getElementById("editTaskId").value=e.id,document.getElementById("editQuestion").value=e.question,document.getElementById("editTopic").value=e.topic,document.getElementById("editDifficulty").value=e.difficulty,document.getElementById("editGrade").value=e.grade
-const t=document.getElementById("editAnswersContainer")
-t.innerHTML="",e.answers.forEach(((e,r)=>{const l=document.createElement("div")
-l.className="card mb-3",l.innerHTML=`\n            <div class="card-body">\n              <div class="d-flex justify-content-between mb-3">\n                <div class="form-check">\n                  <input class="form-check-input" type="radio" name="editCorrectAnswer" value="${r}" ${e.isCorrect?"checked":""}>\n                  <label class="form-check-label">Правильный ответ</label>\n                </div>\n                <button type="button" class="btn btn-sm btn-outline-danger edit-remove-answer">\n                  <i class="fa-solid fa-times"></i> Удалить\n                </button>\n              </div>\n              <div class="mb-3">\n                <label class="form-label">Текст ответа <span class="text-danger">*</span></label>\n                <textarea class="form-control" name="answers[${r}].content" rows="2" required>${e.content}</textarea>\n              </div>\n              <div class="mb-3">\n                <label class="form-label">Пояснение</label>\n                <textarea class="form-control" name="answers[${r}].explanation" rows="2">${e.explanation||""}</textarea>\n              </div>\n              <input type="hidden" name="answers[${r}].isCorrect" value="${e.isCorrect}">\n            </div>\n          `,t.appendChild(l),l.querySelector(".edit-remove-answer").addEventListener("click",(function(){l.remove(),n()})),l.querySelector('input[type="radio"]').addEventListener("change",(function(){a()}))}))
-const r=document.getElementById("editQuestionModal")
-let l=bootstrap.Modal.getInstance(r)
-l||(l=new bootstrap.Modal(r)),l.show()})).catch((e=>{}))}function n(){document.getElementById("editAnswersContainer").querySelectorAll(".card").forEach(((e,t)=>{const n=e.querySelector('textarea[name^="answers["]'),a=e.querySelector('textarea[name$=".explanation"]'),r=e.querySelector('input[name$=".isCorrect"]'),l=e.querySelector('input[type="radio"]')
-n.name=`answers[${t}].content`,a.name=`answers[${t}].explanation`,r.name=`answers[${t}].isCorrect`,l.value=t}))}function a(){const e=document.getElementById("editAnswersContainer"),t=e.querySelectorAll(".card"),n=e.querySelector('input[type="radio"]:checked')
-if(n){const e=parseInt(n.value)
-t.forEach(((t,n)=>{t.querySelector('input[name$=".isCorrect"]').value=n===e?"true":"false"}))}}function r(){const e=new URLSearchParams({topic:s.value,difficulty:i.value,grade:u.value,search:m.value,showDuplicates:v.checked})
-fetch(`${c}?${e.toString()}`).then((e=>e.text())).then((e=>{y.innerHTML=e
-const t=y.querySelectorAll("tr")
-g=Array.from(t).map((e=>e.outerHTML)),h=1,l(),o(),d()})).catch((e=>{}))}function l(){const e=f.value,t=(h-1)*("all"===e?g.length:parseInt(e)),n="all"===e?g.length:t+parseInt(e),a=g.slice(t,n)
-y.innerHTML=a.join("")}function o(){const e=f.value
-if("all"===e)return void(b.innerHTML="")
-const t=g.length,n=parseInt(e),a=Math.ceil(t/n)
-let r=""
-h>1&&(r+=`<li class="page-item">\n        <a class="page-link" href="#" data-page="${h-1}">Предыдущая</a>\n      </li>`)
-let c=Math.max(1,h-Math.floor(2.5)),s=Math.min(a,c+5-1)
-s-c<4&&(c=Math.max(1,s-5+1))
-for(let e=c;e<=s;e++)r+=`<li class="page-item ${e===h?"active":""}">\n        <a class="page-link" href="#" data-page="${e}">${e}</a>\n      </li>`
-h<a&&(r+=`<li class="page-item">\n        <a class="page-link" href="#" data-page="${h+1}">Следующая</a>\n      </li>`),b.innerHTML=r,b.querySelectorAll(".page-link").forEach((e=>{e.addEventListener("click",(function(e){e.preventDefault(),h=parseInt(this.getAttribute("data-page")),l(),o(),d()}))}))}function d(){document.querySelectorAll(".edit-task-btn").forEach((e=>{e.addEventListener("click",(function(){t(this.getAttribute("data-id"))}))}))}const c="/admin/filter/questions"
-if(document.querySelectorAll(".edit-task-btn").forEach((e=>{e.addEventListener("click",(function(){t(this.getAttribute("data-id"))}))})),!document.getElementById("previewModal")){const e=document.createElement("div")
-e.className="modal fade",e.id="previewModal",e.tabIndex="-1",e.setAttribute("aria-labelledby","previewModalLabel"),e.setAttribute("aria-hidden","true"),e.innerHTML='\n      <div class="modal-dialog modal-lg">\n        <div class="modal-content">\n          <div class="modal-header">\n            <h5 class="modal-title" id="previewModalLabel">Предпросмотр вопроса</h5>\n            <button type="button" class="btn-close" data-bs-dismiss="modal" aria-label="Close"></button>\n          </div>\n          <div class="modal-body">\n            <div class="card mb-3">\n              <div class="card-header">\n                <div class="d-flex justify-content-between align-items-center">\n                  <h5 id="preview-topic" class="mb-0"></h5>\n                  <div>\n                    <span class="badge bg-primary me-2" id="preview-difficulty"></span>\n                    <span class="badge bg-secondary" id="preview-grade"></span>\n                  </div>\n                </div>\n              </div>\n              <div class="card-body">\n                <p id="preview-question"></p>\n                <hr>\n                <h6>Ответы:</h6>\n                <ul class="list-group" id="preview-answers"></ul>\n              </div>\n            </div>\n          </div>\n          <div class="modal-footer">\n            <button type="button" class="btn btn-secondary" data-bs-dismiss="modal">Закрыть</button>\n          </div>\n        </div>\n      </div>\n    ',document.body.appendChild(e)}document.getElementById("addAnswerBtn").addEventListener("click",(function(){const t=document.getElementById("answers-container"),n=t.querySelectorAll(".card").length,a=document.createElement("div")
-a.className="card mb-3",a.innerHTML=`\n      <div class="card-body">\n        <div class="d-flex justify-content-between mb-3">\n          <div class="form-check">\n            <input class="form-check-input" type="radio" name="correctAnswer" value="${n}">\n            <label class="form-check-label">Правильный ответ</label>\n          </div>\n          <button type="button" class="btn btn-sm btn-outline-danger remove-answer">\n            <i class="fa-solid fa-times"></i> Удалить\n          </button>\n        </div>\n        <div class="mb-3">\n          <label class="form-label">Текст ответа <span class="text-danger">*</span></label>\n          <textarea class="form-control" name="answers[${n}].content" rows="2" required></textarea>\n        </div>\n        <div class="mb-3">\n          <label class="form-label">Пояснение</label>\n          <textarea class="form-control" name="answers[${n}].explanation" rows="2"></textarea>\n        </div>\n        <input type="hidden" name="answers[${n}].isCorrect" value="false">\n      </div>\n    `,t.appendChild(a),a.querySelector(".remove-answer").addEventListener("click",(function(){a.remove(),document.getElementById("answers-container").querySelectorAll(".card").forEach(((e,t)=>{const n=e.querySelector('textarea[name^="answers["]'),a=e.querySelector('textarea[name$=".explanation"]'),r=e.querySelector('input[name$=".isCorrect"]'),l=e.querySelector('input[type="radio"]')
-n.name=`answers[${t}].content`,a.name=`answers[${t}].explanation`,r.name=`answers[${t}].isCorrect`,l.value=t}))})),a.querySelector('input[type="radio"]').addEventListener("change",(function(){e()}))})),document.querySelectorAll('#answers-container input[type="radio"][name="correctAnswer"]').forEach((t=>{t.addEventListener("change",(function(){e()}))})),document.getElementById("saveEditBtn").addEventListener("click",(function(e){e.preventDefault()
-const t=document.getElementById("editTaskId").value,n=new FormData(document.getElementById("editTaskForm")),a={}
-n.forEach(((e,t)=>{if(t.includes(".")){const n=t.split("."),r=n[0].split("[")[0],l=parseInt(n[0].match(/\d+/)[0]),o=n[1]
-a[r]||(a[r]=[]),a[r][l]||(a[r][l]={}),a[r][l][o]="true"===e||"false"!==e&&e}else a[t]=e}))
-const r=document.querySelector('meta[name="_csrf"]').getAttribute("content"),l=document.querySelector('meta[name="_csrf_header"]').getAttribute("content")
-fetch(`/admin/questions/${t}`,{method:"PUT",headers:{"Content-Type":"application/json",[l]:r},body:JSON.stringify(a)}).then((e=>{if(!e.ok)throw new Error("Ошибка при обновлении вопроса")
-window.location.href="/admin/questions"})).catch((e=>{alert("Произошла ошибка при обновлении вопроса")}))})),document.getElementById("editAddAnswerBtn").addEventListener("click",(function(){const e=document.getElementById("editAnswersContainer"),t=e.querySelectorAll(".card").length,r=document.createElement("div")
-r.className="card mb-3",r.innerHTML=`\n      <div class="card-body">\n        <div class="d-flex justify-content-between mb-3">\n          <div class="form-check">\n            <input class="form-check-input" type="radio" name="editCorrectAnswer" value="${t}">\n            <label class="form-check-label">Правильный ответ</label>\n          </div>\n          <button type="button" class="btn btn-sm btn-outline-danger edit-remove-answer">\n            <i class="fa-solid fa-times"></i> Удалить\n          </button>\n        </div>\n        <div class="mb-3">\n          <label class="form-label">Текст ответа <span class="text-danger">*</span></label>\n          <textarea class="form-control" name="answers[${t}].content" rows="2" required></textarea>\n        </div>\n        <div class="mb-3">\n          <label class="form-label">Пояснение</label>\n          <textarea class="form-control" name="answers[${t}].explanation" rows="2"></textarea>\n        </div>\n        <input type="hidden" name="answers[${t}].isCorrect" value="false">\n      </div>\n    `,e.appendChild(r),r.querySelector(".edit-remove-answer").addEventListener("click",(function(){r.remove(),n()})),r.querySelector('input[type="radio"]').addEventListener("change",(function(){a()}))}))
-const s=document.getElementById("topicFilter"),i=document.getElementById("difficultyFilter"),u=document.getElementById("gradeFilter"),m=document.getElementById("searchInput"),v=document.getElementById("showDuplicatesFilter"),p=document.getElementById("resetFilters"),y=document.getElementById("tasksTableBody"),f=document.getElementById("pageSize"),b=document.getElementById("pagination")
-let g=[],h=1
-d(),function(){const e=document.querySelectorAll("#tasksTableBody tr")
-g=Array.from(e).map((e=>e.outerHTML)),h=1,l(),o()}(),s.addEventListener("change",r),i.addEventListener("change",r),u.addEventListener("change",r),v.addEventListener("change",r),m.addEventListener("input",(function(){r()})),f.addEventListener("change",(function(){h=1,l(),o(),d()})),p.addEventListener("click",(function(){s.value="",i.value="",u.value="",m.value="",v.checked=!1,r()}))}))
+function showPreview(){const a=document.querySelector('[name="question"]').value;const b=document.querySelector('[name="topic"]').value;const c=document.querySelector('[name="difficulty"]').value;const d=document.querySelector('[name="grade"]').value;const f=document.querySelectorAll('#answers-container .card');const g=document.getElementById('preview-answers');g.innerHTML='';f.forEach((h,i)=>{const j=h.querySelector('textarea[name^="answers["]').value;const k=h.querySelector('textarea[name$=".explanation"]').value;const l=h.querySelector('input[name$=".isCorrect"]').value==='true';const m=`
+      <div class="answer-btn" data-correct="${l}">
+        <span>${j}</span>
+        ${k?`<span class="text-muted ms-2">${k}</span>`:''}
+      </div>`;g.insertAdjacentHTML('beforeend',m);});document.getElementById('preview-question').innerHTML=a;document.getElementById('preview-topic').textContent=b;document.getElementById('preview-difficulty').textContent=c;document.getElementById('preview-grade').textContent=d;const n=new bootstrap.Modal(document.getElementById('previewModal'));n.show();}function showEditPreview(){const o=document.getElementById('editQuestionModal');const p=document.getElementById('previewModal');const q=bootstrap.Modal.getInstance(o);if(q)q.hide();const r=document.getElementById('editQuestion').value;const s=document.getElementById('editTopic').options[document.getElementById('editTopic').selectedIndex].text;const t=document.getElementById('editDifficulty').options[document.getElementById('editDifficulty').selectedIndex].text;const u=document.getElementById('editGrade').options[document.getElementById('editGrade').selectedIndex].text;document.getElementById('preview-question').innerHTML=r;const v=document.querySelectorAll('#editAnswersContainer .card');const w=document.getElementById('preview-answers');w.innerHTML='';v.forEach((x,y)=>{const z=x.querySelector('textarea[name^="answers["]').value;const A=x.querySelector('textarea[name$=".explanation"]').value;const B=x.querySelector('input[name$=".isCorrect"]').value==='true';const C=`
+      <div class="answer-btn" data-correct="${B}">
+        <span>${z}</span>
+        ${A?`<span class="text-muted ms-2">${A}</span>`:''}
+      </div>`;w.insertAdjacentHTML('beforeend',C);});document.getElementById('preview-topic').textContent=s;document.getElementById('preview-difficulty').textContent=t;document.getElementById('preview-grade').textContent=u;const D=new bootstrap.Modal(p);D.show();p.addEventListener('hidden.bs.modal',function E(){q.show();p.removeEventListener('hidden.bs.modal',E);});}document.addEventListener('DOMContentLoaded',function(){const F='/admin';const G=`${F}/filter`;const H=`${G}/questions`;if(!document.getElementById('previewModal')){const I=document.createElement('div');I.className='modal fade';I.id='previewModal';I.tabIndex='-1';I.setAttribute('aria-labelledby','previewModalLabel');I.setAttribute('aria-hidden','true');I.innerHTML=`
+      <div class="modal-dialog modal-lg">
+        <div class="modal-content">
+          <div class="modal-header">
+            <h5 class="modal-title" id="previewModalLabel">Предпросмотр вопроса</h5>
+            <button type="button" class="btn-close" data-bs-dismiss="modal" aria-label="Close"></button>
+          </div>
+          <div class="modal-body">
+            <div class="card mb-3">
+              <div class="card-header">
+                <div class="d-flex justify-content-between align-items-center">
+                  <h5 id="preview-topic" class="mb-0"></h5>
+                  <div>
+                    <span class="badge bg-primary me-2" id="preview-difficulty"></span>
+                    <span class="badge bg-secondary" id="preview-grade"></span>
+                  </div>
+                </div>
+              </div>
+              <div class="card-body">
+                <p id="preview-question"></p>
+                <hr>
+                <h6>Ответы:</h6>
+                <ul class="list-group" id="preview-answers"></ul>
+              </div>
+            </div>
+          </div>
+          <div class="modal-footer">
+            <button type="button" class="btn btn-secondary" data-bs-dismiss="modal">Закрыть</button>
+          </div>
+        </div>
+      </div>
+    `;document.body.appendChild(I);}document.getElementById('addAnswerBtn').addEventListener('click',function(){const J=document.getElementById('answers-container');const K=J.querySelectorAll('.card');const L=K.length;const M=document.createElement('div');M.className='card mb-3';M.innerHTML=`
+      <div class="card-body">
+        <div class="d-flex justify-content-between mb-3">
+          <div class="form-check">
+            <input class="form-check-input" type="radio" name="correctAnswer" value="${L}">
+            <label class="form-check-label">Правильный ответ</label>
+          </div>
+          <button type="button" class="btn btn-sm btn-outline-danger remove-answer">
+            <i class="fa-solid fa-times"></i> Удалить
+          </button>
+        </div>
+        <div class="mb-3">
+          <label class="form-label">Текст ответа <span class="text-danger">*</span></label>
+          <textarea class="form-control" name="answers[${L}].content" rows="2" required></textarea>
+        </div>
+        <div class="mb-3">
+          <label class="form-label">Пояснение</label>
+          <textarea class="form-control" name="answers[${L}].explanation" rows="2"></textarea>
+        </div>
+        <input type="hidden" name="answers[${L}].isCorrect" value="false">
+      </div>
+    `;J.appendChild(M);M.querySelector('.remove-answer').addEventListener('click',function(){M.remove();O();});M.querySelector('input[type="radio"]').addEventListener('change',function(){X();});});document.querySelectorAll('#answers-container input[type="radio"][name="correctAnswer"]').forEach(N=>{N.addEventListener('change',function(){X();});});function O(){const P=document.getElementById('answers-container');const Q=P.querySelectorAll('.card');Q.forEach((R,S)=>{const T=R.querySelector('textarea[name^="answers["]');const U=R.querySelector('textarea[name$=".explanation"]');const V=R.querySelector('input[name$=".isCorrect"]');const W=R.querySelector('input[type="radio"]');T.name=`answers[${S}].content`;U.name=`answers[${S}].explanation`;V.name=`answers[${S}].isCorrect`;W.value=S;});}function X(){const Y=document.getElementById('answers-container');const Z=Y.querySelectorAll('.card');const _=Y.querySelector('input[type="radio"]:checked');if(_){const $=parseInt(_.value);Z.forEach((aa,ba)=>{const ca=aa.querySelector('input[name$=".isCorrect"]');ca.value=(ba===$)?'true':'false';});}}function da(ea){fetch(`/admin/questions/${ea}/data`).then(fa=>fa.json()).then(ga=>{document.getElementById('editTaskId').value=ga.id;document.getElementById('editQuestion').value=ga.question;document.getElementById('editTopic').value=ga.topic;document.getElementById('editDifficulty').value=ga.difficulty;document.getElementById('editGrade').value=ga.grade;const ha=document.getElementById('editAnswersContainer');ha.innerHTML='';ga.answers.forEach((ia,ja)=>{const ka=document.createElement('div');ka.className='card mb-3';ka.innerHTML=`
+            <div class="card-body">
+              <div class="d-flex justify-content-between mb-3">
+                <div class="form-check">
+                  <input class="form-check-input" type="radio" name="editCorrectAnswer" value="${ja}" ${ia.isCorrect?'checked':''}>
+                  <label class="form-check-label">Правильный ответ</label>
+                </div>
+                <button type="button" class="btn btn-sm btn-outline-danger edit-remove-answer">
+                  <i class="fa-solid fa-times"></i> Удалить
+                </button>
+              </div>
+              <div class="mb-3">
+                <label class="form-label">Текст ответа <span class="text-danger">*</span></label>
+                <textarea class="form-control" name="answers[${ja}].content" rows="2" required>${ia.content}</textarea>
+              </div>
+              <div class="mb-3">
+                <label class="form-label">Пояснение</label>
+                <textarea class="form-control" name="answers[${ja}].explanation" rows="2">${ia.explanation||''}</textarea>
+              </div>
+              <input type="hidden" name="answers[${ja}].isCorrect" value="${ia.isCorrect}">
+            </div>
+          `;ha.appendChild(ka);ka.querySelector('.edit-remove-answer').addEventListener('click',function(){ka.remove();Ca();});ka.querySelector('input[type="radio"]').addEventListener('change',function(){La();});});const la=document.getElementById('editQuestionModal');let ma=bootstrap.Modal.getInstance(la);if(!ma){ma=new bootstrap.Modal(la);}ma.show();}).catch(na=>void 0);}document.getElementById('saveEditBtn').addEventListener('click',function(oa){oa.preventDefault();const pa=document.getElementById('editTaskId').value;const qa=new FormData(document.getElementById('editTaskForm'));const ra={};qa.forEach((sa,ta)=>{if(ta.includes('.')){const ua=ta.split('.');const va=ua[0].split('[')[0];const wa=parseInt(ua[0].match(/\d+/)[0]);const xa=ua[1];if(!ra[va])ra[va]=[];if(!ra[va][wa])ra[va][wa]={};ra[va][wa][xa]=sa==='true'?true:(sa==='false'?false:sa);}else{ra[ta]=sa;}});const ya=document.querySelector('meta[name="_csrf"]').getAttribute('content');const za=document.querySelector('meta[name="_csrf_header"]').getAttribute('content');fetch(`/admin/questions/${pa}`,{method:'PUT',headers:{'Content-Type':'application/json',[za]:ya},body:JSON.stringify(ra)}).then(Aa=>{if(Aa.ok){window.location.href='/admin/questions';}else{throw new Error('Ошибка при обновлении вопроса');}}).catch(Ba=>{alert('Произошла ошибка при обновлении вопроса');});});function Ca(){const Da=document.getElementById('editAnswersContainer');const Ea=Da.querySelectorAll('.card');Ea.forEach((Fa,Ga)=>{const Ha=Fa.querySelector('textarea[name^="answers["]');const Ia=Fa.querySelector('textarea[name$=".explanation"]');const Ja=Fa.querySelector('input[name$=".isCorrect"]');const Ka=Fa.querySelector('input[type="radio"]');Ha.name=`answers[${Ga}].content`;Ia.name=`answers[${Ga}].explanation`;Ja.name=`answers[${Ga}].isCorrect`;Ka.value=Ga;});}function La(){const Ma=document.getElementById('editAnswersContainer');const Na=Ma.querySelectorAll('.card');const Oa=Ma.querySelector('input[type="radio"]:checked');if(Oa){const Pa=parseInt(Oa.value);Na.forEach((Qa,Ra)=>{const Sa=Qa.querySelector('input[name$=".isCorrect"]');Sa.value=(Ra===Pa)?'true':'false';});}}document.getElementById('editAddAnswerBtn').addEventListener('click',function(){const Ta=document.getElementById('editAnswersContainer');const Ua=Ta.querySelectorAll('.card');const Va=Ua.length;const Wa=document.createElement('div');Wa.className='card mb-3';Wa.innerHTML=`
+      <div class="card-body">
+        <div class="d-flex justify-content-between mb-3">
+          <div class="form-check">
+            <input class="form-check-input" type="radio" name="editCorrectAnswer" value="${Va}">
+            <label class="form-check-label">Правильный ответ</label>
+          </div>
+          <button type="button" class="btn btn-sm btn-outline-danger edit-remove-answer">
+            <i class="fa-solid fa-times"></i> Удалить
+          </button>
+        </div>
+        <div class="mb-3">
+          <label class="form-label">Текст ответа <span class="text-danger">*</span></label>
+          <textarea class="form-control" name="answers[${Va}].content" rows="2" required></textarea>
+        </div>
+        <div class="mb-3">
+          <label class="form-label">Пояснение</label>
+          <textarea class="form-control" name="answers[${Va}].explanation" rows="2"></textarea>
+        </div>
+        <input type="hidden" name="answers[${Va}].isCorrect" value="false">
+      </div>
+    `;Ta.appendChild(Wa);Wa.querySelector('.edit-remove-answer').addEventListener('click',function(){Wa.remove();Ca();});Wa.querySelector('input[type="radio"]').addEventListener('change',function(){La();});});const Xa=document.getElementById('topicFilter');const Ya=document.getElementById('difficultyFilter');const Za=document.getElementById('gradeFilter');const _a=document.getElementById('searchInput');const $a=document.getElementById('showDuplicatesFilter');const ab=document.getElementById('pageSize');const bb=document.getElementById('resetFilters');const cb=document.getElementById('tasksTableBody');const db=document.getElementById('tasksTotalCount');let eb=0;let fb=null;const gb=new IntersectionObserver(hb=>{hb.forEach(ib=>{if(ib.isIntersecting){gb.unobserve(ib.target);mb(ib.target.getAttribute('data-after-id'),ib.target);}});},{rootMargin:'200px'});function jb(kb){const lb=new URLSearchParams({topic:Xa.value,difficulty:Ya.value,grade:Za.value,search:_a.value,showDuplicates:$a.checked,size:ab.value});if(kb)lb.set('afterId',kb);return lb;}function mb(nb,ob){const pb=nb?eb:++eb;fetch(`${H}?${jb(nb).toString()}`).then(qb=>qb.text()).then(rb=>{if(pb!==eb)return;if(nb&&ob){ob.insertAdjacentHTML('beforebegin',rb);ob.remove();}else{cb.innerHTML=rb;}const sb=cb.querySelector('.tasks-total-row');if(sb){db.textContent=sb.getAttribute('data-total-count');sb.remove();}const tb=cb.querySelector('.tasks-load-more-row');if(tb)gb.observe(tb);}).catch(ub=>void 0);}function vb(){gb.disconnect();mb(null,null);}cb.addEventListener('click',function(wb){const xb=wb.target.closest('.edit-task-btn');if(xb)da(xb.getAttribute('data-id'));});Xa.addEventListener('change',vb);Ya.addEventListener('change',vb);Za.addEventListener('change',vb);$a.addEventListener('change',vb);ab.addEventListener('change',vb);_a.addEventListener('input',function(){clearTimeout(fb);fb=setTimeout(vb,300);});bb.addEventListener('click',function(){Xa.value='';Ya.value='';Za.value='';_a.value='';$a.checked=false;vb();});vb();});
\ No newline at end of file
@@ -100,8 +100,18 @@ public final class TestConstant {
 	 */
 	public static final String URL_ADMIN_IMPORT_EXPORT_HISTORY_CLEAR = "/admin/import-export-history/clear";
 
+	/**
+	 * URL для опроса прогресса активных заданий импорта/экспорта
+	 */
+	public static final String URL_ADMIN_API_IMPORT_EXPORT_JOBS = "/admin/api/import-export-jobs";
+
 	/**
 	 * URL для проверки статуса античит системы
 	 */
 	public static final String URL_ANTICHEAT_STATUS = "/api/ui-feedback/status";
+
+	/**
+	 * URL для пакетной отправки событий античита
+	 */
+	public static final String URL_ANTICHEAT_STATUS_BATCH = "/api/ui-feedback/status/batch";
 } 
\ No newline at end of file
@@ -236,8 +236,6 @@ public final class TestTempExamProgress {
 				.tabSwitchViolationCount(0)
 				.textCopyViolationCount(0)
 				.heartbeatMissedCount(0)
-				.lastHeartbeatTime(Instant.now())
-				.nextExpectedHeartbeatTime(Instant.now())
 				.terminatedByViolations(false)
 				.build();
 	}
@@ -351,8 +349,6 @@ public final class TestTempExamProgress {
 				.tabSwitchViolationCount(0)
 				.textCopyViolationCount(0)
 				.heartbeatMissedCount(0)
-				.lastHeartbeatTime(Instant.now())
-				.nextExpectedHeartbeatTime(Instant.now())
 				.terminatedByViolations(false)
 				.build();
 	}
@@ -390,8 +386,6 @@ public final class TestTempExamProgress {
 				.tabSwitchViolationCount(0)
 				.textCopyViolationCount(0)
 				.heartbeatMissedCount(0)
-				.lastHeartbeatTime(Instant.now())
-				.nextExpectedHeartbeatTime(Instant.now())
 				.terminatedByViolations(false)
 				.build();
 	}
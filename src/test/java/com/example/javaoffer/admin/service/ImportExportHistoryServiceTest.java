@@ -0,0 +1,113 @@
+package com.example.javaoffer.admin.service;
+
+import com.example.javaoffer.admin.entity.ImportExportHistory;
+import com.example.javaoffer.admin.property.JobProperties;
+import com.example.javaoffer.admin.repository.ImportExportHistoryRepository;
+import com.example.javaoffer.user.entity.User;
+import com.example.javaoffer.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты сохранения прогресса и статусов заданий в {@link ImportExportHistoryService}.
+ * <p>
+ * Класс не транзакционный: проверяется, что контрольные точки фиксируются
+ * в базе данных и видны другим транзакциям.
+ *
+ * @author Garbuzov Oleg
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ImportExportHistoryServiceTest {
+
+	@Autowired
+	private ImportExportHistoryService historyService;
+
+	@Autowired
+	private ImportExportHistoryRepository historyRepository;
+
+	@Autowired
+	private QuestionExportCursor exportCursor;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JobProperties jobProperties;
+
+	private ImportExportHistory history;
+
+	@BeforeEach
+	void setUp() {
+		User admin = userRepository.findByUsername("admin").orElseThrow();
+		history = historyService.createExportHistory(admin, "export-progress.json");
+	}
+
+	@AfterEach
+	void tearDown() {
+		historyRepository.deleteById(history.getId());
+	}
+
+	@Test
+	@DisplayName("Контрольная точка экспорта видна другим транзакциям до завершения обхода")
+	void exportCheckpointShouldBeVisibleFromAnotherTransaction() throws IOException {
+		TransactionTemplate reader = new TransactionTemplate(transactionManager);
+		reader.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		reader.setReadOnly(true);
+		List<Long> persistedRows = new ArrayList<>();
+
+		// Обход выполняется в транзакции только для чтения, как при экспорте
+		long exported = exportCursor.forEachTask(task -> {
+			long processed = persistedRows.size() + 1;
+			historyService.updateProgress(history, processed, 100L, 10.0, 9L);
+			persistedRows.add(reader.execute(status ->
+					historyRepository.findById(history.getId()).orElseThrow().getProcessedRows()));
+		});
+
+		assertTrue(exported > 0);
+		assertEquals(LongStream.rangeClosed(1, exported).boxed().toList(), persistedRows);
+		ImportExportHistory saved = historyRepository.findById(history.getId()).orElseThrow();
+		assertEquals(100L, saved.getTotalRows());
+		assertEquals(9L, saved.getEtaSeconds());
+	}
+
+	@Test
+	@DisplayName("При запуске с ошибкой завершаются только незавершенные задания этого узла")
+	void onlyOwnInterruptedJobsShouldBeFailed() {
+		User admin = userRepository.findByUsername("admin").orElseThrow();
+		ImportExportHistory otherNode = historyService.createImportHistory(admin, "other-node.csv");
+		otherNode.setNodeId(jobProperties.getNodeId() + "-other");
+		historyService.markAsRunning(otherNode);
+		try {
+			assertEquals(jobProperties.getNodeId(), history.getNodeId());
+
+			historyService.failInterruptedJobs();
+
+			assertEquals(ImportExportHistory.STATUS_ERROR,
+					historyRepository.findById(history.getId()).orElseThrow().getStatus());
+			assertEquals(ImportExportHistory.STATUS_IN_PROGRESS,
+					historyRepository.findById(otherNode.getId()).orElseThrow().getStatus());
+		} finally {
+			historyRepository.deleteById(otherNode.getId());
+		}
+	}
+}
@@ -0,0 +1,185 @@
+package com.example.javaoffer.admin.service;
+
+import com.example.javaoffer.admin.dto.ImportedQuestionDTO;
+import com.example.javaoffer.admin.service.job.JobContext;
+import com.example.javaoffer.exam.dto.AnswerDTO;
+import com.example.javaoffer.exam.dto.TaskDTO;
+import com.example.javaoffer.exam.entity.Answer;
+import com.example.javaoffer.exam.entity.Task;
+import com.example.javaoffer.exam.enums.TaskDifficulty;
+import com.example.javaoffer.exam.enums.TaskGrade;
+import com.example.javaoffer.exam.enums.TaskTopic;
+import com.example.javaoffer.exam.repository.AnswerRepository;
+import com.example.javaoffer.exam.repository.TaskRepository;
+import com.example.javaoffer.exam.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Тесты сохранения порций импорта {@link QuestionImportChunkService} и {@link QuestionImportSession}.
+ * <p>
+ * Класс не транзакционный: каждая порция фиксируется в собственной транзакции,
+ * как при настоящем импорте. Созданные тестом задания удаляются после каждого теста.
+ *
+ * @author Garbuzov Oleg
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class QuestionImportChunkServiceTest {
+
+	@Autowired
+	private QuestionImportChunkService chunkService;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private AnswerRepository answerRepository;
+
+	private final String marker = UUID.randomUUID().toString();
+	private final String prefix = "Импорт " + marker + ": ";
+	private TaskDTO existing;
+
+	@BeforeEach
+	void setUp() {
+		existing = taskService.createTask(taskDTO(null, prefix + "Что такое JVM?",
+				answer("Виртуальная машина", true), answer("Компилятор", false)));
+	}
+
+	@AfterEach
+	void tearDown() {
+		taskRepository.findAll().stream()
+				.filter(task -> task.getQuestion() != null && task.getQuestion().contains(marker))
+				.forEach(task -> taskService.deleteTask(task.getId()));
+	}
+
+	@Test
+	@DisplayName("Вопрос с идентификатором из файла обновляется по id, ответы заменяются")
+	void questionShouldBeUpdatedById() {
+		QuestionImportChunkService.ChunkResult result = chunkService.saveChunk(List.of(
+				imported(2, taskDTO(existing.getId(), prefix + "Что такое JVM и JIT?",
+						answer("Среда выполнения байткода", true)))));
+
+		assertEquals(0, result.createdQuestions());
+		assertEquals(1, result.updatedQuestions());
+		assertEquals(1, result.createdAnswers());
+		assertEquals(prefix + "Что такое JVM и JIT?", taskRepository.findById(existing.getId()).orElseThrow().getQuestion());
+		assertEquals(List.of("Среда выполнения байткода"), contents(existing.getId()));
+	}
+
+	@Test
+	@DisplayName("Вопрос без id находится по хешу текста без учета пробелов, новый текст создает задание")
+	void questionShouldBeMatchedByContentHash() {
+		QuestionImportChunkService.ChunkResult result = chunkService.saveChunk(List.of(
+				imported(2, taskDTO(null, "  " + prefix.replace(" ", "\t") + "Что  такое\nJVM?",
+						answer("Java Virtual Machine", true))),
+				imported(3, taskDTO(null, prefix + "Что такое JDK?", answer("Набор разработчика", true)))));
+
+		assertEquals(1, result.createdQuestions());
+		assertEquals(1, result.updatedQuestions());
+		assertEquals(List.of("Java Virtual Machine"), contents(existing.getId()));
+		List<Task> created = taskRepository.findByQuestion(prefix + "Что такое JDK?");
+		assertEquals(1, created.size());
+		assertEquals(List.of("Набор разработчика"), contents(created.getFirst().getId()));
+	}
+
+	@Test
+	@DisplayName("Новые ответы получают идентификаторы из последовательности ответов")
+	void replacedAnswersShouldTakeIdsFromSequence() {
+		Set<Long> oldIds = ids(existing.getId());
+
+		chunkService.saveChunk(List.of(imported(2, taskDTO(existing.getId(), existing.getQuestion(),
+				answer("Первый", true), answer("Второй", false), answer("Третий", false)))));
+
+		Set<Long> newIds = ids(existing.getId());
+		assertEquals(3, newIds.size());
+		assertTrue(Collections.disjoint(oldIds, newIds));
+		assertTrue(Collections.min(newIds) > Collections.max(oldIds));
+
+		// Следующий ответ, сохраненный через JPA, берет значение из той же последовательности без конфликта
+		Answer answer = answerRepository.save(Answer.builder()
+				.task(taskRepository.getReferenceById(existing.getId()))
+				.content("Четвертый")
+				.build());
+		assertTrue(answer.getId() > Collections.max(newIds));
+	}
+
+	@Test
+	@DisplayName("Ошибка в середине порции откатывает всю порцию, следующие порции сохраняются")
+	void failedChunkShouldBeRolledBackAndImportShouldContinue() {
+		JobContext context = mock(JobContext.class);
+		QuestionImportSession session = new QuestionImportSession(chunkService, context, 2);
+
+		session.add(imported(2, taskDTO(existing.getId(), prefix + "Измененный вопрос", answer("Ответ", true))));
+		TaskDTO invalid = taskDTO(null, prefix + "Вопрос без темы", answer("Ответ", true));
+		invalid.setTopic(null);
+		session.add(imported(3, invalid));
+		session.add(imported(4, taskDTO(null, prefix + "Что такое GC?", answer("Сборщик мусора", true))));
+		String report = session.finish();
+
+		assertTrue(report.contains("Ошибка сохранения вопросов в строках 2-3"), report);
+		assertTrue(report.startsWith("Обновлено вопросов: 0, создано вопросов: 1, создано ответов: 1"), report);
+		assertEquals(prefix + "Что такое JVM?", taskRepository.findById(existing.getId()).orElseThrow().getQuestion());
+		assertEquals(List.of("Виртуальная машина", "Компилятор"), contents(existing.getId()));
+		assertTrue(taskRepository.findByQuestion(prefix + "Вопрос без темы").isEmpty());
+		assertEquals(1, taskRepository.findByQuestion(prefix + "Что такое GC?").size());
+		assertEquals(3, session.getProcessedQuestions());
+
+		// Контрольная точка после откаченной порции продолжает счет с учетом её вопросов
+		InOrder inOrder = inOrder(context);
+		inOrder.verify(context).checkpoint(0);
+		inOrder.verify(context).checkpoint(1);
+		inOrder.verify(context).checkpoint(2);
+		inOrder.verify(context).checkpoint(2);
+		inOrder.verify(context).checkpoint(3);
+	}
+
+	private List<String> contents(Long taskId) {
+		return answerRepository.findByTaskId(taskId).stream()
+				.sorted(Comparator.comparing(Answer::getId))
+				.map(Answer::getContent)
+				.toList();
+	}
+
+	private Set<Long> ids(Long taskId) {
+		Set<Long> ids = new HashSet<>();
+		answerRepository.findByTaskId(taskId).forEach(answer -> ids.add(answer.getId()));
+		return ids;
+	}
+
+	private static ImportedQuestionDTO imported(long line, TaskDTO task) {
+		return new ImportedQuestionDTO(line, task);
+	}
+
+	private static TaskDTO taskDTO(Long id, String question, AnswerDTO... answers) {
+		return TaskDTO.builder()
+				.id(id)
+				.question(question)
+				.topic(TaskTopic.CORE)
+				.difficulty(TaskDifficulty.MEDIUM1)
+				.grade(TaskGrade.JUNIOR)
+				.answers(new ArrayList<>(List.of(answers)))
+				.build();
+	}
+
+	private static AnswerDTO answer(String content, boolean correct) {
+		return AnswerDTO.builder()
+				.content(content)
+				.isCorrect(correct)
+				.build();
+	}
+}
@@ -0,0 +1,173 @@
+package com.example.javaoffer.admin.service.format;
+
+import com.example.javaoffer.admin.dto.ImportedQuestionDTO;
+import com.example.javaoffer.admin.enums.QuestionFileFormat;
+import com.example.javaoffer.exam.entity.Answer;
+import com.example.javaoffer.exam.entity.Task;
+import com.example.javaoffer.exam.enums.TaskDifficulty;
+import com.example.javaoffer.exam.enums.TaskGrade;
+import com.example.javaoffer.exam.enums.TaskTopic;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Сравнение скорости форматов импорта и экспорта вопросов на 100 000 ответов.
+ * <p>
+ * Для каждого формата (с gzip и без) замеряется запись и последующее чтение
+ * 25 000 вопросов по 4 ответа; результаты выводятся в лог. База данных
+ * не используется, поэтому измеряются только кодеки форматов.
+ * <p>
+ * Тест долгий и по умолчанию отключен; запуск:
+ * {@code mvn test -Dtest=QuestionFormatBenchmarkTest -Dbenchmark=true}
+ *
+ * @author Garbuzov Oleg
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class QuestionFormatBenchmarkTest {
+
+	private static final int QUESTIONS = 25_000;
+	private static final int ANSWERS_PER_QUESTION = 4;
+	private static final int WARMUP_ROUNDS = 1;
+
+	private static ValidatorFactory validatorFactory;
+	private static QuestionFormats formats;
+	private static List<Task> tasks;
+
+	@BeforeAll
+	static void setUp() {
+		validatorFactory = Validation.buildDefaultValidatorFactory();
+		formats = new QuestionFormats(new ObjectMapper(), validatorFactory.getValidator());
+		tasks = generateTasks();
+	}
+
+	@AfterAll
+	static void tearDown() {
+		validatorFactory.close();
+	}
+
+	@ParameterizedTest
+	@EnumSource(QuestionFileFormat.class)
+	@DisplayName("Запись и чтение 100 000 ответов")
+	void benchmarkPlain(QuestionFileFormat format) throws IOException {
+		benchmark(format, false);
+	}
+
+	@ParameterizedTest
+	@EnumSource(QuestionFileFormat.class)
+	@DisplayName("Запись и чтение 100 000 ответов со сжатием gzip")
+	void benchmarkGzip(QuestionFileFormat format) throws IOException {
+		benchmark(format, true);
+	}
+
+	private void benchmark(QuestionFileFormat format, boolean gzip) throws IOException {
+		Path file = Files.createTempFile("questions-benchmark-", "." + format.getExtension() + (gzip ? ".gz" : ""));
+		try {
+			for (int i = 0; i < WARMUP_ROUNDS; i++) {
+				write(format, gzip, file);
+				read(format, file);
+			}
+
+			long writeStart = System.nanoTime();
+			write(format, gzip, file);
+			long writeMillis = (System.nanoTime() - writeStart) / 1_000_000;
+
+			long readStart = System.nanoTime();
+			CountingSink sink = read(format, file);
+			long readMillis = (System.nanoTime() - readStart) / 1_000_000;
+
+			log.info("{}{}: запись {} мс, чтение {} мс, размер {} КБ",
+					format, gzip ? "+gzip" : "", writeMillis, readMillis, Files.size(file) / 1024);
+
+			assertEquals(0, sink.errors);
+			assertEquals(QUESTIONS, sink.questions);
+			assertEquals(QUESTIONS * ANSWERS_PER_QUESTION, sink.answers);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private void write(QuestionFileFormat format, boolean gzip, Path file) throws IOException {
+		try (OutputStream fileStream = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024);
+			 OutputStream output = gzip ? new GZIPOutputStream(fileStream, 64 * 1024) : fileStream;
+			 QuestionWriter writer = formats.writer(format, output)) {
+			for (Task task : tasks) {
+				writer.write(task);
+			}
+			writer.finish();
+		}
+	}
+
+	private CountingSink read(QuestionFileFormat format, Path file) throws IOException {
+		CountingSink sink = new CountingSink();
+		formats.reader(format).read(file, sink);
+		return sink;
+	}
+
+	private static List<Task> generateTasks() {
+		TaskTopic[] topics = TaskTopic.values();
+		TaskDifficulty[] difficulties = TaskDifficulty.values();
+		TaskGrade[] grades = TaskGrade.values();
+		List<Task> result = new ArrayList<>(QUESTIONS);
+		long answerId = 1;
+		for (int i = 0; i < QUESTIONS; i++) {
+			Task task = Task.builder()
+					.id((long) i + 1)
+					.question("Вопрос №" + i + ": что выведет программа, если вызвать метод с аргументом " + i + "?")
+					.topic(topics[i % topics.length])
+					.difficulty(difficulties[i % difficulties.length])
+					.grade(grades[i % grades.length])
+					.build();
+			for (int j = 0; j < ANSWERS_PER_QUESTION; j++) {
+				task.getAnswers().add(Answer.builder()
+						.id(answerId++)
+						.task(task)
+						.content("Вариант ответа " + j + " к вопросу " + i)
+						.isCorrect(j == 0)
+						.explanation(j == 0 ? "Пояснение, почему вариант " + j + " верный" : null)
+						.build());
+			}
+			result.add(task);
+		}
+		return result;
+	}
+
+	/**
+	 * Получатель, который только считает прочитанные вопросы и ответы.
+	 */
+	private static class CountingSink implements QuestionSink {
+		private int questions;
+		private int answers;
+		private int errors;
+
+		@Override
+		public void add(ImportedQuestionDTO question) {
+			questions++;
+			answers += question.getTask().getAnswers().size();
+		}
+
+		@Override
+		public void addError(long line, String message) {
+			errors++;
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.example.javaoffer.admin.service.format;
+
+import com.example.javaoffer.admin.dto.ImportedQuestionDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты сборки вопросов из строк табличного файла {@link TabularQuestionAssembler}.
+ *
+ * @author Garbuzov Oleg
+ */
+class TabularQuestionAssemblerTest {
+
+	private final List<ImportedQuestionDTO> questions = new ArrayList<>();
+	private final List<String> errors = new ArrayList<>();
+	private TabularQuestionAssembler assembler;
+
+	@BeforeEach
+	void setUp() {
+		assembler = new TabularQuestionAssembler(new QuestionSink() {
+			@Override
+			public void add(ImportedQuestionDTO question) {
+				questions.add(question);
+			}
+
+			@Override
+			public void addError(long line, String message) {
+				errors.add(line + ": " + message);
+			}
+		});
+	}
+
+	@Test
+	@DisplayName("Вопрос с ответами собирается из нескольких строк, числовой id вида 12.0 принимается")
+	void questionShouldBeAssembledFromRows() {
+		assembler.acceptRow(2, row("12.0", "Что такое JVM?", "Ответ 1", "true"));
+		assembler.acceptRow(3, row("12.0", "", "Ответ 2", "false"));
+		assembler.acceptRow(4, row("", "Новый вопрос", "Ответ", "1"));
+		assembler.finish();
+
+		assertTrue(errors.isEmpty());
+		assertEquals(2, questions.size());
+		assertEquals(12L, questions.get(0).getTask().getId());
+		assertEquals(2, questions.get(0).getTask().getAnswers().size());
+		assertNull(questions.get(1).getTask().getId());
+	}
+
+	@Test
+	@DisplayName("Id с разделителями разрядов считается ошибкой строки, а не новым вопросом")
+	void formattedIdShouldBeReportedAsError() {
+		assembler.acceptRow(2, row("1,234", "Что такое JVM?", "Ответ 1", "true"));
+		assembler.acceptRow(3, row("1,234", "", "Ответ 2", "false"));
+		assembler.acceptRow(4, row("1 234", "Что такое JIT?", "Ответ 1", "true"));
+		assembler.acceptRow(5, row("1.5", "Что такое GC?", "Ответ 1", "true"));
+		assembler.acceptRow(6, row("7", "Что такое JDK?", "Ответ 1", "true"));
+		assembler.finish();
+
+		assertEquals(3, errors.size());
+		assertTrue(errors.get(0).startsWith("2: ") && errors.get(0).contains("1,234"), errors.get(0));
+		assertTrue(errors.get(1).startsWith("4: ") && errors.get(1).contains("1 234"), errors.get(1));
+		assertTrue(errors.get(2).startsWith("5: ") && errors.get(2).contains("1.5"), errors.get(2));
+		assertEquals(1, questions.size());
+		assertEquals(7L, questions.getFirst().getTask().getId());
+		assertEquals(1, questions.getFirst().getTask().getAnswers().size());
+	}
+
+	@Test
+	@DisplayName("Строка из пустых ячеек и пробелов в столбцах id пропускается")
+	void blankRowShouldBeSkipped() {
+		assembler.acceptRow(2, row("7", "Что такое JDK?", "Ответ 1", "true"));
+		assembler.acceptRow(3, new String[]{" ", null, null, null, null, " "});
+		assembler.finish();
+
+		assertTrue(errors.isEmpty());
+		assertEquals(1, questions.getFirst().getTask().getAnswers().size());
+	}
+
+	private static String[] row(String questionId, String questionText, String answerText, String isCorrect) {
+		boolean question = !questionText.isEmpty();
+		return new String[]{questionId, questionText, question ? "CORE" : "", question ? "MEDIUM1" : "",
+				question ? "JUNIOR" : "", "", answerText, isCorrect, ""};
+	}
+}
@@ -0,0 +1,237 @@
+package com.example.javaoffer.admin.service.job;
+
+import com.example.javaoffer.admin.dto.ImportExportJobProgressDTO;
+import com.example.javaoffer.admin.entity.ImportExportHistory;
+import com.example.javaoffer.admin.exception.JobQueueFullException;
+import com.example.javaoffer.admin.property.JobProperties;
+import com.example.javaoffer.admin.service.ImportExportHistoryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Тесты очереди заданий {@link ImportExportJobScheduler}: лимиты по типам операции,
+ * переполнение очереди, отмена и сохранение прогресса.
+ *
+ * @author Garbuzov Oleg
+ */
+class ImportExportJobSchedulerTest {
+
+	private static final long TIMEOUT_MS = 5000;
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	private ImportExportHistoryService historyService;
+	private JobProperties properties;
+	private ImportExportJobScheduler scheduler;
+	private long nextId;
+
+	@BeforeEach
+	void setUp() {
+		historyService = mock(ImportExportHistoryService.class);
+		properties = new JobProperties();
+		properties.setWorkers(2);
+		properties.setQueueCapacity(20);
+		properties.setImportConcurrency(1);
+		properties.setExportConcurrency(1);
+		properties.setCheckpointInterval(Duration.ofHours(1));
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		if (scheduler != null) {
+			scheduler.shutdown();
+		}
+	}
+
+	private ImportExportJobScheduler scheduler() {
+		scheduler = new ImportExportJobScheduler(historyService, properties);
+		return scheduler;
+	}
+
+	private ImportExportHistory history(String operationType) {
+		return ImportExportHistory.builder()
+				.id(++nextId)
+				.operationType(operationType)
+				.fileName("questions-" + nextId + ".json")
+				.status(ImportExportHistory.STATUS_QUEUED)
+				.build();
+	}
+
+	private static ImportExportJobProgressDTO progress(List<ImportExportJobProgressDTO> jobs, ImportExportHistory history) {
+		return jobs.stream()
+				.filter(job -> job.getId().equals(history.getId()))
+				.findFirst()
+				.orElseThrow();
+	}
+
+	@Test
+	@DisplayName("Задание сверх лимита своего типа ждет в очереди, задание другого типа выполняется")
+	void concurrencyLimitShouldApplyPerOperationType() throws InterruptedException {
+		ImportExportJobScheduler scheduler = scheduler();
+		ImportExportHistory firstImport = history(ImportExportHistory.OPERATION_TYPE_IMPORT);
+		ImportExportHistory secondImport = history(ImportExportHistory.OPERATION_TYPE_IMPORT);
+		ImportExportHistory export = history(ImportExportHistory.OPERATION_TYPE_EXPORT);
+		BlockingJob firstImportJob = new BlockingJob();
+		BlockingJob secondImportJob = new BlockingJob();
+		BlockingJob exportJob = new BlockingJob();
+
+		scheduler.submit(firstImport, firstImportJob);
+		scheduler.submit(secondImport, secondImportJob);
+		scheduler.submit(export, exportJob);
+
+		assertTrue(firstImportJob.awaitStarted());
+		assertTrue(exportJob.awaitStarted());
+		List<ImportExportJobProgressDTO> jobs = scheduler.getActiveJobs();
+		assertEquals(ImportExportHistory.STATUS_IN_PROGRESS, progress(jobs, firstImport).getStatus());
+		assertEquals(ImportExportHistory.STATUS_IN_PROGRESS, progress(jobs, export).getStatus());
+		assertEquals(ImportExportHistory.STATUS_QUEUED, progress(jobs, secondImport).getStatus());
+		assertEquals(1, progress(jobs, secondImport).getQueuePosition());
+		verify(historyService, never()).markAsRunning(secondImport);
+
+		release.countDown();
+
+		assertTrue(secondImportJob.awaitStarted());
+		verify(historyService, timeout(TIMEOUT_MS)).markAsSuccess(secondImport, "done");
+	}
+
+	@Test
+	@DisplayName("Переполненная очередь отклоняет новое задание")
+	void fullQueueShouldRejectJob() throws InterruptedException {
+		properties.setWorkers(1);
+		properties.setQueueCapacity(1);
+		ImportExportJobScheduler scheduler = scheduler();
+		BlockingJob runningJob = new BlockingJob();
+
+		scheduler.submit(history(ImportExportHistory.OPERATION_TYPE_EXPORT), runningJob);
+		assertTrue(runningJob.awaitStarted());
+		scheduler.submit(history(ImportExportHistory.OPERATION_TYPE_EXPORT), new BlockingJob());
+		ImportExportHistory rejected = history(ImportExportHistory.OPERATION_TYPE_IMPORT);
+
+		assertThrows(JobQueueFullException.class, () -> scheduler.submit(rejected, new BlockingJob()));
+		assertEquals(2, scheduler.getActiveJobs().size());
+		assertFalse(scheduler.cancel(rejected.getId()));
+	}
+
+	@Test
+	@DisplayName("Отмена задания из очереди снимает его без запуска")
+	void cancelShouldRemoveQueuedJob() throws InterruptedException {
+		properties.setWorkers(1);
+		ImportExportJobScheduler scheduler = scheduler();
+		ImportExportHistory running = history(ImportExportHistory.OPERATION_TYPE_EXPORT);
+		ImportExportHistory queued = history(ImportExportHistory.OPERATION_TYPE_EXPORT);
+		BlockingJob runningJob = new BlockingJob();
+		BlockingJob queuedJob = new BlockingJob();
+		scheduler.submit(running, runningJob);
+		assertTrue(runningJob.awaitStarted());
+		scheduler.submit(queued, queuedJob);
+
+		assertTrue(scheduler.cancel(queued.getId()));
+
+		verify(historyService).markAsCancelled(queued, "Отменено до начала выполнения");
+		assertTrue(queuedJob.discarded);
+		assertEquals(List.of(running.getId()),
+				scheduler.getActiveJobs().stream().map(ImportExportJobProgressDTO::getId).toList());
+
+		release.countDown();
+
+		verify(historyService, timeout(TIMEOUT_MS)).markAsSuccess(running, "done");
+		assertEquals(1, queuedJob.started.getCount());
+		verify(historyService, never()).markAsRunning(queued);
+	}
+
+	@Test
+	@DisplayName("Выполняющееся задание останавливается в ближайшей контрольной точке")
+	void cancelShouldStopRunningJob() throws InterruptedException {
+		ImportExportJobScheduler scheduler = scheduler();
+		ImportExportHistory history = history(ImportExportHistory.OPERATION_TYPE_IMPORT);
+		BlockingJob job = new BlockingJob();
+		scheduler.submit(history, job);
+		assertTrue(job.awaitStarted());
+
+		assertTrue(scheduler.cancel(history.getId()));
+
+		verify(historyService, timeout(TIMEOUT_MS))
+				.markAsCancelled(eq(history), startsWith("Отменено администратором, обработано строк: "));
+		verify(historyService, never()).markAsSuccess(any(), any());
+		verify(historyService, never()).markAsError(any(), any());
+		assertFalse(job.discarded);
+	}
+
+	@Test
+	@DisplayName("Итоговый прогресс сохраняется перед статусом завершения")
+	void finalProgressShouldBePersistedBeforeSuccess() {
+		ImportExportJobScheduler scheduler = scheduler();
+		ImportExportHistory history = history(ImportExportHistory.OPERATION_TYPE_EXPORT);
+
+		scheduler.submit(history, context -> {
+			context.setTotalRows(3);
+			for (int row = 1; row <= 3; row++) {
+				context.checkpoint(row);
+			}
+			return "exported";
+		});
+
+		verify(historyService, timeout(TIMEOUT_MS)).markAsSuccess(history, "exported");
+		InOrder inOrder = inOrder(historyService);
+		inOrder.verify(historyService).markAsRunning(history);
+		inOrder.verify(historyService).updateProgress(eq(history), eq(3L), eq(3L), anyDouble(), eq(0L));
+		inOrder.verify(historyService).markAsSuccess(history, "exported");
+	}
+
+	@Test
+	@DisplayName("Ошибка задания переводит запись в статус ошибки и освобождает место для следующего")
+	void failedJobShouldBeMarkedAsError() throws InterruptedException {
+		properties.setWorkers(1);
+		ImportExportJobScheduler scheduler = scheduler();
+		ImportExportHistory failed = history(ImportExportHistory.OPERATION_TYPE_IMPORT);
+		ImportExportHistory next = history(ImportExportHistory.OPERATION_TYPE_IMPORT);
+		BlockingJob nextJob = new BlockingJob();
+
+		scheduler.submit(failed, context -> {
+			throw new IllegalStateException("broken file");
+		});
+		scheduler.submit(next, nextJob);
+
+		verify(historyService, timeout(TIMEOUT_MS)).markAsError(failed, "broken file");
+		assertTrue(nextJob.awaitStarted());
+	}
+
+	/**
+	 * Задание, которое выполняется до вызова {@code release} и проходит контрольные точки.
+	 */
+	private final class BlockingJob implements ImportExportJob {
+		private final CountDownLatch started = new CountDownLatch(1);
+		private volatile boolean discarded;
+
+		@Override
+		public String run(JobContext context) throws InterruptedException {
+			started.countDown();
+			long rows = 0;
+			while (!release.await(10, TimeUnit.MILLISECONDS)) {
+				context.checkpoint(++rows);
+			}
+			return "done";
+		}
+
+		@Override
+		public void discard() {
+			discarded = true;
+		}
+
+		boolean awaitStarted() throws InterruptedException {
+			return started.await(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+		}
+	}
+}
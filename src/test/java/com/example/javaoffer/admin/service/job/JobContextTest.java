@@ -0,0 +1,153 @@
+package com.example.javaoffer.admin.service.job;
+
+import com.example.javaoffer.admin.dto.ImportExportJobProgressDTO;
+import com.example.javaoffer.admin.entity.ImportExportHistory;
+import com.example.javaoffer.admin.exception.JobCancelledException;
+import com.example.javaoffer.admin.service.ImportExportHistoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Тесты контрольных точек и оценки оставшегося времени в {@link JobContext}.
+ *
+ * @author Garbuzov Oleg
+ */
+class JobContextTest {
+
+	private ImportExportHistoryService historyService;
+	private ImportExportHistory history;
+
+	@BeforeEach
+	void setUp() {
+		historyService = mock(ImportExportHistoryService.class);
+		history = ImportExportHistory.builder()
+				.id(1L)
+				.operationType(ImportExportHistory.OPERATION_TYPE_EXPORT)
+				.fileName("export.json")
+				.status(ImportExportHistory.STATUS_QUEUED)
+				.build();
+	}
+
+	private JobContext context(Duration checkpointInterval) {
+		JobContext context = new JobContext(history, jobContext -> "", historyService, checkpointInterval.toNanos());
+		context.start();
+		return context;
+	}
+
+	@Test
+	@DisplayName("Контрольная точка сохраняет прогресс, когда прошел интервал")
+	void checkpointShouldPersistProgressAfterInterval() {
+		JobContext context = context(Duration.ZERO);
+		context.setTotalRows(100);
+
+		context.checkpoint(10);
+		context.checkpoint(20);
+
+		verify(historyService).updateProgress(eq(history), eq(10L), eq(100L), anyDouble(), any());
+		verify(historyService).updateProgress(eq(history), eq(20L), eq(100L), anyDouble(), any());
+	}
+
+	@Test
+	@DisplayName("Контрольные точки внутри интервала не обращаются к базе данных")
+	void checkpointShouldNotPersistWithinInterval() {
+		JobContext context = context(Duration.ofHours(1));
+
+		context.checkpoint(10);
+		context.checkpoint(20);
+
+		verifyNoInteractions(historyService);
+		assertEquals(20, context.getProcessedRows());
+	}
+
+	@Test
+	@DisplayName("Итоговый прогресс сохраняется независимо от интервала")
+	void finalProgressShouldBePersistedWithinInterval() {
+		JobContext context = context(Duration.ofHours(1));
+
+		context.checkpoint(42);
+		context.persistFinalProgress();
+
+		verify(historyService).updateProgress(eq(history), eq(42L), isNull(), anyDouble(), isNull());
+	}
+
+	@Test
+	@DisplayName("Итоговый прогресс не сохраняется для задания, которое не запускалось")
+	void finalProgressShouldBeSkippedForQueuedJob() {
+		JobContext context = new JobContext(history, jobContext -> "", historyService, 0);
+
+		context.persistFinalProgress();
+
+		verifyNoInteractions(historyService);
+	}
+
+	@Test
+	@DisplayName("Контрольная точка прерывает задание после запроса отмены")
+	void checkpointShouldThrowAfterCancelRequest() {
+		JobContext context = context(Duration.ofHours(1));
+
+		context.requestCancel();
+
+		assertThrows(JobCancelledException.class, () -> context.checkpoint(1));
+		assertTrue(context.isCancelRequested());
+		assertEquals(1, context.getProcessedRows());
+	}
+
+	@Test
+	@DisplayName("Оставшееся время рассчитывается по средней скорости с округлением вверх")
+	void etaShouldBeRoundedUp() {
+		assertEquals(15L, JobContext.etaSeconds(250, 1000, 50.0));
+		assertEquals(1L, JobContext.etaSeconds(999, 1000, 3.0));
+		assertEquals(0L, JobContext.etaSeconds(1000, 1000, 50.0));
+		assertEquals(0L, JobContext.etaSeconds(1200, 1000, 50.0));
+	}
+
+	@Test
+	@DisplayName("Оставшееся время неизвестно без общего количества строк или скорости")
+	void etaShouldBeUnknownWithoutTotalOrRate() {
+		assertNull(JobContext.etaSeconds(250, -1, 50.0));
+		assertNull(JobContext.etaSeconds(0, 1000, 0));
+	}
+
+	@Test
+	@DisplayName("Сохраненная оценка времени согласована с сохраненной скоростью")
+	void persistedEtaShouldMatchPersistedRate() {
+		JobContext context = context(Duration.ZERO);
+		context.setTotalRows(1000);
+
+		context.checkpoint(250);
+
+		ArgumentCaptor<Double> rate = ArgumentCaptor.forClass(Double.class);
+		ArgumentCaptor<Long> eta = ArgumentCaptor.forClass(Long.class);
+		verify(historyService).updateProgress(eq(history), eq(250L), eq(1000L), rate.capture(), eta.capture());
+		assertTrue(rate.getValue() > 0);
+		assertEquals((long) Math.ceil(750 / rate.getValue()), eta.getValue());
+	}
+
+	@Test
+	@DisplayName("Снимок прогресса отражает состояние задания")
+	void snapshotShouldReflectState() {
+		JobContext queued = new JobContext(history, jobContext -> "", historyService, 0);
+		ImportExportJobProgressDTO queuedSnapshot = queued.snapshot(3);
+		assertEquals(ImportExportHistory.STATUS_QUEUED, queuedSnapshot.getStatus());
+		assertEquals(3, queuedSnapshot.getQueuePosition());
+		assertNull(queuedSnapshot.getEtaSeconds());
+
+		JobContext running = context(Duration.ofHours(1));
+		running.setTotalRows(10);
+		running.checkpoint(4);
+		running.requestCancel();
+		ImportExportJobProgressDTO runningSnapshot = running.snapshot(0);
+		assertEquals(ImportExportHistory.STATUS_IN_PROGRESS, runningSnapshot.getStatus());
+		assertEquals(4, runningSnapshot.getProcessedRows());
+		assertEquals(10L, runningSnapshot.getTotalRows());
+		assertTrue(runningSnapshot.isCancelRequested());
+	}
+}
@@ -0,0 +1,66 @@
+package com.example.javaoffer.common.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты нормализации и хеширования текстов {@link ContentHashUtils}.
+ *
+ * @author Garbuzov Oleg
+ */
+class ContentHashUtilsTest {
+
+	private static final String CHANGELOG = "db/changelog/changes/004-task-content-hash.yaml";
+
+	@Test
+	@DisplayName("Табуляции и переводы строк заменяются одним пробелом")
+	void asciiWhitespaceShouldBeCollapsed() {
+		assertEquals("Что такое JVM?", ContentHashUtils.normalize("\tЧто\r\n такое\u000B\fJVM?\n"));
+	}
+
+	@Test
+	@DisplayName("Неразрывный и другие пробелы Unicode нормализуются так же, как обычный пробел")
+	void unicodeWhitespaceShouldBeCollapsed() {
+		assertEquals("Что такое JVM?", ContentHashUtils.normalize("\u00A0Что\u2007такое \u3000JVM?\u0085"));
+		assertEquals(ContentHashUtils.sha256Hex("Что такое JVM?"), ContentHashUtils.sha256Hex("Что\u00A0такое\u202FJVM?"));
+	}
+
+	@Test
+	@DisplayName("Управляющие символы, не являющиеся пробелами, сохраняются и по краям")
+	void controlCharactersShouldBeKept() {
+		assertEquals("\u0001Что такое JVM?\u001F", ContentHashUtils.normalize(" \u0001Что такое JVM?\u001F "));
+		assertEquals("a\u200Bb", ContentHashUtils.normalize("a\u200Bb"));
+		assertNotEquals(ContentHashUtils.sha256Hex("Что такое JVM?"), ContentHashUtils.sha256Hex("\u0001Что такое JVM?"));
+	}
+
+	@Test
+	@DisplayName("Пустой текст, текст из пробелов и null нормализуются в пустую строку")
+	void blankTextShouldBeEmpty() {
+		assertEquals("", ContentHashUtils.normalize(null));
+		assertEquals("", ContentHashUtils.normalize(" "));
+		assertEquals("", ContentHashUtils.normalize("\t\u00A0\n"));
+	}
+
+	@Test
+	@DisplayName("Хеш равен SHA-256 нормализованного текста в UTF-8")
+	void hashShouldBeSha256OfNormalizedText() {
+		assertEquals("d5981721da129cb4cbd6cfa37cbd492a6f3ed41c6237e3a50659ef5e4bda1fb3",
+				ContentHashUtils.sha256Hex("  Что такое\n\nJVM?\t"));
+	}
+
+	@Test
+	@DisplayName("Пересчет хешей в Liquibase использует тот же набор пробельных символов")
+	void changelogShouldUseSameWhitespaceCharacters() throws IOException {
+		try (InputStream changelog = getClass().getClassLoader().getResourceAsStream(CHANGELOG)) {
+			assertNotNull(changelog, CHANGELOG);
+			String content = new String(changelog.readAllBytes(), StandardCharsets.UTF_8);
+			assertTrue(content.contains("'" + ContentHashUtils.WHITESPACE_CHARACTERS + "+'"));
+		}
+	}
+}
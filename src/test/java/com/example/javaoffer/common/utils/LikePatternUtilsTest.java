@@ -0,0 +1,44 @@
+package com.example.javaoffer.common.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты {@link LikePatternUtils}.
+ *
+ * @author Garbuzov Oleg
+ */
+class LikePatternUtilsTest {
+
+	@Test
+	@DisplayName("Спецсимволы LIKE экранируются")
+	void specialCharactersShouldBeEscaped() {
+		assertEquals("%a\\_b%", LikePatternUtils.containsLowerCase("a_b"));
+		assertEquals("%100\\%%", LikePatternUtils.containsLowerCase("100%"));
+		assertEquals("%c:\\\\dir%", LikePatternUtils.containsLowerCase("C:\\dir"));
+	}
+
+	@Test
+	@DisplayName("Пустой поиск отключает фильтр, строка обрезается и приводится к нижнему регистру")
+	void blankValueShouldDisableFilter() {
+		assertNull(LikePatternUtils.containsLowerCase(null));
+		assertNull(LikePatternUtils.containsLowerCase("   "));
+		assertEquals("%user%", LikePatternUtils.containsLowerCase("  UsEr "));
+	}
+
+	@Test
+	@DisplayName("Нижний регистр не зависит от локали по умолчанию")
+	void lowerCaseShouldIgnoreDefaultLocale() {
+		Locale previous = Locale.getDefault();
+		Locale.setDefault(Locale.forLanguageTag("tr"));
+		try {
+			assertEquals("%title%", LikePatternUtils.containsLowerCase("TITLE"));
+		} finally {
+			Locale.setDefault(previous);
+		}
+	}
+}
@@ -25,7 +25,6 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
-import java.util.Arrays;
 import java.util.List;
 
 import static com.example.javaoffer.common.constants.UrlConstant.*;
@@ -126,7 +125,7 @@ class AdminControllerTest {
 	 * <p>
 	 * Проверяет:
 	 * <ul>
-	 *   <li>Загрузку всех вопросов из сервиса</li>
+	 *   <li>Отсутствие загрузки полного списка вопросов (строки подгружаются порциями)</li>
 	 *   <li>Корректность возвращаемого представления</li>
 	 *   <li>Наличие необходимых атрибутов модели</li>
 	 *   <li>Вызов соответствующих методов сервиса</li>
@@ -140,32 +139,17 @@ class AdminControllerTest {
 	void testQuestionsPage() throws Exception {
 		log.info("Тестирование страницы управления вопросами");
 		
-		log.debug("Создание тестовых данных вопросов");
-		TaskDTO task1 = new TaskDTO();
-		task1.setQuestion("Test Question 1");
-		task1.setTopic(TaskTopic.CORE);
-		task1.setDifficulty(TaskDifficulty.MEDIUM1);
-		task1.setGrade(TaskGrade.JUNIOR);
-
-		TaskDTO task2 = new TaskDTO();
-		task2.setQuestion("Test Question 2");
-		task2.setTopic(TaskTopic.SPRING);
-		task2.setDifficulty(TaskDifficulty.HARD1);
-		task2.setGrade(TaskGrade.SENIOR);
-
-		List<TaskDTO> mockTasks = Arrays.asList(task1, task2);
-		when(taskService.getAllTasks()).thenReturn(mockTasks);
-
 		log.debug("Выполнение GET запроса к странице вопросов");
 		mockMvc.perform(get(URL_ADMIN_ROOT + URL_ADMIN_QUESTIONS)
 						.with(SecurityMockMvcRequestPostProcessors.csrf()))
 				.andExpect(status().isOk())
 				.andExpect(view().name("admin/questions"))
-				.andExpect(model().attributeExists("tasks"))
+				.andExpect(model().attributeDoesNotExist("tasks"))
 				.andExpect(model().attributeExists("newTask"))
 				.andExpect(model().attributeExists("task"));
 
-		verify(taskService, times(1)).getAllTasks();
+		// Строки таблицы подгружаются порциями через фильтр, полный список не запрашивается
+		verify(taskService, never()).getAllTasks();
 		log.info("Страница управления вопросами протестирована успешно");
 	}
 
@@ -370,6 +354,30 @@ class AdminControllerTest {
 		log.info("Получение данных вопроса в JSON формате протестировано успешно");
 	}
 
+	/**
+	 * Тестирует получение кластеров почти одинаковых вопросов.
+	 * <p>
+	 * Проверяет, что эндпоинт возвращает JSON-массив кластеров
+	 * и не обращается к полному списку вопросов.
+	 * </p>
+	 *
+	 * @throws Exception при ошибках выполнения HTTP запроса
+	 */
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void testGetSimilarityClusters() throws Exception {
+		log.info("Тестирование получения кластеров похожих вопросов");
+
+		mockMvc.perform(get(URL_ADMIN_ROOT + URL_ADMIN_API_QUESTION_SIMILARITY_CLUSTERS)
+						.param("threshold", "0.9"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$").isArray());
+
+		verify(taskService, never()).getAllTasks();
+		log.info("Получение кластеров похожих вопросов протестировано успешно");
+	}
+
 	/**
 	 * Тестирует отображение страницы управления пользователями.
 	 * <p>
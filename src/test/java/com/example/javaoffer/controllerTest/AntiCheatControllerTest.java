@@ -1,6 +1,7 @@
 package com.example.javaoffer.controllerTest;
 
 import com.example.javaoffer.exam.anticheat.config.AntiCheatProperties;
+import com.example.javaoffer.exam.anticheat.service.HeartbeatStateStore;
 import com.example.javaoffer.exam.anticheat.dto.SessionIntegrityResponseDTO;
 import com.example.javaoffer.exam.anticheat.dto.SessionStatusResponseDTO;
 import com.example.javaoffer.exam.anticheat.enums.EventType;
@@ -23,13 +24,14 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import static TestConstants.TestConstant.URL_ANTICHEAT_STATUS;
+import static TestConstants.TestConstant.URL_ANTICHEAT_STATUS_BATCH;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
@@ -70,6 +72,9 @@ public class AntiCheatControllerTest {
 	@Autowired
 	private AntiCheatProperties antiCheatProperties;
 
+	@Autowired
+	private HeartbeatStateStore heartbeatStateStore;
+
 	private UUID examId;
 	private final Long questionId = 1L;
 
@@ -99,8 +104,6 @@ public class AntiCheatControllerTest {
 				.pageCloseViolationCount(0)
 				.externalContentViolationCount(0)
 				.terminatedByViolations(false)
-				.lastHeartbeatTime(Instant.now())
-				.nextExpectedHeartbeatTime(Instant.now().plusMillis(5000))
 				.progressCreateAt(LocalDateTime.now())
 				.correctlyAnsweredQuestionsId(new CopyOnWriteArrayList<>())
 				.userAnswers(new CopyOnWriteArrayList<>())
@@ -470,7 +473,7 @@ public class AntiCheatControllerTest {
 
 			Optional<TemporaryExamProgress> updatedProgress = examSessionCacheService.get(examId);
 			assertTrue(updatedProgress.isPresent(), "Прогресс экзамена должен существовать");
-			assertEquals(firstResponse.getNextToken(), updatedProgress.get().getLastSessionToken(),
+			assertEquals(firstResponse.getNextToken(), heartbeatStateStore.get(examId).orElseThrow().token(),
 				"Токен сессии должен обновиться в кэше");
 
 			int initialMissedCount = updatedProgress.get().getHeartbeatMissedCount();
@@ -502,6 +505,117 @@ public class AntiCheatControllerTest {
 		}
 	}
 
+	@Nested
+	@DisplayName("Тесты пакетной отправки событий античита")
+	class BatchAntiCheatTests {
+
+		/**
+		 * Тестирует применение пакета событий одним запросом.
+		 * <p>
+		 * Пакет из нескольких нарушений и завершающего heartbeat должен увеличить
+		 * счетчики всех нарушений и вернуть новый токен heartbeat, сохраненный в прогрессе.
+		 * </p>
+		 *
+		 * @throws Exception при ошибках выполнения HTTP запроса
+		 */
+		@Test
+		@DisplayName("Должен применить все события пакета и вернуть токен heartbeat")
+		@WithMockUser(username = "testUser")
+		void shouldApplyAllBatchEventsAndReturnHeartbeatToken() throws Exception {
+			String heartbeatJson = "{\n" +
+					"    \"examId\": \"" + examId + "\",\n" +
+					"    \"questionId\": " + questionId + ",\n" +
+					"    \"token\": \"init_" + UUID.randomUUID() + "\",\n" +
+					"    \"eventType\": \"" + getJsonNameForEventType(EventType.HEART_BEAT) + "\"\n" +
+					"}";
+			String batchJson = "[" +
+					createViolationEventJson(examId, getJsonNameForEventType(EventType.TAB_SWITCH)) + "," +
+					createViolationEventJson(examId, getJsonNameForEventType(EventType.TEXT_COPY)) + "," +
+					createViolationEventJson(examId, getJsonNameForEventType(EventType.DEVTOOLS)) + "," +
+					heartbeatJson +
+					"]";
+
+			MvcResult result = mockMvc.perform(post(URL_ANTICHEAT_STATUS_BATCH)
+							.contentType(MediaType.APPLICATION_JSON)
+							.content(batchJson)
+							.with(csrf()))
+					.andExpect(status().isOk())
+					.andReturn();
+
+			SessionStatusResponseDTO response = objectMapper.readValue(
+					result.getResponse().getContentAsString(), SessionStatusResponseDTO.class);
+			assertFalse(response.isExamTerminatedByViolation(), "Экзамен не должен быть прерван");
+			assertNotNull(response.getNextToken(), "Новый токен должен быть сгенерирован");
+			assertNotNull(response.getChallenge(), "Challenge должен присутствовать в ответе");
+
+			TemporaryExamProgress progress = examSessionCacheService.get(examId).orElseThrow();
+			assertEquals(1, progress.getTabSwitchViolationCount(), "Счетчик переключений вкладок должен быть равен 1");
+			assertEquals(1, progress.getTextCopyViolationCount(), "Счетчик копирования текста должен быть равен 1");
+			assertEquals(1, progress.getDevToolsViolationCount(), "Счетчик DevTools должен быть равен 1");
+			assertEquals(response.getNextToken(), heartbeatStateStore.get(examId).orElseThrow().token(),
+				"Токен сессии должен обновиться в кэше");
+		}
+
+		/**
+		 * Тестирует прерывание экзамена, когда лимит превышен событиями одного пакета.
+		 *
+		 * @throws Exception при ошибках выполнения HTTP запроса
+		 */
+		@Test
+		@DisplayName("Должен прервать экзамен, если пакет превышает лимит нарушений")
+		@WithMockUser(username = "testUser")
+		void shouldTerminateExamWhenBatchExceedsLimit() throws Exception {
+			String tabSwitchJson = createViolationEventJson(examId, getJsonNameForEventType(EventType.TAB_SWITCH));
+			String batchJson = "[" + String.join(",",
+					Collections.nCopies(antiCheatProperties.getMaxTabSwitchViolations(), tabSwitchJson)) + "]";
+
+			MvcResult result = mockMvc.perform(post(URL_ANTICHEAT_STATUS_BATCH)
+							.contentType(MediaType.APPLICATION_JSON)
+							.content(batchJson)
+							.with(csrf()))
+					.andExpect(status().isOk())
+					.andReturn();
+
+			SessionStatusResponseDTO response = objectMapper.readValue(
+					result.getResponse().getContentAsString(), SessionStatusResponseDTO.class);
+			assertTrue(response.isExamTerminatedByViolation(), "Экзамен должен быть прерван");
+
+			TemporaryExamProgress progress = examSessionCacheService.get(examId).orElseThrow();
+			assertEquals(antiCheatProperties.getMaxTabSwitchViolations(), progress.getTabSwitchViolationCount(),
+				"Все события пакета должны быть учтены");
+			assertTrue(progress.isTerminatedByViolations(), "Прогресс должен быть помечен как прерванный");
+		}
+
+		/**
+		 * Тестирует отклонение пустого пакета и пакета с событиями разных экзаменов.
+		 *
+		 * @throws Exception при ошибках выполнения HTTP запроса
+		 */
+		@Test
+		@DisplayName("Должен вернуть 400 Bad Request для некорректного пакета")
+		@WithMockUser(username = "testUser")
+		void shouldReturn400ForInvalidBatch() throws Exception {
+			mockMvc.perform(post(URL_ANTICHEAT_STATUS_BATCH)
+							.contentType(MediaType.APPLICATION_JSON)
+							.content("[]")
+							.with(csrf()))
+					.andExpect(status().isBadRequest());
+
+			String mixedBatchJson = "[" +
+					createViolationEventJson(examId, getJsonNameForEventType(EventType.TAB_SWITCH)) + "," +
+					createViolationEventJson(UUID.randomUUID(), getJsonNameForEventType(EventType.TAB_SWITCH)) +
+					"]";
+			mockMvc.perform(post(URL_ANTICHEAT_STATUS_BATCH)
+							.contentType(MediaType.APPLICATION_JSON)
+							.content(mixedBatchJson)
+							.with(csrf()))
+					.andExpect(status().isBadRequest());
+
+			assertEquals(0, examSessionCacheService.get(examId).orElseThrow().getTabSwitchViolationCount(),
+				"Некорректный пакет не должен изменять прогресс");
+		}
+	}
+
 	/**
 	 * Возвращает JSON-имя для типа события антимошенничества.
 	 * <p>
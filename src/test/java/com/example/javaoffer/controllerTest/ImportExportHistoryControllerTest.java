@@ -229,6 +229,30 @@ class ImportExportHistoryControllerTest {
 		log.info("Тестирование очистки истории завершено успешно");
 	}
 
+	/**
+	 * Тестирует опрос прогресса заданий импорта/экспорта.
+	 * <p>
+	 * Завершенные операции не являются активными заданиями, поэтому
+	 * при отсутствии заданий в очереди возвращается пустой список.
+	 * </p>
+	 *
+	 * @throws Exception при ошибках выполнения HTTP запроса
+	 */
+	@Test
+	@DisplayName("Опрос активных заданий импорта/экспорта должен возвращать пустой список")
+	@WithMockUser(roles = "ADMIN")
+	void getActiveJobsShouldReturnEmptyListWithoutQueuedJobs() throws Exception {
+		log.info("Тестирование опроса активных заданий импорта/экспорта");
+
+		mockMvc.perform(get(URL_ADMIN_API_IMPORT_EXPORT_JOBS)
+						.with(SecurityMockMvcRequestPostProcessors.csrf()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$").isArray())
+				.andExpect(jsonPath("$.length()").value(0));
+
+		log.info("Тестирование опроса активных заданий завершено успешно");
+	}
+
 	/**
 	 * Тестирует контроль доступа к истории импорта/экспорта.
 	 * <p>
@@ -1,6 +1,7 @@
 package com.example.javaoffer.controllerTest;
 
 import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -186,4 +187,30 @@ class MainControllerTest {
 		
 		log.info("Тестирование страницы выбора режима завершено успешно");
 	}
+
+	/**
+	 * Тестирует обработку статического ресурса без фильтров безопасности.
+	 * <p>
+	 * Верифицирует:
+	 * <ul>
+	 *   <li>HTTP статус 200 OK</li>
+	 *   <li>Отсутствие CSRF токена в ответе</li>
+	 *   <li>Отсутствие заголовков безопасности Spring Security</li>
+	 * </ul>
+	 * </p>
+	 *
+	 * @throws Exception при ошибках выполнения HTTP запросов
+	 */
+	@Test
+	@DisplayName("Статический ресурс отдается без фильтров безопасности")
+	void staticResourceShouldSkipSecurityFilters() throws Exception {
+		log.info("Начало тестирования статического ресурса");
+
+		mockMvc.perform(get("/js/burger.min.js"))
+				.andExpect(status().isOk())
+				.andExpect(cookie().doesNotExist(COOKIE_XSRF_TOKEN))
+				.andExpect(header().doesNotExist("X-Frame-Options"));
+
+		log.info("Тестирование статического ресурса завершено успешно");
+	}
 }
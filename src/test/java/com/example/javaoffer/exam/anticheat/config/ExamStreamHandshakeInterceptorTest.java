@@ -0,0 +1,96 @@
+package com.example.javaoffer.exam.anticheat.config;
+
+import com.example.javaoffer.exam.anticheat.controller.AntiCheatStreamHandler;
+import com.example.javaoffer.exam.cache.TemporaryExamProgress;
+import com.example.javaoffer.exam.cache.service.ExamSessionCacheService;
+import com.example.javaoffer.exam.enums.ExamMode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.example.javaoffer.common.constants.UrlConstant.URL_ANTICHEAT_STREAM_FULL;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты проверки запроса на открытие канала античита {@link ExamStreamHandshakeInterceptor}.
+ *
+ * @author Garbuzov Oleg
+ */
+class ExamStreamHandshakeInterceptorTest {
+
+	private final UUID ratingExamId = UUID.randomUUID();
+	private final UUID freeExamId = UUID.randomUUID();
+	private ExamStreamHandshakeInterceptor interceptor;
+	private MockHttpServletResponse servletResponse;
+	private Map<String, Object> attributes;
+
+	@BeforeEach
+	void setUp() {
+		Cache<UUID, TemporaryExamProgress> cache = Caffeine.newBuilder().build();
+		cache.put(ratingExamId, TemporaryExamProgress.builder().examMode(ExamMode.RATING).build());
+		cache.put(freeExamId, TemporaryExamProgress.builder().examMode(ExamMode.FREE).build());
+		interceptor = new ExamStreamHandshakeInterceptor(new ExamSessionCacheService(cache));
+		servletResponse = new MockHttpServletResponse();
+		attributes = new HashMap<>();
+	}
+
+	@Test
+	@DisplayName("Канал рейтингового экзамена открывается, examId и IP сохраняются в атрибутах")
+	void ratingExamShouldBeAccepted() {
+		assertTrue(handshake(ratingExamId.toString()));
+
+		assertEquals(HttpStatus.OK.value(), servletResponse.getStatus());
+		assertEquals(ratingExamId, attributes.get(AntiCheatStreamHandler.EXAM_ID_ATTRIBUTE));
+		assertNotNull(attributes.get(AntiCheatStreamHandler.CLIENT_IP_ATTRIBUTE));
+	}
+
+	@Test
+	@DisplayName("Отсутствующий или некорректный examId отклоняется с кодом 400")
+	void invalidExamIdShouldBeRejectedWithBadRequest() {
+		assertFalse(handshake(null));
+		assertEquals(HttpStatus.BAD_REQUEST.value(), servletResponse.getStatus());
+
+		servletResponse = new MockHttpServletResponse();
+		assertFalse(handshake("not-a-uuid"));
+		assertEquals(HttpStatus.BAD_REQUEST.value(), servletResponse.getStatus());
+		assertTrue(attributes.isEmpty());
+	}
+
+	@Test
+	@DisplayName("Неизвестный экзамен отклоняется с кодом 404")
+	void unknownExamShouldBeRejectedWithNotFound() {
+		assertFalse(handshake(UUID.randomUUID().toString()));
+
+		assertEquals(HttpStatus.NOT_FOUND.value(), servletResponse.getStatus());
+		assertTrue(attributes.isEmpty());
+	}
+
+	@Test
+	@DisplayName("Экзамен не в рейтинговом режиме отклоняется с кодом 400")
+	void freeExamShouldBeRejectedWithBadRequest() {
+		assertFalse(handshake(freeExamId.toString()));
+
+		assertEquals(HttpStatus.BAD_REQUEST.value(), servletResponse.getStatus());
+		assertTrue(attributes.isEmpty());
+	}
+
+	private boolean handshake(String examId) {
+		MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", URL_ANTICHEAT_STREAM_FULL);
+		if (examId != null) {
+			servletRequest.setParameter("examId", examId);
+		}
+		return interceptor.beforeHandshake(new ServletServerHttpRequest(servletRequest),
+				new ServletServerHttpResponse(servletResponse), null, attributes);
+	}
+}
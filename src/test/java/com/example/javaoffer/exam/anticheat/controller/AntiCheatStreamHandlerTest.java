@@ -0,0 +1,159 @@
+package com.example.javaoffer.exam.anticheat.controller;
+
+import com.example.javaoffer.exam.anticheat.config.AntiCheatProperties;
+import com.example.javaoffer.exam.anticheat.dto.UnifiedRequestDTO;
+import com.example.javaoffer.exam.anticheat.enums.EventType;
+import com.example.javaoffer.exam.anticheat.enums.StreamMessageType;
+import com.example.javaoffer.exam.anticheat.service.AntiCheatService;
+import com.example.javaoffer.exam.anticheat.service.AntiCheatStreamService;
+import com.example.javaoffer.exam.cache.exception.NoEntryInCacheException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Тесты обработчика канала WebSocket античита {@link AntiCheatStreamHandler}.
+ *
+ * @author Garbuzov Oleg
+ */
+class AntiCheatStreamHandlerTest {
+
+	private static final String CLIENT_IP = "127.0.0.1";
+
+	private final UUID examId = UUID.randomUUID();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private AntiCheatService antiCheatService;
+	private AntiCheatProperties properties;
+	private AntiCheatStreamHandler handler;
+
+	@BeforeEach
+	void setUp() {
+		antiCheatService = mock(AntiCheatService.class);
+		properties = new AntiCheatProperties();
+		handler = new AntiCheatStreamHandler(antiCheatService, new AntiCheatStreamService(objectMapper, properties),
+				properties, objectMapper, Validation.buildDefaultValidatorFactory().getValidator());
+		doReturn(ResponseEntity.ok("ok")).when(antiCheatService).process(any(), any());
+	}
+
+	@Test
+	@DisplayName("Сообщение канала обрабатывается сервисом античита, ответ уходит в тот же канал")
+	void heartbeatShouldBeProcessed() throws Exception {
+		WebSocketSession session = openSession("channel");
+
+		handler.handleTextMessage(session, heartbeat(examId));
+
+		verify(antiCheatService).process(any(UnifiedRequestDTO.class), eq(CLIENT_IP));
+		assertEquals(List.of(StreamMessageType.HEARTBEAT.getJsonName()), sentTypes(session, 1));
+	}
+
+	@Test
+	@DisplayName("Частота сообщений ограничивается отдельно для каждого канала")
+	void rateLimitShouldApplyPerChannel() throws Exception {
+		properties.setPushMaxMessagesPerMinute(2);
+		WebSocketSession first = openSession("first");
+		WebSocketSession second = openSession("second");
+
+		for (int i = 0; i < 3; i++) {
+			handler.handleTextMessage(first, heartbeat(examId));
+		}
+		handler.handleTextMessage(second, heartbeat(examId));
+
+		verify(antiCheatService, times(3)).process(any(), any());
+		assertEquals(List.of(StreamMessageType.HEARTBEAT.getJsonName(), StreamMessageType.HEARTBEAT.getJsonName(),
+				StreamMessageType.ERROR.getJsonName()), sentTypes(first, 3));
+		assertEquals(List.of(StreamMessageType.HEARTBEAT.getJsonName()), sentTypes(second, 1));
+	}
+
+	@Test
+	@DisplayName("Сообщение с examId другого экзамена отклоняется")
+	void foreignExamIdShouldBeRejected() throws Exception {
+		WebSocketSession session = openSession("channel");
+
+		handler.handleTextMessage(session, heartbeat(UUID.randomUUID()));
+
+		verify(antiCheatService, never()).process(any(), any());
+		assertEquals(List.of(StreamMessageType.ERROR.getJsonName()), sentTypes(session, 1));
+		verify(session, never()).close(any());
+	}
+
+	@Test
+	@DisplayName("Некорректное или неполное сообщение получает ответ с ошибкой")
+	void malformedPayloadShouldBeAnsweredWithError() throws Exception {
+		WebSocketSession session = openSession("channel");
+
+		handler.handleTextMessage(session, new TextMessage("{not json"));
+		handler.handleTextMessage(session, new TextMessage("{\"examId\":\"" + examId + "\"}"));
+
+		verify(antiCheatService, never()).process(any(), any());
+		assertEquals(List.of(StreamMessageType.ERROR.getJsonName(), StreamMessageType.ERROR.getJsonName()),
+				sentTypes(session, 2));
+		verify(session, never()).close(any());
+	}
+
+	@Test
+	@DisplayName("Канал закрывается, если прогресс экзамена не найден")
+	void missingProgressShouldCloseChannel() throws Exception {
+		WebSocketSession session = openSession("channel");
+		doThrow(new NoEntryInCacheException("not found")).when(antiCheatService).process(any(), any());
+
+		handler.handleTextMessage(session, heartbeat(examId));
+
+		assertEquals(List.of(StreamMessageType.ERROR.getJsonName()), sentTypes(session, 1));
+		verify(session).close(CloseStatus.NORMAL);
+	}
+
+	private WebSocketSession openSession(String id) {
+		Map<String, Object> attributes = new HashMap<>();
+		attributes.put(AntiCheatStreamHandler.EXAM_ID_ATTRIBUTE, examId);
+		attributes.put(AntiCheatStreamHandler.CLIENT_IP_ATTRIBUTE, CLIENT_IP);
+		WebSocketSession session = mock(WebSocketSession.class);
+		when(session.getId()).thenReturn(id);
+		when(session.isOpen()).thenReturn(true);
+		when(session.getAttributes()).thenReturn(attributes);
+		handler.afterConnectionEstablished(session);
+		return session;
+	}
+
+	private TextMessage heartbeat(UUID messageExamId) throws Exception {
+		UnifiedRequestDTO request = UnifiedRequestDTO.builder()
+				.examId(messageExamId)
+				.eventType(EventType.HEART_BEAT)
+				.token("token")
+				.questionId(1L)
+				.build();
+		return new TextMessage(objectMapper.writeValueAsString(request));
+	}
+
+	private List<String> sentTypes(WebSocketSession session, int expectedCount) throws Exception {
+		ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+		verify(session, times(expectedCount)).sendMessage(captor.capture());
+		return captor.getAllValues().stream()
+				.map(message -> readType(message.getPayload()))
+				.toList();
+	}
+
+	private String readType(String payload) {
+		try {
+			return objectMapper.readTree(payload).get("type").asText();
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
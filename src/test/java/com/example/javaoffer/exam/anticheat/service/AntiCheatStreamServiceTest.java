@@ -0,0 +1,70 @@
+package com.example.javaoffer.exam.anticheat.service;
+
+import com.example.javaoffer.exam.anticheat.config.AntiCheatProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Тесты реестра каналов WebSocket античита {@link AntiCheatStreamService}.
+ *
+ * @author Garbuzov Oleg
+ */
+class AntiCheatStreamServiceTest {
+
+	private final UUID examId = UUID.randomUUID();
+	private AntiCheatStreamService streamService;
+
+	@BeforeEach
+	void setUp() {
+		streamService = new AntiCheatStreamService(new ObjectMapper(), new AntiCheatProperties());
+	}
+
+	@Test
+	@DisplayName("Уведомление о прерывании отправляется во все каналы экзамена")
+	void terminationShouldBePushedToAllChannelsOfExam() throws Exception {
+		WebSocketSession first = session("first");
+		WebSocketSession second = session("second");
+		WebSocketSession otherExam = session("other");
+		streamService.register(examId, first);
+		streamService.register(examId, second);
+		streamService.register(UUID.randomUUID(), otherExam);
+
+		streamService.notifyTerminated(examId);
+
+		ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+		verify(first).sendMessage(captor.capture());
+		assertTrue(captor.getValue().getPayload().contains("UI_HALT"));
+		verify(second).sendMessage(any(TextMessage.class));
+		verify(otherExam, never()).sendMessage(any());
+	}
+
+	@Test
+	@DisplayName("Закрытый канал не получает уведомлений")
+	void unregisteredChannelShouldNotReceiveMessages() throws Exception {
+		WebSocketSession session = session("closed");
+		streamService.register(examId, session);
+		streamService.unregister(examId, session);
+
+		streamService.notifyTerminated(examId);
+
+		verify(session, never()).sendMessage(any());
+	}
+
+	private static WebSocketSession session(String id) {
+		WebSocketSession session = mock(WebSocketSession.class);
+		when(session.getId()).thenReturn(id);
+		when(session.isOpen()).thenReturn(true);
+		return session;
+	}
+}
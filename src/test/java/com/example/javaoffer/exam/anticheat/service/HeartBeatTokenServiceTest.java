@@ -0,0 +1,78 @@
+package com.example.javaoffer.exam.anticheat.service;
+
+import com.example.javaoffer.exam.anticheat.config.AntiCheatProperties;
+import com.example.javaoffer.exam.anticheat.util.EventUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты {@link HeartBeatTokenService} и генерации задачи {@link EventUtils#generateChallenge(int)}.
+ *
+ * @author Garbuzov Oleg
+ */
+class HeartBeatTokenServiceTest {
+
+	private static final Pattern CHALLENGE = Pattern.compile("function\\(x\\)\\{return (\\d+)([+-])(\\d+);}");
+
+	private final HeartBeatTokenService tokenService = new HeartBeatTokenService(new AntiCheatProperties());
+
+	@Test
+	@DisplayName("Токены уникальны даже в пределах одной миллисекунды")
+	void tokensShouldBeUniqueAndFixedLength() {
+		UUID examId = UUID.randomUUID();
+		Set<String> tokens = new HashSet<>();
+		for (int i = 0; i < 1000; i++) {
+			String token = tokenService.generateToken(examId, 1L);
+			assertEquals(HeartBeatTokenService.TOKEN_LENGTH, token.length());
+			assertFalse(token.startsWith("init_"), "Токен не должен совпадать с форматом временного токена");
+			tokens.add(token);
+		}
+		assertEquals(1000, tokens.size());
+	}
+
+	@Test
+	@DisplayName("Токены разных секретов не совпадают")
+	void tokensShouldDependOnSecret() {
+		AntiCheatProperties otherProperties = new AntiCheatProperties();
+		otherProperties.setTokenSecret("otherSecret");
+		HeartBeatTokenService otherService = new HeartBeatTokenService(otherProperties);
+		UUID examId = UUID.randomUUID();
+
+		assertNotEquals(tokenService.generateToken(examId, null), otherService.generateToken(examId, null));
+	}
+
+	@Test
+	@DisplayName("Проверка токена принимает только полное совпадение")
+	void validateTokenShouldRequireExactMatch() {
+		String token = tokenService.generateToken(UUID.randomUUID(), 5L);
+		String changed = token.substring(0, token.length() - 1) + (token.endsWith("A") ? "B" : "A");
+
+		assertTrue(tokenService.validateToken(token, new String(token.toCharArray())));
+		assertFalse(tokenService.validateToken(changed, token));
+		assertFalse(tokenService.validateToken(token.substring(1), token));
+		assertFalse(tokenService.validateToken(null, token));
+		assertFalse(tokenService.validateToken(token, null));
+	}
+
+	@Test
+	@DisplayName("Задача для клиента возвращает ожидаемый результат")
+	void challengeShouldEvaluateToExpectedResult() {
+		for (int expected : new int[]{0, 1, 5000, 15000}) {
+			for (int i = 0; i < 100; i++) {
+				Matcher matcher = CHALLENGE.matcher(EventUtils.generateChallenge(expected));
+				assertTrue(matcher.matches());
+				long a = Long.parseLong(matcher.group(1));
+				long b = Long.parseLong(matcher.group(3));
+				assertEquals(expected, matcher.group(2).equals("+") ? a + b : a - b);
+			}
+		}
+	}
+}
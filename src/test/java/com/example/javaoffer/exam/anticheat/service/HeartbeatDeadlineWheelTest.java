@@ -0,0 +1,67 @@
+package com.example.javaoffer.exam.anticheat.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты {@link HeartbeatDeadlineWheel}.
+ *
+ * @author Garbuzov Oleg
+ */
+class HeartbeatDeadlineWheelTest {
+
+	private static final long START = 1_000_000L;
+
+	@Test
+	@DisplayName("Срок снимается только после его истечения")
+	void deadlineShouldExpireOnlyAfterItPasses() {
+		HeartbeatDeadlineWheel wheel = new HeartbeatDeadlineWheel(100, 8, START);
+		UUID examId = UUID.randomUUID();
+		wheel.schedule(examId, START + 450);
+
+		assertTrue(wheel.advance(START + 400).isEmpty());
+		assertEquals(List.of(examId), wheel.advance(START + 500));
+		assertTrue(wheel.advance(START + 600).isEmpty());
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	@DisplayName("Перепланирование заменяет предыдущий срок")
+	void rescheduleShouldReplacePreviousDeadline() {
+		HeartbeatDeadlineWheel wheel = new HeartbeatDeadlineWheel(100, 8, START);
+		UUID examId = UUID.randomUUID();
+		wheel.schedule(examId, START + 200);
+		wheel.schedule(examId, START + 700);
+
+		assertTrue(wheel.advance(START + 300).isEmpty());
+		assertEquals(List.of(examId), wheel.advance(START + 800));
+	}
+
+	@Test
+	@DisplayName("Срок дальше одного оборота колеса срабатывает на нужном обороте")
+	void deadlineBeyondOneRevolutionShouldWaitForItsRound() {
+		HeartbeatDeadlineWheel wheel = new HeartbeatDeadlineWheel(100, 4, START);
+		UUID examId = UUID.randomUUID();
+		wheel.schedule(examId, START + 1000);
+
+		assertTrue(wheel.advance(START + 500).isEmpty());
+		assertTrue(wheel.advance(START + 900).isEmpty());
+		assertEquals(List.of(examId), wheel.advance(START + 1100));
+	}
+
+	@Test
+	@DisplayName("Отмененный срок не срабатывает")
+	void cancelledDeadlineShouldNotExpire() {
+		HeartbeatDeadlineWheel wheel = new HeartbeatDeadlineWheel(100, 8, START);
+		UUID examId = UUID.randomUUID();
+		wheel.schedule(examId, START + 200);
+		wheel.cancel(examId);
+
+		assertTrue(wheel.advance(START + 1000).isEmpty());
+	}
+}
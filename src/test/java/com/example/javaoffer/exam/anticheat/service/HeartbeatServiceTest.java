@@ -0,0 +1,110 @@
+package com.example.javaoffer.exam.anticheat.service;
+
+import com.example.javaoffer.exam.anticheat.config.AntiCheatJournalProperties;
+import com.example.javaoffer.exam.anticheat.config.AntiCheatProperties;
+import com.example.javaoffer.exam.anticheat.dto.SessionStatusResponseDTO;
+import com.example.javaoffer.exam.anticheat.service.journal.AntiCheatJournal;
+import com.example.javaoffer.exam.cache.TemporaryExamProgress;
+import com.example.javaoffer.exam.cache.property.CacheProperties;
+import com.example.javaoffer.exam.cache.service.ExamSessionCacheService;
+import com.example.javaoffer.exam.enums.ExamMode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты {@link HeartbeatService} на состоянии из {@link HeartbeatStateStore}.
+ *
+ * @author Garbuzov Oleg
+ */
+class HeartbeatServiceTest {
+
+	private final UUID examId = UUID.randomUUID();
+	private Cache<UUID, TemporaryExamProgress> cache;
+	private HeartbeatStateStore stateStore;
+	private HeartbeatService heartbeatService;
+
+	@BeforeEach
+	void setUp() {
+		AntiCheatProperties properties = new AntiCheatProperties();
+		CacheProperties cacheProperties = new CacheProperties();
+		cacheProperties.setMaximumSize(100);
+		cacheProperties.setExpireAfterWriteMinutes(10);
+
+		cache = Caffeine.newBuilder().build();
+		cache.put(examId, TemporaryExamProgress.builder().examMode(ExamMode.RATING).build());
+		stateStore = new HeartbeatStateStore(cacheProperties);
+		heartbeatService = new HeartbeatService(new ExamSessionCacheService(cache),
+				new HeartBeatTokenService(properties), stateStore,
+				new AntiCheatStreamService(new ObjectMapper(), properties),
+				new AntiCheatJournal(new AntiCheatJournalProperties()), properties);
+	}
+
+	@Test
+	@DisplayName("Своевременный heartbeat обновляет только состояние heartbeat")
+	void validHeartbeatShouldNotTouchProgress() {
+		SessionStatusResponseDTO init = heartbeatService.processHeartbeat(examId, "init_" + UUID.randomUUID(), 1L);
+		SessionStatusResponseDTO next = heartbeatService.processHeartbeat(examId, init.getNextToken(), 2L);
+
+		assertFalse(next.isExamTerminatedByViolation());
+		assertNotNull(next.getNextToken());
+		assertEquals(next.getNextToken(), stateStore.get(examId).orElseThrow().token());
+		assertEquals(0, cache.getIfPresent(examId).getHeartbeatMissedCount());
+	}
+
+	@Test
+	@DisplayName("Повторное использование погашенного токена считается пропуском heartbeat")
+	void spentTokenShouldBeRegisteredAsMissed() {
+		SessionStatusResponseDTO init = heartbeatService.processHeartbeat(examId, "init_" + UUID.randomUUID(), 1L);
+		heartbeatService.processHeartbeat(examId, init.getNextToken(), 2L);
+		heartbeatService.processHeartbeat(examId, init.getNextToken(), 3L);
+
+		assertEquals(1, cache.getIfPresent(examId).getHeartbeatMissedCount());
+	}
+
+	@Test
+	@DisplayName("Повторная инициализация только увеличивает счетчик пропусков и не прерывает экзамен")
+	void repeatedInitShouldOnlyCountMissed() {
+		SessionStatusResponseDTO first = heartbeatService.processHeartbeat(examId, "init_" + UUID.randomUUID(), 1L);
+		assertEquals(0, cache.getIfPresent(examId).getHeartbeatMissedCount());
+
+		SessionStatusResponseDTO repeated = first;
+		for (int i = 0; i < 3; i++) {
+			repeated = heartbeatService.processHeartbeat(examId, "init_" + UUID.randomUUID(), 1L);
+			assertFalse(repeated.isExamTerminatedByViolation());
+		}
+
+		// Лимит (3) достигнут повторными инициализациями, но экзамен прерывает только следующий пропуск
+		assertEquals(3, cache.getIfPresent(examId).getHeartbeatMissedCount());
+		assertFalse(cache.getIfPresent(examId).isTerminatedByViolations());
+		assertEquals(repeated.getNextToken(), stateStore.get(examId).orElseThrow().token());
+
+		SessionStatusResponseDTO invalid = heartbeatService.processHeartbeat(examId, first.getNextToken(), 2L);
+		assertTrue(invalid.isExamTerminatedByViolation());
+		assertTrue(cache.getIfPresent(examId).isTerminatedByViolations());
+	}
+
+	@Test
+	@DisplayName("Пропуск регистрируется без запроса клиента, когда истек срок heartbeat")
+	void expiredDeadlineShouldBeRegisteredProactively() {
+		heartbeatService.processHeartbeat(examId, "init_" + UUID.randomUUID(), 1L);
+		long now = System.currentTimeMillis();
+
+		heartbeatService.scanDeadlines(now + 1000);
+		assertEquals(0, cache.getIfPresent(examId).getHeartbeatMissedCount());
+
+		heartbeatService.scanDeadlines(now + 60_000);
+		assertEquals(1, cache.getIfPresent(examId).getHeartbeatMissedCount());
+
+		// Клиент молчит - срок продлевается, и пропуски накапливаются
+		heartbeatService.scanDeadlines(now + 120_000);
+		assertEquals(2, cache.getIfPresent(examId).getHeartbeatMissedCount());
+	}
+}
@@ -0,0 +1,99 @@
+package com.example.javaoffer.exam.anticheat.service;
+
+import com.example.javaoffer.exam.anticheat.config.AntiCheatProperties;
+import com.example.javaoffer.exam.anticheat.util.EventUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Сравнение затрат на выдачу данных heartbeat: токен и задача для клиента.
+ * <p>
+ * Прежняя реализация (конкатенация строки с секретом, SHA-256 через {@code MessageDigest.getInstance},
+ * {@code new Random()} и {@code String.format}) сравнивается с текущей (HMAC из пула,
+ * {@code ThreadLocalRandom}, {@code StringBuilder}). Для каждой замеряются время и объем
+ * выделенной памяти на одну выдачу; результаты выводятся в лог.
+ * <p>
+ * Тест по умолчанию отключен; запуск:
+ * {@code mvn test -Dtest=HeartbeatTokenBenchmarkTest -Dbenchmark=true}
+ *
+ * @author Garbuzov Oleg
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class HeartbeatTokenBenchmarkTest {
+
+	private static final int WARMUP_ITERATIONS = 200_000;
+	private static final int ITERATIONS = 1_000_000;
+	private static final String SECRET = "defaultSecretKey";
+
+	private final UUID examId = UUID.randomUUID();
+
+	@Test
+	@DisplayName("Токен и задача heartbeat: прежняя и текущая реализации")
+	void benchmarkHeartbeatIssue() {
+		HeartBeatTokenService tokenService = new HeartBeatTokenService(new AntiCheatProperties());
+
+		Result legacy = measure(() -> legacyToken(examId, 42L).length() + legacyChallenge(7500).length());
+		Result current = measure(() -> tokenService.generateToken(examId, 42L).length()
+				+ EventUtils.generateChallenge(7500).length());
+
+		log.info("Прежняя реализация: {} нс/выдача, {} байт/выдача", legacy.nanosPerOp(), legacy.bytesPerOp());
+		log.info("Текущая реализация: {} нс/выдача, {} байт/выдача", current.nanosPerOp(), current.bytesPerOp());
+
+		assertTrue(current.bytesPerOp() < legacy.bytesPerOp(), "Текущая реализация должна выделять меньше памяти");
+	}
+
+	private static Result measure(IntSupplier operation) {
+		long sink = 0;
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			sink += operation.getAsInt();
+		}
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().threadId();
+		long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			sink += operation.getAsInt();
+		}
+		long nanos = System.nanoTime() - start;
+		long bytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+		assertTrue(sink > 0);
+		return new Result(nanos / ITERATIONS, bytes / ITERATIONS);
+	}
+
+	private static String legacyToken(UUID examId, Long questionId) {
+		try {
+			String tokenData = examId.toString() + ":" + questionId + ":" + System.currentTimeMillis() + ":" + SECRET;
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return Base64.getEncoder().encodeToString(digest.digest(tokenData.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String legacyChallenge(int expectedResult) {
+		Random random = new Random();
+		if (random.nextInt(2) == 0) {
+			int a = random.nextInt(expectedResult + 1);
+			return String.format("function(x){return %d+%d;}", a, expectedResult - a);
+		}
+		int a = expectedResult + random.nextInt(10000);
+		return String.format("function(x){return %d-%d;}", a, a - expectedResult);
+	}
+
+	private record Result(long nanosPerOp, long bytesPerOp) {
+	}
+}
@@ -0,0 +1,124 @@
+package com.example.javaoffer.exam.anticheat.service.analytics;
+
+import com.example.javaoffer.exam.anticheat.config.AntiCheatProperties;
+import com.example.javaoffer.exam.anticheat.dto.AnalyticsSeriesDTO;
+import com.example.javaoffer.exam.anticheat.dto.AntiCheatAnalyticsDTO;
+import com.example.javaoffer.exam.anticheat.dto.TaskAnalyticsDTO;
+import com.example.javaoffer.exam.anticheat.dto.TopicAnalyticsDTO;
+import com.example.javaoffer.exam.anticheat.enums.EventType;
+import com.example.javaoffer.exam.dto.TaskDTO;
+import com.example.javaoffer.exam.enums.TaskTopic;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты {@link AntiCheatAnalyticsService}.
+ *
+ * @author Garbuzov Oleg
+ */
+class AntiCheatAnalyticsServiceTest {
+
+	private static final long MINUTE = 60_000L;
+	private static final long START = 1_000 * MINUTE;
+
+	private AntiCheatAnalyticsService analyticsService;
+
+	@BeforeEach
+	void setUp() {
+		AntiCheatProperties properties = new AntiCheatProperties();
+		properties.setAnalyticsWindowMinutes(3);
+		properties.setAnalyticsTopTasks(1);
+		analyticsService = new AntiCheatAnalyticsService(properties);
+	}
+
+	@Test
+	@DisplayName("События учитываются по минутам и выходят из окна")
+	void eventsShouldRollOutOfWindow() {
+		analyticsService.recordEvent(EventType.DEVTOOLS, null, START);
+		analyticsService.recordEvent(EventType.DEVTOOLS, null, START + 10);
+		analyticsService.recordEvent(EventType.DEVTOOLS, null, START + 2 * MINUTE);
+
+		AnalyticsSeriesDTO devTools = eventSeries(analyticsService.getSnapshot(START + 2 * MINUTE), EventType.DEVTOOLS);
+		assertEquals(3, devTools.getTotal());
+		assertArrayEquals(new long[]{2, 0, 1}, devTools.getPerMinute());
+
+		devTools = eventSeries(analyticsService.getSnapshot(START + 3 * MINUTE), EventType.DEVTOOLS);
+		assertEquals(1, devTools.getTotal());
+		assertArrayEquals(new long[]{0, 1, 0}, devTools.getPerMinute());
+	}
+
+	@Test
+	@DisplayName("Ячейка кольца переиспользуется для новой минуты")
+	void slotShouldBeResetForNewMinute() {
+		analyticsService.recordEvent(EventType.TAB_SWITCH, null, START);
+		analyticsService.recordEvent(EventType.TAB_SWITCH, null, START + 3 * MINUTE);
+
+		AnalyticsSeriesDTO tabSwitch = eventSeries(analyticsService.getSnapshot(START + 3 * MINUTE), EventType.TAB_SWITCH);
+		assertArrayEquals(new long[]{0, 0, 1}, tabSwitch.getPerMinute());
+	}
+
+	@Test
+	@DisplayName("Нарушения и ответы относятся к заданию и его теме")
+	void violationsAndAnswersShouldBeAttributedToTaskAndTopic() {
+		TaskDTO task = TaskDTO.builder().id(7L).topic(TaskTopic.SPRING).build();
+		TaskDTO otherTask = TaskDTO.builder().id(8L).topic(TaskTopic.CORE).build();
+		analyticsService.registerTask(task);
+		analyticsService.registerTask(otherTask);
+
+		analyticsService.recordEvent(EventType.TEXT_COPY, 7L, START);
+		analyticsService.recordEvent(EventType.TEXT_COPY, 7L, START);
+		analyticsService.recordEvent(EventType.DEVTOOLS, 7L, START);
+		analyticsService.recordEvent(EventType.TEXT_COPY, 8L, START);
+		analyticsService.recordAnswer(task, true, START);
+		analyticsService.recordAnswer(task, false, START);
+		analyticsService.recordAnswer(task, false, START);
+
+		AntiCheatAnalyticsDTO snapshot = analyticsService.getSnapshot(START);
+
+		TopicAnalyticsDTO spring = snapshot.getTopics().stream()
+				.filter(topic -> topic.getTopic() == TaskTopic.SPRING).findFirst().orElseThrow();
+		assertEquals(3, spring.getViolations());
+		assertEquals(1, spring.getCorrectAnswers());
+		assertEquals(2, spring.getIncorrectAnswers());
+
+		assertEquals(1, snapshot.getTopTasks().size(), "Сводка ограничена числом заданий из настроек");
+		TaskAnalyticsDTO top = snapshot.getTopTasks().getFirst();
+		assertEquals(7L, top.getTaskId());
+		assertEquals(TaskTopic.SPRING, top.getTopic());
+		assertEquals(3, top.getViolations());
+		assertEquals(Map.of(EventType.TEXT_COPY, 2L, EventType.DEVTOOLS, 1L), top.getViolationsByType());
+	}
+
+	@Test
+	@DisplayName("Счетчики задания переиспользуют ячейки кольца и выходят из окна")
+	void taskCountersShouldRollOutOfWindow() {
+		TaskDTO task = TaskDTO.builder().id(7L).topic(TaskTopic.SPRING).build();
+		analyticsService.registerTask(task);
+
+		analyticsService.recordEvent(EventType.TEXT_COPY, 7L, START);
+		analyticsService.recordEvent(EventType.TEXT_COPY, 7L, START);
+		analyticsService.recordAnswer(task, false, START);
+		analyticsService.recordEvent(EventType.TEXT_COPY, 7L, START + 3 * MINUTE);
+		analyticsService.recordAnswer(task, true, START + 3 * MINUTE);
+
+		TaskAnalyticsDTO top = analyticsService.getSnapshot(START + 3 * MINUTE).getTopTasks().getFirst();
+		assertEquals(1, top.getViolations());
+		assertEquals(Map.of(EventType.TEXT_COPY, 1L), top.getViolationsByType());
+		assertEquals(1, top.getCorrectAnswers());
+		assertEquals(0, top.getIncorrectAnswers());
+
+		assertTrue(analyticsService.getSnapshot(START + 6 * MINUTE).getTopTasks().isEmpty());
+	}
+
+	private static AnalyticsSeriesDTO eventSeries(AntiCheatAnalyticsDTO snapshot, EventType type) {
+		return snapshot.getEvents().stream()
+				.filter(series -> series.getName().equals(type.name()))
+				.findFirst()
+				.orElseThrow();
+	}
+}
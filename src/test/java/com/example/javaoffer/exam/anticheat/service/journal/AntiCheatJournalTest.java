@@ -0,0 +1,132 @@
+package com.example.javaoffer.exam.anticheat.service.journal;
+
+import com.example.javaoffer.exam.anticheat.config.AntiCheatJournalProperties;
+import com.example.javaoffer.exam.anticheat.enums.EventType;
+import com.example.javaoffer.exam.anticheat.enums.JournalRecordKind;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты {@link AntiCheatJournal}.
+ *
+ * @author Garbuzov Oleg
+ */
+class AntiCheatJournalTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	@DisplayName("После перезапуска журнал восстанавливает хронологию только нужного экзамена")
+	void replayShouldReturnExamRecordsAfterRestart() {
+		UUID examId = UUID.randomUUID();
+		UUID otherExamId = UUID.randomUUID();
+
+		AntiCheatJournal journal = new AntiCheatJournal(properties());
+		journal.start();
+		journal.record(examId, JournalRecordKind.EVENT, EventType.TAB_SWITCH, 11);
+		journal.record(otherExamId, JournalRecordKind.EVENT, EventType.TEXT_COPY, 21);
+		journal.record(examId, JournalRecordKind.HEARTBEAT_MISSED, null, 1);
+		journal.record(examId, JournalRecordKind.TERMINATED, EventType.HEART_BEAT, 0);
+		journal.stop();
+
+		AntiCheatJournal restarted = new AntiCheatJournal(properties());
+		restarted.start();
+		try {
+			List<JournalRecord> records = restarted.replay(examId);
+
+			assertEquals(List.of(JournalRecordKind.EVENT, JournalRecordKind.HEARTBEAT_MISSED, JournalRecordKind.TERMINATED),
+					records.stream().map(JournalRecord::kind).toList());
+			assertEquals(EventType.TAB_SWITCH, records.get(0).eventType());
+			assertEquals(11, records.get(0).payload());
+			assertNull(records.get(1).eventType());
+			assertEquals(EventType.HEART_BEAT, records.get(2).eventType());
+			assertTrue(records.stream().allMatch(record -> record.examId().equals(examId)));
+			assertEquals(1, restarted.replay(otherExamId).size());
+			assertTrue(restarted.replay(UUID.randomUUID()).isEmpty());
+		} finally {
+			restarted.stop();
+		}
+	}
+
+	@Test
+	@DisplayName("При ротации старые сегменты удаляются вместе с их записями")
+	void rotationShouldDropOldestSegments() {
+		AntiCheatJournalProperties properties = properties();
+		properties.setBatchSize(1);
+		properties.setSegmentSizeBytes(2L * JournalCodec.RECORD_SIZE);
+		properties.setMaxSegments(2);
+		UUID examId = UUID.randomUUID();
+
+		AntiCheatJournal journal = new AntiCheatJournal(properties);
+		journal.start();
+		for (int i = 0; i < 10; i++) {
+			journal.record(examId, JournalRecordKind.EVENT, EventType.DEVTOOLS, i);
+		}
+		journal.stop();
+
+		AntiCheatJournal restarted = new AntiCheatJournal(properties);
+		restarted.start();
+		try {
+			assertEquals(List.of(8L, 9L), restarted.replay(examId).stream().map(JournalRecord::payload).toList());
+		} finally {
+			restarted.stop();
+		}
+	}
+
+	@Test
+	@DisplayName("Индекс сегмента содержит все экзамены, записанные в сегмент")
+	void segmentIndexShouldContainAllExams() {
+		List<UUID> examIds = Stream.generate(UUID::randomUUID).limit(300).toList();
+
+		AntiCheatJournal journal = new AntiCheatJournal(properties());
+		journal.start();
+		for (int i = 0; i < examIds.size(); i++) {
+			journal.record(examIds.get(i), JournalRecordKind.EVENT, EventType.TAB_SWITCH, i);
+			journal.record(examIds.get(i), JournalRecordKind.EVENT, EventType.TEXT_COPY, i);
+		}
+		journal.stop();
+
+		AntiCheatJournal restarted = new AntiCheatJournal(properties());
+		restarted.start();
+		try {
+			for (int i = 0; i < examIds.size(); i++) {
+				assertEquals(List.of((long) i, (long) i),
+						restarted.replay(examIds.get(i)).stream().map(JournalRecord::payload).toList());
+			}
+		} finally {
+			restarted.stop();
+		}
+	}
+
+	@Test
+	@DisplayName("Отключенный журнал не принимает записи")
+	void disabledJournalShouldIgnoreRecords() {
+		AntiCheatJournalProperties properties = properties();
+		properties.setEnabled(false);
+		UUID examId = UUID.randomUUID();
+
+		AntiCheatJournal journal = new AntiCheatJournal(properties);
+		journal.start();
+		journal.record(examId, JournalRecordKind.EVENT, EventType.TAB_SWITCH, 1);
+		journal.stop();
+
+		assertTrue(journal.replay(examId).isEmpty());
+	}
+
+	private AntiCheatJournalProperties properties() {
+		AntiCheatJournalProperties properties = new AntiCheatJournalProperties();
+		properties.setDirectory(directory.toString());
+		properties.setFsync(false);
+		properties.setRingBufferSize(1024);
+		return properties;
+	}
+}
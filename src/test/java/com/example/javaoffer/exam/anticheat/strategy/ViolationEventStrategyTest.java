@@ -0,0 +1,82 @@
+package com.example.javaoffer.exam.anticheat.strategy;
+
+import com.example.javaoffer.exam.anticheat.config.AntiCheatJournalProperties;
+import com.example.javaoffer.exam.anticheat.config.AntiCheatProperties;
+import com.example.javaoffer.exam.anticheat.enums.EventType;
+import com.example.javaoffer.exam.anticheat.enums.ViolationGroup;
+import com.example.javaoffer.exam.anticheat.service.journal.AntiCheatJournal;
+import com.example.javaoffer.exam.cache.TemporaryExamProgress;
+import com.example.javaoffer.exam.cache.service.ExamSessionCacheService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты таблицы правил {@link ViolationEventStrategy}: группы нарушений, их лимиты и переопределение групп.
+ *
+ * @author Garbuzov Oleg
+ */
+class ViolationEventStrategyTest {
+
+	private AntiCheatProperties properties;
+	private ExamSessionCacheService cacheService;
+	private AntiCheatJournal journal;
+
+	@BeforeEach
+	void setUp() {
+		properties = new AntiCheatProperties();
+		properties.setMaxTabSwitchViolations(3);
+		properties.setMaxTextCopyViolations(3);
+		properties.setMaxTamperingViolations(2);
+		cacheService = new ExamSessionCacheService(Caffeine.newBuilder().build());
+		// Журнал не запущен: записи не сохраняются
+		journal = new AntiCheatJournal(new AntiCheatJournalProperties());
+	}
+
+	@Test
+	@DisplayName("Нарушения вмешательства суммируются в общей группе")
+	void tamperingViolationsShouldShareLimit() {
+		ViolationEventStrategy strategy = new ViolationEventStrategy(cacheService, properties, journal);
+		TemporaryExamProgress progress = TemporaryExamProgress.builder().build();
+
+		assertEquals(ViolationGroup.TAMPERING, strategy.registerViolation(progress, EventType.DEVTOOLS));
+		assertFalse(strategy.isLimitExceeded(progress, ViolationGroup.TAMPERING));
+
+		assertEquals(ViolationGroup.TAMPERING, strategy.registerViolation(progress, EventType.ANTI_OCR_TAMP));
+		assertTrue(strategy.isLimitExceeded(progress, ViolationGroup.TAMPERING));
+		assertEquals(1, progress.getDevToolsViolationCount());
+		assertEquals(1, progress.getAntiOcrTamperingViolationCount());
+
+		assertEquals(ViolationGroup.TAB_SWITCH, strategy.registerViolation(progress, EventType.TAB_SWITCH));
+		assertFalse(strategy.isLimitExceeded(progress, ViolationGroup.TAB_SWITCH));
+	}
+
+	@Test
+	@DisplayName("Группу нарушения можно переопределить в настройках")
+	void violationGroupShouldBeConfigurable() {
+		properties.getViolationGroups().put(EventType.TEXT_COPY, ViolationGroup.TAMPERING);
+		ViolationEventStrategy strategy = new ViolationEventStrategy(cacheService, properties, journal);
+		TemporaryExamProgress progress = TemporaryExamProgress.builder().build();
+
+		assertEquals(ViolationGroup.TAMPERING, strategy.registerViolation(progress, EventType.TEXT_COPY));
+		strategy.registerViolation(progress, EventType.PAGE_CLOSE);
+		assertTrue(strategy.isLimitExceeded(progress, ViolationGroup.TAMPERING));
+		assertFalse(strategy.isLimitExceeded(progress, ViolationGroup.TEXT_COPY));
+	}
+
+	@Test
+	@DisplayName("Группу нельзя назначить событию, которое не является нарушением")
+	void heartbeatShouldNotBeAViolation() {
+		properties.getViolationGroups().put(EventType.HEART_BEAT, ViolationGroup.TAMPERING);
+		assertThrows(IllegalArgumentException.class, () -> new ViolationEventStrategy(cacheService, properties, journal));
+
+		properties.getViolationGroups().clear();
+		ViolationEventStrategy strategy = new ViolationEventStrategy(cacheService, properties, journal);
+		assertFalse(strategy.getSupportedEvents().contains(EventType.HEART_BEAT));
+		assertThrows(IllegalArgumentException.class,
+				() -> strategy.registerViolation(TemporaryExamProgress.builder().build(), EventType.HEART_BEAT));
+	}
+}
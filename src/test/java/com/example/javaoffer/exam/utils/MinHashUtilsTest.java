@@ -0,0 +1,115 @@
+package com.example.javaoffer.exam.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты MinHash-сигнатур и LSH-корзин {@link MinHashUtils}.
+ *
+ * @author Garbuzov Oleg
+ */
+class MinHashUtilsTest {
+
+	private static final String QUESTION =
+			"Какой модификатор доступа делает поле видимым только внутри пакета?";
+	private static final String NEAR_DUPLICATE =
+			"Какой модификатор доступа делает поле видимым только внутри своего пакета?";
+	private static final String DISTINCT =
+			"Что выведет System.out.println(0.1 + 0.2) в Java?";
+
+	@Test
+	@DisplayName("Регистр и пробельные символы не влияют на шинглы")
+	void signatureShouldIgnoreCaseAndWhitespace() {
+		int[] signature = MinHashUtils.signature(List.of(QUESTION));
+		int[] reformatted = MinHashUtils.signature(List.of(
+				"  КАКОЙ модификатор\tдоступа делает поле\n\nвидимым только внутри пакета?  "));
+
+		assertArrayEquals(signature, reformatted);
+	}
+
+	@Test
+	@DisplayName("Короткий текст дает один шингл, пустой текст не дает шинглов")
+	void signatureShouldHandleShortAndEmptyTexts() {
+		int[] shortSignature = MinHashUtils.signature(List.of("int"));
+		int[] emptySignature = MinHashUtils.signature(List.of("", "   "));
+
+		assertEquals(MinHashUtils.SIGNATURE_SIZE, shortSignature.length);
+		assertTrue(Arrays.stream(shortSignature).allMatch(value -> value != Integer.MAX_VALUE));
+		assertFalse(Arrays.equals(shortSignature, MinHashUtils.signature(List.of("long"))));
+		assertTrue(Arrays.stream(emptySignature).allMatch(value -> value == Integer.MAX_VALUE));
+	}
+
+	@Test
+	@DisplayName("Сигнатура зависит только от множества шинглов, а не от порядка текстов")
+	void signatureShouldBeStable() {
+		int[] signature = MinHashUtils.signature(List.of(QUESTION, "public", "private"));
+
+		assertArrayEquals(signature, MinHashUtils.signature(List.of(QUESTION, "public", "private")));
+		assertArrayEquals(signature, MinHashUtils.signature(List.of("private", QUESTION, "public")));
+		assertArrayEquals(MinHashUtils.bandHashes(signature), MinHashUtils.bandHashes(signature.clone()));
+		assertArrayEquals(signature, MinHashUtils.fromBytes(MinHashUtils.toBytes(signature)));
+		assertEquals(MinHashUtils.SIGNATURE_SIZE * Integer.BYTES, MinHashUtils.toBytes(signature).length);
+	}
+
+	@Test
+	@DisplayName("Оценка сходства почти одинаковых вопросов близка к коэффициенту Жаккара")
+	void nearDuplicatesShouldBeEstimatedCloseToJaccard() {
+		int[] first = MinHashUtils.signature(List.of(QUESTION));
+		int[] second = MinHashUtils.signature(List.of(NEAR_DUPLICATE));
+
+		double exact = jaccard(QUESTION, NEAR_DUPLICATE);
+		double estimate = MinHashUtils.estimateSimilarity(first, second);
+
+		assertTrue(exact > 0.8, "Коэффициент Жаккара тестовой пары: " + exact);
+		assertEquals(exact, estimate, 0.15);
+		assertTrue(shareBucket(first, second), "Почти одинаковые вопросы должны попасть в общую корзину");
+	}
+
+	@Test
+	@DisplayName("Разные вопросы получают низкую оценку сходства и не делят корзины")
+	void distinctTextsShouldNotBeSimilar() {
+		int[] first = MinHashUtils.signature(List.of(QUESTION));
+		int[] second = MinHashUtils.signature(List.of(DISTINCT));
+
+		assertEquals(0.0, jaccard(QUESTION, DISTINCT));
+		assertTrue(MinHashUtils.estimateSimilarity(first, second) < 0.1);
+		assertFalse(shareBucket(first, second));
+		assertEquals(1.0, MinHashUtils.estimateSimilarity(first, first.clone()));
+	}
+
+	private static boolean shareBucket(int[] first, int[] second) {
+		long[] firstBands = MinHashUtils.bandHashes(first);
+		long[] secondBands = MinHashUtils.bandHashes(second);
+		for (int band = 0; band < MinHashUtils.BANDS; band++) {
+			if (firstBands[band] == secondBands[band]) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static double jaccard(String first, String second) {
+		Set<String> firstShingles = shingles(first);
+		Set<String> secondShingles = shingles(second);
+		Set<String> union = new HashSet<>(firstShingles);
+		union.addAll(secondShingles);
+		firstShingles.retainAll(secondShingles);
+		return (double) firstShingles.size() / union.size();
+	}
+
+	private static Set<String> shingles(String text) {
+		String lowerCase = text.toLowerCase();
+		Set<String> shingles = new HashSet<>();
+		for (int i = 0; i <= lowerCase.length() - MinHashUtils.SHINGLE_SIZE; i++) {
+			shingles.add(lowerCase.substring(i, i + MinHashUtils.SHINGLE_SIZE));
+		}
+		return shingles;
+	}
+}
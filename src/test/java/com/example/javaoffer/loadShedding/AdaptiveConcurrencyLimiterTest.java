@@ -0,0 +1,116 @@
+package com.example.javaoffer.loadShedding;
+
+import com.example.javaoffer.loadShedding.enums.RequestPriority;
+import com.example.javaoffer.loadShedding.property.LoadSheddingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты {@link AdaptiveConcurrencyLimiter}: приоритеты допуска и изменение лимита по задержке.
+ *
+ * @author Garbuzov Oleg
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+	private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private LoadSheddingProperties properties;
+	private AdaptiveConcurrencyLimiter limiter;
+
+	@BeforeEach
+	void setUp() {
+		properties = new LoadSheddingProperties();
+		properties.setInitialLimit(10);
+		properties.setMinLimit(2);
+		properties.setMaxLimit(20);
+		limiter = new AdaptiveConcurrencyLimiter(properties);
+	}
+
+	@Test
+	@DisplayName("Запросы LOW отклоняются раньше NORMAL, CRITICAL допускаются сверх лимита")
+	void lowPriorityShouldBeShedFirst() {
+		assertEquals(5, acquireUntilRejected(RequestPriority.LOW));
+		assertEquals(3, acquireUntilRejected(RequestPriority.NORMAL));
+		assertEquals(4, acquireUntilRejected(RequestPriority.CRITICAL));
+		assertEquals(12, limiter.getInFlight());
+
+		var stats = limiter.getStats();
+		assertEquals(1, stats.getShed().get(RequestPriority.LOW));
+		assertEquals(5, stats.getAdmitted().get(RequestPriority.LOW));
+	}
+
+	@Test
+	@DisplayName("Рост задержки уменьшает лимит, нормальная задержка при загрузке увеличивает")
+	void limitShouldFollowLatency() {
+		long now = System.nanoTime();
+		limiter.onSample(10 * MS, 10, now);
+		assertEquals(11, limiter.getLimit());
+
+		// Задержка в 5 раз выше минимальной - мультипликативное уменьшение не чаще раза за minRtt
+		limiter.onSample(50 * MS, 10, now + 20 * MS);
+		assertEquals(9, limiter.getLimit());
+		limiter.onSample(50 * MS, 10, now + 21 * MS);
+		assertEquals(9, limiter.getLimit());
+
+		for (int i = 0; i < 50; i++) {
+			limiter.onSample(50 * MS, 10, now + (40 + 20L * i) * MS);
+		}
+		assertEquals(properties.getMinLimit(), limiter.getLimit());
+	}
+
+	@Test
+	@DisplayName("Задержка длительной перегрузки не становится базовой сразу, лимит остается низким")
+	void sustainedOverloadShouldNotResetBaseline() {
+		long window = properties.getMinRttWindow().toNanos();
+		long now = System.nanoTime();
+		limiter.onSample(10 * MS, 10, now);
+
+		// Три периода подряд задержка в 5 раз выше исходной
+		for (int i = 1; i <= 3 * 60; i++) {
+			limiter.onSample(50 * MS, 10, now + i * window / 60);
+		}
+
+		assertEquals(properties.getMinLimit(), limiter.getLimit());
+		// За три периода база выросла не больше чем на 10% за период
+		assertTrue(limiter.getStats().getMinRttMillis() <= 10 * Math.pow(1.1, 3) + 0.001,
+				"Базовая задержка: " + limiter.getStats().getMinRttMillis());
+	}
+
+	@Test
+	@DisplayName("Если медленным стал нормальный режим, база постепенно поднимается и лимит восстанавливается")
+	void baselineShouldRiseGraduallyToNewNormal() {
+		long window = properties.getMinRttWindow().toNanos();
+		long now = System.nanoTime();
+		limiter.onSample(10 * MS, 10, now);
+
+		for (int period = 1; period <= 20; period++) {
+			limiter.onSample(30 * MS, 10, now + period * window);
+		}
+
+		assertEquals(30.0, limiter.getStats().getMinRttMillis(), 0.001);
+		assertEquals(properties.getMaxLimit(), limiter.getLimit());
+	}
+
+	@Test
+	@DisplayName("Лимит не растет без нагрузки")
+	void limitShouldNotGrowWhenIdle() {
+		long now = System.nanoTime();
+		for (int i = 0; i < 10; i++) {
+			limiter.onSample(10 * MS, 1, now + i * MS);
+		}
+		assertEquals(10, limiter.getLimit());
+	}
+
+	private int acquireUntilRejected(RequestPriority priority) {
+		int acquired = 0;
+		while (limiter.tryAcquire(priority)) {
+			acquired++;
+		}
+		return acquired;
+	}
+}
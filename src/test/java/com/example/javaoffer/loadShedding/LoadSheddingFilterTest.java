@@ -0,0 +1,119 @@
+package com.example.javaoffer.loadShedding;
+
+import com.example.javaoffer.loadShedding.enums.RequestPriority;
+import com.example.javaoffer.loadShedding.property.LoadSheddingProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+
+import static com.example.javaoffer.common.constants.UrlConstant.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Тесты фильтра адаптивного ограничения нагрузки {@link LoadSheddingFilter}:
+ * приоритеты запросов, ответ при отклонении и освобождение места.
+ *
+ * @author Garbuzov Oleg
+ */
+class LoadSheddingFilterTest {
+
+	private LoadSheddingProperties properties;
+	private AdaptiveConcurrencyLimiter limiter;
+	private LoadSheddingFilter filter;
+	private FilterChain chain;
+
+	@BeforeEach
+	void setUp() {
+		properties = new LoadSheddingProperties();
+		properties.setInitialLimit(2);
+		properties.setMinLimit(1);
+		limiter = new AdaptiveConcurrencyLimiter(properties);
+		filter = new LoadSheddingFilter(limiter, properties, new ObjectMapper().findAndRegisterModules());
+		chain = mock(FilterChain.class);
+	}
+
+	@ParameterizedTest(name = "{0} -> {1}")
+	@CsvSource({
+			URL_EXAM_ROOT + URL_ANSWER_CHECK + ", CRITICAL",
+			URL_EXAM_ROOT + URL_ABORT_EXAM + ", CRITICAL",
+			URL_EXAM_ROOT + URL_NEXT_QUESTION + ", NORMAL",
+			URL_ANTICHEAT_STATUS_FULL + ", NORMAL",
+			URL_ADMIN_ROOT + URL_ADMIN_IMPORT_EXPORT_HISTORY + ", LOW",
+			URL_GLOBAL_RATING + ", LOW",
+			"/gifs/loading.gif, LOW",
+			URL_ADMIN_ROOT + URL_ADMIN_API_LOAD_SHEDDING + ", NONE",
+			"/css/main.css, NONE",
+			"/, NONE"
+	})
+	@DisplayName("Запрос учитывается с приоритетом по его пути, остальные запросы не ограничиваются")
+	void requestShouldBeAdmittedWithPriorityByPath(String uri, String expected) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(new MockHttpServletRequest("GET", uri), response, chain);
+
+		verify(chain).doFilter(any(), any());
+		Map<RequestPriority, Long> admitted = limiter.getStats().getAdmitted();
+		for (RequestPriority priority : RequestPriority.values()) {
+			assertEquals(priority.name().equals(expected) ? 1L : 0L, admitted.get(priority), priority.name());
+		}
+		assertEquals(0, limiter.getInFlight());
+	}
+
+	@Test
+	@DisplayName("Отклоненный запрос получает 503 с Retry-After и не доходит до цепочки фильтров")
+	void rejectedRequestShouldGetServiceUnavailable() throws Exception {
+		// Лимит 2, доля LOW 0.5: одно занятое место исчерпывает долю LOW
+		assertTrue(limiter.tryAcquire(RequestPriority.LOW));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(new MockHttpServletRequest("GET", URL_GLOBAL_RATING), response, chain);
+
+		verifyNoInteractions(chain);
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getStatus());
+		assertEquals("1", response.getHeader("Retry-After"));
+		assertTrue(MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(response.getContentType())));
+		assertTrue(response.getContentAsString().contains("Сервер перегружен"), response.getContentAsString());
+		assertEquals(1L, limiter.getStats().getShed().get(RequestPriority.LOW));
+		assertEquals(1, limiter.getInFlight());
+	}
+
+	@Test
+	@DisplayName("Место освобождается, если цепочка фильтров завершилась исключением")
+	void permitShouldBeReleasedWhenChainThrows() throws Exception {
+		doThrow(new ServletException("ошибка контроллера")).when(chain).doFilter(any(), any());
+
+		assertThrows(ServletException.class, () -> filter.doFilter(
+				new MockHttpServletRequest("POST", URL_EXAM_ROOT + URL_ANSWER_CHECK), new MockHttpServletResponse(), chain));
+		assertThrows(ServletException.class, () -> filter.doFilter(
+				new MockHttpServletRequest("GET", URL_GLOBAL_RATING), new MockHttpServletResponse(), chain));
+
+		assertEquals(0, limiter.getInFlight());
+		assertEquals(1L, limiter.getStats().getAdmitted().get(RequestPriority.CRITICAL));
+		assertEquals(1L, limiter.getStats().getAdmitted().get(RequestPriority.LOW));
+	}
+
+	@Test
+	@DisplayName("При выключенном ограничении запросы не учитываются")
+	void disabledFilterShouldPassRequests() throws Exception {
+		properties.setEnabled(false);
+		assertTrue(limiter.tryAcquire(RequestPriority.LOW));
+
+		filter.doFilter(new MockHttpServletRequest("GET", URL_GLOBAL_RATING), new MockHttpServletResponse(), chain);
+
+		verify(chain).doFilter(any(), any());
+		assertEquals(1L, limiter.getStats().getAdmitted().get(RequestPriority.LOW));
+	}
+}
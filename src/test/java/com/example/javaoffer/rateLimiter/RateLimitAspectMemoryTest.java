@@ -0,0 +1,82 @@
+package com.example.javaoffer.rateLimiter;
+
+import com.example.javaoffer.rateLimiter.annotation.RateLimit;
+import com.example.javaoffer.rateLimiter.bucket.LocalBucketProvider;
+import com.example.javaoffer.rateLimiter.exception.RateLimitException;
+import com.example.javaoffer.rateLimiter.property.RateLimitProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверка ограниченности памяти {@link RateLimitAspect}.
+ * <p>
+ * Аспект получает миллион запросов со случайных IP-адресов: количество
+ * пользовательских bucket'ов не должно превышать {@link RateLimitProperties#getMaxUserBuckets()}.
+ * Spring-контекст не используется - аспект исключен из тестового профиля.
+ *
+ * @author Garbuzov Oleg
+ */
+@Slf4j
+class RateLimitAspectMemoryTest {
+
+	private static final int MAX_USER_BUCKETS = 10_000;
+	private static final int REQUESTS = 1_000_000;
+
+	private RateLimitAspect aspect;
+	private RateLimitAspect.MethodLimits limits;
+
+	@BeforeEach
+	void setUp() throws NoSuchMethodException {
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.setMaxUserBuckets(MAX_USER_BUCKETS);
+		LocalBucketProvider bucketProvider = new LocalBucketProvider();
+		aspect = new RateLimitAspect(new MockHttpServletRequest(), properties, bucketProvider);
+
+		Method method = RateLimitAspectMemoryTest.class.getDeclaredMethod("limitedEndpoint");
+		limits = new RateLimitAspect.MethodLimits(method, method.getAnnotation(RateLimit.class), bucketProvider);
+	}
+
+	@Test
+	@DisplayName("Миллион случайных IP не увеличивает количество bucket'ов сверх лимита")
+	void randomIpsShouldNotGrowBucketStoreBeyondLimit() {
+		Runtime runtime = Runtime.getRuntime();
+		long usedBefore = runtime.totalMemory() - runtime.freeMemory();
+
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int i = 0; i < REQUESTS; i++) {
+			String ip = random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256);
+			aspect.checkLimits(limits, ip);
+		}
+
+		long buckets = aspect.estimatedUserBucketCount();
+		long usedAfter = runtime.totalMemory() - runtime.freeMemory();
+		log.info("Bucket'ов после {} запросов: {}, прирост кучи: {} КБ",
+				REQUESTS, buckets, (usedAfter - usedBefore) / 1024);
+
+		assertTrue(buckets <= MAX_USER_BUCKETS,
+				"Количество bucket'ов " + buckets + " превышает лимит " + MAX_USER_BUCKETS);
+	}
+
+	@Test
+	@DisplayName("Пользовательский лимит соблюдается при кешировании bucket'ов")
+	void userLimitShouldStillApply() {
+		for (int i = 0; i < 3; i++) {
+			aspect.checkLimits(limits, "10.0.0.1");
+		}
+		assertThrows(RateLimitException.class, () -> aspect.checkLimits(limits, "10.0.0.1"));
+		assertDoesNotThrow(() -> aspect.checkLimits(limits, "10.0.0.2"));
+	}
+
+	@RateLimit(userLimit = 3, userDurationSeconds = 60, globalLimit = 0)
+	@SuppressWarnings("unused")
+	private void limitedEndpoint() {
+	}
+}
@@ -0,0 +1,154 @@
+package com.example.javaoffer.rateLimiter.bucket;
+
+import com.example.javaoffer.rateLimiter.enums.PostgresLockStrategy;
+import com.example.javaoffer.rateLimiter.property.RateLimitProperties;
+import io.github.bucket4j.Bucket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверка общих лимитов двух узлов {@link PostgresBucketProvider} со стратегией
+ * блокировки по умолчанию ({@link PostgresLockStrategy#ADVISORY_LOCK}) на настоящем PostgreSQL.
+ * <p>
+ * H2 не поддерживает advisory-блокировки, поэтому тест требует доступной базы PostgreSQL
+ * и по умолчанию отключен. Таблица bucket'ов создается со случайным именем и удаляется после теста.
+ * Запуск:
+ * {@code mvn test -Dtest=PostgresBucketProviderAdvisoryLockTest
+ * -Drate-limit.postgres.url=jdbc:postgresql://localhost:5432/javaoffer
+ * -Drate-limit.postgres.username=postgres -Drate-limit.postgres.password=postgres}
+ *
+ * @author Garbuzov Oleg
+ * @see PostgresBucketProviderTwoNodeTest
+ */
+@EnabledIfSystemProperty(named = "rate-limit.postgres.url", matches = "jdbc:postgresql:.+")
+class PostgresBucketProviderAdvisoryLockTest {
+
+	/**
+	 * Пользовательский лимит {@code @RateLimit} по умолчанию: 5 запросов за 2 секунды
+	 */
+	private static final int DEFAULT_USER_LIMIT = 5;
+	private static final Duration DEFAULT_USER_WINDOW = Duration.ofSeconds(2);
+
+	private static final int LIMIT = 50;
+	private static final Duration WINDOW = Duration.ofMinutes(1);
+
+	private final String tableName = "rate_limit_buckets_" + UUID.randomUUID().toString().replace("-", "");
+	private DriverManagerDataSource dataSource;
+	private PostgresBucketProvider firstNode;
+	private PostgresBucketProvider secondNode;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		dataSource = new DriverManagerDataSource(System.getProperty("rate-limit.postgres.url"),
+				System.getProperty("rate-limit.postgres.username", "postgres"),
+				System.getProperty("rate-limit.postgres.password", "postgres"));
+		execute("CREATE TABLE " + tableName + " (id BIGINT PRIMARY KEY, state BYTEA, "
+				+ "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL)");
+	}
+
+	@AfterEach
+	void tearDown() throws SQLException {
+		if (firstNode != null) {
+			firstNode.shutdown();
+		}
+		if (secondNode != null) {
+			secondNode.shutdown();
+		}
+		execute("DROP TABLE IF EXISTS " + tableName);
+	}
+
+	@Test
+	@DisplayName("При настройках по умолчанию пользовательский лимит соблюдается точно на двух узлах")
+	void defaultUserLimitShouldBeExactOnTwoNodes() {
+		startNodes(properties());
+		Bucket first = firstNode.create("ExamController#nextQuestion:user", DEFAULT_USER_LIMIT, DEFAULT_USER_WINDOW);
+		Bucket second = secondNode.create("ExamController#nextQuestion:user", DEFAULT_USER_LIMIT, DEFAULT_USER_WINDOW);
+
+		long started = System.nanoTime();
+		int consumed = 0;
+		for (int i = 0; i < DEFAULT_USER_LIMIT * 3; i++) {
+			if ((i % 2 == 0 ? first : second).tryConsume(1)) {
+				consumed++;
+			}
+		}
+		long elapsedNanos = System.nanoTime() - started;
+
+		// Окно короткое: учитываем токены, пополненные за время самого теста
+		long refilled = elapsedNanos * DEFAULT_USER_LIMIT / DEFAULT_USER_WINDOW.toNanos();
+		assertTrue(consumed >= DEFAULT_USER_LIMIT, "Узлы пропустили меньше лимита: " + consumed);
+		assertTrue(consumed <= DEFAULT_USER_LIMIT + refilled, "Узлы превысили общий лимит: " + consumed);
+	}
+
+	@Test
+	@DisplayName("Конкурентные запросы двух узлов без предвыборки не превышают общий лимит")
+	void concurrentNodesShouldShareLimitExactly() throws Exception {
+		RateLimitProperties properties = properties();
+		properties.getPostgres().setPrefetchTokens(0);
+		startNodes(properties);
+		Bucket first = firstNode.create("ExamController#nextQuestion", LIMIT, WINDOW);
+		Bucket second = secondNode.create("ExamController#nextQuestion", LIMIT, WINDOW);
+
+		AtomicInteger consumed = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = List.of(
+					executor.submit(() -> consume(first, start, consumed)),
+					executor.submit(() -> consume(first, start, consumed)),
+					executor.submit(() -> consume(second, start, consumed)),
+					executor.submit(() -> consume(second, start, consumed)));
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(1, TimeUnit.MINUTES);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(LIMIT, consumed.get());
+	}
+
+	private void startNodes(RateLimitProperties properties) {
+		firstNode = new PostgresBucketProvider(dataSource, properties);
+		secondNode = new PostgresBucketProvider(dataSource, properties);
+	}
+
+	private RateLimitProperties properties() {
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.getPostgres().setTableName(tableName);
+		properties.getPostgres().setPrefetchTimeout(Duration.ofMinutes(1));
+		return properties;
+	}
+
+	private static Void consume(Bucket bucket, CountDownLatch start, AtomicInteger consumed) throws InterruptedException {
+		start.await();
+		for (int i = 0; i < LIMIT; i++) {
+			if (bucket.tryConsume(1)) {
+				consumed.incrementAndGet();
+			}
+		}
+		return null;
+	}
+
+	private void execute(String sql) throws SQLException {
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute(sql);
+		}
+	}
+}
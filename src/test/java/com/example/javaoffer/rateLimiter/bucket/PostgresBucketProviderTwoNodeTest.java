@@ -0,0 +1,169 @@
+package com.example.javaoffer.rateLimiter.bucket;
+
+import com.example.javaoffer.rateLimiter.enums.PostgresLockStrategy;
+import com.example.javaoffer.rateLimiter.property.RateLimitProperties;
+import io.github.bucket4j.Bucket;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверка общих лимитов двух узлов через {@link PostgresBucketProvider}.
+ * <p>
+ * Два экземпляра провайдера («узла») работают с одной базой данных: H2 в режиме
+ * совместимости с PostgreSQL заменяет PostgreSQL. H2 не поддерживает advisory-блокировки,
+ * поэтому используется стратегия SELECT ... FOR UPDATE; стратегия по умолчанию проверяется
+ * на настоящем PostgreSQL в {@link PostgresBucketProviderAdvisoryLockTest}.
+ *
+ * @author Garbuzov Oleg
+ */
+class PostgresBucketProviderTwoNodeTest {
+
+	private static final int LIMIT = 10;
+	private static final Duration WINDOW = Duration.ofMinutes(1);
+
+	/**
+	 * Пользовательский лимит {@code @RateLimit} по умолчанию: 5 запросов за 2 секунды
+	 */
+	private static final int DEFAULT_USER_LIMIT = 5;
+	private static final Duration DEFAULT_USER_WINDOW = Duration.ofSeconds(2);
+
+	/**
+	 * Лимит глобального bucket'а, для которого предвыборка включена при настройках по умолчанию
+	 */
+	private static final int GLOBAL_LIMIT = 100;
+
+	private JdbcDataSource dataSource;
+	private PostgresBucketProvider firstNode;
+	private PostgresBucketProvider secondNode;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:rate-limit-" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE rate_limit_buckets (id BIGINT PRIMARY KEY, state BYTEA, "
+					+ "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL)");
+		}
+	}
+
+	@AfterEach
+	void tearDown() throws SQLException {
+		shutdown(firstNode);
+		shutdown(secondNode);
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("SHUTDOWN");
+		}
+	}
+
+	@Test
+	@DisplayName("Без предвыборки два узла делят один лимит точно")
+	void nodesShouldShareLimitExactlyWithoutPrefetch() {
+		RateLimitProperties properties = properties();
+		properties.getPostgres().setPrefetchTokens(0);
+		startNodes(properties);
+		Bucket first = firstNode.create("ExamController#nextQuestion:user", LIMIT, WINDOW);
+		Bucket second = secondNode.create("ExamController#nextQuestion:user", LIMIT, WINDOW);
+
+		int consumed = consumeAlternately(first, second, LIMIT * 3);
+
+		assertEquals(LIMIT, consumed);
+	}
+
+	@Test
+	@DisplayName("При настройках по умолчанию пользовательский лимит соблюдается точно на двух узлах")
+	void defaultUserLimitShouldBeExactOnTwoNodes() {
+		startNodes(properties());
+		Bucket first = firstNode.create("ExamController#nextQuestion:user", DEFAULT_USER_LIMIT, DEFAULT_USER_WINDOW);
+		Bucket second = secondNode.create("ExamController#nextQuestion:user", DEFAULT_USER_LIMIT, DEFAULT_USER_WINDOW);
+
+		long started = System.nanoTime();
+		int consumed = consumeAlternately(first, second, DEFAULT_USER_LIMIT * 3);
+		long elapsedNanos = System.nanoTime() - started;
+
+		// Окно короткое: учитываем токены, пополненные за время самого теста
+		long refilled = elapsedNanos * DEFAULT_USER_LIMIT / DEFAULT_USER_WINDOW.toNanos();
+		assertTrue(consumed >= DEFAULT_USER_LIMIT, "Узлы пропустили меньше лимита: " + consumed);
+		assertTrue(consumed <= DEFAULT_USER_LIMIT + refilled, "Узлы превысили общий лимит: " + consumed);
+	}
+
+	@Test
+	@DisplayName("С предвыборкой превышение глобального лимита ограничено предвыборкой каждого узла")
+	void prefetchShouldBoundOverAdmission() {
+		startNodes(properties());
+		long prefetch = firstNode.prefetchTokens(GLOBAL_LIMIT);
+		Bucket first = firstNode.create("ExamController#nextQuestion", GLOBAL_LIMIT, WINDOW);
+		Bucket second = secondNode.create("ExamController#nextQuestion", GLOBAL_LIMIT, WINDOW);
+
+		int consumed = consumeAlternately(first, second, GLOBAL_LIMIT * 3);
+
+		assertEquals(5, prefetch);
+		assertTrue(consumed >= GLOBAL_LIMIT, "Узлы пропустили меньше лимита: " + consumed);
+		assertTrue(consumed <= GLOBAL_LIMIT + 2 * prefetch, "Превышение лимита больше предвыборки: " + consumed);
+	}
+
+	@Test
+	@DisplayName("Предвыборка ограничена долей лимита bucket'а")
+	void prefetchShouldBeLimitedByShareOfLimit() {
+		startNodes(properties());
+
+		assertEquals(0, firstNode.prefetchTokens(DEFAULT_USER_LIMIT));
+		assertEquals(0, firstNode.prefetchTokens(9));
+		assertEquals(1, firstNode.prefetchTokens(LIMIT));
+		assertEquals(5, firstNode.prefetchTokens(GLOBAL_LIMIT));
+		assertEquals(5, firstNode.prefetchTokens(1000));
+	}
+
+	@Test
+	@DisplayName("Разные ключи не влияют друг на друга")
+	void differentKeysShouldHaveIndependentLimits() {
+		startNodes(properties());
+		Bucket first = firstNode.create("ExamController#nextQuestion:alice", LIMIT, WINDOW);
+		Bucket second = secondNode.create("ExamController#nextQuestion:bob", LIMIT, WINDOW);
+
+		assertEquals(LIMIT * 2, consumeAlternately(first, second, LIMIT * 2));
+	}
+
+	private void startNodes(RateLimitProperties properties) {
+		firstNode = new PostgresBucketProvider(dataSource, properties);
+		secondNode = new PostgresBucketProvider(dataSource, properties);
+	}
+
+	/**
+	 * Настройки по умолчанию, кроме стратегии блокировки и таймаута предвыборки:
+	 * таймаут увеличен, чтобы синхронизация зависела только от числа токенов.
+	 */
+	private static RateLimitProperties properties() {
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.getPostgres().setLockStrategy(PostgresLockStrategy.SELECT_FOR_UPDATE);
+		properties.getPostgres().setPrefetchTimeout(Duration.ofMinutes(1));
+		return properties;
+	}
+
+	private static int consumeAlternately(Bucket first, Bucket second, int attempts) {
+		int consumed = 0;
+		for (int i = 0; i < attempts; i++) {
+			if ((i % 2 == 0 ? first : second).tryConsume(1)) {
+				consumed++;
+			}
+		}
+		return consumed;
+	}
+
+	private static void shutdown(PostgresBucketProvider node) {
+		if (node != null) {
+			node.shutdown();
+		}
+	}
+}